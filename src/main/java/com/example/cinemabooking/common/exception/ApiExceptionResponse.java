@@ -9,7 +9,7 @@ import java.util.List;
 
 @Value
 @Builder
-class ApiExceptionResponse {
+public class ApiExceptionResponse {
 
     @Singular
     List<String> messages;
@@ -2,11 +2,34 @@ package com.example.cinemabooking.common.exception;
 
 import com.example.cinemabooking.hall.service.exception.CinemaHallAlreadyExistsException;
 import com.example.cinemabooking.hall.service.exception.CinemaHallNotFoundException;
+import com.example.cinemabooking.hall.service.exception.InvalidSeatLayoutException;
+import com.example.cinemabooking.hall.service.exception.ReservedSeatRemovalException;
 import com.example.cinemabooking.movie.service.exception.MovieAlreadyExistsException;
 import com.example.cinemabooking.movie.service.exception.MovieNotFoundException;
+import com.example.cinemabooking.partition.service.exception.LastPartitionNodeException;
+import com.example.cinemabooking.partition.service.exception.PartitionNodeNotFoundException;
+import com.example.cinemabooking.partition.service.exception.PartitionOwnerUnavailableException;
+import com.example.cinemabooking.partition.service.exception.UnsignedPartitionRequestException;
+import com.example.cinemabooking.ratelimit.service.exception.RateLimitExceededException;
+import com.example.cinemabooking.reservation.service.exception.ContiguousSeatsUnavailableException;
+import com.example.cinemabooking.reservation.service.exception.InvalidReservationCursorException;
+import com.example.cinemabooking.reservation.service.exception.InvalidSeatCountException;
+import com.example.cinemabooking.reservation.service.exception.InvalidSeatException;
+import com.example.cinemabooking.reservation.service.exception.ReservationAlreadyCancelledException;
+import com.example.cinemabooking.reservation.service.exception.ReservationNotFoundException;
+import com.example.cinemabooking.reservation.service.exception.ReservationQueueFullException;
+import com.example.cinemabooking.reservation.service.exception.ReservationTicketNotFoundException;
+import com.example.cinemabooking.reservation.service.exception.SeatHoldNotFoundException;
+import com.example.cinemabooking.reservation.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.showtime.service.exception.InvalidShowTimeCursorException;
 import com.example.cinemabooking.showtime.service.exception.ShowTimeConflictException;
 import com.example.cinemabooking.showtime.service.exception.ShowTimeInvalidTimeRangeException;
 import com.example.cinemabooking.showtime.service.exception.ShowTimeNotFoundException;
+import com.example.cinemabooking.user.service.exception.UserNotFoundException;
+import com.example.cinemabooking.waitingroom.service.exception.AdmissionRequiredException;
+import com.example.cinemabooking.waitingroom.service.exception.InvalidQueueTicketException;
+import com.example.cinemabooking.waitingroom.service.exception.WaitingRoomNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -27,8 +50,29 @@ class GlobalExceptionHandler {
             Map.entry(ShowTimeNotFoundException.class, HttpStatus.NOT_FOUND),
             Map.entry(MovieAlreadyExistsException.class, HttpStatus.CONFLICT),
             Map.entry(CinemaHallAlreadyExistsException.class, HttpStatus.CONFLICT),
+            Map.entry(InvalidSeatLayoutException.class, HttpStatus.BAD_REQUEST),
+            Map.entry(ReservedSeatRemovalException.class, HttpStatus.CONFLICT),
             Map.entry(ShowTimeInvalidTimeRangeException.class, HttpStatus.BAD_REQUEST),
-            Map.entry(ShowTimeConflictException.class, HttpStatus.CONFLICT)
+            Map.entry(ShowTimeConflictException.class, HttpStatus.CONFLICT),
+            Map.entry(InvalidShowTimeCursorException.class, HttpStatus.BAD_REQUEST),
+            Map.entry(InvalidSeatException.class, HttpStatus.BAD_REQUEST),
+            Map.entry(SeatHoldNotFoundException.class, HttpStatus.NOT_FOUND),
+            Map.entry(SeatsUnavailableException.class, HttpStatus.CONFLICT),
+            Map.entry(InvalidSeatCountException.class, HttpStatus.BAD_REQUEST),
+            Map.entry(ContiguousSeatsUnavailableException.class, HttpStatus.CONFLICT),
+            Map.entry(ReservationNotFoundException.class, HttpStatus.NOT_FOUND),
+            Map.entry(ReservationAlreadyCancelledException.class, HttpStatus.CONFLICT),
+            Map.entry(ReservationTicketNotFoundException.class, HttpStatus.NOT_FOUND),
+            Map.entry(ReservationQueueFullException.class, HttpStatus.SERVICE_UNAVAILABLE),
+            Map.entry(InvalidReservationCursorException.class, HttpStatus.BAD_REQUEST),
+            Map.entry(UserNotFoundException.class, HttpStatus.NOT_FOUND),
+            Map.entry(WaitingRoomNotFoundException.class, HttpStatus.NOT_FOUND),
+            Map.entry(InvalidQueueTicketException.class, HttpStatus.BAD_REQUEST),
+            Map.entry(AdmissionRequiredException.class, HttpStatus.FORBIDDEN),
+            Map.entry(PartitionNodeNotFoundException.class, HttpStatus.NOT_FOUND),
+            Map.entry(LastPartitionNodeException.class, HttpStatus.CONFLICT),
+            Map.entry(PartitionOwnerUnavailableException.class, HttpStatus.SERVICE_UNAVAILABLE),
+            Map.entry(UnsignedPartitionRequestException.class, HttpStatus.FORBIDDEN)
     );
 
     @ExceptionHandler({
@@ -37,8 +81,29 @@ class GlobalExceptionHandler {
             ShowTimeNotFoundException.class,
             MovieAlreadyExistsException.class,
             CinemaHallAlreadyExistsException.class,
+            InvalidSeatLayoutException.class,
+            ReservedSeatRemovalException.class,
             ShowTimeInvalidTimeRangeException.class,
-            ShowTimeConflictException.class
+            ShowTimeConflictException.class,
+            InvalidShowTimeCursorException.class,
+            InvalidSeatException.class,
+            SeatHoldNotFoundException.class,
+            SeatsUnavailableException.class,
+            InvalidSeatCountException.class,
+            ContiguousSeatsUnavailableException.class,
+            ReservationNotFoundException.class,
+            ReservationAlreadyCancelledException.class,
+            ReservationTicketNotFoundException.class,
+            ReservationQueueFullException.class,
+            InvalidReservationCursorException.class,
+            UserNotFoundException.class,
+            WaitingRoomNotFoundException.class,
+            InvalidQueueTicketException.class,
+            AdmissionRequiredException.class,
+            PartitionNodeNotFoundException.class,
+            LastPartitionNodeException.class,
+            PartitionOwnerUnavailableException.class,
+            UnsignedPartitionRequestException.class
     })
     @ResponseBody
     ResponseEntity<ApiExceptionResponse> handleKnownExceptions(RuntimeException e) {
@@ -50,6 +115,17 @@ class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(response);
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    ResponseEntity<ApiExceptionResponse> handleRateLimitExceededException(RateLimitExceededException e) {
+        ApiExceptionResponse response = ApiExceptionResponse.builder()
+                .message(e.getMessage())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     ApiExceptionResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
@@ -0,0 +1,28 @@
+package com.example.cinemabooking.common.idempotency;
+
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+class IdempotencyConfiguration {
+
+    @Bean
+    FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+                                                                 IdempotencyProperties idempotencyProperties,
+                                                                 ObjectMapper objectMapper,
+                                                                 Optional<PartitionRequestSigner> partitionRequestSigner) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, objectMapper, idempotencyProperties.getWaitTimeout(),
+                        partitionRequestSigner));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+}
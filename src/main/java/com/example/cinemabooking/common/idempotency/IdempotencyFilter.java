@@ -0,0 +1,163 @@
+package com.example.cinemabooking.common.idempotency;
+
+import com.example.cinemabooking.common.exception.ApiExceptionResponse;
+import com.example.cinemabooking.partition.service.PartitionClient;
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final Duration waitTimeout;
+    private final Optional<PartitionRequestSigner> partitionRequestSigner;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, IDEMPOTENCY_KEY_HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String key = callerOf(request) + " " + request.getRequestURI() + " " + idempotencyKey;
+        byte[] fingerprint = fingerprintOf(cachedRequest);
+        Optional<IdempotencyStore.Claim> storedClaim = idempotencyStore.claim(key, fingerprint);
+        if (storedClaim.isEmpty()) {
+            writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "Too many requests with an " + IDEMPOTENCY_KEY_HEADER + " are in progress.");
+            return;
+        }
+        IdempotencyStore.Claim claim = storedClaim.get();
+        IdempotencyStore.Entry entry = claim.getEntry();
+        if (!entry.matches(fingerprint)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, IDEMPOTENCY_KEY_HEADER + " was already used for a different request.");
+        } else if (claim.isOwner()) {
+            execute(key, entry, cachedRequest, response, filterChain);
+        } else {
+            replay(entry, response);
+        }
+    }
+
+    // Keys are chosen by clients, so each caller gets its own key space and cannot replay another caller's response.
+    // A request forwarded by another node carries the address of the client that node served.
+    private String callerOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        String forwardedFor = request.getHeader(PartitionClient.FORWARDED_FOR_HEADER);
+        if (forwardedFor != null && partitionRequestSigner.flatMap(signer -> signer.signedBy(request)).isPresent()) {
+            return "client:" + forwardedFor;
+        }
+        return "client:" + request.getRemoteAddr();
+    }
+
+    private void execute(String key, IdempotencyStore.Entry entry, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, cachingResponse);
+        } catch (ServletException | IOException | RuntimeException e) {
+            idempotencyStore.fail(key, entry, e);
+            throw e;
+        }
+        idempotencyStore.complete(key, entry, new StoredResponse(cachingResponse.getStatus(), cachingResponse.getContentType(),
+                headersOf(cachingResponse), cachingResponse.getContentAsByteArray()));
+        cachingResponse.copyBodyToResponse();
+    }
+
+    // A retry that arrives while the original is still running waits for its response instead of running twice.
+    private void replay(IdempotencyStore.Entry entry, HttpServletResponse response) throws IOException {
+        StoredResponse storedResponse;
+        try {
+            storedResponse = entry.getResponse().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            writeError(response, HttpStatus.CONFLICT, "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed.");
+            return;
+        } catch (ExecutionException e) {
+            writeError(response, HttpStatus.CONFLICT, "The request with this " + IDEMPOTENCY_KEY_HEADER + " failed and can be retried.");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request.");
+            return;
+        }
+        response.setStatus(storedResponse.getStatus());
+        if (storedResponse.getContentType() != null) {
+            response.setContentType(storedResponse.getContentType());
+        }
+        storedResponse.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.getOutputStream().write(storedResponse.getBody());
+    }
+
+    // Content type and length are replayed from the stored body itself.
+    private static Map<String, List<String>> headersOf(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                headers.putIfAbsent(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiExceptionResponse.builder()
+                .message(message)
+                .status(status.value())
+                .build());
+    }
+
+    private static byte[] fingerprintOf(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (request.getQueryString() != null) {
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            return digest.digest(request.getBody());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.cinemabooking.common.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.idempotency")
+public class IdempotencyProperties {
+
+    private int maxEntries = 10_000;
+
+    private Duration ttl = Duration.ofHours(24);
+
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+}
@@ -0,0 +1,112 @@
+package com.example.cinemabooking.common.idempotency;
+
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class IdempotencyStore {
+
+    private final Map<String, Entry> entries;
+    private final IdempotencyProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public IdempotencyStore(IdempotencyProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    IdempotencyStore(IdempotencyProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    // The first request with a key becomes its owner and runs; later ones get the owner's entry to wait on.
+    // Empty when the store is full of requests that are still running.
+    public synchronized Optional<Claim> claim(String key, byte[] fingerprint) {
+        Instant now = clock.instant();
+        purgeExpired(now);
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return Optional.of(new Claim(existing, false));
+        }
+        if (entries.size() >= properties.getMaxEntries() && !evictEldestCompleted()) {
+            return Optional.empty();
+        }
+        Entry entry = new Entry(fingerprint, now.plus(properties.getTtl()), new CompletableFuture<>());
+        entries.put(key, entry);
+        return Optional.of(new Claim(entry, true));
+    }
+
+    // Only successful responses are kept; anything else is handed to concurrent waiters and then forgotten,
+    // so the next retry runs the request again.
+    public void complete(String key, Entry entry, StoredResponse response) {
+        if (!response.isSuccessful()) {
+            remove(key, entry);
+        }
+        entry.getResponse().complete(response);
+    }
+
+    public void fail(String key, Entry entry, Throwable failure) {
+        remove(key, entry);
+        entry.getResponse().completeExceptionally(failure);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void remove(String key, Entry entry) {
+        entries.remove(key, entry);
+    }
+
+    // A running request must keep its entry, or a retry would run it a second time.
+    private boolean evictEldestCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getResponse().isDone()) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Entries are kept in insertion order and share one TTL, so expired ones are always at the head.
+    private void purgeExpired(Instant now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().getExpiresAt().isBefore(now)) {
+            iterator.remove();
+        }
+    }
+
+    @Value
+    public static class Claim {
+        Entry entry;
+        boolean owner;
+    }
+
+    @Value
+    public static class Entry {
+
+        byte[] fingerprint;
+        Instant expiresAt;
+        CompletableFuture<StoredResponse> response;
+
+        public boolean matches(byte[] otherFingerprint) {
+            return Arrays.equals(fingerprint, otherFingerprint);
+        }
+
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.cinemabooking.common.idempotency;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+@Value
+public class StoredResponse {
+
+    int status;
+    String contentType;
+    Map<String, List<String>> headers;
+    byte[] body;
+
+    public boolean isSuccessful() {
+        return status >= 200 && status < 300;
+    }
+
+}
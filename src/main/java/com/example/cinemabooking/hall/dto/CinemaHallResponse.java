@@ -1,6 +1,8 @@
 package com.example.cinemabooking.hall.dto;
 
 import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Value;
 
@@ -8,13 +10,19 @@ import java.util.List;
 
 @Value
 @Builder
+@AllArgsConstructor
 public class CinemaHallResponse {
 
     Long id;
     String name;
     int rows;
     int seatsPerRow;
-    List<SeatResponse> seats;
+    int capacity;
+    List<String> layout;
+
+    public CinemaHallResponse(Long id, String name, int rows, int seatsPerRow, int capacity, byte[] seatLayout) {
+        this(id, name, rows, seatsPerRow, capacity, SeatLayout.of(rows, seatsPerRow, seatLayout).toRowPatterns());
+    }
 
     public static CinemaHallResponse of(CinemaHall cinemaHall) {
         return CinemaHallResponse.builder()
@@ -22,15 +30,9 @@ public class CinemaHallResponse {
                 .name(cinemaHall.getName())
                 .rows(cinemaHall.getRows())
                 .seatsPerRow(cinemaHall.getSeatsPerRow())
-                .seats(getSeatsResponse(cinemaHall))
+                .capacity(cinemaHall.getCapacity())
+                .layout(cinemaHall.getSeatLayout().toRowPatterns())
                 .build();
     }
 
-    private static List<SeatResponse> getSeatsResponse(CinemaHall cinemaHall) {
-        return cinemaHall.getSeats()
-                .stream()
-                .map(SeatResponse::of)
-                .toList();
-    }
-
 }
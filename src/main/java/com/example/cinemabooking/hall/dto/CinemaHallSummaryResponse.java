@@ -0,0 +1,18 @@
+package com.example.cinemabooking.hall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@AllArgsConstructor
+public class CinemaHallSummaryResponse {
+
+    Long id;
+    String name;
+    int rows;
+    int seatsPerRow;
+    int capacity;
+
+}
@@ -1,11 +1,15 @@
 package com.example.cinemabooking.hall.dto;
 
 import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import lombok.Value;
 
+import java.util.List;
+
 @Value
 @Builder
 public class CreateCinemaHallRequest {
@@ -14,17 +18,24 @@ public class CreateCinemaHallRequest {
     String name;
 
     @Min(1)
+    @Max(SeatLayout.MAX_ROWS)
     int rows;
 
     @Min(1)
+    @Max(SeatLayout.MAX_SEATS_PER_ROW)
     int seatsPerRow;
 
+    List<String> layout;
+
     public CinemaHall toCinemaHall() {
         CinemaHall cinemaHall = new CinemaHall();
         cinemaHall.setName(name);
-        cinemaHall.setRows(rows);
-        cinemaHall.setSeatsPerRow(seatsPerRow);
+        cinemaHall.setSeatLayout(toSeatLayout());
         return cinemaHall;
     }
 
+    public SeatLayout toSeatLayout() {
+        return SeatLayout.parse(rows, seatsPerRow, layout);
+    }
+
 }
@@ -0,0 +1,22 @@
+package com.example.cinemabooking.hall.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class SeatPageResponse {
+
+    List<SeatResponse> items;
+    Integer nextFromRow;
+
+    public static SeatPageResponse of(List<SeatResponse> items, Integer nextFromRow) {
+        return SeatPageResponse.builder()
+                .items(items)
+                .nextFromRow(nextFromRow)
+                .build();
+    }
+
+}
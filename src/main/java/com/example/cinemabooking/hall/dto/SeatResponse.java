@@ -1,21 +1,15 @@
 package com.example.cinemabooking.hall.dto;
 
-import com.example.cinemabooking.hall.entity.Seat;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Value;
 
 @Value
 @Builder
+@AllArgsConstructor
 public class SeatResponse {
 
     int rowNumber;
     int seatNumber;
 
-    public static SeatResponse of(Seat seat) {
-        return SeatResponse.builder()
-                .rowNumber(seat.getRowNumber())
-                .seatNumber(seat.getSeatNumber())
-                .build();
-    }
-
 }
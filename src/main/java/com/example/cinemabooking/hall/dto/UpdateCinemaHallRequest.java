@@ -1,10 +1,14 @@
 package com.example.cinemabooking.hall.dto;
 
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import lombok.Value;
 
+import java.util.List;
+
 @Value
 @Builder
 public class UpdateCinemaHallRequest {
@@ -13,9 +17,20 @@ public class UpdateCinemaHallRequest {
     String name;
 
     @Min(1)
+    @Max(SeatLayout.MAX_ROWS)
     int rows;
 
     @Min(1)
+    @Max(SeatLayout.MAX_SEATS_PER_ROW)
     int seatsPerRow;
 
+    List<String> layout;
+
+    public SeatLayout toSeatLayout(SeatLayout currentLayout) {
+        if (layout == null || layout.isEmpty()) {
+            return currentLayout.resize(rows, seatsPerRow);
+        }
+        return SeatLayout.parse(rows, seatsPerRow, layout);
+    }
+
 }
@@ -0,0 +1,26 @@
+package com.example.cinemabooking.hall.entity;
+
+import com.example.cinemabooking.hall.service.exception.InvalidSeatLayoutException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum CellType {
+
+    SEAT('S'),
+    AISLE('_'),
+    BLOCKED('X');
+
+    private final char symbol;
+
+    public static CellType fromSymbol(char symbol) {
+        for (CellType cellType : values()) {
+            if (cellType.symbol == symbol) {
+                return cellType;
+            }
+        }
+        throw new InvalidSeatLayoutException("Unknown seat layout cell '" + symbol + "'.");
+    }
+
+}
@@ -2,11 +2,12 @@ package com.example.cinemabooking.hall.entity;
 
 import com.example.cinemabooking.showtime.entity.ShowTime;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,44 +16,47 @@ import java.util.List;
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@DynamicUpdate
 public class CinemaHall {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cinema_halls_seq")
+    @SequenceGenerator(name = "cinema_halls_seq", sequenceName = "cinema_halls_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
     @Column(nullable = false, unique = true)
     private String name;
 
+    @Setter(AccessLevel.NONE)
     @Column(nullable = false)
     private int rows;
 
+    @Setter(AccessLevel.NONE)
     @Column(nullable = false)
     private int seatsPerRow;
 
-    @OneToMany(mappedBy = "cinemaHall", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<Seat> seats;
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private int capacity;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false, length = SeatLayout.MAX_ROWS * SeatLayout.MAX_SEATS_PER_ROW / 4)
+    private byte[] seatLayout;
 
     @OneToMany(mappedBy = "cinemaHall", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ShowTime> showTimes;
 
-    public List<Seat> getSeats() {
-        return seats != null ? seats : new ArrayList<>();
+    public SeatLayout getSeatLayout() {
+        return SeatLayout.of(rows, seatsPerRow, seatLayout);
     }
 
-    public void addSeat(Seat seat) {
-        if (seats == null) {
-            seats = new ArrayList<>();
-        }
-        seats.add(seat);
-        seat.setCinemaHall(this);
-    }
-
-    public void clearSeats() {
-        if (seats != null) {
-            seats.clear();
-        }
+    public void setSeatLayout(SeatLayout layout) {
+        rows = layout.getRows();
+        seatsPerRow = layout.getSeatsPerRow();
+        capacity = layout.getSeatCount();
+        seatLayout = layout.toBytes();
     }
 
     public void addShowTime(ShowTime showTime) {
@@ -63,9 +67,4 @@ public class CinemaHall {
         showTime.setCinemaHall(this);
     }
 
-    public boolean isOccupiedDuring(LocalDateTime startTime, LocalDateTime endTime, Long currentShowTimeId) {
-        return showTimes != null && showTimes.stream()
-                .anyMatch(showTime -> !showTime.getId().equals(currentShowTimeId) && showTime.overlapsWith(startTime, endTime));
-    }
-
 }
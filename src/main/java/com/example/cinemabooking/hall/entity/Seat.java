@@ -1,35 +0,0 @@
-package com.example.cinemabooking.hall.entity;
-
-import com.example.cinemabooking.reservation.ReservedSeat;
-import jakarta.persistence.*;
-import lombok.EqualsAndHashCode;
-import lombok.Getter;
-import lombok.Setter;
-
-import java.util.List;
-
-@Entity
-@Table(name = "seats", uniqueConstraints = @UniqueConstraint(columnNames = {"hall_id", "rowNumber", "seatNumber"}))
-@Getter
-@Setter
-@EqualsAndHashCode(onlyExplicitlyIncluded = true)
-public class Seat {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false)
-    private int rowNumber;
-
-    @Column(nullable = false)
-    private int seatNumber;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "hall_id", nullable = false)
-    private CinemaHall cinemaHall;
-
-    @OneToMany(mappedBy = "seat", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<ReservedSeat> reservedSeats;
-
-}
@@ -0,0 +1,152 @@
+package com.example.cinemabooking.hall.entity;
+
+import com.example.cinemabooking.hall.service.exception.InvalidSeatLayoutException;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Grid of cells packed four per byte (two bits each), so a whole hall layout is stored in a single column.
+@Getter
+@EqualsAndHashCode
+public final class SeatLayout {
+
+    public static final int MAX_ROWS = 256;
+    public static final int MAX_SEATS_PER_ROW = 256;
+
+    private static final int CELLS_PER_BYTE = 4;
+    private static final int BITS_PER_CELL = 2;
+    private static final int CELL_MASK = 0b11;
+    private static final CellType[] CELL_TYPES = CellType.values();
+
+    private final int rows;
+    private final int seatsPerRow;
+
+    @Getter(AccessLevel.NONE)
+    private final byte[] cells;
+
+    private SeatLayout(int rows, int seatsPerRow, byte[] cells) {
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+        this.cells = cells;
+    }
+
+    public static SeatLayout grid(int rows, int seatsPerRow) {
+        validateSize(rows, seatsPerRow);
+        return new SeatLayout(rows, seatsPerRow, new byte[byteCount(rows, seatsPerRow)]);
+    }
+
+    public static SeatLayout of(int rows, int seatsPerRow, byte[] cells) {
+        if (cells == null) {
+            return grid(rows, seatsPerRow);
+        }
+        validateSize(rows, seatsPerRow);
+        if (cells.length != byteCount(rows, seatsPerRow)) {
+            throw new InvalidSeatLayoutException("Seat layout of " + cells.length + " bytes does not match a "
+                    + rows + "x" + seatsPerRow + " grid.");
+        }
+        return new SeatLayout(rows, seatsPerRow, cells.clone());
+    }
+
+    public static SeatLayout parse(int rows, int seatsPerRow, List<String> rowPatterns) {
+        if (rowPatterns == null || rowPatterns.isEmpty()) {
+            return grid(rows, seatsPerRow);
+        }
+        if (rowPatterns.size() != rows) {
+            throw new InvalidSeatLayoutException("Seat layout has " + rowPatterns.size() + " rows but hall has " + rows + ".");
+        }
+        SeatLayout layout = grid(rows, seatsPerRow);
+        for (int row = 1; row <= rows; row++) {
+            String pattern = rowPatterns.get(row - 1);
+            if (pattern == null || pattern.length() != seatsPerRow) {
+                throw new InvalidSeatLayoutException("Seat layout row " + row + " must have " + seatsPerRow + " cells.");
+            }
+            for (int seatNumber = 1; seatNumber <= seatsPerRow; seatNumber++) {
+                layout.setCellType(row, seatNumber, CellType.fromSymbol(pattern.charAt(seatNumber - 1)));
+            }
+        }
+        return layout;
+    }
+
+    // Cells that still fit keep their type; cells added by growing the grid become seats.
+    public SeatLayout resize(int newRows, int newSeatsPerRow) {
+        SeatLayout resized = grid(newRows, newSeatsPerRow);
+        for (int row = 1; row <= Math.min(rows, newRows); row++) {
+            for (int seatNumber = 1; seatNumber <= Math.min(seatsPerRow, newSeatsPerRow); seatNumber++) {
+                resized.setCellType(row, seatNumber, getCellType(row, seatNumber));
+            }
+        }
+        return resized;
+    }
+
+    public CellType getCellType(int rowNumber, int seatNumber) {
+        int index = indexOf(rowNumber, seatNumber);
+        int shift = (index % CELLS_PER_BYTE) * BITS_PER_CELL;
+        return CELL_TYPES[(cells[index / CELLS_PER_BYTE] >> shift) & CELL_MASK];
+    }
+
+    public boolean isSeat(int rowNumber, int seatNumber) {
+        return contains(rowNumber, seatNumber) && getCellType(rowNumber, seatNumber) == CellType.SEAT;
+    }
+
+    public boolean contains(int rowNumber, int seatNumber) {
+        return rowNumber >= 1 && rowNumber <= rows && seatNumber >= 1 && seatNumber <= seatsPerRow;
+    }
+
+    public int getSeatCount() {
+        int seatCount = 0;
+        for (int row = 1; row <= rows; row++) {
+            for (int seatNumber = 1; seatNumber <= seatsPerRow; seatNumber++) {
+                if (getCellType(row, seatNumber) == CellType.SEAT) {
+                    seatCount++;
+                }
+            }
+        }
+        return seatCount;
+    }
+
+    public byte[] toBytes() {
+        return cells.clone();
+    }
+
+    public List<String> toRowPatterns() {
+        List<String> rowPatterns = new ArrayList<>(rows);
+        for (int row = 1; row <= rows; row++) {
+            StringBuilder pattern = new StringBuilder(seatsPerRow);
+            for (int seatNumber = 1; seatNumber <= seatsPerRow; seatNumber++) {
+                pattern.append(getCellType(row, seatNumber).getSymbol());
+            }
+            rowPatterns.add(pattern.toString());
+        }
+        return rowPatterns;
+    }
+
+    private void setCellType(int rowNumber, int seatNumber, CellType cellType) {
+        int index = indexOf(rowNumber, seatNumber);
+        int shift = (index % CELLS_PER_BYTE) * BITS_PER_CELL;
+        int current = cells[index / CELLS_PER_BYTE] & ~(CELL_MASK << shift);
+        cells[index / CELLS_PER_BYTE] = (byte) (current | cellType.ordinal() << shift);
+    }
+
+    private int indexOf(int rowNumber, int seatNumber) {
+        if (!contains(rowNumber, seatNumber)) {
+            throw new IndexOutOfBoundsException("Cell (" + rowNumber + ", " + seatNumber + ") is outside of the "
+                    + rows + "x" + seatsPerRow + " grid.");
+        }
+        return (rowNumber - 1) * seatsPerRow + seatNumber - 1;
+    }
+
+    private static int byteCount(int rows, int seatsPerRow) {
+        return (rows * seatsPerRow + CELLS_PER_BYTE - 1) / CELLS_PER_BYTE;
+    }
+
+    private static void validateSize(int rows, int seatsPerRow) {
+        if (rows < 1 || rows > MAX_ROWS || seatsPerRow < 1 || seatsPerRow > MAX_SEATS_PER_ROW) {
+            throw new InvalidSeatLayoutException("Seat layout must have between 1 and " + MAX_ROWS + " rows and between 1 and "
+                    + MAX_SEATS_PER_ROW + " seats per row.");
+        }
+    }
+
+}
@@ -1,26 +1,32 @@
 package com.example.cinemabooking.hall.repository;
 
+import com.example.cinemabooking.hall.dto.CinemaHallResponse;
+import com.example.cinemabooking.hall.dto.CinemaHallSummaryResponse;
 import com.example.cinemabooking.hall.entity.CinemaHall;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import org.springframework.lang.NonNull;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface CinemaHallRepository extends JpaRepository<CinemaHall, Long> {
 
-    @NonNull
-    @EntityGraph(attributePaths = "seats")
-    List<CinemaHall> findAll();
-
-    @NonNull
-    @EntityGraph(attributePaths = "seats")
-    Optional<CinemaHall> findById(@NonNull Long id);
-
     @Query("SELECT h FROM CinemaHall h WHERE h.name = :name")
     Optional<CinemaHall> findByName(@Param("name") String name);
 
+    @Query("""
+            SELECT new com.example.cinemabooking.hall.dto.CinemaHallSummaryResponse(h.id, h.name, h.rows, h.seatsPerRow, h.capacity)
+            FROM CinemaHall h
+            ORDER BY h.id
+            """)
+    List<CinemaHallSummaryResponse> findAllSummaries();
+
+    @Query("""
+            SELECT new com.example.cinemabooking.hall.dto.CinemaHallResponse(h.id, h.name, h.rows, h.seatsPerRow, h.capacity, h.seatLayout)
+            FROM CinemaHall h
+            WHERE h.id = :id
+            """)
+    Optional<CinemaHallResponse> findResponseById(@Param("id") Long id);
+
 }
@@ -0,0 +1,30 @@
+package com.example.cinemabooking.hall.service;
+
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import lombok.Value;
+
+@Value
+public class CinemaHallChangedEvent {
+
+    Long cinemaHallId;
+    // Null unless the layout changed, so renames leave seat maps alone.
+    SeatLayout seatLayout;
+    boolean deleted;
+
+    public static CinemaHallChangedEvent renamed(Long cinemaHallId) {
+        return new CinemaHallChangedEvent(cinemaHallId, null, false);
+    }
+
+    public static CinemaHallChangedEvent relaidOut(Long cinemaHallId, SeatLayout seatLayout) {
+        return new CinemaHallChangedEvent(cinemaHallId, seatLayout, false);
+    }
+
+    public static CinemaHallChangedEvent deleted(Long cinemaHallId) {
+        return new CinemaHallChangedEvent(cinemaHallId, null, true);
+    }
+
+    public boolean isLayoutChanged() {
+        return seatLayout != null;
+    }
+
+}
@@ -1,37 +1,70 @@
 package com.example.cinemabooking.hall.service;
 
 import com.example.cinemabooking.hall.dto.CinemaHallResponse;
+import com.example.cinemabooking.hall.dto.CinemaHallSummaryResponse;
 import com.example.cinemabooking.hall.dto.CreateCinemaHallRequest;
+import com.example.cinemabooking.hall.dto.SeatPageResponse;
+import com.example.cinemabooking.hall.dto.SeatResponse;
 import com.example.cinemabooking.hall.dto.UpdateCinemaHallRequest;
 import com.example.cinemabooking.hall.entity.CinemaHall;
-import com.example.cinemabooking.hall.entity.Seat;
+import com.example.cinemabooking.hall.entity.SeatLayout;
 import com.example.cinemabooking.hall.repository.CinemaHallRepository;
 import com.example.cinemabooking.hall.service.exception.CinemaHallAlreadyExistsException;
 import com.example.cinemabooking.hall.service.exception.CinemaHallNotFoundException;
+import com.example.cinemabooking.hall.service.exception.ReservedSeatRemovalException;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.repository.ReservedSeatRepository;
+import com.example.cinemabooking.reservation.service.SeatInventory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CinemaHallService {
 
+    private static final int MAX_ROWS_PER_PAGE = 50;
+
     private final CinemaHallRepository cinemaHallRepository;
+    private final ReservedSeatRepository reservedSeatRepository;
+    private final SeatInventory seatInventory;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
-    public List<CinemaHallResponse> getAllCinemaHalls() {
-        return cinemaHallRepository.findAll()
-                .stream()
-                .map(CinemaHallResponse::of)
-                .toList();
+    public List<CinemaHallSummaryResponse> getAllCinemaHalls() {
+        return cinemaHallRepository.findAllSummaries();
     }
 
     @Transactional(readOnly = true)
     public CinemaHallResponse getCinemaHallById(Long id) {
-        CinemaHall cinemaHall = getCinemaHallOrThrow(id);
-        return CinemaHallResponse.of(cinemaHall);
+        return cinemaHallRepository.findResponseById(id)
+                .orElseThrow(() -> new CinemaHallNotFoundException(id));
+    }
+
+    @Transactional(readOnly = true)
+    public SeatPageResponse getSeats(Long id, int fromRow, int rowCount) {
+        SeatLayout layout = getCinemaHallOrThrow(id).getSeatLayout();
+        int firstRow = Math.max(fromRow, 1);
+        int lastRow = Math.min(firstRow + Math.clamp(rowCount, 1, MAX_ROWS_PER_PAGE) - 1, layout.getRows());
+        List<SeatResponse> seats = new ArrayList<>();
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int seatNumber = 1; seatNumber <= layout.getSeatsPerRow(); seatNumber++) {
+                if (layout.isSeat(row, seatNumber)) {
+                    seats.add(new SeatResponse(row, seatNumber));
+                }
+            }
+        }
+        return SeatPageResponse.of(seats, lastRow < layout.getRows() ? lastRow + 1 : null);
     }
 
     @Transactional(readOnly = true)
@@ -40,27 +73,28 @@ public class CinemaHallService {
                 .orElseThrow(() -> new CinemaHallNotFoundException(id));
     }
 
+    @Transactional(readOnly = true)
+    public Map<Long, CinemaHall> getCinemaHallsOrThrow(Collection<Long> ids) {
+        Map<Long, CinemaHall> cinemaHalls = cinemaHallRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(CinemaHall::getId, Function.identity()));
+        ids.stream()
+                .filter(id -> !cinemaHalls.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new CinemaHallNotFoundException(id);
+                });
+        return cinemaHalls;
+    }
+
     @Transactional
     public CinemaHallResponse createCinemaHall(CreateCinemaHallRequest createCinemaHallRequest) {
         CinemaHall cinemaHall = createCinemaHallRequest.toCinemaHall();
         if (cinemaHallRepository.findByName(cinemaHall.getName()).isPresent()) {
             throw new CinemaHallAlreadyExistsException(cinemaHall.getName());
         }
-        createSeats(cinemaHall);
         return CinemaHallResponse.of(cinemaHallRepository.save(cinemaHall));
     }
 
-    private void createSeats(CinemaHall cinemaHall) {
-        for (int row = 1; row <= cinemaHall.getRows(); row++) {
-            for (int seatNumber = 1; seatNumber <= cinemaHall.getSeatsPerRow(); seatNumber++) {
-                Seat seat = new Seat();
-                seat.setRowNumber(row);
-                seat.setSeatNumber(seatNumber);
-                cinemaHall.addSeat(seat);
-            }
-        }
-    }
-
     @Transactional
     public CinemaHallResponse updateCinemaHall(Long id, UpdateCinemaHallRequest updateCinemaHallRequest) {
         CinemaHall cinemaHall = getCinemaHallOrThrow(id);
@@ -78,17 +112,35 @@ public class CinemaHallService {
     }
 
     private void applyUpdates(CinemaHall cinemaHall, UpdateCinemaHallRequest request) {
-        cinemaHall.setName(request.getName());
-        cinemaHall.setRows(request.getRows());
-        cinemaHall.setSeatsPerRow(request.getSeatsPerRow());
-        cinemaHall.clearSeats();
-        createSeats(cinemaHall);
+        SeatLayout currentLayout = cinemaHall.getSeatLayout();
+        SeatLayout updatedLayout = request.toSeatLayout(currentLayout);
+        if (!updatedLayout.equals(currentLayout)) {
+            validateReservedSeatsKept(cinemaHall.getId(), updatedLayout);
+            cinemaHall.setName(request.getName());
+            cinemaHall.setSeatLayout(updatedLayout);
+            eventPublisher.publishEvent(CinemaHallChangedEvent.relaidOut(cinemaHall.getId(), updatedLayout));
+        } else if (!request.getName().equals(cinemaHall.getName())) {
+            cinemaHall.setName(request.getName());
+            eventPublisher.publishEvent(CinemaHallChangedEvent.renamed(cinemaHall.getId()));
+        }
+    }
+
+    // Held and queued seats are only claimed in the seat inventory until their reservation is written.
+    private void validateReservedSeatsKept(Long id, SeatLayout layout) {
+        Stream.concat(reservedSeatRepository.findSeatPositionsInCinemaHall(id, ReservationStatus.ACTIVE, LocalDateTime.now()).stream(),
+                        seatInventory.getClaimedSeats(id).stream())
+                .filter(seat -> !layout.isSeat(seat.getRowNumber(), seat.getSeatNumber()))
+                .findFirst()
+                .ifPresent(seat -> {
+                    throw new ReservedSeatRemovalException(id, seat.getRowNumber(), seat.getSeatNumber());
+                });
     }
 
     @Transactional
     public void deleteCinemaHall(Long id) {
         CinemaHall cinemaHall = getCinemaHallOrThrow(id);
         cinemaHallRepository.delete(cinemaHall);
+        eventPublisher.publishEvent(CinemaHallChangedEvent.deleted(id));
     }
 
 }
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.hall.service.exception;
+
+public class InvalidSeatLayoutException extends RuntimeException {
+    public InvalidSeatLayoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.cinemabooking.hall.service.exception;
+
+public class ReservedSeatRemovalException extends RuntimeException {
+    public ReservedSeatRemovalException(Long cinemaHallId, int rowNumber, int seatNumber) {
+        super("Seat in row " + rowNumber + " with number " + seatNumber + " of cinema hall with id " + cinemaHallId
+                + " is reserved or held for an upcoming showtime and cannot be removed.");
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.cinemabooking.hall.web;
 
 import com.example.cinemabooking.hall.dto.CinemaHallResponse;
+import com.example.cinemabooking.hall.dto.CinemaHallSummaryResponse;
 import com.example.cinemabooking.hall.dto.CreateCinemaHallRequest;
+import com.example.cinemabooking.hall.dto.SeatPageResponse;
 import com.example.cinemabooking.hall.dto.UpdateCinemaHallRequest;
 import com.example.cinemabooking.hall.service.CinemaHallService;
 import jakarta.validation.Valid;
@@ -19,7 +21,7 @@ public class CinemaHallController {
     private final CinemaHallService cinemaHallService;
 
     @GetMapping
-    List<CinemaHallResponse> getAllCinemaHalls() {
+    List<CinemaHallSummaryResponse> getAllCinemaHalls() {
         return cinemaHallService.getAllCinemaHalls();
     }
 
@@ -28,6 +30,13 @@ public class CinemaHallController {
         return cinemaHallService.getCinemaHallById(id);
     }
 
+    @GetMapping("/{id}/seats")
+    SeatPageResponse getSeats(@PathVariable Long id,
+                              @RequestParam(defaultValue = "1") int fromRow,
+                              @RequestParam(defaultValue = "10") int rows) {
+        return cinemaHallService.getSeats(id, fromRow, rows);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     CinemaHallResponse createCinemaHall(@RequestBody @Valid CreateCinemaHallRequest createCinemaHallRequest) {
@@ -3,6 +3,7 @@ package com.example.cinemabooking.movie.dto;
 
 import com.example.cinemabooking.movie.entity.AgeRating;
 import com.example.cinemabooking.movie.entity.Movie;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Value;
 
@@ -10,6 +11,7 @@ import java.time.LocalDate;
 
 @Value
 @Builder
+@AllArgsConstructor
 public class MovieResponse {
 
     Long id;
@@ -1,15 +1,29 @@
 package com.example.cinemabooking.movie.repository;
 
+import com.example.cinemabooking.movie.dto.MovieResponse;
 import com.example.cinemabooking.movie.entity.Movie;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface MovieRepository extends JpaRepository<Movie, Long> {
 
+    String RESPONSE_SELECT = """
+            SELECT new com.example.cinemabooking.movie.dto.MovieResponse(
+                m.id, m.title, m.description, m.genre, m.durationMinutes, m.releaseDate, m.ageRating)
+            FROM Movie m
+            """;
+
     @Query("SELECT m FROM Movie m WHERE m.title = :title")
     Optional<Movie> findByTitle(@Param("title") String title);
 
+    @Query(RESPONSE_SELECT + "ORDER BY m.id")
+    List<MovieResponse> findAllResponses();
+
+    @Query(RESPONSE_SELECT + "WHERE m.id = :id")
+    Optional<MovieResponse> findResponseById(@Param("id") Long id);
+
 }
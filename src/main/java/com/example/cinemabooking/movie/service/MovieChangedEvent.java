@@ -0,0 +1,11 @@
+package com.example.cinemabooking.movie.service;
+
+import lombok.Value;
+
+@Value
+public class MovieChangedEvent {
+
+    Long movieId;
+    boolean deleted;
+
+}
@@ -6,30 +6,34 @@ import com.example.cinemabooking.movie.entity.Movie;
 import com.example.cinemabooking.movie.repository.MovieRepository;
 import com.example.cinemabooking.movie.service.exception.MovieAlreadyExistsException;
 import com.example.cinemabooking.movie.service.exception.MovieNotFoundException;
+import com.example.cinemabooking.showtime.service.ShowTimeChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MovieService {
 
     private final MovieRepository movieRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<MovieResponse> getAllMovies() {
-        return movieRepository.findAll()
-                .stream()
-                .map(MovieResponse::of)
-                .toList();
+        return movieRepository.findAllResponses();
     }
 
     @Transactional(readOnly = true)
     public MovieResponse getMovieById(Long id) {
-        Movie movie = getMovieOrThrow(id);
-        return MovieResponse.of(movie);
+        return movieRepository.findResponseById(id)
+                .orElseThrow(() -> new MovieNotFoundException(id));
     }
 
     @Transactional(readOnly = true)
@@ -38,6 +42,19 @@ public class MovieService {
                 .orElseThrow(() -> new MovieNotFoundException(id));
     }
 
+    @Transactional(readOnly = true)
+    public Map<Long, Movie> getMoviesOrThrow(Collection<Long> ids) {
+        Map<Long, Movie> movies = movieRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+        ids.stream()
+                .filter(id -> !movies.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new MovieNotFoundException(id);
+                });
+        return movies;
+    }
+
     @Transactional
     public MovieResponse createMovie(CreateMovieRequest createMovieRequest) {
         validateUniqueTitle(createMovieRequest.getTitle());
@@ -54,7 +71,12 @@ public class MovieService {
     @Transactional
     public void deleteMovie(Long id) {
         Movie movie = getMovieOrThrow(id);
+        // The delete cascades to the show times, which would otherwise stay in schedules and seat maps.
+        List<ShowTimeChangedEvent> removedShowTimes = movie.getShowTimes() == null ? List.of()
+                : movie.getShowTimes().stream().map(ShowTimeChangedEvent::deleted).toList();
         movieRepository.delete(movie);
+        removedShowTimes.forEach(eventPublisher::publishEvent);
+        eventPublisher.publishEvent(new MovieChangedEvent(id, true));
     }
 
 }
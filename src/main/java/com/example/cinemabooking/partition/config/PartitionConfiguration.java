@@ -0,0 +1,65 @@
+package com.example.cinemabooking.partition.config;
+
+import com.example.cinemabooking.partition.service.PartitionClient;
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import com.example.cinemabooking.partition.service.PartitionRouter;
+import com.example.cinemabooking.partition.web.PartitionForwardingInterceptor;
+import com.example.cinemabooking.reservation.config.SeatHoldProperties;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.reservation.service.SeatHoldService;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "booking.partition.enabled", havingValue = "true")
+@EnableConfigurationProperties(PartitionProperties.class)
+class PartitionConfiguration {
+
+    @Bean
+    PartitionRequestSigner partitionRequestSigner(PartitionProperties partitionProperties) {
+        return new PartitionRequestSigner(partitionProperties.getSecret(), partitionProperties.getSignatureMaxAge());
+    }
+
+    @Bean
+    PartitionClient partitionClient(RestClient.Builder restClientBuilder, PartitionProperties partitionProperties,
+                                    PartitionRequestSigner partitionRequestSigner, ObjectMapper objectMapper) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(partitionProperties.getConnectTimeout())
+                .build());
+        requestFactory.setReadTimeout(partitionProperties.getReadTimeout());
+        return new PartitionClient(restClientBuilder.requestFactory(requestFactory).build(), partitionProperties.getNodeId(),
+                partitionRequestSigner, objectMapper);
+    }
+
+    @Bean
+    PartitionRouter partitionRouter(PartitionProperties partitionProperties, ShowTimeRepository showTimeRepository,
+                                    ReservationRepository reservationRepository, SeatInventory seatInventory,
+                                    SeatHoldService seatHoldService, PartitionClient partitionClient,
+                                    SeatHoldProperties seatHoldProperties) {
+        Map<String, URI> nodes = new LinkedHashMap<>(partitionProperties.getNodes());
+        nodes.putIfAbsent(partitionProperties.getNodeId(), partitionProperties.getUrl());
+        return new PartitionRouter(partitionProperties.getNodeId(), partitionProperties.getVirtualNodes(), nodes,
+                showTimeRepository, reservationRepository, seatInventory, seatHoldService, partitionClient,
+                seatHoldProperties.getTtl());
+    }
+
+    @Bean
+    PartitionForwardingInterceptor partitionForwardingInterceptor(PartitionRouter partitionRouter, PartitionClient partitionClient,
+                                                                  PartitionRequestSigner partitionRequestSigner) {
+        return new PartitionForwardingInterceptor(partitionRouter, partitionClient, partitionRequestSigner);
+    }
+
+}
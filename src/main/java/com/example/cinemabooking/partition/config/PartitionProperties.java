@@ -0,0 +1,37 @@
+package com.example.cinemabooking.partition.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.partition")
+public class PartitionProperties {
+
+    private boolean enabled = false;
+
+    private String nodeId = "node-1";
+
+    // Base URL other nodes forward to; added to the starting nodes when they do not list this node.
+    private URI url = URI.create("http://localhost:8080");
+
+    private Map<String, URI> nodes = new LinkedHashMap<>();
+
+    private int virtualNodes = 128;
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    // Shared by all nodes to sign the requests they send each other; required when partitioning is enabled.
+    private String secret;
+
+    private Duration signatureMaxAge = Duration.ofSeconds(30);
+
+}
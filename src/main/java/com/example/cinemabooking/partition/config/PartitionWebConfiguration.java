@@ -0,0 +1,44 @@
+package com.example.cinemabooking.partition.config;
+
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import com.example.cinemabooking.partition.web.PartitionForwardingInterceptor;
+import com.example.cinemabooking.partition.web.PartitionSignatureFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "booking.partition.enabled", havingValue = "true")
+@RequiredArgsConstructor
+class PartitionWebConfiguration implements WebMvcConfigurer {
+
+    private final PartitionForwardingInterceptor partitionForwardingInterceptor;
+
+    // Runs right after character encoding, ahead of the idempotency filter that trusts the client address a node
+    // forwards.
+    @Bean
+    FilterRegistrationBean<PartitionSignatureFilter> partitionSignatureFilter(PartitionRequestSigner partitionRequestSigner) {
+        FilterRegistrationBean<PartitionSignatureFilter> registration = new FilterRegistrationBean<>(
+                new PartitionSignatureFilter(partitionRequestSigner));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    // Runs right after rate limiting and before the waiting room check, so admission is checked and counted only
+    // on the owning node.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(partitionForwardingInterceptor)
+                .addPathPatterns("/api/showtimes/*/reservations", "/api/showtimes/*/holds", "/api/showtimes/*/best-seats",
+                        "/api/showtimes/*/seatmap", "/api/showtimes/*/seatmap/stream", "/api/showtimes/*/waiting-room",
+                        "/api/showtimes/*/waiting-room/**", "/api/reservations/*/cancel")
+                .order(Ordered.HIGHEST_PRECEDENCE + 1);
+    }
+
+}
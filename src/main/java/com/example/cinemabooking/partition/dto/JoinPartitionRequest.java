@@ -0,0 +1,16 @@
+package com.example.cinemabooking.partition.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+
+import java.net.URI;
+
+@Value
+@Builder
+public class JoinPartitionRequest {
+
+    @NotNull
+    URI url;
+
+}
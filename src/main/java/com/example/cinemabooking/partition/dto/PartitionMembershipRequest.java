@@ -0,0 +1,21 @@
+package com.example.cinemabooking.partition.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+import lombok.Value;
+
+import java.net.URI;
+import java.util.Map;
+
+@Value
+@Builder
+public class PartitionMembershipRequest {
+
+    @Positive
+    long epoch;
+
+    @NotEmpty
+    Map<String, URI> nodes;
+
+}
@@ -0,0 +1,26 @@
+package com.example.cinemabooking.partition.dto;
+
+import com.example.cinemabooking.partition.service.PartitionMembership;
+import lombok.Builder;
+import lombok.Value;
+
+import java.net.URI;
+import java.util.Map;
+
+@Value
+@Builder
+public class PartitionMembershipResponse {
+
+    String nodeId;
+    long epoch;
+    Map<String, URI> nodes;
+
+    public static PartitionMembershipResponse of(String nodeId, PartitionMembership membership) {
+        return PartitionMembershipResponse.builder()
+                .nodeId(nodeId)
+                .epoch(membership.getEpoch())
+                .nodes(membership.getNodes())
+                .build();
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.example.cinemabooking.partition.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+// Every node is placed at a fixed number of pseudo-random points on a 64-bit ring and a hall belongs to the first
+// point at or after its own hash. Adding or removing a node therefore only moves the halls next to its points.
+public class ConsistentHashRing {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A hash ring needs at least one node and one point per node.");
+        }
+        long[] unsortedPoints = new long[nodeIds.size() * virtualNodes];
+        String[] unsortedOwners = new String[unsortedPoints.length];
+        int index = 0;
+        for (String nodeId : nodeIds) {
+            long nodeHash = hash(nodeId);
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                unsortedPoints[index] = mix(nodeHash + replica * GOLDEN_GAMMA);
+                unsortedOwners[index++] = nodeId;
+            }
+        }
+        int[] order = IntStream.range(0, unsortedPoints.length).boxed()
+                .sorted(Comparator.<Integer>comparingLong(i -> unsortedPoints[i]).thenComparing(i -> unsortedOwners[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        points = new long[order.length];
+        owners = new String[order.length];
+        for (int position = 0; position < order.length; position++) {
+            points[position] = unsortedPoints[order[position]];
+            owners[position] = unsortedOwners[order[position]];
+        }
+    }
+
+    public String ownerOf(long key) {
+        int position = Arrays.binarySearch(points, mix(key));
+        if (position < 0) {
+            position = -position - 1;
+        }
+        return owners[position == points.length ? 0 : position];
+    }
+
+    // SplitMix64 finalizer: consecutive hall ids land far apart on the ring.
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private static long hash(String nodeId) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : nodeId.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.example.cinemabooking.partition.service;
+
+import com.example.cinemabooking.partition.dto.PartitionMembershipRequest;
+import com.example.cinemabooking.partition.service.exception.PartitionOwnerUnavailableException;
+import com.example.cinemabooking.reservation.dto.SeatHoldResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class PartitionClient {
+
+    public static final String FORWARDED_BY_HEADER = "X-Partition-Forwarded-By";
+    public static final String FORWARDED_FOR_HEADER = "X-Partition-Forwarded-For";
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "content-length", "expect", "host", "keep-alive",
+            "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade");
+    private static final int COPY_BUFFER_SIZE = 8192;
+    private static final String MEMBERSHIP_PATH = "/api/partition/membership";
+    private static final String HOLDS_PATH = "/api/partition/holds";
+
+    private final RestClient restClient;
+    private final String nodeId;
+    private final PartitionRequestSigner partitionRequestSigner;
+    private final ObjectMapper objectMapper;
+
+    // The owner's response is copied back as it arrives and flushed chunk by chunk, so streamed seat map events pass
+    // straight through. Error responses of the owner are passed on as they are. Forwarded-by and forwarded-for headers
+    // sent by the client are replaced with this node's signed one and the client's address.
+    public void forward(PartitionNode owner, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        URI target = UriComponentsBuilder.fromUri(owner.getUrl())
+                .path(request.getRequestURI())
+                .query(request.getQueryString())
+                .build(true)
+                .toUri();
+        byte[] body = request.getInputStream().readAllBytes();
+        RestClient.RequestBodySpec spec = restClient.method(HttpMethod.valueOf(request.getMethod()))
+                .uri(target)
+                .headers(headers -> Collections.list(request.getHeaderNames()).stream()
+                        .filter(name -> !HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT)))
+                        .filter(name -> !name.equalsIgnoreCase(FORWARDED_BY_HEADER) && !name.equalsIgnoreCase(FORWARDED_FOR_HEADER))
+                        .forEach(name -> headers.addAll(name, Collections.list(request.getHeaders(name)))))
+                .header(FORWARDED_BY_HEADER, partitionRequestSigner.sign(nodeId, request.getMethod(), request.getRequestURI(),
+                        request.getQueryString(), body))
+                .header(FORWARDED_FOR_HEADER, request.getRemoteAddr());
+        if (body.length > 0) {
+            spec.body(body);
+        }
+        try {
+            spec.exchange((clientRequest, clientResponse) -> {
+                response.setStatus(clientResponse.getStatusCode().value());
+                clientResponse.getHeaders().forEach((name, values) -> {
+                    if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                        values.forEach(value -> response.addHeader(name, value));
+                    }
+                });
+                copy(clientResponse.getBody(), response.getOutputStream());
+                return null;
+            });
+        } catch (RestClientException e) {
+            throw new PartitionOwnerUnavailableException(owner.getId(), e);
+        }
+    }
+
+    public void announce(URI node, PartitionMembershipRequest membership) {
+        byte[] body = toJson(membership);
+        restClient.put()
+                .uri(node.resolve(MEMBERSHIP_PATH))
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(FORWARDED_BY_HEADER, partitionRequestSigner.sign(nodeId, HttpMethod.PUT.name(), MEMBERSHIP_PATH, null, body))
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    public void handOff(URI node, List<SeatHoldResponse> holds) {
+        byte[] body = toJson(holds);
+        restClient.post()
+                .uri(node.resolve(HOLDS_PATH))
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(FORWARDED_BY_HEADER, partitionRequestSigner.sign(nodeId, HttpMethod.POST.name(), HOLDS_PATH, null, body))
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    // The signature covers the exact bytes sent, so the body is serialized here rather than by the client.
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new RestClientException("Could not serialize a request to another node", e);
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+            out.write(buffer, 0, read);
+            out.flush();
+        }
+    }
+
+}
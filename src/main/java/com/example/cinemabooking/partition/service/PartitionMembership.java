@@ -0,0 +1,35 @@
+package com.example.cinemabooking.partition.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Nodes by id with the base URL requests are forwarded to. A higher epoch always replaces a lower one.
+@Getter
+public class PartitionMembership {
+
+    private final long epoch;
+    private final Map<String, URI> nodes;
+
+    @Getter(AccessLevel.NONE)
+    private final ConsistentHashRing ring;
+
+    public PartitionMembership(long epoch, Map<String, URI> nodes, int virtualNodes) {
+        this.epoch = epoch;
+        this.nodes = Collections.unmodifiableMap(new TreeMap<>(nodes));
+        this.ring = new ConsistentHashRing(this.nodes.keySet(), virtualNodes);
+    }
+
+    public String ownerOf(Long cinemaHallId) {
+        return ring.ownerOf(cinemaHallId);
+    }
+
+    public URI urlOf(String nodeId) {
+        return nodes.get(nodeId);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.example.cinemabooking.partition.service;
+
+import lombok.Value;
+
+import java.net.URI;
+
+@Value
+public class PartitionNode {
+
+    String id;
+    URI url;
+
+}
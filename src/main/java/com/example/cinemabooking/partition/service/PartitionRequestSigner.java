@@ -0,0 +1,85 @@
+package com.example.cinemabooking.partition.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+// Requests between nodes carry "<node id> <epoch millis> <signature>" in the forwarded-by header, signed with an
+// HMAC-SHA256 under the secret all nodes share over the node id, time, method, path, query string and a SHA-256 digest
+// of the body. A signature counts only within maxAge of its time, so a captured header can be replayed only for that
+// long and only with the exact request it was made for.
+public class PartitionRequestSigner {
+
+    public static final String SIGNED_BY_ATTRIBUTE = PartitionRequestSigner.class.getName() + ".signedBy";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    public PartitionRequestSigner(String secret, Duration maxAge) {
+        this(secret, maxAge, Clock.systemUTC());
+    }
+
+    PartitionRequestSigner(String secret, Duration maxAge, Clock clock) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("A shared partition secret is required to sign requests between nodes.");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    public String sign(String nodeId, String method, String path, String query, byte[] body) {
+        long signedAt = clock.millis();
+        return nodeId + " " + signedAt + " " + signature(nodeId, signedAt, method, path, query, body);
+    }
+
+    // The id of the node that signed the request; empty when the header is missing, malformed, stale or forged.
+    public Optional<String> verify(HttpServletRequest request, byte[] body) {
+        String header = request.getHeader(PartitionClient.FORWARDED_BY_HEADER);
+        String[] parts = header == null ? new String[0] : header.split(" ");
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+        long signedAt;
+        try {
+            signedAt = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        if (Math.abs(clock.millis() - signedAt) > maxAge.toMillis()) {
+            return Optional.empty();
+        }
+        byte[] expected = signature(parts[0], signedAt, request.getMethod(), request.getRequestURI(), request.getQueryString(), body)
+                .getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, parts[2].getBytes(StandardCharsets.US_ASCII)) ? Optional.of(parts[0]) : Optional.empty();
+    }
+
+    // The node PartitionSignatureFilter verified the request against, before anything read its body.
+    public Optional<String> signedBy(HttpServletRequest request) {
+        return Optional.ofNullable((String) request.getAttribute(SIGNED_BY_ATTRIBUTE));
+    }
+
+    private String signature(String nodeId, long signedAt, String method, String path, String query, byte[] body) {
+        try {
+            String bodyDigest = Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal(String.join("\n", nodeId, String.valueOf(signedAt), method, path,
+                    query == null ? "" : query, bodyDigest).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+package com.example.cinemabooking.partition.service;
+
+import com.example.cinemabooking.partition.dto.PartitionMembershipRequest;
+import com.example.cinemabooking.partition.service.exception.LastPartitionNodeException;
+import com.example.cinemabooking.partition.service.exception.PartitionNodeNotFoundException;
+import com.example.cinemabooking.reservation.dto.SeatHoldResponse;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.reservation.service.SeatHold;
+import com.example.cinemabooking.reservation.service.SeatHoldService;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.showtime.service.ShowTimeChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClientException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Every cinema hall, and with it the seat maps, holds and waiting rooms of its show times, is owned by exactly one node,
+// so seat claims stay single-writer per hall. Requests for a hall owned elsewhere are forwarded to its owner.
+@Slf4j
+public class PartitionRouter {
+
+    private final String nodeId;
+    private final int virtualNodes;
+    private final ShowTimeRepository showTimeRepository;
+    private final ReservationRepository reservationRepository;
+    private final SeatInventory seatInventory;
+    private final SeatHoldService seatHoldService;
+    private final PartitionClient partitionClient;
+    private final Duration holdTtl;
+    private final ConcurrentMap<Long, Long> cinemaHallIds = new ConcurrentHashMap<>();
+    private volatile PartitionMembership membership;
+
+    public PartitionRouter(String nodeId, int virtualNodes, Map<String, URI> nodes, ShowTimeRepository showTimeRepository,
+                           ReservationRepository reservationRepository, SeatInventory seatInventory,
+                           SeatHoldService seatHoldService, PartitionClient partitionClient, Duration holdTtl) {
+        this.nodeId = nodeId;
+        this.virtualNodes = virtualNodes;
+        this.showTimeRepository = showTimeRepository;
+        this.reservationRepository = reservationRepository;
+        this.seatInventory = seatInventory;
+        this.seatHoldService = seatHoldService;
+        this.partitionClient = partitionClient;
+        this.holdTtl = holdTtl;
+        this.membership = new PartitionMembership(1, nodes, virtualNodes);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public PartitionMembership getMembership() {
+        return membership;
+    }
+
+    // Empty when this node owns the show time or it does not exist; the local handler then serves or rejects it.
+    public Optional<PartitionNode> findRemoteOwnerOfShowTime(Long showTimeId) {
+        Long cinemaHallId = cinemaHallIds.get(showTimeId);
+        if (cinemaHallId == null) {
+            cinemaHallId = showTimeRepository.findCinemaHallIdById(showTimeId).orElse(null);
+            if (cinemaHallId == null) {
+                return Optional.empty();
+            }
+            cinemaHallIds.put(showTimeId, cinemaHallId);
+        }
+        PartitionMembership current = membership;
+        String owner = current.ownerOf(cinemaHallId);
+        return owner.equals(nodeId) ? Optional.empty() : Optional.of(new PartitionNode(owner, current.urlOf(owner)));
+    }
+
+    public Optional<PartitionNode> findRemoteOwnerOfReservation(Long reservationId) {
+        return reservationRepository.findShowTimeIdById(reservationId).flatMap(this::findRemoteOwnerOfShowTime);
+    }
+
+    public PartitionMembership join(String joiningNodeId, URI url) {
+        Map<String, URI> nodes = new HashMap<>(membership.getNodes());
+        nodes.put(joiningNodeId, url);
+        return change(nodes);
+    }
+
+    public PartitionMembership leave(String leavingNodeId) {
+        Map<String, URI> nodes = new HashMap<>(membership.getNodes());
+        if (nodes.remove(leavingNodeId) == null) {
+            throw new PartitionNodeNotFoundException(leavingNodeId);
+        }
+        if (nodes.isEmpty()) {
+            throw new LastPartitionNodeException(leavingNodeId);
+        }
+        return change(nodes);
+    }
+
+    // Older or repeated announcements are ignored, so a change reaches every node at most once.
+    public boolean apply(long epoch, Map<String, URI> nodes) {
+        Optional<List<HandOff>> handOffs = apply(new PartitionMembership(epoch, nodes, virtualNodes));
+        handOffs.ifPresent(this::handOff);
+        return handOffs.isPresent();
+    }
+
+    // Holds handed over by the previous owner are claimed again here; a hold whose seats were taken in the meantime is
+    // dropped. No hold is kept longer than one created here would be.
+    public int acceptHolds(List<SeatHold> handedOver) {
+        LocalDateTime latestExpiry = LocalDateTime.now().plus(holdTtl);
+        int accepted = 0;
+        for (SeatHold handedOverHold : handedOver) {
+            SeatHold hold = handedOverHold.getExpiresAt().isAfter(latestExpiry)
+                    ? new SeatHold(handedOverHold.getId(), handedOverHold.getShowTimeId(), handedOverHold.getSeats(), latestExpiry)
+                    : handedOverHold;
+            try {
+                boolean claimed = seatInventory.atomically(hold.getShowTimeId(), () -> {
+                    if (!seatInventory.claim(hold.getShowTimeId(), hold.getSeats())) {
+                        return false;
+                    }
+                    seatHoldService.restoreHold(hold);
+                    return true;
+                });
+                accepted += claimed ? 1 : 0;
+            } catch (RuntimeException e) {
+                log.warn("Dropping handed over hold {} of show time {}: {}", hold.getId(), hold.getShowTimeId(), e.getMessage());
+            }
+        }
+        return accepted;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowTimeChanged(ShowTimeChangedEvent event) {
+        if (event.isDeleted()) {
+            cinemaHallIds.remove(event.getShowTimeId());
+        } else {
+            cinemaHallIds.put(event.getShowTimeId(), event.getCurrent().getCinemaHallId());
+        }
+    }
+
+    // Holds are handed over and peers told outside the lock, so two nodes changing membership at the same time cannot
+    // wait on each other.
+    private PartitionMembership change(Map<String, URI> nodes) {
+        PartitionMembership previous;
+        PartitionMembership next;
+        List<HandOff> handOffs;
+        synchronized (this) {
+            previous = membership;
+            next = new PartitionMembership(previous.getEpoch() + 1, nodes, virtualNodes);
+            handOffs = apply(next).orElseThrow();
+        }
+        handOff(handOffs);
+        Map<String, URI> peers = new LinkedHashMap<>(previous.getNodes());
+        peers.putAll(next.getNodes());
+        peers.remove(nodeId);
+        PartitionMembershipRequest announcement = PartitionMembershipRequest.builder()
+                .epoch(next.getEpoch())
+                .nodes(next.getNodes())
+                .build();
+        peers.forEach((peerId, url) -> {
+            try {
+                partitionClient.announce(url, announcement);
+            } catch (RestClientException e) {
+                log.warn("Could not announce partition epoch {} to node {}: {}", next.getEpoch(), peerId, e.getMessage());
+            }
+        });
+        return next;
+    }
+
+    // Empty when the membership is not newer than the current one; otherwise the holds to hand over to new owners.
+    private synchronized Optional<List<HandOff>> apply(PartitionMembership next) {
+        PartitionMembership previous = membership;
+        if (next.getEpoch() <= previous.getEpoch()) {
+            return Optional.empty();
+        }
+        membership = next;
+        List<HandOff> handOffs = rebalance(previous, next);
+        log.info("Node {} moved to partition epoch {} with nodes {}", nodeId, next.getEpoch(), next.getNodes().keySet());
+        return Optional.of(handOffs);
+    }
+
+    // Each seat map moves with its changes held off, so no claim is half done on it while it moves. Seat maps of halls
+    // that were not owned here before may be stale and are dropped as well; they are loaded again on first use.
+    private List<HandOff> rebalance(PartitionMembership previous, PartitionMembership next) {
+        Map<String, List<SeatHoldResponse>> handOffs = new HashMap<>();
+        seatInventory.getLoadedSeatMaps().forEach((showTimeId, seatMap) -> {
+            boolean ownedBefore = nodeId.equals(previous.ownerOf(seatMap.getCinemaHallId()));
+            String owner = next.ownerOf(seatMap.getCinemaHallId());
+            if (ownedBefore && owner.equals(nodeId)) {
+                return;
+            }
+            seatInventory.exclusively(showTimeId, () -> {
+                seatInventory.evict(showTimeId);
+                if (ownedBefore) {
+                    seatHoldService.removeHolds(showTimeId).forEach(hold ->
+                            handOffs.computeIfAbsent(owner, id -> new ArrayList<>()).add(SeatHoldResponse.of(hold)));
+                }
+                return null;
+            });
+        });
+        return handOffs.entrySet().stream()
+                .map(handOff -> new HandOff(handOff.getKey(), next.urlOf(handOff.getKey()), handOff.getValue()))
+                .toList();
+    }
+
+    private void handOff(List<HandOff> handOffs) {
+        handOffs.forEach(handOff -> {
+            try {
+                partitionClient.handOff(handOff.url(), handOff.holds());
+            } catch (RestClientException e) {
+                log.warn("Could not hand {} holds over to node {}: {}", handOff.holds().size(), handOff.owner(), e.getMessage());
+            }
+        });
+    }
+
+    private record HandOff(String owner, URI url, List<SeatHoldResponse> holds) {
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.partition.service.exception;
+
+public class LastPartitionNodeException extends RuntimeException {
+    public LastPartitionNodeException(String nodeId) {
+        super("Node " + nodeId + " is the last member of the partition and cannot leave.");
+    }
+}
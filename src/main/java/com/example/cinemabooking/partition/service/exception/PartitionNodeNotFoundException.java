@@ -0,0 +1,7 @@
+package com.example.cinemabooking.partition.service.exception;
+
+public class PartitionNodeNotFoundException extends RuntimeException {
+    public PartitionNodeNotFoundException(String nodeId) {
+        super("Node " + nodeId + " is not a member of the partition.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.partition.service.exception;
+
+public class PartitionOwnerUnavailableException extends RuntimeException {
+    public PartitionOwnerUnavailableException(String nodeId, Throwable cause) {
+        super("Node " + nodeId + " that owns this show time's cinema hall is unavailable.", cause);
+    }
+}
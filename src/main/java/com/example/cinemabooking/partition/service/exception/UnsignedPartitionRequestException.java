@@ -0,0 +1,7 @@
+package com.example.cinemabooking.partition.service.exception;
+
+public class UnsignedPartitionRequestException extends RuntimeException {
+    public UnsignedPartitionRequestException() {
+        super("Only partition nodes may call this endpoint.");
+    }
+}
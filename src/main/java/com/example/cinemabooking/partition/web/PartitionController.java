@@ -0,0 +1,68 @@
+package com.example.cinemabooking.partition.web;
+
+import com.example.cinemabooking.partition.dto.JoinPartitionRequest;
+import com.example.cinemabooking.partition.dto.PartitionMembershipRequest;
+import com.example.cinemabooking.partition.dto.PartitionMembershipResponse;
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import com.example.cinemabooking.partition.service.PartitionRouter;
+import com.example.cinemabooking.partition.service.exception.UnsignedPartitionRequestException;
+import com.example.cinemabooking.reservation.dto.SeatHoldResponse;
+import com.example.cinemabooking.reservation.service.SeatHold;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/partition")
+@ConditionalOnProperty(name = "booking.partition.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PartitionController {
+
+    private final PartitionRouter partitionRouter;
+    private final PartitionRequestSigner partitionRequestSigner;
+
+    @GetMapping
+    PartitionMembershipResponse getMembership() {
+        return PartitionMembershipResponse.of(partitionRouter.getNodeId(), partitionRouter.getMembership());
+    }
+
+    @PutMapping("/nodes/{nodeId}")
+    PartitionMembershipResponse joinNode(@PathVariable String nodeId, @RequestBody @Valid JoinPartitionRequest request) {
+        return PartitionMembershipResponse.of(partitionRouter.getNodeId(), partitionRouter.join(nodeId, request.getUrl()));
+    }
+
+    @DeleteMapping("/nodes/{nodeId}")
+    PartitionMembershipResponse leaveNode(@PathVariable String nodeId) {
+        return PartitionMembershipResponse.of(partitionRouter.getNodeId(), partitionRouter.leave(nodeId));
+    }
+
+    @PutMapping("/membership")
+    PartitionMembershipResponse applyMembership(@RequestBody @Valid PartitionMembershipRequest request,
+                                                HttpServletRequest httpRequest) {
+        requireNode(httpRequest);
+        partitionRouter.apply(request.getEpoch(), request.getNodes());
+        return getMembership();
+    }
+
+    @PostMapping("/holds")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    void acceptHolds(@RequestBody List<SeatHoldResponse> holds, HttpServletRequest httpRequest) {
+        requireNode(httpRequest);
+        partitionRouter.acceptHolds(holds.stream()
+                .map(hold -> new SeatHold(hold.getId(), hold.getShowTimeId(), hold.getSeats(), hold.getExpiresAt()))
+                .toList());
+    }
+
+    // Membership announcements and hold hand-offs come only from other nodes.
+    private void requireNode(HttpServletRequest httpRequest) {
+        if (partitionRequestSigner.signedBy(httpRequest).isEmpty()) {
+            throw new UnsignedPartitionRequestException();
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.example.cinemabooking.partition.web;
+
+import com.example.cinemabooking.partition.service.PartitionClient;
+import com.example.cinemabooking.partition.service.PartitionNode;
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import com.example.cinemabooking.partition.service.PartitionRouter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class PartitionForwardingInterceptor implements HandlerInterceptor {
+
+    private final PartitionRouter partitionRouter;
+    private final PartitionClient partitionClient;
+    private final PartitionRequestSigner partitionRequestSigner;
+
+    // A request forwarded by another node is always served where it lands, so nodes that briefly disagree on the owner
+    // cannot loop. A forwarded-by header without a valid signature is routed like any client request.
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (partitionRequestSigner.signedBy(request).isPresent()) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        Optional<PartitionNode> owner = pathVariables == null ? Optional.empty() : findRemoteOwner(pathVariables);
+        if (owner.isEmpty()) {
+            return true;
+        }
+        partitionClient.forward(owner.get(), request, response);
+        return false;
+    }
+
+    private Optional<PartitionNode> findRemoteOwner(Map<String, String> pathVariables) {
+        String showTimeId = pathVariables.get("showTimeId");
+        if (isId(showTimeId)) {
+            return partitionRouter.findRemoteOwnerOfShowTime(Long.valueOf(showTimeId));
+        }
+        String reservationId = pathVariables.get("id");
+        if (isId(reservationId)) {
+            return partitionRouter.findRemoteOwnerOfReservation(Long.valueOf(reservationId));
+        }
+        return Optional.empty();
+    }
+
+    private boolean isId(String value) {
+        return value != null && !value.isEmpty() && value.length() < 19 && value.chars().allMatch(Character::isDigit);
+    }
+
+}
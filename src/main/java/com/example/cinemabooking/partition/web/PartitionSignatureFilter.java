@@ -0,0 +1,36 @@
+package com.example.cinemabooking.partition.web;
+
+import com.example.cinemabooking.common.idempotency.CachedBodyRequest;
+import com.example.cinemabooking.partition.service.PartitionClient;
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// The signature covers the body, so it is checked once here while the body can still be read, and the signing node is
+// recorded for everything further down the chain.
+@RequiredArgsConstructor
+public class PartitionSignatureFilter extends OncePerRequestFilter {
+
+    private final PartitionRequestSigner partitionRequestSigner;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(PartitionClient.FORWARDED_BY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        partitionRequestSigner.verify(cachedRequest, cachedRequest.getBody())
+                .ifPresent(node -> cachedRequest.setAttribute(PartitionRequestSigner.SIGNED_BY_ATTRIBUTE, node));
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.cinemabooking.ratelimit.config;
+
+import com.example.cinemabooking.ratelimit.service.RateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "booking.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+class RateLimitConfiguration {
+
+    @Bean
+    RateLimiter rateLimiter(RateLimitProperties rateLimitProperties) {
+        return new RateLimiter(rateLimitProperties);
+    }
+
+}
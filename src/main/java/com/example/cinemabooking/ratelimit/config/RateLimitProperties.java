@@ -0,0 +1,48 @@
+package com.example.cinemabooking.ratelimit.config;
+
+import com.example.cinemabooking.ratelimit.service.RateLimitTier;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // A bucket untouched for this long is full again, so dropping it loses nothing.
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    private Limit browse = new Limit(100, 50);
+
+    private Limit hold = new Limit(20, 5);
+
+    private Limit confirm = new Limit(10, 2);
+
+    public Limit getLimit(RateLimitTier tier) {
+        return switch (tier) {
+            case BROWSE -> browse;
+            case HOLD -> hold;
+            case CONFIRM -> confirm;
+        };
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        private int capacity;
+
+        private double refillPerSecond;
+
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.example.cinemabooking.ratelimit.config;
+
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import com.example.cinemabooking.ratelimit.service.RateLimitTier;
+import com.example.cinemabooking.ratelimit.service.RateLimiter;
+import com.example.cinemabooking.ratelimit.web.RateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Optional;
+import java.util.Set;
+
+@Configuration
+@ConditionalOnProperty(name = "booking.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+class RateLimitWebConfiguration implements WebMvcConfigurer {
+
+    private final RateLimiter rateLimiter;
+    private final Optional<PartitionRequestSigner> partitionRequestSigner;
+
+    // Runs before partition forwarding and the waiting room check, so a rejected request costs neither.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor(RateLimitTier.BROWSE, Set.of("GET")))
+                .addPathPatterns("/api/showtimes/**", "/api/holds/*", "/api/reservations/**", "/api/users/*/reservations")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+        registry.addInterceptor(interceptor(RateLimitTier.HOLD, Set.of("POST", "DELETE")))
+                .addPathPatterns("/api/showtimes/*/holds", "/api/showtimes/*/best-seats", "/api/holds/*")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+        registry.addInterceptor(interceptor(RateLimitTier.CONFIRM, Set.of("POST")))
+                .addPathPatterns("/api/showtimes/*/reservations", "/api/reservations/*/cancel")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    private RateLimitInterceptor interceptor(RateLimitTier tier, Set<String> methods) {
+        return new RateLimitInterceptor(rateLimiter, tier, methods, partitionRequestSigner);
+    }
+
+}
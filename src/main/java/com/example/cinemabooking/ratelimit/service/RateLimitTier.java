@@ -0,0 +1,7 @@
+package com.example.cinemabooking.ratelimit.service;
+
+public enum RateLimitTier {
+    BROWSE,
+    HOLD,
+    CONFIRM
+}
@@ -0,0 +1,75 @@
+package com.example.cinemabooking.ratelimit.service;
+
+import com.example.cinemabooking.ratelimit.config.RateLimitProperties;
+import com.example.cinemabooking.ratelimit.service.exception.RateLimitExceededException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// One token bucket per tier and key (client address or user). Idle buckets are swept on the request path at most
+// once per idle timeout, so memory follows the number of recently active clients without a background thread.
+public class RateLimiter {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final Map<RateLimitTier, Tier> tiers = new EnumMap<>(RateLimitTier.class);
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextSweepAt;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        for (RateLimitTier tier : RateLimitTier.values()) {
+            tiers.put(tier, new Tier(properties.getLimit(tier)));
+        }
+        this.idleNanos = properties.getIdleTimeout().toNanos();
+        this.nanoClock = nanoClock;
+        this.nextSweepAt = new AtomicLong(nanoClock.getAsLong() + idleNanos);
+    }
+
+    public void acquire(RateLimitTier tier, String key) {
+        long now = nanoClock.getAsLong();
+        sweepIfDue(now);
+        Tier limits = tiers.get(tier);
+        long wait = limits.buckets.computeIfAbsent(key, ignored -> new TokenBucket(now))
+                .tryAcquire(now, limits.intervalNanos, limits.toleranceNanos);
+        if (wait > 0) {
+            throw new RateLimitExceededException(Duration.ofNanos(wait));
+        }
+    }
+
+    int size() {
+        return tiers.values().stream().mapToInt(tier -> tier.buckets.size()).sum();
+    }
+
+    // A request racing with the sweep may still charge a bucket that was just dropped; that only forgives one token.
+    private void sweepIfDue(long now) {
+        long due = nextSweepAt.get();
+        if (now - due < 0 || !nextSweepAt.compareAndSet(due, now + idleNanos)) {
+            return;
+        }
+        tiers.values().forEach(tier -> tier.buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos)));
+    }
+
+    private static final class Tier {
+
+        private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final long intervalNanos;
+        private final long toleranceNanos;
+
+        private Tier(RateLimitProperties.Limit limit) {
+            this.intervalNanos = (long) (NANOS_PER_SECOND / limit.getRefillPerSecond());
+            this.toleranceNanos = intervalNanos * limit.getCapacity();
+        }
+
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.example.cinemabooking.ratelimit.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Kept as a single theoretical arrival time (GCRA): a request moves it one interval forward and is allowed while it
+// stays within the burst tolerance of now. Refill needs no timer, and a bucket whose arrival time is in the past is full.
+class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    // Returns 0 when a token was taken, otherwise how long to wait for the next one.
+    long tryAcquire(long nowNanos, long intervalNanos, long toleranceNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrival.get() >= idleNanos;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.example.cinemabooking.ratelimit.service.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(Duration retryAfter) {
+        this(Math.max(1, retryAfter.plusNanos(999_999_999).toSeconds()));
+    }
+
+    private RateLimitExceededException(long retryAfterSeconds) {
+        super("Too many requests, retry in " + retryAfterSeconds + " s.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
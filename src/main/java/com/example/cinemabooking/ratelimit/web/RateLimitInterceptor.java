@@ -0,0 +1,48 @@
+package com.example.cinemabooking.ratelimit.web;
+
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import com.example.cinemabooking.ratelimit.service.RateLimitTier;
+import com.example.cinemabooking.ratelimit.service.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String CLIENT_KEY_PREFIX = "client:";
+    public static final String USER_KEY_PREFIX = "user:";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitTier tier;
+    private final Set<String> methods;
+    private final Optional<PartitionRequestSigner> partitionRequestSigner;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!methods.contains(request.getMethod()) || isForwardedByNode(request, partitionRequestSigner)) {
+            return true;
+        }
+        rateLimiter.acquire(tier, CLIENT_KEY_PREFIX + request.getRemoteAddr());
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String userId = pathVariables == null ? null : pathVariables.get("userId");
+        if (userId != null) {
+            rateLimiter.acquire(tier, USER_KEY_PREFIX + userId);
+        }
+        return true;
+    }
+
+    // Requests forwarded by another node were already charged on the node the client talked to. Only a signed
+    // forwarded-by header counts, so a client cannot skip its limits by sending one itself.
+    static boolean isForwardedByNode(HttpServletRequest request, Optional<PartitionRequestSigner> partitionRequestSigner) {
+        return partitionRequestSigner.flatMap(signer -> signer.signedBy(request)).isPresent();
+    }
+
+}
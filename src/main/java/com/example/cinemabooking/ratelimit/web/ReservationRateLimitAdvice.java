@@ -0,0 +1,46 @@
+package com.example.cinemabooking.ratelimit.web;
+
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import com.example.cinemabooking.ratelimit.service.RateLimitTier;
+import com.example.cinemabooking.ratelimit.service.RateLimiter;
+import com.example.cinemabooking.reservation.dto.CreateReservationRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+// The user of a confirmation is only known from its body; charging here still happens before the service runs.
+@ControllerAdvice
+@ConditionalOnProperty(name = "booking.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ReservationRateLimitAdvice extends RequestBodyAdviceAdapter {
+
+    private final RateLimiter rateLimiter;
+    private final Optional<PartitionRequestSigner> partitionRequestSigner;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return methodParameter.getParameterType() == CreateReservationRequest.class;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        Long userId = ((CreateReservationRequest) body).getUserId();
+        boolean forwardedByNode = RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && RateLimitInterceptor.isForwardedByNode(attributes.getRequest(), partitionRequestSigner);
+        if (userId != null && !forwardedByNode) {
+            rateLimiter.acquire(RateLimitTier.CONFIRM, RateLimitInterceptor.USER_KEY_PREFIX + userId);
+        }
+        return body;
+    }
+
+}
@@ -8,17 +8,22 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_created_at", columnList = "created_at"),
+        @Index(name = "idx_reservations_user_created_at", columnList = "user_id, created_at, id")
+})
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -36,7 +41,29 @@ public class Reservation {
     @Column(nullable = false)
     private ReservationStatus status;
 
+    // Two cancellations of the same reservation cannot both commit, so its seats are released only once.
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "reservation", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ReservedSeat> reservedSeats;
 
+    public List<ReservedSeat> getReservedSeats() {
+        return reservedSeats != null ? reservedSeats : new ArrayList<>();
+    }
+
+    public void addReservedSeat(ReservedSeat reservedSeat) {
+        if (reservedSeats == null) {
+            reservedSeats = new ArrayList<>();
+        }
+        reservedSeats.add(reservedSeat);
+        reservedSeat.setReservation(this);
+        reservedSeat.setShowTime(showTime);
+    }
+
+    public void cancel() {
+        status = ReservationStatus.CANCELLED;
+        getReservedSeats().forEach(ReservedSeat::deactivate);
+    }
+
 }
@@ -1,21 +1,24 @@
 package com.example.cinemabooking.reservation;
 
-import com.example.cinemabooking.hall.entity.Seat;
+import com.example.cinemabooking.showtime.entity.ShowTime;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "reserved_seats", uniqueConstraints = @UniqueConstraint(columnNames = {"reservation_id", "seat_id"}))
+@Table(name = "reserved_seats",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"active_show_time_id", "row_number", "seat_number"}),
+        indexes = @Index(name = "idx_reserved_seats_reservation_id", columnList = "reservation_id"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@ToString(exclude = {"reservation", "seat"})
+@ToString(exclude = {"reservation", "showTime"})
 public class ReservedSeat {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reserved_seats_seq")
+    @SequenceGenerator(name = "reserved_seats_seq", sequenceName = "reserved_seats_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -23,7 +26,29 @@ public class ReservedSeat {
     private Reservation reservation;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "seat_id", nullable = false)
-    private Seat seat;
+    @JoinColumn(name = "show_time_id", nullable = false)
+    private ShowTime showTime;
+
+    // Set only while the reservation is active, so the unique constraint ignores cancelled seats (NULLs never collide)
+    // and their rows stay in the history.
+    @Column(name = "active_show_time_id")
+    private Long activeShowTimeId;
+
+    @Column(nullable = false)
+    private int rowNumber;
+
+    @Column(nullable = false)
+    private int seatNumber;
+
+    @PrePersist
+    void activate() {
+        if (reservation == null || reservation.getStatus() != ReservationStatus.CANCELLED) {
+            activeShowTimeId = showTime.getId();
+        }
+    }
+
+    void deactivate() {
+        activeShowTimeId = null;
+    }
 
 }
@@ -0,0 +1,28 @@
+package com.example.cinemabooking.reservation.config;
+
+import com.example.cinemabooking.common.scheduling.HashedTimingWheel;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.reservation.service.ReservationPipeline;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.user.repository.UserRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(ReservationPipelineProperties.class)
+class ReservationPipelineConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    ReservationPipeline reservationPipeline(ReservationPipelineProperties properties, TransactionTemplate transactionTemplate,
+                                            ReservationRepository reservationRepository, ShowTimeRepository showTimeRepository,
+                                            UserRepository userRepository, SeatInventory seatInventory,
+                                            HashedTimingWheel holdExpiryWheel, ApplicationEventPublisher eventPublisher) {
+        return new ReservationPipeline(properties, transactionTemplate, reservationRepository, showTimeRepository,
+                userRepository, seatInventory, holdExpiryWheel, eventPublisher);
+    }
+
+}
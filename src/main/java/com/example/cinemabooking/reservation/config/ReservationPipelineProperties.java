@@ -0,0 +1,20 @@
+package com.example.cinemabooking.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.reservation.pipeline")
+public class ReservationPipelineProperties {
+
+    private int capacity = 4096;
+
+    private int batchSize = 64;
+
+    private Duration ticketTtl = Duration.ofMinutes(10);
+
+}
@@ -0,0 +1,17 @@
+package com.example.cinemabooking.reservation.config;
+
+import com.example.cinemabooking.common.scheduling.HashedTimingWheel;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SeatHoldProperties.class)
+class SeatHoldConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    HashedTimingWheel holdExpiryWheel(SeatHoldProperties seatHoldProperties) {
+        return new HashedTimingWheel(seatHoldProperties.getTickDuration(), seatHoldProperties.getWheelSize());
+    }
+
+}
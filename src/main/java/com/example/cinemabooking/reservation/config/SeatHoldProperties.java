@@ -0,0 +1,20 @@
+package com.example.cinemabooking.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.hold")
+public class SeatHoldProperties {
+
+    private Duration ttl = Duration.ofMinutes(7);
+
+    private Duration tickDuration = Duration.ofSeconds(1);
+
+    private int wheelSize = 512;
+
+}
@@ -0,0 +1,57 @@
+package com.example.cinemabooking.reservation.config;
+
+import com.example.cinemabooking.common.scheduling.HashedTimingWheel;
+import com.example.cinemabooking.reservation.journal.SeatJournal;
+import com.example.cinemabooking.reservation.journal.SeatJournalRecorder;
+import com.example.cinemabooking.reservation.journal.SeatJournalReplay;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.snapshot.SeatSnapshot;
+import com.example.cinemabooking.reservation.snapshot.SeatSnapshotStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Configuration
+@ConditionalOnProperty(name = "booking.journal.enabled", havingValue = "true")
+@EnableConfigurationProperties(SeatJournalProperties.class)
+class SeatJournalConfiguration {
+
+    @Bean
+    SeatJournalReplay seatJournalReplay(SeatHoldProperties seatHoldProperties, ObjectProvider<SeatSnapshotStore> seatSnapshotStore) {
+        Map<Long, Long> startPositions = latestSnapshot(seatSnapshotStore)
+                .map(snapshot -> snapshot.getShowTimes().stream().collect(Collectors.toMap(
+                        SeatSnapshot.ShowTimeSeats::getShowTimeId, SeatSnapshot.ShowTimeSeats::getJournalPosition)))
+                .orElse(Map.of());
+        return new SeatJournalReplay(Instant.now().minus(seatHoldProperties.getTtl()).toEpochMilli(), startPositions);
+    }
+
+    @Bean(destroyMethod = "close")
+    SeatJournal seatJournal(SeatJournalProperties seatJournalProperties, SeatJournalReplay seatJournalReplay,
+                            ObjectProvider<SeatSnapshotStore> seatSnapshotStore) throws IOException {
+        long startPosition = latestSnapshot(seatSnapshotStore)
+                .map(SeatSnapshot::getJournalPosition)
+                .filter(position -> position != SeatSnapshot.NO_JOURNAL)
+                .orElse(0L);
+        return SeatJournal.open(seatJournalProperties.getPath(), Math.toIntExact(seatJournalProperties.getRegionSize().toBytes()),
+                seatJournalProperties.getFsyncInterval(), startPosition, seatJournalReplay);
+    }
+
+    @Bean
+    SeatJournalRecorder seatJournalRecorder(SeatJournal seatJournal, SeatJournalReplay seatJournalReplay, SeatInventory seatInventory,
+                                            HashedTimingWheel holdExpiryWheel, SeatHoldProperties seatHoldProperties) {
+        return new SeatJournalRecorder(seatJournal, seatJournalReplay, seatInventory, holdExpiryWheel, seatHoldProperties.getTtl());
+    }
+
+    private static Optional<SeatSnapshot> latestSnapshot(ObjectProvider<SeatSnapshotStore> seatSnapshotStore) {
+        return Optional.ofNullable(seatSnapshotStore.getIfAvailable()).flatMap(SeatSnapshotStore::getLatest);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.example.cinemabooking.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.journal")
+public class SeatJournalProperties {
+
+    private boolean enabled = false;
+
+    private Path path = Path.of("data", "seat-journal.bin");
+
+    private DataSize regionSize = DataSize.ofMegabytes(64);
+
+    private Duration fsyncInterval = Duration.ofMillis(10);
+
+}
@@ -0,0 +1,18 @@
+package com.example.cinemabooking.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.seatmap.stream")
+public class SeatMapStreamProperties {
+
+    private int bufferSize = 256;
+
+    private Duration timeout = Duration.ofMinutes(30);
+
+}
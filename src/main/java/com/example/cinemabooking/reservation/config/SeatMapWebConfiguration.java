@@ -0,0 +1,21 @@
+package com.example.cinemabooking.reservation.config;
+
+import com.example.cinemabooking.reservation.web.SeatMapHttpMessageConverter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(SeatMapStreamProperties.class)
+class SeatMapWebConfiguration implements WebMvcConfigurer {
+
+    // Appended after Jackson, so JSON stays the default and the binary form is only served on request.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new SeatMapHttpMessageConverter());
+    }
+
+}
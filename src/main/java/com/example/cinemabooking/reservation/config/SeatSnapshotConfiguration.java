@@ -0,0 +1,38 @@
+package com.example.cinemabooking.reservation.config;
+
+import com.example.cinemabooking.reservation.journal.SeatJournal;
+import com.example.cinemabooking.reservation.journal.SeatJournalReplay;
+import com.example.cinemabooking.reservation.repository.ReservedSeatRepository;
+import com.example.cinemabooking.reservation.service.SeatHoldService;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.snapshot.SeatSnapshotService;
+import com.example.cinemabooking.reservation.snapshot.SeatSnapshotStore;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "booking.snapshot.enabled", havingValue = "true")
+@EnableConfigurationProperties(SeatSnapshotProperties.class)
+class SeatSnapshotConfiguration {
+
+    @Bean
+    SeatSnapshotStore seatSnapshotStore(SeatSnapshotProperties seatSnapshotProperties) {
+        return new SeatSnapshotStore(seatSnapshotProperties.getPath());
+    }
+
+    @Bean(destroyMethod = "stop")
+    SeatSnapshotService seatSnapshotService(SeatSnapshotStore seatSnapshotStore, SeatInventory seatInventory,
+                                            SeatHoldService seatHoldService, ShowTimeRepository showTimeRepository,
+                                            ReservedSeatRepository reservedSeatRepository, ObjectProvider<SeatJournal> seatJournal,
+                                            ObjectProvider<SeatJournalReplay> seatJournalReplay,
+                                            SeatSnapshotProperties seatSnapshotProperties) {
+        return new SeatSnapshotService(seatSnapshotStore, seatInventory, seatHoldService, showTimeRepository,
+                reservedSeatRepository, seatJournal.getIfAvailable(), seatJournalReplay.getIfAvailable(),
+                seatSnapshotProperties.getInterval());
+    }
+
+}
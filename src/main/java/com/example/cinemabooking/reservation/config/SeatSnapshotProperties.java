@@ -0,0 +1,21 @@
+package com.example.cinemabooking.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.snapshot")
+public class SeatSnapshotProperties {
+
+    private boolean enabled = false;
+
+    private Path path = Path.of("data", "seat-snapshot.bin");
+
+    private Duration interval = Duration.ofMinutes(1);
+
+}
@@ -0,0 +1,33 @@
+package com.example.cinemabooking.reservation.dto;
+
+import com.example.cinemabooking.reservation.service.SeatHold;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class BestSeatsResponse {
+
+    Long showTimeId;
+    List<SeatPosition> seats;
+    SeatHoldResponse hold;
+
+    public static BestSeatsResponse of(Long showTimeId, List<SeatPosition> seats) {
+        return BestSeatsResponse.builder()
+                .showTimeId(showTimeId)
+                .seats(seats)
+                .build();
+    }
+
+    public static BestSeatsResponse of(SeatHold seatHold) {
+        return BestSeatsResponse.builder()
+                .showTimeId(seatHold.getShowTimeId())
+                .seats(seatHold.getSeats())
+                .hold(SeatHoldResponse.of(seatHold))
+                .build();
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.example.cinemabooking.reservation.dto;
+
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class CreateReservationRequest {
+
+    @NotNull
+    Long userId;
+
+    String holdId;
+
+    List<@Valid SeatRequest> seats;
+
+    @JsonIgnore
+    @AssertTrue(message = "either holdId or seats must be provided")
+    public boolean isSeatSelectionPresent() {
+        return holdId != null || (seats != null && !seats.isEmpty());
+    }
+
+    public List<SeatPosition> toSeatPositions() {
+        return seats.stream()
+                .map(SeatRequest::toSeatPosition)
+                .distinct()
+                .toList();
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.example.cinemabooking.reservation.dto;
+
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class CreateSeatHoldRequest {
+
+    @NotEmpty
+    List<@Valid SeatRequest> seats;
+
+    public List<SeatPosition> toSeatPositions() {
+        return seats.stream()
+                .map(SeatRequest::toSeatPosition)
+                .distinct()
+                .toList();
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.example.cinemabooking.reservation.dto;
+
+import com.example.cinemabooking.reservation.ReservationStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class ReservationHistoryFilter {
+
+    ReservationStatus status;
+    LocalDateTime from;
+    LocalDateTime to;
+
+}
@@ -0,0 +1,22 @@
+package com.example.cinemabooking.reservation.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class ReservationPageResponse {
+
+    List<ReservationSummaryResponse> items;
+    String nextCursor;
+
+    public static ReservationPageResponse of(List<ReservationSummaryResponse> items, String nextCursor) {
+        return ReservationPageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.example.cinemabooking.reservation.dto;
+
+import com.example.cinemabooking.reservation.Reservation;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Value
+@Builder
+public class ReservationResponse {
+
+    Long id;
+    Long userId;
+    Long showTimeId;
+    ReservationStatus status;
+    LocalDateTime createdAt;
+    List<SeatPosition> seats;
+
+    public static ReservationResponse of(Reservation reservation) {
+        return ReservationResponse.builder()
+                .id(reservation.getId())
+                .userId(reservation.getUser().getId())
+                .showTimeId(reservation.getShowTime().getId())
+                .status(reservation.getStatus())
+                .createdAt(reservation.getCreatedAt())
+                .seats(getSeats(reservation))
+                .build();
+    }
+
+    private static List<SeatPosition> getSeats(Reservation reservation) {
+        return reservation.getReservedSeats()
+                .stream()
+                .map(SeatPosition::of)
+                .toList();
+    }
+
+}
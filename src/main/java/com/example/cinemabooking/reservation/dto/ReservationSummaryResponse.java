@@ -0,0 +1,38 @@
+package com.example.cinemabooking.reservation.dto;
+
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.service.ReservationSummary;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Value
+@Builder
+public class ReservationSummaryResponse {
+
+    Long id;
+    Long showTimeId;
+    String movieTitle;
+    String cinemaHallName;
+    LocalDateTime startTime;
+    ReservationStatus status;
+    LocalDateTime createdAt;
+    List<SeatPosition> seats;
+
+    public static ReservationSummaryResponse of(ReservationSummary reservation, List<SeatPosition> seats) {
+        return ReservationSummaryResponse.builder()
+                .id(reservation.getId())
+                .showTimeId(reservation.getShowTimeId())
+                .movieTitle(reservation.getMovieTitle())
+                .cinemaHallName(reservation.getCinemaHallName())
+                .startTime(reservation.getStartTime())
+                .status(reservation.getStatus())
+                .createdAt(reservation.getCreatedAt())
+                .seats(seats)
+                .build();
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.example.cinemabooking.reservation.dto;
+
+import com.example.cinemabooking.reservation.service.ReservationTicket;
+import com.example.cinemabooking.reservation.service.ReservationTicketStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.concurrent.CompletableFuture;
+
+@Value
+@Builder
+public class ReservationTicketResponse {
+
+    String id;
+    Long showTimeId;
+    ReservationTicketStatus status;
+    ReservationResponse reservation;
+    String message;
+
+    public static ReservationTicketResponse of(ReservationTicket ticket) {
+        CompletableFuture<ReservationResponse> result = ticket.getResult();
+        ReservationTicketResponseBuilder builder = ReservationTicketResponse.builder()
+                .id(ticket.getId())
+                .showTimeId(ticket.getShowTimeId());
+        return switch (result.state()) {
+            case SUCCESS -> builder.status(ReservationTicketStatus.CONFIRMED).reservation(result.resultNow()).build();
+            case FAILED, CANCELLED -> builder.status(ReservationTicketStatus.FAILED).message(result.exceptionNow().getMessage()).build();
+            case RUNNING -> builder.status(ReservationTicketStatus.PENDING).build();
+        };
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.cinemabooking.reservation.dto;
+
+import com.example.cinemabooking.reservation.service.SeatChange;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.reservation.service.SeatState;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class SeatDeltaResponse {
+
+    SeatChange change;
+    List<Cell> seats;
+
+    public static SeatDeltaResponse of(SeatChange change, List<Cell> seats) {
+        return SeatDeltaResponse.builder()
+                .change(change)
+                .seats(seats)
+                .build();
+    }
+
+    @Value
+    public static class Cell {
+
+        int rowNumber;
+        int seatNumber;
+        SeatState state;
+
+        public static Cell of(SeatPosition seat, SeatState state) {
+            return new Cell(seat.getRowNumber(), seat.getSeatNumber(), state);
+        }
+
+    }
+
+}
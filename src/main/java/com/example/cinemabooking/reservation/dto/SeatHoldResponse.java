@@ -0,0 +1,29 @@
+package com.example.cinemabooking.reservation.dto;
+
+import com.example.cinemabooking.reservation.service.SeatHold;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Value
+@Builder
+public class SeatHoldResponse {
+
+    String id;
+    Long showTimeId;
+    List<SeatPosition> seats;
+    LocalDateTime expiresAt;
+
+    public static SeatHoldResponse of(SeatHold seatHold) {
+        return SeatHoldResponse.builder()
+                .id(seatHold.getId())
+                .showTimeId(seatHold.getShowTimeId())
+                .seats(seatHold.getSeats())
+                .expiresAt(seatHold.getExpiresAt())
+                .build();
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.example.cinemabooking.reservation.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+@Value
+@Builder
+public class SeatMapResponse {
+
+    Long showTimeId;
+    int rows;
+    int seatsPerRow;
+
+    @JsonIgnore
+    byte[] encoded;
+
+    public static SeatMapResponse of(Long showTimeId, byte[] encoded) {
+        ByteBuffer header = ByteBuffer.wrap(encoded);
+        return SeatMapResponse.builder()
+                .showTimeId(showTimeId)
+                .rows(Short.toUnsignedInt(header.getShort(1)))
+                .seatsPerRow(Short.toUnsignedInt(header.getShort(3)))
+                .encoded(encoded)
+                .build();
+    }
+
+    public String getData() {
+        return Base64.getEncoder().encodeToString(encoded);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.example.cinemabooking.reservation.dto;
+
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import jakarta.validation.constraints.Min;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SeatRequest {
+
+    @Min(1)
+    int rowNumber;
+
+    @Min(1)
+    int seatNumber;
+
+    public SeatPosition toSeatPosition() {
+        return new SeatPosition(rowNumber, seatNumber);
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.example.cinemabooking.reservation.journal;
+
+import com.example.cinemabooking.reservation.service.SeatPosition;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Append-only log of seat changes, written through fixed-size memory-mapped regions. Each region is a file of its own
+// next to the journal path, suffixed with the position it starts at, so regions a snapshot has made obsolete are retired
+// by deleting their files while every position stays the same.
+// Record: length (int), CRC32C of the body (int), then the body: operation (byte), show time id (long),
+// timestamp millis (long), seat count (int) and one int per seat holding row << 16 | seat number.
+// A record never spans two regions; a length of -1 or fewer than 4 bytes left moves on to the next region.
+// Reading stops at the first zero length or checksum mismatch, which is where a crash cut the last write.
+// Appends only write to the mapped memory; a background thread forces the written regions to disk every fsync interval.
+public class SeatJournal implements AutoCloseable {
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int FIXED_BODY_BYTES = 1 + 2 * Long.BYTES + Integer.BYTES;
+    private static final int END_OF_REGION = -1;
+    private static final SeatJournalOperation[] OPERATIONS = SeatJournalOperation.values();
+
+    private final Path path;
+    private final int regionSize;
+    private final Duration fsyncInterval;
+    private final Clock clock;
+    private final CRC32C crc = new CRC32C();
+    private final List<MappedByteBuffer> unsyncedRegions = new ArrayList<>();
+    private MappedByteBuffer region;
+    private long regionStart;
+    private boolean unsynced;
+    private volatile boolean closed;
+    private Thread flusher;
+
+    private SeatJournal(Path path, int regionSize, Duration fsyncInterval, Clock clock) {
+        this.path = path.toAbsolutePath();
+        this.regionSize = regionSize;
+        this.fsyncInterval = fsyncInterval;
+        this.clock = clock;
+    }
+
+    // Entries before startPosition are skipped; it is 0 for the whole journal or a position taken from a snapshot.
+    public static SeatJournal open(Path path, int regionSize, Duration fsyncInterval, long startPosition,
+                                   Consumer<SeatJournalEntry> replay) throws IOException {
+        return open(path, regionSize, fsyncInterval, startPosition, replay, Clock.systemUTC());
+    }
+
+    static SeatJournal open(Path path, int regionSize, Duration fsyncInterval, long startPosition,
+                            Consumer<SeatJournalEntry> replay, Clock clock) throws IOException {
+        SeatJournal journal = new SeatJournal(path, regionSize, fsyncInterval, clock);
+        Files.createDirectories(journal.path.getParent());
+        journal.replay(startPosition, replay);
+        journal.flusher = Thread.ofPlatform().name("seat-journal-fsync").daemon().start(journal::syncPeriodically);
+        return journal;
+    }
+
+    public synchronized void append(SeatJournalOperation operation, long showTimeId, Collection<SeatPosition> seats) {
+        int length = FIXED_BODY_BYTES + seats.size() * Integer.BYTES;
+        if (HEADER_BYTES + length > regionSize) {
+            throw new IllegalArgumentException("Journal record of " + seats.size() + " seats does not fit in a region.");
+        }
+        if (region.remaining() < HEADER_BYTES + length) {
+            if (region.remaining() >= Integer.BYTES) {
+                region.putInt(END_OF_REGION);
+            }
+            unsyncedRegions.add(region);
+            mapRegion(regionStart + regionSize);
+        }
+        int recordStart = region.position();
+        region.position(recordStart + HEADER_BYTES);
+        region.put((byte) operation.ordinal());
+        region.putLong(showTimeId);
+        region.putLong(clock.millis());
+        region.putInt(seats.size());
+        for (SeatPosition seat : seats) {
+            region.putInt(seat.getRowNumber() << 16 | seat.getSeatNumber());
+        }
+        crc.reset();
+        crc.update(region.slice(recordStart + HEADER_BYTES, length));
+        region.putInt(recordStart + Integer.BYTES, (int) crc.getValue());
+        // The length goes in last so a reader never sees a complete header in front of a partial body.
+        region.putInt(recordStart, length);
+        unsynced = true;
+    }
+
+    // Regions are forced outside the lock, so appends carry on while their pages are written out.
+    public void sync() {
+        List<MappedByteBuffer> regions;
+        synchronized (this) {
+            if (!unsynced) {
+                return;
+            }
+            regions = new ArrayList<>(unsyncedRegions);
+            regions.add(region);
+            unsyncedRegions.clear();
+            unsynced = false;
+        }
+        regions.forEach(MappedByteBuffer::force);
+    }
+
+    // Deletes the regions holding only entries before position, which a snapshot taken at position has made obsolete.
+    public void retireBefore(long position) throws IOException {
+        long currentRegionStart;
+        synchronized (this) {
+            currentRegionStart = regionStart;
+        }
+        for (long start : regionStarts()) {
+            if (start + regionSize <= position && start < currentRegionStart) {
+                Files.deleteIfExists(regionPath(path, start));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        flusher.interrupt();
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sync();
+    }
+
+    public synchronized long position() {
+        return regionStart + region.position();
+    }
+
+    private void syncPeriodically() {
+        while (!closed) {
+            try {
+                Thread.sleep(fsyncInterval);
+            } catch (InterruptedException e) {
+                return;
+            }
+            sync();
+        }
+    }
+
+    private void replay(long startPosition, Consumer<SeatJournalEntry> replay) throws IOException {
+        List<Long> regionStarts = regionStarts();
+        // A journal without the region of the snapshot position was deleted or replaced since, so all of it is newer.
+        if (!regionStarts.contains(startPosition - startPosition % regionSize)) {
+            startPosition = regionStarts.isEmpty() ? 0 : regionStarts.getFirst();
+        }
+        mapRegion(startPosition - startPosition % regionSize);
+        region.position((int) (startPosition % regionSize));
+        while (true) {
+            if (region.remaining() < Integer.BYTES || region.getInt(region.position()) == END_OF_REGION) {
+                if (!regionStarts.contains(regionStart + regionSize)) {
+                    break;
+                }
+                mapRegion(regionStart + regionSize);
+                continue;
+            }
+            SeatJournalEntry entry = readEntry();
+            if (entry == null) {
+                break;
+            }
+            replay.accept(entry);
+        }
+        discardTail();
+    }
+
+    private SeatJournalEntry readEntry() {
+        int recordStart = region.position();
+        if (region.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int length = region.getInt(recordStart);
+        if (length < FIXED_BODY_BYTES || length > region.remaining() - HEADER_BYTES) {
+            return null;
+        }
+        crc.reset();
+        crc.update(region.slice(recordStart + HEADER_BYTES, length));
+        if ((int) crc.getValue() != region.getInt(recordStart + Integer.BYTES)) {
+            return null;
+        }
+        region.position(recordStart + HEADER_BYTES);
+        int operation = region.get();
+        long showTimeId = region.getLong();
+        long timestampMillis = region.getLong();
+        int seatCount = region.getInt();
+        if (operation < 0 || operation >= OPERATIONS.length || seatCount * Integer.BYTES != length - FIXED_BODY_BYTES) {
+            region.position(recordStart);
+            return null;
+        }
+        List<SeatPosition> seats = new ArrayList<>(seatCount);
+        for (int index = 0; index < seatCount; index++) {
+            int cell = region.getInt();
+            seats.add(new SeatPosition(cell >>> 16, cell & 0xFFFF));
+        }
+        return new SeatJournalEntry(regionStart + recordStart, OPERATIONS[operation], showTimeId, timestampMillis, seats);
+    }
+
+    // Whatever follows the last valid record is a torn write or stale data, so it is zeroed and later regions dropped
+    // before new records go in behind it.
+    private void discardTail() throws IOException {
+        int tailStart = region.position();
+        for (int index = tailStart; index < regionSize; index++) {
+            if (region.get(index) != 0) {
+                region.put(index, (byte) 0);
+            }
+        }
+        region.position(tailStart);
+        region.force();
+        for (long start : regionStarts()) {
+            if (start > regionStart) {
+                Files.delete(regionPath(path, start));
+            }
+        }
+    }
+
+    // A mapping stays valid after the channel that created it is closed.
+    private void mapRegion(long start) {
+        try (FileChannel channel = FileChannel.open(regionPath(path, start), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            region = channel.map(FileChannel.MapMode.READ_WRITE, 0, regionSize);
+            regionStart = start;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Long> regionStarts() throws IOException {
+        String prefix = path.getFileName() + ".";
+        try (Stream<Path> files = Files.list(path.getParent())) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.length() > prefix.length()
+                            && name.substring(prefix.length()).chars().allMatch(Character::isDigit))
+                    .map(name -> Long.parseLong(name.substring(prefix.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static Path regionPath(Path path, long start) {
+        return path.resolveSibling(path.getFileName() + "." + String.format("%019d", start));
+    }
+
+}
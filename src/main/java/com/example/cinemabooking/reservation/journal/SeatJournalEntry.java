@@ -0,0 +1,17 @@
+package com.example.cinemabooking.reservation.journal;
+
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SeatJournalEntry {
+
+    long position;
+    SeatJournalOperation operation;
+    long showTimeId;
+    long timestampMillis;
+    List<SeatPosition> seats;
+
+}
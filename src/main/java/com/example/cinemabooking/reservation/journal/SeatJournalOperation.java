@@ -0,0 +1,7 @@
+package com.example.cinemabooking.reservation.journal;
+
+public enum SeatJournalOperation {
+    CLAIM,
+    RELEASE,
+    CONFIRM
+}
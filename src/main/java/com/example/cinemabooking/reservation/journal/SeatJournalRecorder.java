@@ -0,0 +1,78 @@
+package com.example.cinemabooking.reservation.journal;
+
+import com.example.cinemabooking.common.scheduling.HashedTimingWheel;
+import com.example.cinemabooking.reservation.service.ReservationConfirmedEvent;
+import com.example.cinemabooking.reservation.service.SeatChange;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.reservation.service.SeatsChangedEvent;
+import com.example.cinemabooking.reservation.service.SeatsReleasingEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RequiredArgsConstructor
+public class SeatJournalRecorder implements ApplicationRunner {
+
+    private final SeatJournal seatJournal;
+    private final SeatJournalReplay seatJournalReplay;
+    private final SeatInventory seatInventory;
+    private final HashedTimingWheel holdExpiryWheel;
+    private final Duration holdTtl;
+
+    @EventListener
+    public void onSeatsChanged(SeatsChangedEvent event) {
+        if (event.getChange() == SeatChange.CLAIMED) {
+            seatJournal.append(SeatJournalOperation.CLAIM, event.getShowTimeId(), event.getSeats());
+        }
+    }
+
+    @EventListener
+    public void onSeatsReleasing(SeatsReleasingEvent event) {
+        seatJournal.append(SeatJournalOperation.RELEASE, event.getShowTimeId(), event.getSeats());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationConfirmed(ReservationConfirmedEvent event) {
+        seatJournal.append(SeatJournalOperation.CONFIRM, event.getShowTimeId(), event.getSeats());
+    }
+
+    // Runs before the app reports ready. Seats that were held or queued for saving when it stopped are claimed again
+    // and kept for one more hold period, so they are not sold to someone else while their buyer may still complete.
+    @Override
+    public void run(ApplicationArguments args) {
+        int restored = 0;
+        for (Map.Entry<Long, List<SeatPosition>> claims : seatJournalReplay.getUnconfirmedClaims().entrySet()) {
+            restored += restore(claims.getKey(), claims.getValue());
+        }
+        log.info("Replayed {} seat journal entries and restored {} unconfirmed seat claims",
+                seatJournalReplay.getReplayedEntries(), restored);
+    }
+
+    private int restore(Long showTimeId, List<SeatPosition> seats) {
+        List<SeatPosition> restored = new ArrayList<>();
+        try {
+            for (SeatPosition seat : seats) {
+                if (seatInventory.claim(showTimeId, List.of(seat))) {
+                    restored.add(seat);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Skipping seat claims of show time {} that no longer match its hall: {}", showTimeId, e.getMessage());
+        }
+        if (!restored.isEmpty()) {
+            holdExpiryWheel.schedule(() -> seatInventory.expire(showTimeId, restored), holdTtl);
+        }
+        return restored.size();
+    }
+
+}
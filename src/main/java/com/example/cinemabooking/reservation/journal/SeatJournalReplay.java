@@ -0,0 +1,104 @@
+package com.example.cinemabooking.reservation.journal;
+
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Folds the journal into the state each seat was last left in. Every record holds the resulting state of its seats,
+// so the last one wins: releases are journaled before their seats are freed, and confirmations only after the claim
+// they follow, so no record can overtake a later change of the same seat.
+public class SeatJournalReplay implements Consumer<SeatJournalEntry> {
+
+    private static final SeatJournalOperation[] OPERATIONS = SeatJournalOperation.values();
+    private static final byte OPERATION_MASK = 0b11;
+    private static final byte RECENT = 0b100;
+
+    private final long recentSinceMillis;
+    private final Map<Long, Long> startPositions;
+    private final Map<Long, ShowTimeSeats> showTimes = new HashMap<>();
+    private long replayedEntries;
+
+    public SeatJournalReplay(long recentSinceMillis) {
+        this(recentSinceMillis, Map.of());
+    }
+
+    // A show time's records before its start position are already part of the snapshot its seat map comes from.
+    public SeatJournalReplay(long recentSinceMillis, Map<Long, Long> startPositions) {
+        this.recentSinceMillis = recentSinceMillis;
+        this.startPositions = startPositions;
+    }
+
+    // The last operation is kept plus one, so zero still marks a seat without records.
+    @Override
+    public void accept(SeatJournalEntry entry) {
+        if (entry.getPosition() < startPositions.getOrDefault(entry.getShowTimeId(), 0L)) {
+            return;
+        }
+        replayedEntries++;
+        ShowTimeSeats seats = showTimes.computeIfAbsent(entry.getShowTimeId(), showTimeId -> new ShowTimeSeats());
+        byte state = (byte) (entry.getOperation().ordinal() + 1 | (entry.getTimestampMillis() >= recentSinceMillis ? RECENT : 0));
+        for (SeatPosition seat : entry.getSeats()) {
+            int row = seat.getRowNumber();
+            int seatNumber = seat.getSeatNumber();
+            if (row < 1 || row > SeatLayout.MAX_ROWS || seatNumber < 1 || seatNumber > SeatLayout.MAX_SEATS_PER_ROW) {
+                continue;
+            }
+            int cell = (row - 1) * SeatLayout.MAX_SEATS_PER_ROW + seatNumber - 1;
+            seats.ensureCapacity(cell);
+            seats.states[cell] = state;
+        }
+    }
+
+    public long getReplayedEntries() {
+        return replayedEntries;
+    }
+
+    // Only claims made within the recent window are returned; older ones belonged to holds that have expired anyway.
+    public Map<Long, List<SeatPosition>> getUnconfirmedClaims() {
+        Map<Long, List<SeatPosition>> claims = new HashMap<>();
+        showTimes.keySet().forEach(showTimeId -> forEachChangedSeat(showTimeId, (seat, lastOperation, recent) -> {
+            if (lastOperation == SeatJournalOperation.CLAIM && recent) {
+                claims.computeIfAbsent(showTimeId, id -> new ArrayList<>()).add(seat);
+            }
+        }));
+        return claims;
+    }
+
+    public void forEachChangedSeat(Long showTimeId, ChangedSeatVisitor visitor) {
+        ShowTimeSeats seats = showTimes.get(showTimeId);
+        if (seats == null) {
+            return;
+        }
+        for (int cell = 0; cell < seats.states.length; cell++) {
+            byte state = seats.states[cell];
+            if (state != 0) {
+                visitor.visit(new SeatPosition(cell / SeatLayout.MAX_SEATS_PER_ROW + 1, cell % SeatLayout.MAX_SEATS_PER_ROW + 1),
+                        OPERATIONS[(state & OPERATION_MASK) - 1], (state & RECENT) != 0);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface ChangedSeatVisitor {
+        void visit(SeatPosition seat, SeatJournalOperation lastOperation, boolean recent);
+    }
+
+    private static final class ShowTimeSeats {
+
+        private byte[] states = new byte[SeatLayout.MAX_SEATS_PER_ROW];
+
+        private void ensureCapacity(int cell) {
+            if (cell >= states.length) {
+                states = Arrays.copyOf(states, Math.max(cell + 1, states.length * 2));
+            }
+        }
+
+    }
+
+}
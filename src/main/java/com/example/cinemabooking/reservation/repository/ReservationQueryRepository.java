@@ -0,0 +1,13 @@
+package com.example.cinemabooking.reservation.repository;
+
+import com.example.cinemabooking.reservation.Reservation;
+import com.example.cinemabooking.reservation.service.ReservationSummary;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ReservationQueryRepository {
+
+    List<ReservationSummary> findSummaries(Specification<Reservation> specification, int limit);
+
+}
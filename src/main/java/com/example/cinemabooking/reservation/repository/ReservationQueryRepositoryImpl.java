@@ -0,0 +1,45 @@
+package com.example.cinemabooking.reservation.repository;
+
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.reservation.Reservation;
+import com.example.cinemabooking.reservation.service.ReservationSummary;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class ReservationQueryRepositoryImpl implements ReservationQueryRepository {
+
+    private final EntityManager entityManager;
+
+    // Ordered by the (createdAt, id) keyset, newest first.
+    @Override
+    public List<ReservationSummary> findSummaries(Specification<Reservation> specification, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReservationSummary> query = criteriaBuilder.createQuery(ReservationSummary.class);
+        Root<Reservation> reservation = query.from(Reservation.class);
+        Join<Reservation, ShowTime> showTime = reservation.join("showTime");
+        Join<ShowTime, Movie> movie = showTime.join("movie");
+        Join<ShowTime, CinemaHall> cinemaHall = showTime.join("cinemaHall");
+        query.select(criteriaBuilder.construct(ReservationSummary.class,
+                        reservation.get("id"),
+                        showTime.get("id"),
+                        movie.get("title"),
+                        cinemaHall.get("name"),
+                        showTime.get("startTime"),
+                        reservation.get("status"),
+                        reservation.get("createdAt")))
+                .where(specification.toPredicate(reservation, query, criteriaBuilder))
+                .orderBy(criteriaBuilder.desc(reservation.get("createdAt")), criteriaBuilder.desc(reservation.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.example.cinemabooking.reservation.repository;
+
+import com.example.cinemabooking.reservation.Reservation;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.lang.NonNull;
+
+import java.util.Optional;
+
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationQueryRepository {
+
+    @NonNull
+    @EntityGraph(attributePaths = "reservedSeats")
+    Optional<Reservation> findById(@NonNull Long id);
+
+    @Query("SELECT r.showTime.id FROM Reservation r WHERE r.id = :id")
+    Optional<Long> findShowTimeIdById(@Param("id") Long id);
+
+}
@@ -0,0 +1,42 @@
+package com.example.cinemabooking.reservation.repository;
+
+import com.example.cinemabooking.reservation.Reservation;
+import com.example.cinemabooking.reservation.dto.ReservationHistoryFilter;
+import com.example.cinemabooking.reservation.service.ReservationCursor;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ReservationSpecifications {
+
+    private ReservationSpecifications() {
+    }
+
+    // Keyset condition (createdAt, id) < cursor, matching the newest-first history order of the user's index.
+    public static Specification<Reservation> historyOf(Long userId, ReservationHistoryFilter filter, ReservationCursor after) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(criteriaBuilder.equal(root.get("user").get("id"), userId));
+            if (filter.getStatus() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(criteriaBuilder.lessThan(root.get("createdAt"), filter.getTo()));
+            }
+            if (after != null) {
+                predicates.add(criteriaBuilder.or(
+                        criteriaBuilder.lessThan(root.get("createdAt"), after.getCreatedAt()),
+                        criteriaBuilder.and(
+                                criteriaBuilder.equal(root.get("createdAt"), after.getCreatedAt()),
+                                criteriaBuilder.lessThan(root.get("id"), after.getId()))));
+            }
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+}
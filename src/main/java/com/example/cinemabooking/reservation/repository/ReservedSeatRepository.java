@@ -0,0 +1,48 @@
+package com.example.cinemabooking.reservation.repository;
+
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.ReservedSeat;
+import com.example.cinemabooking.reservation.service.ReservationSeat;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReservedSeatRepository extends JpaRepository<ReservedSeat, Long> {
+
+    @Query("""
+            SELECT new com.example.cinemabooking.reservation.service.SeatPosition(rs.rowNumber, rs.seatNumber)
+            FROM ReservedSeat rs JOIN rs.reservation r
+            WHERE r.showTime.id = :showTimeId AND r.status = :status
+            """)
+    List<SeatPosition> findSeatPositions(@Param("showTimeId") Long showTimeId, @Param("status") ReservationStatus status);
+
+    @Query("""
+            SELECT DISTINCT new com.example.cinemabooking.reservation.service.SeatPosition(rs.rowNumber, rs.seatNumber)
+            FROM ReservedSeat rs JOIN rs.showTime s JOIN rs.reservation r
+            WHERE s.cinemaHall.id = :cinemaHallId AND s.endTime > :endingAfter AND r.status = :status
+            """)
+    List<SeatPosition> findSeatPositionsInCinemaHall(@Param("cinemaHallId") Long cinemaHallId,
+                                                     @Param("status") ReservationStatus status,
+                                                     @Param("endingAfter") LocalDateTime endingAfter);
+
+    @Query("""
+            SELECT rs
+            FROM ReservedSeat rs JOIN rs.reservation r
+            WHERE r.showTime.id IN :showTimeIds AND r.status = :status
+            """)
+    List<ReservedSeat> findReservedSeats(@Param("showTimeIds") Collection<Long> showTimeIds, @Param("status") ReservationStatus status);
+
+    @Query("""
+            SELECT new com.example.cinemabooking.reservation.service.ReservationSeat(rs.reservation.id, rs.rowNumber, rs.seatNumber)
+            FROM ReservedSeat rs
+            WHERE rs.reservation.id IN :reservationIds
+            ORDER BY rs.rowNumber, rs.seatNumber
+            """)
+    List<ReservationSeat> findReservationSeats(@Param("reservationIds") Collection<Long> reservationIds);
+
+}
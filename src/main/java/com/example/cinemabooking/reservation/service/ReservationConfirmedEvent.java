@@ -0,0 +1,13 @@
+package com.example.cinemabooking.reservation.service;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class ReservationConfirmedEvent {
+
+    Long showTimeId;
+    List<SeatPosition> seats;
+
+}
@@ -0,0 +1,41 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.reservation.service.exception.InvalidReservationCursorException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Value
+public class ReservationCursor {
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime createdAt;
+    Long id;
+
+    public static ReservationCursor of(ReservationSummary reservation) {
+        return new ReservationCursor(reservation.getCreatedAt(), reservation.getId());
+    }
+
+    public String encode() {
+        String value = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReservationCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidReservationCursorException(cursor);
+            }
+            return new ReservationCursor(LocalDateTime.parse(value.substring(0, separatorIndex)), Long.valueOf(value.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidReservationCursorException(cursor);
+        }
+    }
+
+}
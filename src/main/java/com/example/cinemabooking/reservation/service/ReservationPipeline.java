@@ -0,0 +1,170 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.common.scheduling.HashedTimingWheel;
+import com.example.cinemabooking.reservation.Reservation;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.ReservedSeat;
+import com.example.cinemabooking.reservation.config.ReservationPipelineProperties;
+import com.example.cinemabooking.reservation.dto.ReservationResponse;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.reservation.service.exception.ReservationQueueFullException;
+import com.example.cinemabooking.reservation.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.user.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// Seats are already claimed in memory when a ticket is queued, so a single writer can save many reservations
+// per transaction without them conflicting with each other.
+public class ReservationPipeline {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final ReservationPipelineProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationRepository reservationRepository;
+    private final ShowTimeRepository showTimeRepository;
+    private final UserRepository userRepository;
+    private final SeatInventory seatInventory;
+    private final HashedTimingWheel ticketExpiryWheel;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<ReservationTicket> queue;
+    private final ConcurrentMap<String, ReservationTicket> tickets = new ConcurrentHashMap<>();
+    private volatile boolean stopping;
+    private Thread writer;
+
+    public ReservationPipeline(ReservationPipelineProperties properties, TransactionTemplate transactionTemplate,
+                               ReservationRepository reservationRepository, ShowTimeRepository showTimeRepository,
+                               UserRepository userRepository, SeatInventory seatInventory, HashedTimingWheel ticketExpiryWheel,
+                               ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.reservationRepository = reservationRepository;
+        this.showTimeRepository = showTimeRepository;
+        this.userRepository = userRepository;
+        this.seatInventory = seatInventory;
+        this.ticketExpiryWheel = ticketExpiryWheel;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+    }
+
+    public ReservationTicket submit(Long showTimeId, Long userId, List<SeatPosition> seats) {
+        ReservationTicket ticket = new ReservationTicket(UUID.randomUUID().toString(), showTimeId, userId,
+                List.copyOf(seats), LocalDateTime.now());
+        tickets.put(ticket.getId(), ticket);
+        if (stopping || !queue.offer(ticket)) {
+            tickets.remove(ticket.getId());
+            throw new ReservationQueueFullException();
+        }
+        ticket.getResult().whenComplete((response, failure) ->
+                ticketExpiryWheel.schedule(() -> tickets.remove(ticket.getId()), properties.getTicketTtl()));
+        return ticket;
+    }
+
+    public Optional<ReservationTicket> getTicket(String ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+
+    public synchronized void start() {
+        if (writer == null) {
+            stopping = false;
+            writer = Thread.ofPlatform().name("reservation-writer").daemon().start(this::writeBatches);
+        }
+    }
+
+    public synchronized void stop() throws InterruptedException {
+        if (writer != null) {
+            stopping = true;
+            writer.join();
+            writer = null;
+        }
+        ReservationTicket stranded;
+        while ((stranded = queue.poll()) != null) {
+            seatInventory.release(stranded.getShowTimeId(), stranded.getSeats());
+            stranded.getResult().completeExceptionally(new ReservationQueueFullException());
+        }
+    }
+
+    private void writeBatches() {
+        List<ReservationTicket> batch = new ArrayList<>(properties.getBatchSize());
+        while (!stopping || !queue.isEmpty()) {
+            try {
+                ReservationTicket first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopping = true;
+                continue;
+            }
+            queue.drainTo(batch, properties.getBatchSize() - 1);
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<ReservationTicket> batch) {
+        List<ReservationResponse> responses;
+        try {
+            responses = transactionTemplate.execute(status -> persist(batch));
+        } catch (RuntimeException e) {
+            // One bad reservation rolls back the whole batch, so each one is retried alone to isolate it.
+            batch.forEach(this::commitAlone);
+            return;
+        }
+        for (int index = 0; index < batch.size(); index++) {
+            batch.get(index).getResult().complete(responses.get(index));
+        }
+    }
+
+    private void commitAlone(ReservationTicket ticket) {
+        try {
+            ticket.getResult().complete(transactionTemplate.execute(status -> persist(List.of(ticket))).getFirst());
+        } catch (RuntimeException e) {
+            seatInventory.release(ticket.getShowTimeId(), ticket.getSeats());
+            ticket.getResult().completeExceptionally(e instanceof DataIntegrityViolationException
+                    ? new SeatsUnavailableException(ticket.getShowTimeId())
+                    : e);
+        }
+    }
+
+    private List<ReservationResponse> persist(List<ReservationTicket> batch) {
+        List<Reservation> reservations = batch.stream()
+                .map(this::toReservation)
+                .toList();
+        reservationRepository.saveAll(reservations);
+        reservationRepository.flush();
+        batch.forEach(ticket -> eventPublisher.publishEvent(new ReservationConfirmedEvent(ticket.getShowTimeId(), ticket.getSeats())));
+        return reservations.stream()
+                .map(ReservationResponse::of)
+                .toList();
+    }
+
+    private Reservation toReservation(ReservationTicket ticket) {
+        Reservation reservation = new Reservation();
+        reservation.setUser(userRepository.getReferenceById(ticket.getUserId()));
+        reservation.setShowTime(showTimeRepository.getReferenceById(ticket.getShowTimeId()));
+        reservation.setCreatedAt(ticket.getCreatedAt());
+        reservation.setStatus(ReservationStatus.ACTIVE);
+        ticket.getSeats().forEach(seat -> reservation.addReservedSeat(ReservedSeat.builder()
+                .rowNumber(seat.getRowNumber())
+                .seatNumber(seat.getSeatNumber())
+                .build()));
+        return reservation;
+    }
+
+}
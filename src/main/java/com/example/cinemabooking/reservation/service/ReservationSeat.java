@@ -0,0 +1,16 @@
+package com.example.cinemabooking.reservation.service;
+
+import lombok.Value;
+
+@Value
+public class ReservationSeat {
+
+    Long reservationId;
+    int rowNumber;
+    int seatNumber;
+
+    public SeatPosition toSeatPosition() {
+        return new SeatPosition(rowNumber, seatNumber);
+    }
+
+}
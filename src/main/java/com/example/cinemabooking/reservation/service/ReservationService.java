@@ -0,0 +1,170 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.reservation.Reservation;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.ReservedSeat;
+import com.example.cinemabooking.reservation.dto.CreateReservationRequest;
+import com.example.cinemabooking.reservation.dto.ReservationHistoryFilter;
+import com.example.cinemabooking.reservation.dto.ReservationPageResponse;
+import com.example.cinemabooking.reservation.dto.ReservationResponse;
+import com.example.cinemabooking.reservation.dto.ReservationSummaryResponse;
+import com.example.cinemabooking.reservation.dto.ReservationTicketResponse;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.reservation.repository.ReservationSpecifications;
+import com.example.cinemabooking.reservation.repository.ReservedSeatRepository;
+import com.example.cinemabooking.reservation.service.exception.ReservationAlreadyCancelledException;
+import com.example.cinemabooking.reservation.service.exception.ReservationNotFoundException;
+import com.example.cinemabooking.reservation.service.exception.ReservationTicketNotFoundException;
+import com.example.cinemabooking.reservation.service.exception.SeatHoldNotFoundException;
+import com.example.cinemabooking.reservation.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.service.ShowTimeService;
+import com.example.cinemabooking.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ReservationService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReservationRepository reservationRepository;
+    private final ReservedSeatRepository reservedSeatRepository;
+    private final ShowTimeService showTimeService;
+    private final UserService userService;
+    private final SeatInventory seatInventory;
+    private final SeatHoldService seatHoldService;
+    private final ReservationPipeline reservationPipeline;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public ReservationResponse getReservationById(Long id) {
+        return ReservationResponse.of(getReservationOrThrow(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Reservation getReservationOrThrow(Long id) {
+        return reservationRepository.findById(id)
+                .orElseThrow(() -> new ReservationNotFoundException(id));
+    }
+
+    @Transactional(readOnly = true)
+    public ReservationPageResponse getUserReservations(Long userId, ReservationHistoryFilter filter, String cursor, int size) {
+        userService.getUserOrThrow(userId);
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        ReservationCursor after = cursor != null ? ReservationCursor.decode(cursor) : null;
+        List<ReservationSummary> reservations = reservationRepository.findSummaries(ReservationSpecifications.historyOf(userId, filter, after), pageSize + 1);
+        boolean hasNext = reservations.size() > pageSize;
+        List<ReservationSummary> page = hasNext ? reservations.subList(0, pageSize) : reservations;
+        String nextCursor = hasNext ? ReservationCursor.of(page.getLast()).encode() : null;
+        return ReservationPageResponse.of(withSeats(page), nextCursor);
+    }
+
+    // One seat query per page instead of one per reservation.
+    private List<ReservationSummaryResponse> withSeats(List<ReservationSummary> reservations) {
+        if (reservations.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<SeatPosition>> seats = reservedSeatRepository.findReservationSeats(reservations.stream().map(ReservationSummary::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(ReservationSeat::getReservationId,
+                        Collectors.mapping(ReservationSeat::toSeatPosition, Collectors.toList())));
+        return reservations.stream()
+                .map(reservation -> ReservationSummaryResponse.of(reservation, seats.getOrDefault(reservation.getId(), List.of())))
+                .toList();
+    }
+
+    @Transactional
+    public ReservationResponse createReservation(Long showTimeId, CreateReservationRequest request) {
+        List<SeatPosition> seats = claimSeats(showTimeId, request);
+        try {
+            ReservationResponse response = ReservationResponse.of(persistReservation(showTimeId, request.getUserId(), seats));
+            eventPublisher.publishEvent(new ReservationConfirmedEvent(showTimeId, seats));
+            return response;
+        } catch (RuntimeException e) {
+            seatInventory.release(showTimeId, seats);
+            throw e;
+        }
+    }
+
+    public ReservationTicket submitReservation(Long showTimeId, CreateReservationRequest request) {
+        userService.getUserOrThrow(request.getUserId());
+        List<SeatPosition> seats = claimSeats(showTimeId, request);
+        try {
+            return reservationPipeline.submit(showTimeId, request.getUserId(), seats);
+        } catch (RuntimeException e) {
+            seatInventory.release(showTimeId, seats);
+            throw e;
+        }
+    }
+
+    public ReservationTicketResponse getReservationTicket(String ticketId) {
+        return reservationPipeline.getTicket(ticketId)
+                .map(ReservationTicketResponse::of)
+                .orElseThrow(() -> new ReservationTicketNotFoundException(ticketId));
+    }
+
+    private List<SeatPosition> claimSeats(Long showTimeId, CreateReservationRequest request) {
+        if (request.getHoldId() != null) {
+            return consumeHold(showTimeId, request.getHoldId()).getSeats();
+        }
+        List<SeatPosition> seats = request.toSeatPositions();
+        if (!seatInventory.claim(showTimeId, seats)) {
+            throw new SeatsUnavailableException(showTimeId);
+        }
+        return seats;
+    }
+
+    private SeatHold consumeHold(Long showTimeId, String holdId) {
+        if (!seatHoldService.getHold(holdId).getShowTimeId().equals(showTimeId)) {
+            throw new SeatHoldNotFoundException(holdId);
+        }
+        return seatHoldService.consumeHold(holdId);
+    }
+
+    private Reservation persistReservation(Long showTimeId, Long userId, List<SeatPosition> seats) {
+        ShowTime showTime = showTimeService.getShowTimeOrThrow(showTimeId);
+        Reservation reservation = new Reservation();
+        reservation.setUser(userService.getUserOrThrow(userId));
+        reservation.setShowTime(showTime);
+        reservation.setCreatedAt(LocalDateTime.now());
+        reservation.setStatus(ReservationStatus.ACTIVE);
+        seats.forEach(seat -> reservation.addReservedSeat(ReservedSeat.builder()
+                .rowNumber(seat.getRowNumber())
+                .seatNumber(seat.getSeatNumber())
+                .build()));
+        try {
+            return reservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException e) {
+            throw new SeatsUnavailableException(showTimeId);
+        }
+    }
+
+    @Transactional
+    public ReservationResponse cancelReservation(Long id) {
+        Reservation reservation = getReservationOrThrow(id);
+        if (reservation.getStatus() == ReservationStatus.CANCELLED) {
+            throw new ReservationAlreadyCancelledException(id);
+        }
+        List<SeatPosition> seats = ReservationResponse.of(reservation).getSeats();
+        reservation.cancel();
+        try {
+            reservationRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ReservationAlreadyCancelledException(id);
+        }
+        eventPublisher.publishEvent(new ReservationCancelledEvent(id, reservation.getShowTime().getId(), seats));
+        return ReservationResponse.of(reservation);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.reservation.ReservationStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ReservationSummary {
+
+    Long id;
+    Long showTimeId;
+    String movieTitle;
+    String cinemaHallName;
+    LocalDateTime startTime;
+    ReservationStatus status;
+    LocalDateTime createdAt;
+
+}
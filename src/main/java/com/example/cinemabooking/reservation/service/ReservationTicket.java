@@ -0,0 +1,20 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.reservation.dto.ReservationResponse;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Value
+public class ReservationTicket {
+
+    String id;
+    Long showTimeId;
+    Long userId;
+    List<SeatPosition> seats;
+    LocalDateTime createdAt;
+    CompletableFuture<ReservationResponse> result = new CompletableFuture<>();
+
+}
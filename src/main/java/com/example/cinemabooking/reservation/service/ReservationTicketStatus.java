@@ -0,0 +1,7 @@
+package com.example.cinemabooking.reservation.service;
+
+public enum ReservationTicketStatus {
+    PENDING,
+    CONFIRMED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.reservation.service;
+
+public enum SeatChange {
+    CLAIMED,
+    RELEASED,
+    HOLD_EXPIRED
+}
@@ -0,0 +1,16 @@
+package com.example.cinemabooking.reservation.service;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Value
+public class SeatHold {
+
+    String id;
+    Long showTimeId;
+    List<SeatPosition> seats;
+    LocalDateTime expiresAt;
+
+}
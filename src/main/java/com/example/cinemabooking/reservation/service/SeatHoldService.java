@@ -0,0 +1,160 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.common.scheduling.HashedTimingWheel;
+import com.example.cinemabooking.reservation.config.SeatHoldProperties;
+import com.example.cinemabooking.reservation.service.exception.ContiguousSeatsUnavailableException;
+import com.example.cinemabooking.reservation.service.exception.InvalidSeatCountException;
+import com.example.cinemabooking.reservation.service.exception.SeatHoldNotFoundException;
+import com.example.cinemabooking.reservation.service.exception.SeatsUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+@RequiredArgsConstructor
+public class SeatHoldService {
+
+    private static final int BEST_SEATS_ATTEMPTS = 3;
+
+    private final SeatInventory seatInventory;
+    private final HashedTimingWheel holdExpiryWheel;
+    private final SeatHoldProperties seatHoldProperties;
+    private final ConcurrentMap<String, ActiveHold> activeHolds = new ConcurrentHashMap<>();
+
+    public SeatHold createHold(Long showTimeId, List<SeatPosition> seats) {
+        return seatInventory.atomically(showTimeId, () -> {
+            if (!seatInventory.claim(showTimeId, seats)) {
+                throw new SeatsUnavailableException(showTimeId);
+            }
+            return registerHold(showTimeId, seats);
+        });
+    }
+
+    public List<SeatPosition> findBestSeats(Long showTimeId, int count) {
+        validateSeatCount(count);
+        return seatInventory.findBestSeats(showTimeId, count)
+                .orElseThrow(() -> new ContiguousSeatsUnavailableException(showTimeId, count));
+    }
+
+    // Another buyer can take the block between finding and claiming it, so the search is repeated a few times.
+    public SeatHold holdBestSeats(Long showTimeId, int count) {
+        validateSeatCount(count);
+        for (int attempt = 0; attempt < BEST_SEATS_ATTEMPTS; attempt++) {
+            Optional<List<SeatPosition>> seats = seatInventory.findBestSeats(showTimeId, count);
+            if (seats.isEmpty()) {
+                break;
+            }
+            SeatHold seatHold = seatInventory.atomically(showTimeId, () ->
+                    seatInventory.claim(showTimeId, seats.get()) ? registerHold(showTimeId, seats.get()) : null);
+            if (seatHold != null) {
+                return seatHold;
+            }
+        }
+        throw new ContiguousSeatsUnavailableException(showTimeId, count);
+    }
+
+    public SeatHold getHold(String holdId) {
+        return Optional.ofNullable(activeHolds.get(holdId))
+                .map(ActiveHold::getSeatHold)
+                .orElseThrow(() -> new SeatHoldNotFoundException(holdId));
+    }
+
+    public void releaseHold(String holdId) {
+        seatInventory.atomically(getHold(holdId).getShowTimeId(), () -> {
+            SeatHold seatHold = removeHold(holdId);
+            seatInventory.release(seatHold.getShowTimeId(), seatHold.getSeats());
+            return seatHold;
+        });
+    }
+
+    public List<SeatHold> getActiveHolds(Long showTimeId) {
+        return activeHolds.values().stream()
+                .map(ActiveHold::getSeatHold)
+                .filter(seatHold -> seatHold.getShowTimeId().equals(showTimeId))
+                .toList();
+    }
+
+    // Seats of a hold restored from a snapshot are already claimed; they are released if it expired while the app was down.
+    public void restoreHold(SeatHold seatHold) {
+        Duration remaining = Duration.between(LocalDateTime.now(), seatHold.getExpiresAt());
+        if (remaining.isNegative() || remaining.isZero()) {
+            seatInventory.expire(seatHold.getShowTimeId(), seatHold.getSeats());
+            return;
+        }
+        activeHolds.computeIfAbsent(seatHold.getId(), holdId ->
+                new ActiveHold(seatHold, holdExpiryWheel.schedule(() -> expireHold(holdId), remaining)));
+    }
+
+    // Seats stay claimed; the holds are handed over to whoever takes over the show time.
+    public List<SeatHold> removeHolds(Long showTimeId) {
+        List<SeatHold> removed = new ArrayList<>();
+        activeHolds.values().removeIf(activeHold -> {
+            if (!activeHold.getSeatHold().getShowTimeId().equals(showTimeId)) {
+                return false;
+            }
+            activeHold.getExpiry().cancel();
+            removed.add(activeHold.getSeatHold());
+            return true;
+        });
+        return removed;
+    }
+
+    public SeatHold consumeHold(String holdId) {
+        return removeHold(holdId);
+    }
+
+    private SeatHold registerHold(Long showTimeId, List<SeatPosition> seats) {
+        SeatHold seatHold = new SeatHold(UUID.randomUUID().toString(), showTimeId, List.copyOf(seats),
+                LocalDateTime.now().plus(seatHoldProperties.getTtl()));
+        // Scheduling inside computeIfAbsent makes an early expiry wait for the hold to be registered.
+        activeHolds.computeIfAbsent(seatHold.getId(), holdId ->
+                new ActiveHold(seatHold, holdExpiryWheel.schedule(() -> expireHold(holdId), seatHoldProperties.getTtl())));
+        return seatHold;
+    }
+
+    private void validateSeatCount(int count) {
+        if (count < 1) {
+            throw new InvalidSeatCountException(count);
+        }
+    }
+
+    private SeatHold removeHold(String holdId) {
+        ActiveHold activeHold = activeHolds.remove(holdId);
+        if (activeHold == null) {
+            throw new SeatHoldNotFoundException(holdId);
+        }
+        activeHold.getExpiry().cancel();
+        return activeHold.getSeatHold();
+    }
+
+    private void expireHold(String holdId) {
+        ActiveHold expiring = activeHolds.get(holdId);
+        if (expiring == null) {
+            return;
+        }
+        seatInventory.atomically(expiring.getSeatHold().getShowTimeId(), () -> {
+            ActiveHold activeHold = activeHolds.remove(holdId);
+            if (activeHold != null) {
+                SeatHold seatHold = activeHold.getSeatHold();
+                seatInventory.expire(seatHold.getShowTimeId(), seatHold.getSeats());
+            }
+            return activeHold;
+        });
+    }
+
+    @Value
+    private static class ActiveHold {
+        SeatHold seatHold;
+        HashedTimingWheel.Timeout expiry;
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.service.CinemaHallChangedEvent;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.repository.ReservedSeatRepository;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.showtime.service.ShowTimeChangedEvent;
+import com.example.cinemabooking.showtime.service.exception.ShowTimeNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class SeatInventory {
+
+    private final ShowTimeRepository showTimeRepository;
+    private final ReservedSeatRepository reservedSeatRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentMap<Long, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    public boolean isAvailable(Long showTimeId, SeatPosition seat) {
+        return getSeatMap(showTimeId).isAvailable(seat);
+    }
+
+    public int getAvailableSeatCount(Long showTimeId) {
+        return getSeatMap(showTimeId).getAvailableCount();
+    }
+
+    public List<SeatPosition> getAvailableSeats(Long showTimeId) {
+        return getSeatMap(showTimeId).getAvailableSeats();
+    }
+
+    public Optional<List<SeatPosition>> findBestSeats(Long showTimeId, int count) {
+        return getSeatMap(showTimeId).findBestBlock(count);
+    }
+
+    public SeatState getSeatState(Long showTimeId, SeatPosition seat) {
+        return getSeatMap(showTimeId).getState(seat);
+    }
+
+    public byte[] encodeSeatMap(Long showTimeId) {
+        return getSeatMap(showTimeId).encode();
+    }
+
+    public boolean claim(Long showTimeId, Collection<SeatPosition> seats) {
+        return atomically(showTimeId, () -> {
+            boolean claimed = getSeatMap(showTimeId).claim(seats);
+            if (claimed) {
+                publishChange(showTimeId, SeatChange.CLAIMED, seats);
+            }
+            return claimed;
+        });
+    }
+
+    public void release(Long showTimeId, Collection<SeatPosition> seats) {
+        atomically(showTimeId, () -> {
+            publishReleasing(showTimeId, seats);
+            getSeatMap(showTimeId).release(seats);
+            publishChange(showTimeId, SeatChange.RELEASED, seats);
+            return null;
+        });
+    }
+
+    public void expire(Long showTimeId, Collection<SeatPosition> seats) {
+        atomically(showTimeId, () -> {
+            publishReleasing(showTimeId, seats);
+            getSeatMap(showTimeId).release(seats);
+            publishChange(showTimeId, SeatChange.HOLD_EXPIRED, seats);
+            return null;
+        });
+    }
+
+    // A seat change and whatever is recorded alongside it, such as a hold or a journal entry, run as one change of the
+    // show time's seat map, so a snapshot of that map never sees one without the other.
+    public <T> T atomically(Long showTimeId, Supplier<T> change) {
+        while (true) {
+            SeatMap seatMap = getSeatMap(showTimeId);
+            seatMap.beginChange();
+            try {
+                // A map replaced or dropped while this waited for it is retried on whatever took its place.
+                if (seatMaps.get(showTimeId) == seatMap) {
+                    return change.get();
+                }
+            } finally {
+                seatMap.endChange();
+            }
+        }
+    }
+
+    public <T> T exclusively(Long showTimeId, Supplier<T> action) {
+        SeatMap seatMap = seatMaps.get(showTimeId);
+        return seatMap != null ? seatMap.exclusively(action) : action.get();
+    }
+
+    public List<SeatPosition> getClaimedSeats(Long cinemaHallId) {
+        return seatMaps.values().stream()
+                .filter(seatMap -> seatMap.getCinemaHallId().equals(cinemaHallId))
+                .flatMap(seatMap -> seatMap.getClaimedSeats().stream())
+                .toList();
+    }
+
+    public Map<Long, SeatMap> getLoadedSeatMaps() {
+        return Map.copyOf(seatMaps);
+    }
+
+    public void install(Long showTimeId, SeatMap seatMap) {
+        seatMaps.put(showTimeId, seatMap);
+    }
+
+    public void evict(Long showTimeId) {
+        seatMaps.remove(showTimeId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowTimeChanged(ShowTimeChangedEvent event) {
+        if (event.isDeleted() || event.isCinemaHallChanged()) {
+            seatMaps.remove(event.getShowTimeId());
+        }
+    }
+
+    // Rebuilt maps keep the claims of holds and queued reservations, which exist nowhere else.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCinemaHallChanged(CinemaHallChangedEvent event) {
+        if (event.isDeleted()) {
+            seatMaps.values().removeIf(seatMap -> seatMap.getCinemaHallId().equals(event.getCinemaHallId()));
+        } else if (event.isLayoutChanged()) {
+            seatMaps.forEach((showTimeId, seatMap) -> {
+                if (seatMap.getCinemaHallId().equals(event.getCinemaHallId())) {
+                    seatMap.exclusively(() -> seatMaps.replace(showTimeId, seatMap, seatMap.withLayout(event.getSeatLayout())));
+                }
+            });
+        }
+    }
+
+    // The release is announced even without a loaded map, since a journal may still hold the seats as confirmed.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationCancelled(ReservationCancelledEvent event) {
+        if (seatMaps.containsKey(event.getShowTimeId())) {
+            release(event.getShowTimeId(), event.getSeats());
+        } else {
+            publishReleasing(event.getShowTimeId(), event.getSeats());
+        }
+    }
+
+    SeatMap getSeatMap(Long showTimeId) {
+        SeatMap seatMap = seatMaps.get(showTimeId);
+        return seatMap != null ? seatMap : seatMaps.computeIfAbsent(showTimeId, this::loadSeatMap);
+    }
+
+    private void publishReleasing(Long showTimeId, Collection<SeatPosition> seats) {
+        eventPublisher.publishEvent(new SeatsReleasingEvent(showTimeId, List.copyOf(seats)));
+    }
+
+    private void publishChange(Long showTimeId, SeatChange change, Collection<SeatPosition> seats) {
+        eventPublisher.publishEvent(new SeatsChangedEvent(showTimeId, change, List.copyOf(seats)));
+    }
+
+    private SeatMap loadSeatMap(Long showTimeId) {
+        ShowTime showTime = showTimeRepository.findById(showTimeId)
+                .orElseThrow(() -> new ShowTimeNotFoundException(showTimeId));
+        CinemaHall cinemaHall = showTime.getCinemaHall();
+        SeatMap seatMap = new SeatMap(cinemaHall.getId(), cinemaHall.getSeatLayout());
+        seatMap.claim(reservedSeatRepository.findSeatPositions(showTimeId, ReservationStatus.ACTIVE));
+        return seatMap;
+    }
+
+}
@@ -0,0 +1,377 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.hall.entity.CellType;
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import com.example.cinemabooking.reservation.service.exception.InvalidSeatException;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+@Getter
+public class SeatMap {
+
+    public static final byte ENCODING_VERSION = 1;
+    private static final int ENCODING_HEADER_BYTES = 5;
+    private static final int CELLS_PER_BYTE = 4;
+    private static final int OPTIMISTIC_READ_ATTEMPTS = 16;
+
+    private final Long cinemaHallId;
+    private final int rows;
+    private final int seatsPerRow;
+    private final int capacity;
+
+    private final SeatLayout layout;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLongArray words;
+
+    // Seat changes share the lock, so claims still run side by side; only replacing or dropping the map excludes them.
+    @Getter(AccessLevel.NONE)
+    private final ReentrantReadWriteLock changeLock = new ReentrantReadWriteLock();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong finishedChanges = new AtomicLong();
+
+    // Aisle and blocked cells start out claimed, so they are never reported or handed out as available.
+    public SeatMap(Long cinemaHallId, SeatLayout layout) {
+        this.cinemaHallId = cinemaHallId;
+        this.rows = layout.getRows();
+        this.seatsPerRow = layout.getSeatsPerRow();
+        this.capacity = layout.getSeatCount();
+        this.layout = layout;
+        long[] nonSeatCells = new long[(getCellCount() + Long.SIZE - 1) / Long.SIZE];
+        for (int index = 0; index < getCellCount(); index++) {
+            SeatPosition cell = positionOf(index);
+            if (!layout.isSeat(cell.getRowNumber(), cell.getSeatNumber())) {
+                nonSeatCells[index / Long.SIZE] |= 1L << index;
+            }
+        }
+        this.words = new AtomicLongArray(nonSeatCells);
+    }
+
+    // Taken cells of a snapshot include the pre-claimed aisles and blocked cells, so they must come from the same layout.
+    public static SeatMap restore(Long cinemaHallId, SeatLayout layout, long[] takenWords) {
+        SeatMap seatMap = new SeatMap(cinemaHallId, layout);
+        if (takenWords.length != seatMap.words.length()) {
+            throw new IllegalArgumentException("Snapshot of " + takenWords.length + " words does not match the hall layout.");
+        }
+        for (int word = 0; word < takenWords.length; word++) {
+            seatMap.words.set(word, seatMap.words.get(word) | takenWords[word]);
+        }
+        return seatMap;
+    }
+
+    // Claims carry over to the cells that are seats in both layouts.
+    public SeatMap withLayout(SeatLayout newLayout) {
+        SeatMap seatMap = new SeatMap(cinemaHallId, newLayout);
+        seatMap.claim(getClaimedSeats().stream()
+                .filter(seat -> newLayout.isSeat(seat.getRowNumber(), seat.getSeatNumber()))
+                .toList());
+        return seatMap;
+    }
+
+    public List<SeatPosition> getClaimedSeats() {
+        List<SeatPosition> claimedSeats = new ArrayList<>();
+        for (int index = 0; index < getCellCount(); index++) {
+            SeatPosition cell = positionOf(index);
+            if ((words.get(index / Long.SIZE) & (1L << index)) != 0 && layout.isSeat(cell.getRowNumber(), cell.getSeatNumber())) {
+                claimedSeats.add(cell);
+            }
+        }
+        return claimedSeats;
+    }
+
+    public <T> T exclusively(Supplier<T> action) {
+        changeLock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            changeLock.writeLock().unlock();
+        }
+    }
+
+    // Valid only if no change was running when the read began or ended and none finished in between; after a few
+    // overlapping attempts the read waits for the running changes instead.
+    public <T> T readConsistently(Supplier<T> read) {
+        for (int attempt = 0; attempt < OPTIMISTIC_READ_ATTEMPTS; attempt++) {
+            long finished = finishedChanges.get();
+            if (changeLock.getReadLockCount() == 0) {
+                T result = read.get();
+                if (changeLock.getReadLockCount() == 0 && finishedChanges.get() == finished) {
+                    return result;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        return exclusively(read);
+    }
+
+    void beginChange() {
+        changeLock.readLock().lock();
+    }
+
+    void endChange() {
+        finishedChanges.incrementAndGet();
+        changeLock.readLock().unlock();
+    }
+
+    public long[] copyTakenWords() {
+        long[] copy = new long[words.length()];
+        for (int word = 0; word < copy.length; word++) {
+            copy[word] = words.get(word);
+        }
+        return copy;
+    }
+
+    public boolean isAvailable(SeatPosition seat) {
+        int index = indexOf(seat);
+        return (words.get(index / Long.SIZE) & (1L << index)) == 0;
+    }
+
+    public int getAvailableCount() {
+        int taken = 0;
+        for (int i = 0; i < words.length(); i++) {
+            taken += Long.bitCount(words.get(i));
+        }
+        return getCellCount() - taken;
+    }
+
+    public List<SeatPosition> getAvailableSeats() {
+        List<SeatPosition> availableSeats = new ArrayList<>();
+        for (int index = 0; index < getCellCount(); index++) {
+            if ((words.get(index / Long.SIZE) & (1L << index)) == 0) {
+                availableSeats.add(positionOf(index));
+            }
+        }
+        return availableSeats;
+    }
+
+    public SeatState getState(SeatPosition cell) {
+        if (!layout.contains(cell.getRowNumber(), cell.getSeatNumber())) {
+            throw new InvalidSeatException(cell);
+        }
+        CellType cellType = layout.getCellType(cell.getRowNumber(), cell.getSeatNumber());
+        if (cellType == CellType.AISLE) {
+            return SeatState.AISLE;
+        }
+        if (cellType == CellType.BLOCKED) {
+            return SeatState.BLOCKED;
+        }
+        return isAvailable(cell) ? SeatState.AVAILABLE : SeatState.TAKEN;
+    }
+
+    // Version byte, rows and seats per row as unsigned shorts, then every cell row by row as a 2-bit SeatState,
+    // four cells per byte starting from the lowest bits. A 20x20 hall encodes to 105 bytes.
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODING_HEADER_BYTES + (getCellCount() + CELLS_PER_BYTE - 1) / CELLS_PER_BYTE)
+                .put(ENCODING_VERSION)
+                .putShort((short) rows)
+                .putShort((short) seatsPerRow);
+        int packed = 0;
+        for (int index = 0; index < getCellCount(); index++) {
+            packed |= getState(positionOf(index)).ordinal() << (index % CELLS_PER_BYTE) * 2;
+            if (index % CELLS_PER_BYTE == CELLS_PER_BYTE - 1) {
+                buffer.put((byte) packed);
+                packed = 0;
+            }
+        }
+        if (getCellCount() % CELLS_PER_BYTE != 0) {
+            buffer.put((byte) packed);
+        }
+        return buffer.array();
+    }
+
+    // Rows are visited from the middle of the hall outwards. In each row the free-seat mask is narrowed to the
+    // starts of free runs of the requested length, and the start nearest the row centre is scored by its squared
+    // distance from the hall centre. Aisles and blocked cells are never free, so a block never spans them.
+    public Optional<List<SeatPosition>> findBestBlock(int count) {
+        if (count < 1 || count > seatsPerRow) {
+            return Optional.empty();
+        }
+        long[] starts = new long[(seatsPerRow + Long.SIZE - 1) / Long.SIZE];
+        long[] shifted = new long[starts.length];
+        long bestScore = Long.MAX_VALUE;
+        int bestRow = -1;
+        int bestStart = -1;
+        for (int distance = 0; distance <= (rows - 1) / 2; distance++) {
+            int frontRow = (rows - 1) / 2 - distance;
+            int backRow = rows / 2 + distance;
+            long rowOffset = 2L * backRow - (rows - 1);
+            if (rowOffset * rowOffset >= bestScore) {
+                break;
+            }
+            for (int row = frontRow; row <= backRow; row += backRow - frontRow) {
+                int start = bestStartInRow(row, count, starts, shifted);
+                long seatOffset = 2L * start + count - seatsPerRow;
+                if (start >= 0 && seatOffset * seatOffset + rowOffset * rowOffset < bestScore) {
+                    bestScore = seatOffset * seatOffset + rowOffset * rowOffset;
+                    bestRow = row;
+                    bestStart = start;
+                }
+                if (frontRow == backRow) {
+                    break;
+                }
+            }
+        }
+        if (bestRow < 0) {
+            return Optional.empty();
+        }
+        List<SeatPosition> block = new ArrayList<>(count);
+        for (int seat = bestStart; seat < bestStart + count; seat++) {
+            block.add(new SeatPosition(bestRow + 1, seat + 1));
+        }
+        return Optional.of(block);
+    }
+
+    // All-or-nothing: words are claimed in ascending order and already claimed words are rolled back on the first conflict.
+    public boolean claim(Collection<SeatPosition> seats) {
+        long[] masks = masksOf(seats);
+        for (int word = 0; word < masks.length; word++) {
+            if (masks[word] != 0 && !claimWord(word, masks[word])) {
+                clearWords(masks, word);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void release(Collection<SeatPosition> seats) {
+        long[] masks = masksOf(seats);
+        clearWords(masks, masks.length);
+    }
+
+    private boolean claimWord(int word, long mask) {
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    private void clearWords(long[] masks, int toWordExclusive) {
+        for (int word = 0; word < toWordExclusive; word++) {
+            if (masks[word] != 0) {
+                words.getAndAccumulate(word, ~masks[word], (current, keep) -> current & keep);
+            }
+        }
+    }
+
+    private int bestStartInRow(int row, int count, long[] starts, long[] shifted) {
+        loadFreeMask(row, starts);
+        narrowToRunStarts(starts, shifted, count);
+        return nearestSetBit(starts, (seatsPerRow - count) / 2);
+    }
+
+    private void loadFreeMask(int row, long[] mask) {
+        for (int word = 0; word < mask.length; word++) {
+            int length = Math.min(Long.SIZE, seatsPerRow - word * Long.SIZE);
+            mask[word] = ~takenBits(row * seatsPerRow + word * Long.SIZE, length) & lowBits(length);
+        }
+    }
+
+    private long takenBits(int fromIndex, int length) {
+        int word = fromIndex / Long.SIZE;
+        int shift = fromIndex % Long.SIZE;
+        long bits = words.get(word) >>> shift;
+        if (shift != 0 && shift + length > Long.SIZE) {
+            bits |= words.get(word + 1) << (Long.SIZE - shift);
+        }
+        return bits;
+    }
+
+    // Doubles the covered run length on every pass, so a bit stays set only if `count` free seats start there.
+    private static void narrowToRunStarts(long[] mask, long[] shifted, int count) {
+        for (int covered = 1; covered < count; ) {
+            int shift = Math.min(covered, count - covered);
+            shiftRight(mask, shift, shifted);
+            for (int word = 0; word < mask.length; word++) {
+                mask[word] &= shifted[word];
+            }
+            covered += shift;
+        }
+    }
+
+    private static void shiftRight(long[] mask, int shift, long[] target) {
+        int wordShift = shift / Long.SIZE;
+        int bitShift = shift % Long.SIZE;
+        for (int word = 0; word < mask.length; word++) {
+            int source = word + wordShift;
+            long low = source < mask.length ? mask[source] >>> bitShift : 0;
+            long high = bitShift != 0 && source + 1 < mask.length ? mask[source + 1] << (Long.SIZE - bitShift) : 0;
+            target[word] = low | high;
+        }
+    }
+
+    private static int nearestSetBit(long[] mask, int target) {
+        int next = nextSetBit(mask, target);
+        int previous = previousSetBit(mask, target - 1);
+        if (next < 0 || (previous >= 0 && target - previous < next - target)) {
+            return previous;
+        }
+        return next;
+    }
+
+    private static int nextSetBit(long[] mask, int from) {
+        for (int word = from / Long.SIZE; word < mask.length; word++) {
+            long bits = word == from / Long.SIZE ? mask[word] & (-1L << from) : mask[word];
+            if (bits != 0) {
+                return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
+    private static int previousSetBit(long[] mask, int from) {
+        if (from < 0) {
+            return -1;
+        }
+        for (int word = from / Long.SIZE; word >= 0; word--) {
+            long bits = word == from / Long.SIZE ? mask[word] & (-1L >>> (Long.SIZE - 1 - from % Long.SIZE)) : mask[word];
+            if (bits != 0) {
+                return word * Long.SIZE + Long.SIZE - 1 - Long.numberOfLeadingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
+    private static long lowBits(int length) {
+        return length == Long.SIZE ? -1L : (1L << length) - 1;
+    }
+
+    private long[] masksOf(Collection<SeatPosition> seats) {
+        long[] masks = new long[words.length()];
+        for (SeatPosition seat : seats) {
+            int index = indexOf(seat);
+            masks[index / Long.SIZE] |= 1L << index;
+        }
+        return masks;
+    }
+
+    private int getCellCount() {
+        return rows * seatsPerRow;
+    }
+
+    private int indexOf(SeatPosition seat) {
+        if (!layout.isSeat(seat.getRowNumber(), seat.getSeatNumber())) {
+            throw new InvalidSeatException(seat);
+        }
+        return (seat.getRowNumber() - 1) * seatsPerRow + seat.getSeatNumber() - 1;
+    }
+
+    private SeatPosition positionOf(int index) {
+        return new SeatPosition(index / seatsPerRow + 1, index % seatsPerRow + 1);
+    }
+
+}
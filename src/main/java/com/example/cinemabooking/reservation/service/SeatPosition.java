@@ -0,0 +1,16 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.reservation.ReservedSeat;
+import lombok.Value;
+
+@Value
+public class SeatPosition {
+
+    int rowNumber;
+    int seatNumber;
+
+    public static SeatPosition of(ReservedSeat reservedSeat) {
+        return new SeatPosition(reservedSeat.getRowNumber(), reservedSeat.getSeatNumber());
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.example.cinemabooking.reservation.service;
+
+// Ordinals are the 2-bit cell codes of the encoded seat map, so new states must only be appended.
+public enum SeatState {
+    AVAILABLE,
+    TAKEN,
+    AISLE,
+    BLOCKED
+}
@@ -0,0 +1,14 @@
+package com.example.cinemabooking.reservation.service;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SeatsChangedEvent {
+
+    Long showTimeId;
+    SeatChange change;
+    List<SeatPosition> seats;
+
+}
@@ -0,0 +1,14 @@
+package com.example.cinemabooking.reservation.service;
+
+import lombok.Value;
+
+import java.util.List;
+
+// Published before the seats are freed, so whatever records the release does so ahead of any later claim of them.
+@Value
+public class SeatsReleasingEvent {
+
+    Long showTimeId;
+    List<SeatPosition> seats;
+
+}
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.reservation.service.exception;
+
+public class ContiguousSeatsUnavailableException extends RuntimeException {
+    public ContiguousSeatsUnavailableException(Long showTimeId, int count) {
+        super("No " + count + " seats next to each other are available for show time with id " + showTimeId + ".");
+    }
+}
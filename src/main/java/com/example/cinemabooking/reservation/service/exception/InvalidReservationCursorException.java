@@ -0,0 +1,7 @@
+package com.example.cinemabooking.reservation.service.exception;
+
+public class InvalidReservationCursorException extends RuntimeException {
+    public InvalidReservationCursorException(String cursor) {
+        super("Invalid reservation cursor '" + cursor + "'.");
+    }
+}
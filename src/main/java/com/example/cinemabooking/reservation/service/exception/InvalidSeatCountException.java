@@ -0,0 +1,7 @@
+package com.example.cinemabooking.reservation.service.exception;
+
+public class InvalidSeatCountException extends RuntimeException {
+    public InvalidSeatCountException(int count) {
+        super("Seat count must be at least 1, but was " + count + ".");
+    }
+}
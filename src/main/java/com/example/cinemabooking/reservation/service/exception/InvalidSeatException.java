@@ -0,0 +1,9 @@
+package com.example.cinemabooking.reservation.service.exception;
+
+import com.example.cinemabooking.reservation.service.SeatPosition;
+
+public class InvalidSeatException extends RuntimeException {
+    public InvalidSeatException(SeatPosition seat) {
+        super("Seat in row " + seat.getRowNumber() + " with number " + seat.getSeatNumber() + " does not exist in cinema hall.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.reservation.service.exception;
+
+public class ReservationAlreadyCancelledException extends RuntimeException {
+    public ReservationAlreadyCancelledException(Long id) {
+        super("Reservation with id " + id + " is already cancelled.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.reservation.service.exception;
+
+public class ReservationNotFoundException extends RuntimeException {
+    public ReservationNotFoundException(Long id) {
+        super("Reservation with id " + id + " not found.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.reservation.service.exception;
+
+public class ReservationQueueFullException extends RuntimeException {
+    public ReservationQueueFullException() {
+        super("Too many reservations are waiting to be saved, please try again shortly.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.reservation.service.exception;
+
+public class ReservationTicketNotFoundException extends RuntimeException {
+    public ReservationTicketNotFoundException(String ticketId) {
+        super("Reservation ticket with id " + ticketId + " not found or already expired.");
+    }
+}
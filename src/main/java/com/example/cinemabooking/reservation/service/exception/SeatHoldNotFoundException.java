@@ -0,0 +1,7 @@
+package com.example.cinemabooking.reservation.service.exception;
+
+public class SeatHoldNotFoundException extends RuntimeException {
+    public SeatHoldNotFoundException(String holdId) {
+        super("Seat hold with id " + holdId + " not found or already expired.");
+    }
+}
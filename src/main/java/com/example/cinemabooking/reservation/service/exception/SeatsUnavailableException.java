@@ -0,0 +1,7 @@
+package com.example.cinemabooking.reservation.service.exception;
+
+public class SeatsUnavailableException extends RuntimeException {
+    public SeatsUnavailableException(Long showTimeId) {
+        super("Some of the requested seats for show time with id " + showTimeId + " are not available.");
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.cinemabooking.reservation.snapshot;
+
+import com.example.cinemabooking.reservation.service.SeatHold;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SeatSnapshot {
+
+    public static final long NO_JOURNAL = -1;
+
+    long takenAtMillis;
+    long journalPosition;
+    List<ShowTimeSeats> showTimes;
+    List<SeatHold> holds;
+
+    @Value
+    public static class ShowTimeSeats {
+        long showTimeId;
+        long cinemaHallId;
+        int rows;
+        int seatsPerRow;
+        byte[] layout;
+        long[] takenWords;
+        long journalPosition;
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.example.cinemabooking.reservation.snapshot;
+
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.journal.SeatJournal;
+import com.example.cinemabooking.reservation.journal.SeatJournalOperation;
+import com.example.cinemabooking.reservation.journal.SeatJournalReplay;
+import com.example.cinemabooking.reservation.repository.ReservedSeatRepository;
+import com.example.cinemabooking.reservation.service.SeatHold;
+import com.example.cinemabooking.reservation.service.SeatHoldService;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.service.SeatMap;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Restores seat maps and holds from the latest snapshot before the app reports ready, so seat state of busy show times
+// does not have to be loaded from reserved seats again, and then keeps writing snapshots in the background.
+@Slf4j
+@RequiredArgsConstructor
+public class SeatSnapshotService implements ApplicationRunner, Ordered {
+
+    private final SeatSnapshotStore seatSnapshotStore;
+    private final SeatInventory seatInventory;
+    private final SeatHoldService seatHoldService;
+    private final ShowTimeRepository showTimeRepository;
+    private final ReservedSeatRepository reservedSeatRepository;
+    private final SeatJournal seatJournal;
+    private final SeatJournalReplay seatJournalReplay;
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+
+    // Runs before the journal recorder, whose claims of seats restored here then simply fail.
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        seatSnapshotStore.getLatest().ifPresent(this::restore);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (scheduler == null) {
+            // Written straight away so the journal entries replayed during startup are not replayed again next time.
+            takeSnapshot();
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "seat-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::takeSnapshot, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            takeSnapshot();
+        }
+    }
+
+    // Once the snapshot is on disk, the journal before its position is never replayed again and is retired.
+    public void takeSnapshot() {
+        SeatSnapshot snapshot;
+        try {
+            snapshot = capture();
+            seatSnapshotStore.write(snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write seat snapshot", e);
+            return;
+        }
+        if (seatJournal != null) {
+            try {
+                seatJournal.retireBefore(snapshot.getJournalPosition());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not retire seat journal before position {}", snapshot.getJournalPosition(), e);
+            }
+        }
+    }
+
+    // Each seat map is read on its own together with its holds and the journal position it was read at, so seat changes
+    // never wait for a snapshot. The journal is replayed from where the first map was read.
+    private SeatSnapshot capture() {
+        long journalPosition = journalPosition();
+        List<SeatSnapshot.ShowTimeSeats> showTimes = new ArrayList<>();
+        List<SeatHold> holds = new ArrayList<>();
+        seatInventory.getLoadedSeatMaps().forEach((showTimeId, seatMap) -> {
+            CapturedShowTime captured = seatMap.readConsistently(() -> new CapturedShowTime(new SeatSnapshot.ShowTimeSeats(
+                    showTimeId, seatMap.getCinemaHallId(), seatMap.getRows(), seatMap.getSeatsPerRow(),
+                    seatMap.getLayout().toBytes(), seatMap.copyTakenWords(), journalPosition()),
+                    seatHoldService.getActiveHolds(showTimeId)));
+            showTimes.add(captured.getSeats());
+            holds.addAll(captured.getHolds());
+        });
+        return new SeatSnapshot(System.currentTimeMillis(), journalPosition, showTimes, holds);
+    }
+
+    private long journalPosition() {
+        return seatJournal != null ? seatJournal.position() : SeatSnapshot.NO_JOURNAL;
+    }
+
+    private void restore(SeatSnapshot snapshot) {
+        Map<Long, ShowTime> showTimes = showTimeRepository.findWithCinemaHallByIdIn(snapshot.getShowTimes().stream()
+                        .map(SeatSnapshot.ShowTimeSeats::getShowTimeId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(ShowTime::getId, Function.identity()));
+        Map<Long, Set<SeatPosition>> changedSeats = new HashMap<>();
+        boolean replayJournal = seatJournalReplay != null && snapshot.getJournalPosition() != SeatSnapshot.NO_JOURNAL;
+        Map<Long, List<SeatPosition>> reservedSeats = replayJournal ? Map.of() : findReservedSeats(showTimes.keySet());
+        Map<Long, SeatMap> restored = new HashMap<>();
+        for (SeatSnapshot.ShowTimeSeats seats : snapshot.getShowTimes()) {
+            ShowTime showTime = showTimes.get(seats.getShowTimeId());
+            SeatLayout layout = SeatLayout.of(seats.getRows(), seats.getSeatsPerRow(), seats.getLayout());
+            if (showTime == null || !matches(showTime.getCinemaHall(), seats.getCinemaHallId(), layout)) {
+                continue;
+            }
+            SeatMap seatMap;
+            if (replayJournal) {
+                seatMap = SeatMap.restore(seats.getCinemaHallId(), layout, seats.getTakenWords());
+                applyJournal(seats.getShowTimeId(), seatMap, changedSeats.computeIfAbsent(seats.getShowTimeId(), id -> new HashSet<>()));
+            } else {
+                // Without a journal nothing tells which seats were cancelled since the snapshot, so taken seats come from
+                // active reservations and only the holds are taken from the snapshot.
+                seatMap = new SeatMap(seats.getCinemaHallId(), layout);
+                seatMap.claim(reservedSeats.getOrDefault(seats.getShowTimeId(), List.of()));
+            }
+            restored.put(seats.getShowTimeId(), seatMap);
+        }
+        restored.forEach(seatInventory::install);
+        int restoredHolds = 0;
+        for (SeatHold hold : snapshot.getHolds()) {
+            SeatMap seatMap = restored.get(hold.getShowTimeId());
+            if (seatMap == null) {
+                continue;
+            }
+            // A hold whose seats changed or were reserved after the snapshot was released, expired or confirmed in the meantime.
+            boolean kept = replayJournal
+                    ? hold.getSeats().stream().noneMatch(changedSeats.get(hold.getShowTimeId())::contains)
+                    : seatMap.claim(hold.getSeats());
+            if (kept) {
+                seatHoldService.restoreHold(hold);
+                restoredHolds++;
+            }
+        }
+        log.info("Restored {} show times and {} holds from the seat snapshot taken at {}", restored.size(), restoredHolds,
+                Instant.ofEpochMilli(snapshot.getTakenAtMillis()));
+    }
+
+    // A seat claimed after the snapshot but never confirmed is left free: the journal recorder, which runs next,
+    // claims the recent ones again for one hold period, and older ones belonged to holds that have since expired.
+    private void applyJournal(Long showTimeId, SeatMap seatMap, Set<SeatPosition> changed) {
+        seatJournalReplay.forEachChangedSeat(showTimeId, (seat, lastOperation, recent) -> {
+            if (!seatMap.getLayout().isSeat(seat.getRowNumber(), seat.getSeatNumber())) {
+                return;
+            }
+            changed.add(seat);
+            boolean taken = !seatMap.isAvailable(seat);
+            boolean takenNow = lastOperation == SeatJournalOperation.CONFIRM;
+            if (takenNow && !taken) {
+                seatMap.claim(List.of(seat));
+            } else if (!takenNow && taken) {
+                seatMap.release(List.of(seat));
+            }
+        });
+    }
+
+    private Map<Long, List<SeatPosition>> findReservedSeats(Collection<Long> showTimeIds) {
+        return reservedSeatRepository.findReservedSeats(showTimeIds, ReservationStatus.ACTIVE).stream()
+                .collect(Collectors.groupingBy(reservedSeat -> reservedSeat.getShowTime().getId(),
+                        Collectors.mapping(SeatPosition::of, Collectors.toList())));
+    }
+
+    private boolean matches(CinemaHall cinemaHall, long cinemaHallId, SeatLayout layout) {
+        return cinemaHall.getId() == cinemaHallId && cinemaHall.getSeatLayout().equals(layout);
+    }
+
+    @Value
+    private static class CapturedShowTime {
+        SeatSnapshot.ShowTimeSeats seats;
+        List<SeatHold> holds;
+    }
+
+}
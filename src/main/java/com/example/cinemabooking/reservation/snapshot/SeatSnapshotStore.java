@@ -0,0 +1,158 @@
+package com.example.cinemabooking.reservation.snapshot;
+
+import com.example.cinemabooking.reservation.service.SeatHold;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+// Layout: magic, version, taken-at millis, journal position, show times (id, hall id, rows, seats per row, layout bytes,
+// taken words, journal position), holds (id, show time id, expiry millis, seats as row << 16 | seat number), then a CRC32C of all of it.
+// A new snapshot is written next to the old one, forced to disk and moved over it, so a reader sees one or the other.
+@Slf4j
+public class SeatSnapshotStore {
+
+    private static final int MAGIC = 0x53454154;
+    private static final byte VERSION = 2;
+
+    private final Path path;
+    private final SeatSnapshot latest;
+
+    public SeatSnapshotStore(Path path) {
+        this.path = path;
+        this.latest = read(path).orElse(null);
+    }
+
+    public Optional<SeatSnapshot> getLatest() {
+        return Optional.ofNullable(latest);
+    }
+
+    public synchronized void write(SeatSnapshot snapshot) throws IOException {
+        byte[] bytes = encode(snapshot);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static Optional<SeatSnapshot> read(Path path) {
+        try {
+            byte[] bytes = Files.readAllBytes(path);
+            CRC32C crc = new CRC32C();
+            crc.update(bytes, 0, Math.max(bytes.length - Integer.BYTES, 0));
+            if (bytes.length < Integer.BYTES || (int) crc.getValue() != ByteBuffer.wrap(bytes).getInt(bytes.length - Integer.BYTES)) {
+                log.warn("Ignoring seat snapshot {} with a bad checksum", path);
+                return Optional.empty();
+            }
+            return Optional.of(decode(new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - Integer.BYTES))));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable seat snapshot {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] encode(SeatSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(snapshot.getTakenAtMillis());
+        out.writeLong(snapshot.getJournalPosition());
+        out.writeInt(snapshot.getShowTimes().size());
+        for (SeatSnapshot.ShowTimeSeats showTime : snapshot.getShowTimes()) {
+            out.writeLong(showTime.getShowTimeId());
+            out.writeLong(showTime.getCinemaHallId());
+            out.writeShort(showTime.getRows());
+            out.writeShort(showTime.getSeatsPerRow());
+            out.writeInt(showTime.getLayout().length);
+            out.write(showTime.getLayout());
+            out.writeInt(showTime.getTakenWords().length);
+            for (long word : showTime.getTakenWords()) {
+                out.writeLong(word);
+            }
+            out.writeLong(showTime.getJournalPosition());
+        }
+        out.writeInt(snapshot.getHolds().size());
+        for (SeatHold hold : snapshot.getHolds()) {
+            out.writeUTF(hold.getId());
+            out.writeLong(hold.getShowTimeId());
+            out.writeLong(hold.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            out.writeInt(hold.getSeats().size());
+            for (SeatPosition seat : hold.getSeats()) {
+                out.writeInt(seat.getRowNumber() << 16 | seat.getSeatNumber());
+            }
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        return bytes.toByteArray();
+    }
+
+    private static SeatSnapshot decode(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("not a seat snapshot of version " + VERSION);
+        }
+        long takenAtMillis = in.readLong();
+        long journalPosition = in.readLong();
+        int showTimeCount = in.readInt();
+        List<SeatSnapshot.ShowTimeSeats> showTimes = new ArrayList<>(showTimeCount);
+        for (int index = 0; index < showTimeCount; index++) {
+            long showTimeId = in.readLong();
+            long cinemaHallId = in.readLong();
+            int rows = in.readUnsignedShort();
+            int seatsPerRow = in.readUnsignedShort();
+            byte[] layout = in.readNBytes(in.readInt());
+            long[] takenWords = new long[in.readInt()];
+            for (int word = 0; word < takenWords.length; word++) {
+                takenWords[word] = in.readLong();
+            }
+            long showTimeJournalPosition = in.readLong();
+            showTimes.add(new SeatSnapshot.ShowTimeSeats(showTimeId, cinemaHallId, rows, seatsPerRow, layout, takenWords,
+                    showTimeJournalPosition));
+        }
+        int holdCount = in.readInt();
+        List<SeatHold> holds = new ArrayList<>(holdCount);
+        for (int index = 0; index < holdCount; index++) {
+            String id = in.readUTF();
+            long showTimeId = in.readLong();
+            LocalDateTime expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneId.systemDefault());
+            List<SeatPosition> seats = new ArrayList<>();
+            for (int seat = in.readInt(); seat > 0; seat--) {
+                int cell = in.readInt();
+                seats.add(new SeatPosition(cell >>> 16, cell & 0xFFFF));
+            }
+            holds.add(new SeatHold(id, showTimeId, List.copyOf(seats), expiresAt));
+        }
+        return new SeatSnapshot(takenAtMillis, journalPosition, showTimes, holds);
+    }
+
+}
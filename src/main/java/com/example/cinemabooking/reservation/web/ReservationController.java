@@ -0,0 +1,85 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.dto.CreateReservationRequest;
+import com.example.cinemabooking.reservation.dto.ReservationHistoryFilter;
+import com.example.cinemabooking.reservation.dto.ReservationPageResponse;
+import com.example.cinemabooking.reservation.dto.ReservationResponse;
+import com.example.cinemabooking.reservation.dto.ReservationTicketResponse;
+import com.example.cinemabooking.reservation.service.ReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @GetMapping("/reservations/{id}")
+    ReservationResponse getReservationById(@PathVariable Long id) {
+        return reservationService.getReservationById(id);
+    }
+
+    @GetMapping("/users/{userId}/reservations")
+    ReservationPageResponse getUserReservations(@PathVariable Long userId,
+                                                @RequestParam(required = false) ReservationStatus status,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int size) {
+        ReservationHistoryFilter filter = ReservationHistoryFilter.builder()
+                .status(status)
+                .from(from)
+                .to(to)
+                .build();
+        return reservationService.getUserReservations(userId, filter, cursor, size);
+    }
+
+    @PostMapping("/showtimes/{showTimeId}/reservations")
+    ResponseEntity<?> createReservation(@PathVariable Long showTimeId,
+                                        @RequestHeader(value = "Prefer", required = false) String prefer,
+                                        @RequestBody @Valid CreateReservationRequest createReservationRequest) {
+        if (!prefersRespondAsync(prefer)) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(reservationService.createReservation(showTimeId, createReservationRequest));
+        }
+        ReservationTicketResponse ticket = ReservationTicketResponse.of(reservationService.submitReservation(showTimeId, createReservationRequest));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reservations/tickets/" + ticket.getId()))
+                .header("Preference-Applied", "respond-async")
+                .body(ticket);
+    }
+
+    @GetMapping("/reservations/tickets/{ticketId}")
+    ReservationTicketResponse getReservationTicket(@PathVariable String ticketId) {
+        return reservationService.getReservationTicket(ticketId);
+    }
+
+    @PostMapping("/reservations/{id}/cancel")
+    ReservationResponse cancelReservation(@PathVariable Long id) {
+        return reservationService.cancelReservation(id);
+    }
+
+    // Prefer carries a list of preferences, each optionally followed by a value and parameters (RFC 7240).
+    private static boolean prefersRespondAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            String token = preference.split("[;=]", 2)[0].trim();
+            if (token.equalsIgnoreCase("respond-async")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.reservation.dto.BestSeatsResponse;
+import com.example.cinemabooking.reservation.dto.CreateSeatHoldRequest;
+import com.example.cinemabooking.reservation.dto.SeatHoldResponse;
+import com.example.cinemabooking.reservation.service.SeatHoldService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class SeatHoldController {
+
+    private final SeatHoldService seatHoldService;
+
+    @PostMapping("/showtimes/{showTimeId}/holds")
+    @ResponseStatus(HttpStatus.CREATED)
+    SeatHoldResponse createHold(@PathVariable Long showTimeId, @RequestBody @Valid CreateSeatHoldRequest createSeatHoldRequest) {
+        return SeatHoldResponse.of(seatHoldService.createHold(showTimeId, createSeatHoldRequest.toSeatPositions()));
+    }
+
+    @PostMapping("/showtimes/{showTimeId}/best-seats")
+    BestSeatsResponse findBestSeats(@PathVariable Long showTimeId,
+                                    @RequestParam int count,
+                                    @RequestParam(defaultValue = "false") boolean hold) {
+        if (hold) {
+            return BestSeatsResponse.of(seatHoldService.holdBestSeats(showTimeId, count));
+        }
+        return BestSeatsResponse.of(showTimeId, seatHoldService.findBestSeats(showTimeId, count));
+    }
+
+    @GetMapping("/holds/{holdId}")
+    SeatHoldResponse getHold(@PathVariable String holdId) {
+        return SeatHoldResponse.of(seatHoldService.getHold(holdId));
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    void releaseHold(@PathVariable String holdId) {
+        seatHoldService.releaseHold(holdId);
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.reservation.dto.SeatMapResponse;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class SeatMapController {
+
+    private final SeatInventory seatInventory;
+    private final SeatMapStreamPublisher seatMapStreamPublisher;
+
+    @GetMapping("/showtimes/{showTimeId}/seatmap")
+    SeatMapResponse getSeatMap(@PathVariable Long showTimeId) {
+        return SeatMapResponse.of(showTimeId, seatInventory.encodeSeatMap(showTimeId));
+    }
+
+    @GetMapping(path = "/showtimes/{showTimeId}/seatmap/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamSeatMap(@PathVariable Long showTimeId) {
+        return seatMapStreamPublisher.subscribe(showTimeId);
+    }
+
+}
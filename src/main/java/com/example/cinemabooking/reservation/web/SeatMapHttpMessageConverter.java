@@ -0,0 +1,46 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.reservation.dto.SeatMapResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+
+// Writes the encoded seat map as raw bytes when a client asks for application/octet-stream instead of JSON.
+public class SeatMapHttpMessageConverter extends AbstractHttpMessageConverter<SeatMapResponse> {
+
+    public SeatMapHttpMessageConverter() {
+        super(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return SeatMapResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @NonNull
+    protected SeatMapResponse readInternal(@NonNull Class<? extends SeatMapResponse> clazz, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Seat maps cannot be read from a request body.", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(@NonNull SeatMapResponse seatMap, MediaType contentType) {
+        return (long) seatMap.getEncoded().length;
+    }
+
+    @Override
+    protected void writeInternal(@NonNull SeatMapResponse seatMap, @NonNull HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(seatMap.getEncoded());
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.hall.service.CinemaHallChangedEvent;
+import com.example.cinemabooking.reservation.config.SeatMapStreamProperties;
+import com.example.cinemabooking.reservation.dto.SeatDeltaResponse;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.service.SeatsChangedEvent;
+import com.example.cinemabooking.showtime.service.ShowTimeChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@RequiredArgsConstructor
+public class SeatMapStreamPublisher {
+
+    private final SeatInventory seatInventory;
+    private final SeatMapStreamProperties seatMapStreamProperties;
+    private final ConcurrentMap<Long, ShowTimeChannel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter subscribe(Long showTimeId) {
+        // Loads the seat map up front, so an unknown showtime fails with 404 before the stream is opened.
+        seatInventory.getAvailableSeatCount(showTimeId);
+        SseEmitter emitter = new SseEmitter(seatMapStreamProperties.getTimeout().toMillis());
+        SeatMapSubscriber subscriber = new SeatMapSubscriber(showTimeId, emitter, seatInventory,
+                seatMapStreamProperties.getBufferSize());
+        channels.compute(showTimeId, (id, channel) -> {
+            ShowTimeChannel current = channel != null ? channel : new ShowTimeChannel(seatInventory, senders);
+            current.add(subscriber);
+            return current;
+        });
+        Future<?> sender = senders.submit(subscriber);
+        emitter.onCompletion(() -> unsubscribe(showTimeId, subscriber, sender));
+        emitter.onError(error -> unsubscribe(showTimeId, subscriber, sender));
+        emitter.onTimeout(emitter::complete);
+        return emitter;
+    }
+
+    // Called on the claiming thread while it still holds the seat map, so the change is only queued here.
+    @EventListener
+    public void onSeatsChanged(SeatsChangedEvent event) {
+        ShowTimeChannel channel = channels.get(event.getShowTimeId());
+        if (channel != null) {
+            channel.publish(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowTimeChanged(ShowTimeChangedEvent event) {
+        if (event.isDeleted()) {
+            ShowTimeChannel channel = channels.remove(event.getShowTimeId());
+            if (channel != null) {
+                channel.complete();
+            }
+        } else if (event.isCinemaHallChanged()) {
+            ShowTimeChannel channel = channels.get(event.getShowTimeId());
+            if (channel != null) {
+                channel.resync();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCinemaHallChanged(CinemaHallChangedEvent event) {
+        if (event.isLayoutChanged() || event.isDeleted()) {
+            channels.values().forEach(ShowTimeChannel::resync);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private void unsubscribe(Long showTimeId, SeatMapSubscriber subscriber, Future<?> sender) {
+        sender.cancel(true);
+        channels.computeIfPresent(showTimeId, (id, channel) -> channel.remove(subscriber) ? null : channel);
+    }
+
+    // One channel per showtime fans every change out to its subscribers. Changes are queued as they happen and a single
+    // dispatcher per channel turns them into deltas, reading seat states only when it gets to a change, so the last delta
+    // for a seat always carries its current state. Deltas are queued under the channel lock, so each subscriber sees
+    // them in the order they were read.
+    private static final class ShowTimeChannel {
+
+        private final SeatInventory seatInventory;
+        private final Executor dispatcher;
+        private final List<SeatMapSubscriber> subscribers = new ArrayList<>();
+        private final Queue<SeatsChangedEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean dispatching = new AtomicBoolean();
+
+        ShowTimeChannel(SeatInventory seatInventory, Executor dispatcher) {
+            this.seatInventory = seatInventory;
+            this.dispatcher = dispatcher;
+        }
+
+        synchronized void add(SeatMapSubscriber subscriber) {
+            subscribers.add(subscriber);
+            subscriber.resync();
+        }
+
+        synchronized boolean remove(SeatMapSubscriber subscriber) {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty();
+        }
+
+        void publish(SeatsChangedEvent event) {
+            pending.add(event);
+            if (dispatching.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::dispatch);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down, so there is nobody left to send the change to.
+                    pending.clear();
+                    dispatching.set(false);
+                }
+            }
+        }
+
+        synchronized void resync() {
+            subscribers.forEach(SeatMapSubscriber::resync);
+        }
+
+        synchronized void complete() {
+            List.copyOf(subscribers).forEach(SeatMapSubscriber::complete);
+        }
+
+        // A change queued just after the queue ran empty starts the dispatcher again unless this one picks it up first.
+        private void dispatch() {
+            do {
+                for (SeatsChangedEvent event = pending.poll(); event != null; event = pending.poll()) {
+                    try {
+                        deliver(event);
+                    } catch (RuntimeException e) {
+                        // The show time was deleted in the meantime; its subscribers are completed on its own event.
+                    }
+                }
+                dispatching.set(false);
+            } while (!pending.isEmpty() && dispatching.compareAndSet(false, true));
+        }
+
+        private synchronized void deliver(SeatsChangedEvent event) {
+            SeatDeltaResponse delta = SeatDeltaResponse.of(event.getChange(), event.getSeats().stream()
+                    .map(seat -> SeatDeltaResponse.Cell.of(seat, seatInventory.getSeatState(event.getShowTimeId(), seat)))
+                    .toList());
+            subscribers.forEach(subscriber -> subscriber.offer(delta));
+        }
+
+    }
+
+}
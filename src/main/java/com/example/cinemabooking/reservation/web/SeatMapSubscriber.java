@@ -0,0 +1,72 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.reservation.dto.SeatDeltaResponse;
+import com.example.cinemabooking.reservation.dto.SeatMapResponse;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+class SeatMapSubscriber implements Runnable {
+
+    private final Long showTimeId;
+    private final SseEmitter emitter;
+    private final SeatInventory seatInventory;
+    private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> events;
+
+    SeatMapSubscriber(Long showTimeId, SseEmitter emitter, SeatInventory seatInventory, int bufferSize) {
+        this.showTimeId = showTimeId;
+        this.emitter = emitter;
+        this.seatInventory = seatInventory;
+        this.events = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    // A subscriber that falls behind loses its queued deltas and gets one fresh snapshot instead.
+    void offer(SeatDeltaResponse delta) {
+        if (!events.offer(() -> deltaEvent(delta))) {
+            resync();
+        }
+    }
+
+    // The snapshot is read when it is sent, so it already covers every delta dropped before it.
+    void resync() {
+        events.clear();
+        events.offer(this::snapshotEvent);
+    }
+
+    void complete() {
+        emitter.complete();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                emitter.send(events.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The client went away; the container reports it through the emitter's error callback.
+        } catch (RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private SseEmitter.SseEventBuilder snapshotEvent() {
+        return SseEmitter.event()
+                .name("snapshot")
+                .data(SeatMapResponse.of(showTimeId, seatInventory.encodeSeatMap(showTimeId)), MediaType.APPLICATION_JSON);
+    }
+
+    private SseEmitter.SseEventBuilder deltaEvent(SeatDeltaResponse delta) {
+        return SseEmitter.event()
+                .name("delta")
+                .data(delta, MediaType.APPLICATION_JSON);
+    }
+
+}
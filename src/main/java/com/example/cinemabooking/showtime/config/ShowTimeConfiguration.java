@@ -0,0 +1,9 @@
+package com.example.cinemabooking.showtime.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ShowTimeDayCacheProperties.class)
+class ShowTimeConfiguration {
+}
@@ -0,0 +1,14 @@
+package com.example.cinemabooking.showtime.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.showtime.day-cache")
+public class ShowTimeDayCacheProperties {
+
+    private int maxSize = 366;
+
+}
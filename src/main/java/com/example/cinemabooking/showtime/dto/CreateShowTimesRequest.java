@@ -0,0 +1,32 @@
+package com.example.cinemabooking.showtime.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Value
+@Builder
+public class CreateShowTimesRequest {
+
+    @NotEmpty
+    @Size(max = 10000)
+    List<@Valid CreateShowTimeRequest> showTimes;
+
+    @JsonIgnore
+    public Set<Long> getMovieIds() {
+        return showTimes.stream().map(CreateShowTimeRequest::getMovieId).collect(Collectors.toSet());
+    }
+
+    @JsonIgnore
+    public Set<Long> getCinemaHallIds() {
+        return showTimes.stream().map(CreateShowTimeRequest::getCinemaHallId).collect(Collectors.toSet());
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.cinemabooking.showtime.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class ShowTimeFilter {
+
+    Long movieId;
+    Long cinemaHallId;
+    LocalDateTime from;
+    LocalDateTime to;
+    BigDecimal minPrice;
+    BigDecimal maxPrice;
+
+}
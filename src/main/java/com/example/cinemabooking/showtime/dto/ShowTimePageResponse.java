@@ -0,0 +1,22 @@
+package com.example.cinemabooking.showtime.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class ShowTimePageResponse {
+
+    List<ShowTimeResponse> items;
+    String nextCursor;
+
+    public static ShowTimePageResponse of(List<ShowTimeResponse> items, String nextCursor) {
+        return ShowTimePageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+}
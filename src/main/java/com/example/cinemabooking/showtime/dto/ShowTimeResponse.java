@@ -1,6 +1,7 @@
 package com.example.cinemabooking.showtime.dto;
 
 import com.example.cinemabooking.showtime.entity.ShowTime;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Value;
 
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 
 @Value
 @Builder
+@AllArgsConstructor
 public class ShowTimeResponse {
 
     Long id;
@@ -12,13 +12,17 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "show_times")
+@Table(name = "show_times", indexes = {
+        @Index(name = "idx_show_times_hall_start_end", columnList = "hall_id, start_time, end_time"),
+        @Index(name = "idx_show_times_start_id", columnList = "start_time, id")
+})
 @Getter
 @Setter
 public class ShowTime {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "show_times_seq")
+    @SequenceGenerator(name = "show_times_seq", sequenceName = "show_times_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -41,8 +45,4 @@ public class ShowTime {
     @OneToMany(mappedBy = "showTime", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Reservation> reservations;
 
-    public boolean overlapsWith(LocalDateTime startTime, LocalDateTime endTime) {
-        return this.startTime.isBefore(endTime) && this.endTime.isAfter(startTime);
-    }
-
 }
@@ -0,0 +1,13 @@
+package com.example.cinemabooking.showtime.repository;
+
+import com.example.cinemabooking.showtime.dto.ShowTimeResponse;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ShowTimeQueryRepository {
+
+    List<ShowTimeResponse> findResponses(Specification<ShowTime> specification, int limit);
+
+}
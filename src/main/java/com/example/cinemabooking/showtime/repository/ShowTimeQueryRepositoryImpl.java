@@ -0,0 +1,44 @@
+package com.example.cinemabooking.showtime.repository;
+
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.showtime.dto.ShowTimeResponse;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class ShowTimeQueryRepositoryImpl implements ShowTimeQueryRepository {
+
+    private final EntityManager entityManager;
+
+    // Same columns as ShowTimeRepository.RESPONSE_SELECT, ordered by the (startTime, id) keyset.
+    @Override
+    public List<ShowTimeResponse> findResponses(Specification<ShowTime> specification, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ShowTimeResponse> query = criteriaBuilder.createQuery(ShowTimeResponse.class);
+        Root<ShowTime> showTime = query.from(ShowTime.class);
+        Join<ShowTime, Movie> movie = showTime.join("movie");
+        Join<ShowTime, CinemaHall> cinemaHall = showTime.join("cinemaHall");
+        query.select(criteriaBuilder.construct(ShowTimeResponse.class,
+                        showTime.get("id"),
+                        movie.get("id"),
+                        movie.get("title"),
+                        cinemaHall.get("id"),
+                        cinemaHall.get("name"),
+                        showTime.get("startTime"),
+                        showTime.get("endTime"),
+                        showTime.get("price")))
+                .where(specification.toPredicate(showTime, query, criteriaBuilder))
+                .orderBy(criteriaBuilder.asc(showTime.get("startTime")), criteriaBuilder.asc(showTime.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+}
@@ -1,15 +1,26 @@
 package com.example.cinemabooking.showtime.repository;
 
+import com.example.cinemabooking.showtime.dto.ShowTimeResponse;
 import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.service.ScheduledShowTime;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ShowTimeRepository extends JpaRepository<ShowTime, Long> {
+public interface ShowTimeRepository extends JpaRepository<ShowTime, Long>, ShowTimeQueryRepository {
+
+    String RESPONSE_SELECT = """
+            SELECT new com.example.cinemabooking.showtime.dto.ShowTimeResponse(
+                s.id, m.id, m.title, h.id, h.name, s.startTime, s.endTime, s.price)
+            FROM ShowTime s JOIN s.movie m JOIN s.cinemaHall h
+            """;
 
     @NonNull
     @EntityGraph(attributePaths = {"movie", "cinemaHall"})
@@ -19,16 +30,52 @@ public interface ShowTimeRepository extends JpaRepository<ShowTime, Long> {
     @EntityGraph(attributePaths = {"movie", "cinemaHall"})
     Optional<ShowTime> findById(@NonNull Long id);
 
-    @NonNull
-    @EntityGraph(attributePaths = {"movie", "cinemaHall"})
-    List<ShowTime> findByMovieId(@NonNull Long movieId);
+    @EntityGraph(attributePaths = "cinemaHall")
+    List<ShowTime> findWithCinemaHallByIdIn(Collection<Long> ids);
 
-    @NonNull
-    @EntityGraph(attributePaths = {"movie", "cinemaHall"})
-    List<ShowTime> findByCinemaHallId(@NonNull Long cinemaHallId);
+    @Query("SELECT s.cinemaHall.id FROM ShowTime s WHERE s.id = :id")
+    Optional<Long> findCinemaHallIdById(@Param("id") Long id);
 
-    @NonNull
-    @EntityGraph(attributePaths = {"movie", "cinemaHall"})
-    List<ShowTime> findByStartTimeBetween(@NonNull LocalDateTime startOfDay, @NonNull LocalDateTime endOfDay);
+    @Query(RESPONSE_SELECT + "WHERE s.id = :id")
+    Optional<ShowTimeResponse> findResponseById(@Param("id") Long id);
+
+    @Query(RESPONSE_SELECT + "WHERE m.id = :movieId ORDER BY s.startTime, s.id")
+    List<ShowTimeResponse> findResponsesByMovieId(@Param("movieId") Long movieId);
+
+    @Query(RESPONSE_SELECT + "WHERE h.id = :cinemaHallId ORDER BY s.startTime, s.id")
+    List<ShowTimeResponse> findResponsesByCinemaHallId(@Param("cinemaHallId") Long cinemaHallId);
+
+    @Query(RESPONSE_SELECT + "WHERE s.startTime >= :from AND s.startTime < :to ORDER BY s.startTime, s.id")
+    List<ShowTimeResponse> findResponsesByStartTimeBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+            SELECT new com.example.cinemabooking.showtime.service.ScheduledShowTime(s.id, s.startTime, s.endTime)
+            FROM ShowTime s
+            WHERE s.cinemaHall.id = :cinemaHallId AND s.endTime > :endingAfter
+            """)
+    List<ScheduledShowTime> findScheduleByCinemaHallId(@Param("cinemaHallId") Long cinemaHallId, @Param("endingAfter") LocalDateTime endingAfter);
+
+    @Query("""
+            SELECT new com.example.cinemabooking.showtime.service.ScheduledShowTime(s.id, s.startTime, s.endTime)
+            FROM ShowTime s
+            WHERE s.cinemaHall.id = :cinemaHallId AND s.startTime < :to AND s.endTime > :from
+            ORDER BY s.startTime
+            """)
+    List<ScheduledShowTime> findScheduleByCinemaHallIdBetween(@Param("cinemaHallId") Long cinemaHallId,
+                                                              @Param("from") LocalDateTime from,
+                                                              @Param("to") LocalDateTime to);
+
+    @Query("""
+            SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END
+            FROM ShowTime s
+            WHERE s.cinemaHall.id = :cinemaHallId
+              AND s.startTime < :endTime
+              AND s.endTime > :startTime
+              AND (:excludedShowTimeId IS NULL OR s.id <> :excludedShowTimeId)
+            """)
+    boolean existsOverlapping(@Param("cinemaHallId") Long cinemaHallId,
+                              @Param("startTime") LocalDateTime startTime,
+                              @Param("endTime") LocalDateTime endTime,
+                              @Param("excludedShowTimeId") Long excludedShowTimeId);
 
 }
@@ -0,0 +1,50 @@
+package com.example.cinemabooking.showtime.repository;
+
+import com.example.cinemabooking.showtime.dto.ShowTimeFilter;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.service.ShowTimeCursor;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ShowTimeSpecifications {
+
+    private ShowTimeSpecifications() {
+    }
+
+    // Keyset condition (startTime, id) > cursor, matching the listing order.
+    public static Specification<ShowTime> matching(ShowTimeFilter filter, ShowTimeCursor after) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getMovieId() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("movie").get("id"), filter.getMovieId()));
+            }
+            if (filter.getCinemaHallId() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("cinemaHall").get("id"), filter.getCinemaHallId()));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("startTime"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(criteriaBuilder.lessThan(root.get("startTime"), filter.getTo()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            if (after != null) {
+                predicates.add(criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(root.get("startTime"), after.getStartTime()),
+                        criteriaBuilder.and(
+                                criteriaBuilder.equal(root.get("startTime"), after.getStartTime()),
+                                criteriaBuilder.greaterThan(root.get("id"), after.getId()))));
+            }
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+}
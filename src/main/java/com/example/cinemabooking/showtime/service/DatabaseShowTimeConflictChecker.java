@@ -0,0 +1,22 @@
+package com.example.cinemabooking.showtime.service;
+
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(name = "booking.showtime.conflict-check", havingValue = "database")
+@RequiredArgsConstructor
+public class DatabaseShowTimeConflictChecker implements ShowTimeConflictChecker {
+
+    private final ShowTimeRepository showTimeRepository;
+
+    @Override
+    public boolean isOccupiedDuring(Long cinemaHallId, LocalDateTime startTime, LocalDateTime endTime, Long excludedShowTimeId) {
+        return showTimeRepository.existsOverlapping(cinemaHallId, startTime, endTime, excludedShowTimeId);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.example.cinemabooking.showtime.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Show times of one hall never overlap, so ordering by start time also orders them by end time.
+class HallSchedule {
+
+    private final NavigableMap<LocalDateTime, ScheduledShowTime> showTimesByStart = new ConcurrentSkipListMap<>();
+
+    HallSchedule(Collection<ScheduledShowTime> showTimes) {
+        showTimes.forEach(this::add);
+    }
+
+    void add(ScheduledShowTime showTime) {
+        showTimesByStart.put(showTime.getStartTime(), showTime);
+    }
+
+    void remove(Long showTimeId, LocalDateTime startTime) {
+        showTimesByStart.computeIfPresent(startTime, (start, showTime) -> showTime.getId().equals(showTimeId) ? null : showTime);
+    }
+
+    // Only the latest show time starting before endTime can reach past startTime; skip at most the one being updated.
+    boolean overlaps(LocalDateTime startTime, LocalDateTime endTime, Long excludedShowTimeId) {
+        for (ScheduledShowTime showTime : showTimesByStart.headMap(endTime, false).descendingMap().values()) {
+            if (!showTime.getId().equals(excludedShowTimeId)) {
+                return showTime.getEndTime().isAfter(startTime);
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return showTimesByStart.size();
+    }
+
+}
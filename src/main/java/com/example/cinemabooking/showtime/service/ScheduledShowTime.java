@@ -0,0 +1,14 @@
+package com.example.cinemabooking.showtime.service;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ScheduledShowTime {
+
+    Long id;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+
+}
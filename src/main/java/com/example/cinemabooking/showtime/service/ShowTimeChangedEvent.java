@@ -0,0 +1,33 @@
+package com.example.cinemabooking.showtime.service;
+
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import lombok.Value;
+
+@Value
+public class ShowTimeChangedEvent {
+
+    Long showTimeId;
+    ShowTimeSlot previous;
+    ShowTimeSlot current;
+
+    public static ShowTimeChangedEvent created(ShowTime showTime) {
+        return new ShowTimeChangedEvent(showTime.getId(), null, ShowTimeSlot.of(showTime));
+    }
+
+    public static ShowTimeChangedEvent updated(ShowTimeSlot previous, ShowTime showTime) {
+        return new ShowTimeChangedEvent(showTime.getId(), previous, ShowTimeSlot.of(showTime));
+    }
+
+    public static ShowTimeChangedEvent deleted(ShowTime showTime) {
+        return new ShowTimeChangedEvent(showTime.getId(), ShowTimeSlot.of(showTime), null);
+    }
+
+    public boolean isDeleted() {
+        return current == null;
+    }
+
+    public boolean isCinemaHallChanged() {
+        return previous != null && current != null && !previous.getCinemaHallId().equals(current.getCinemaHallId());
+    }
+
+}
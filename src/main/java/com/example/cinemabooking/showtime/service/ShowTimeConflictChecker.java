@@ -0,0 +1,9 @@
+package com.example.cinemabooking.showtime.service;
+
+import java.time.LocalDateTime;
+
+public interface ShowTimeConflictChecker {
+
+    boolean isOccupiedDuring(Long cinemaHallId, LocalDateTime startTime, LocalDateTime endTime, Long excludedShowTimeId);
+
+}
@@ -0,0 +1,42 @@
+package com.example.cinemabooking.showtime.service;
+
+import com.example.cinemabooking.showtime.dto.ShowTimeResponse;
+import com.example.cinemabooking.showtime.service.exception.InvalidShowTimeCursorException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Value
+public class ShowTimeCursor {
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime startTime;
+    Long id;
+
+    public static ShowTimeCursor of(ShowTimeResponse showTime) {
+        return new ShowTimeCursor(showTime.getStartTime(), showTime.getId());
+    }
+
+    public String encode() {
+        String value = startTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ShowTimeCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidShowTimeCursorException(cursor);
+            }
+            return new ShowTimeCursor(LocalDateTime.parse(value.substring(0, separatorIndex)), Long.valueOf(value.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidShowTimeCursorException(cursor);
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.example.cinemabooking.showtime.service;
+
+import com.example.cinemabooking.hall.service.CinemaHallChangedEvent;
+import com.example.cinemabooking.movie.service.MovieChangedEvent;
+import com.example.cinemabooking.showtime.config.ShowTimeDayCacheProperties;
+import com.example.cinemabooking.showtime.dto.ShowTimeResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class ShowTimeDayCache implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "showtime.day.cache";
+
+    private final Map<LocalDate, List<ShowTimeResponse>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long generation;
+
+    public ShowTimeDayCache(ShowTimeDayCacheProperties properties) {
+        int maxSize = properties.getMaxSize();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, List<ShowTimeResponse>> eldest) {
+                boolean evict = size() > maxSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    public List<ShowTimeResponse> get(LocalDate date, Supplier<List<ShowTimeResponse>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            List<ShowTimeResponse> cached = entries.get(date);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        List<ShowTimeResponse> loaded = List.copyOf(loader.get());
+        synchronized (this) {
+            // A load that raced with an invalidation may have read stale rows, so it is returned but not cached.
+            if (generation == loadGeneration) {
+                entries.put(date, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void invalidate(LocalDate date) {
+        generation++;
+        entries.remove(date);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowTimeChanged(ShowTimeChangedEvent event) {
+        if (event.getPrevious() != null) {
+            invalidate(event.getPrevious().getStartTime().toLocalDate());
+        }
+        if (event.getCurrent() != null) {
+            invalidate(event.getCurrent().getStartTime().toLocalDate());
+        }
+    }
+
+    // Responses embed hall and movie names, and deleting either cascades to its show times.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCinemaHallChanged(CinemaHallChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", hits, LongAdder::sum).tag("result", "hit").register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", misses, LongAdder::sum).tag("result", "miss").register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictions, LongAdder::sum).register(registry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, ShowTimeDayCache::size).register(registry);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+}
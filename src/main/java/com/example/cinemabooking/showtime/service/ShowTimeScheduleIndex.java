@@ -0,0 +1,62 @@
+package com.example.cinemabooking.showtime.service;
+
+import com.example.cinemabooking.hall.service.CinemaHallChangedEvent;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+@ConditionalOnProperty(name = "booking.showtime.conflict-check", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ShowTimeScheduleIndex implements ShowTimeConflictChecker {
+
+    private final ShowTimeRepository showTimeRepository;
+    private final ConcurrentMap<Long, HallSchedule> schedules = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isOccupiedDuring(Long cinemaHallId, LocalDateTime startTime, LocalDateTime endTime, Long excludedShowTimeId) {
+        return getSchedule(cinemaHallId).overlaps(startTime, endTime, excludedShowTimeId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowTimeChanged(ShowTimeChangedEvent event) {
+        ShowTimeSlot previous = event.getPrevious();
+        if (previous != null) {
+            schedules.computeIfPresent(previous.getCinemaHallId(), (cinemaHallId, schedule) -> {
+                schedule.remove(event.getShowTimeId(), previous.getStartTime());
+                return schedule;
+            });
+        }
+        ShowTimeSlot current = event.getCurrent();
+        if (current != null) {
+            schedules.computeIfPresent(current.getCinemaHallId(), (cinemaHallId, schedule) -> {
+                schedule.add(new ScheduledShowTime(event.getShowTimeId(), current.getStartTime(), current.getEndTime()));
+                return schedule;
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCinemaHallChanged(CinemaHallChangedEvent event) {
+        if (event.isDeleted()) {
+            schedules.remove(event.getCinemaHallId());
+        }
+    }
+
+    HallSchedule getSchedule(Long cinemaHallId) {
+        HallSchedule schedule = schedules.get(cinemaHallId);
+        return schedule != null ? schedule : schedules.computeIfAbsent(cinemaHallId, this::loadSchedule);
+    }
+
+    // Finished show times can never conflict with new ones, so hall history is not loaded.
+    private HallSchedule loadSchedule(Long cinemaHallId) {
+        return new HallSchedule(showTimeRepository.findScheduleByCinemaHallId(cinemaHallId, LocalDateTime.now()));
+    }
+
+}
@@ -5,38 +5,58 @@ import com.example.cinemabooking.hall.service.CinemaHallService;
 import com.example.cinemabooking.movie.entity.Movie;
 import com.example.cinemabooking.movie.service.MovieService;
 import com.example.cinemabooking.showtime.dto.CreateShowTimeRequest;
+import com.example.cinemabooking.showtime.dto.CreateShowTimesRequest;
+import com.example.cinemabooking.showtime.dto.ShowTimeFilter;
+import com.example.cinemabooking.showtime.dto.ShowTimePageResponse;
 import com.example.cinemabooking.showtime.dto.ShowTimeResponse;
 import com.example.cinemabooking.showtime.dto.UpdateShowTimeRequest;
 import com.example.cinemabooking.showtime.entity.ShowTime;
 import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.showtime.repository.ShowTimeSpecifications;
 import com.example.cinemabooking.showtime.service.exception.ShowTimeConflictException;
 import com.example.cinemabooking.showtime.service.exception.ShowTimeInvalidTimeRangeException;
 import com.example.cinemabooking.showtime.service.exception.ShowTimeNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ShowTimeService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ShowTimeRepository showTimeRepository;
     private final MovieService movieService;
     private final CinemaHallService cinemaHallService;
+    private final ShowTimeConflictChecker conflictChecker;
+    private final ShowTimeDayCache dayCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
-    public List<ShowTimeResponse> getAllShowTimes() {
-        return showTimeRepository.findAll().stream().map(ShowTimeResponse::of).toList();
+    public ShowTimePageResponse getShowTimes(ShowTimeFilter filter, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        ShowTimeCursor after = cursor != null ? ShowTimeCursor.decode(cursor) : null;
+        List<ShowTimeResponse> showTimes = showTimeRepository.findResponses(ShowTimeSpecifications.matching(filter, after), pageSize + 1);
+        boolean hasNext = showTimes.size() > pageSize;
+        List<ShowTimeResponse> page = hasNext ? showTimes.subList(0, pageSize) : showTimes;
+        String nextCursor = hasNext ? ShowTimeCursor.of(page.getLast()).encode() : null;
+        return ShowTimePageResponse.of(page, nextCursor);
     }
 
     @Transactional(readOnly = true)
     public ShowTimeResponse getShowTimeById(Long id) {
-        ShowTime showTime = getShowTimeOrThrow(id);
-        return ShowTimeResponse.of(showTime);
+        return showTimeRepository.findResponseById(id)
+                .orElseThrow(() -> new ShowTimeNotFoundException(id));
     }
 
     @Transactional(readOnly = true)
@@ -47,19 +67,17 @@ public class ShowTimeService {
 
     @Transactional(readOnly = true)
     public List<ShowTimeResponse> getShowTimesByMovie(Long movieId) {
-        return showTimeRepository.findByMovieId(movieId).stream().map(ShowTimeResponse::of).toList();
+        return showTimeRepository.findResponsesByMovieId(movieId);
     }
 
     @Transactional(readOnly = true)
     public List<ShowTimeResponse> getShowTimesByCinemaHall(Long cinemaHallId) {
-        return showTimeRepository.findByCinemaHallId(cinemaHallId).stream().map(ShowTimeResponse::of).toList();
+        return showTimeRepository.findResponsesByCinemaHallId(cinemaHallId);
     }
 
     @Transactional(readOnly = true)
     public List<ShowTimeResponse> getShowTimesByDate(LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
-        return showTimeRepository.findByStartTimeBetween(startOfDay, endOfDay).stream().map(ShowTimeResponse::of).toList();
+        return dayCache.get(date, () -> showTimeRepository.findResponsesByStartTimeBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay()));
     }
 
     @Transactional
@@ -70,7 +88,52 @@ public class ShowTimeService {
         ShowTime showTime = request.toShowTime(movie, cinemaHall);
         cinemaHall.addShowTime(showTime);
         movie.addShowTime(showTime);
-        return ShowTimeResponse.of(showTimeRepository.save(showTime));
+        ShowTime savedShowTime = showTimeRepository.save(showTime);
+        eventPublisher.publishEvent(ShowTimeChangedEvent.created(savedShowTime));
+        return ShowTimeResponse.of(savedShowTime);
+    }
+
+    @Transactional
+    public List<ShowTimeResponse> createShowTimes(CreateShowTimesRequest request) {
+        List<CreateShowTimeRequest> showTimeRequests = request.getShowTimes();
+        showTimeRequests.forEach(showTimeRequest -> validateEndTimeAfterStartTime(showTimeRequest.getStartTime(), showTimeRequest.getEndTime()));
+        Map<Long, Movie> movies = movieService.getMoviesOrThrow(request.getMovieIds());
+        Map<Long, CinemaHall> cinemaHalls = cinemaHallService.getCinemaHallsOrThrow(request.getCinemaHallIds());
+        showTimeRequests.stream()
+                .sorted(Comparator.comparing(CreateShowTimeRequest::getStartTime))
+                .collect(Collectors.groupingBy(CreateShowTimeRequest::getCinemaHallId))
+                .forEach((cinemaHallId, hallRequests) -> validateNoTimeConflicts(cinemaHalls.get(cinemaHallId), hallRequests));
+        List<ShowTime> showTimes = showTimeRequests.stream()
+                .map(showTimeRequest -> showTimeRequest.toShowTime(movies.get(showTimeRequest.getMovieId()), cinemaHalls.get(showTimeRequest.getCinemaHallId())))
+                .toList();
+        List<ShowTime> savedShowTimes = showTimeRepository.saveAll(showTimes);
+        savedShowTimes.forEach(showTime -> eventPublisher.publishEvent(ShowTimeChangedEvent.created(showTime)));
+        return savedShowTimes.stream().map(ShowTimeResponse::of).toList();
+    }
+
+    // Sweeps the hall's requests (sorted by start) merged with the stored show times of the same window.
+    private void validateNoTimeConflicts(CinemaHall cinemaHall, List<CreateShowTimeRequest> requests) {
+        LocalDateTime from = requests.getFirst().getStartTime();
+        LocalDateTime to = requests.stream().map(CreateShowTimeRequest::getEndTime).max(Comparator.naturalOrder()).orElseThrow();
+        Iterator<ScheduledShowTime> existing = showTimeRepository.findScheduleByCinemaHallIdBetween(cinemaHall.getId(), from, to).iterator();
+        ScheduledShowTime nextExisting = existing.hasNext() ? existing.next() : null;
+        LocalDateTime occupiedUntil = from;
+        for (CreateShowTimeRequest request : requests) {
+            while (nextExisting != null && nextExisting.getStartTime().isBefore(request.getStartTime())) {
+                occupiedUntil = latest(occupiedUntil, nextExisting.getEndTime());
+                nextExisting = existing.hasNext() ? existing.next() : null;
+            }
+            boolean overlapsPrevious = occupiedUntil.isAfter(request.getStartTime());
+            boolean overlapsNextExisting = nextExisting != null && nextExisting.getStartTime().isBefore(request.getEndTime());
+            if (overlapsPrevious || overlapsNextExisting) {
+                throw new ShowTimeConflictException(cinemaHall.getName(), request.getStartTime(), request.getEndTime());
+            }
+            occupiedUntil = latest(occupiedUntil, request.getEndTime());
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
     }
 
     private void validateShowTime(CinemaHall cinemaHall, LocalDateTime startTime, LocalDateTime endTime, Long currentShowTimeId) {
@@ -85,7 +148,7 @@ public class ShowTimeService {
     }
 
     private void validateNoTimeConflict(CinemaHall cinemaHall, LocalDateTime startTime, LocalDateTime endTime, Long currentShowTimeId) {
-        if (cinemaHall.isOccupiedDuring(startTime, endTime, currentShowTimeId)) {
+        if (conflictChecker.isOccupiedDuring(cinemaHall.getId(), startTime, endTime, currentShowTimeId)) {
             throw new ShowTimeConflictException(cinemaHall.getName(), startTime, endTime);
         }
     }
@@ -96,7 +159,9 @@ public class ShowTimeService {
         Movie movie = movieService.getMovieOrThrow(request.getMovieId());
         CinemaHall cinemaHall = cinemaHallService.getCinemaHallOrThrow(request.getCinemaHallId());
         validateShowTime(cinemaHall, request.getStartTime(), request.getEndTime(), id);
+        ShowTimeSlot previousSlot = ShowTimeSlot.of(showTime);
         applyUpdates(showTime, movie, cinemaHall, request);
+        eventPublisher.publishEvent(ShowTimeChangedEvent.updated(previousSlot, showTime));
         return ShowTimeResponse.of(showTime);
     }
 
@@ -112,6 +177,7 @@ public class ShowTimeService {
     public void deleteShowTime(Long id) {
         ShowTime showTime = getShowTimeOrThrow(id);
         showTimeRepository.delete(showTime);
+        eventPublisher.publishEvent(ShowTimeChangedEvent.deleted(showTime));
     }
 
 }
@@ -0,0 +1,19 @@
+package com.example.cinemabooking.showtime.service;
+
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ShowTimeSlot {
+
+    Long cinemaHallId;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+
+    public static ShowTimeSlot of(ShowTime showTime) {
+        return new ShowTimeSlot(showTime.getCinemaHall().getId(), showTime.getStartTime(), showTime.getEndTime());
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.showtime.service.exception;
+
+public class InvalidShowTimeCursorException extends RuntimeException {
+    public InvalidShowTimeCursorException(String cursor) {
+        super("Invalid showtime cursor '" + cursor + "'.");
+    }
+}
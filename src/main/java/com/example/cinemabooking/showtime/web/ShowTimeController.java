@@ -2,6 +2,9 @@ package com.example.cinemabooking.showtime.web;
 
 
 import com.example.cinemabooking.showtime.dto.CreateShowTimeRequest;
+import com.example.cinemabooking.showtime.dto.CreateShowTimesRequest;
+import com.example.cinemabooking.showtime.dto.ShowTimeFilter;
+import com.example.cinemabooking.showtime.dto.ShowTimePageResponse;
 import com.example.cinemabooking.showtime.dto.ShowTimeResponse;
 import com.example.cinemabooking.showtime.dto.UpdateShowTimeRequest;
 import com.example.cinemabooking.showtime.service.ShowTimeService;
@@ -11,7 +14,9 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -22,8 +27,23 @@ public class ShowTimeController {
     private final ShowTimeService showTimeService;
 
     @GetMapping
-    public List<ShowTimeResponse> getAllShowTimes() {
-        return showTimeService.getAllShowTimes();
+    public ShowTimePageResponse getShowTimes(@RequestParam(required = false) Long movieId,
+                                             @RequestParam(required = false) Long cinemaHallId,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                             @RequestParam(required = false) BigDecimal minPrice,
+                                             @RequestParam(required = false) BigDecimal maxPrice,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "20") int size) {
+        ShowTimeFilter filter = ShowTimeFilter.builder()
+                .movieId(movieId)
+                .cinemaHallId(cinemaHallId)
+                .from(from)
+                .to(to)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .build();
+        return showTimeService.getShowTimes(filter, cursor, size);
     }
 
     @GetMapping("/{id}")
@@ -52,6 +72,12 @@ public class ShowTimeController {
         return showTimeService.createShowTime(request);
     }
 
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<ShowTimeResponse> createShowTimes(@Valid @RequestBody CreateShowTimesRequest request) {
+        return showTimeService.createShowTimes(request);
+    }
+
     @PutMapping("/{id}")
     public ShowTimeResponse updateShowTime(@PathVariable Long id, @Valid @RequestBody UpdateShowTimeRequest request) {
         return showTimeService.updateShowTime(id, request);
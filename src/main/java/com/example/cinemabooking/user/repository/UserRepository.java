@@ -0,0 +1,7 @@
+package com.example.cinemabooking.user.repository;
+
+import com.example.cinemabooking.user.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserRepository extends JpaRepository<User, Long> {
+}
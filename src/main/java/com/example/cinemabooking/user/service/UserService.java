@@ -0,0 +1,22 @@
+package com.example.cinemabooking.user.service;
+
+import com.example.cinemabooking.user.User;
+import com.example.cinemabooking.user.repository.UserRepository;
+import com.example.cinemabooking.user.service.exception.UserNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class UserService {
+
+    private final UserRepository userRepository;
+
+    @Transactional(readOnly = true)
+    public User getUserOrThrow(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+    }
+
+}
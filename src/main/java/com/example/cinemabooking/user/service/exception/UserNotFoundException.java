@@ -0,0 +1,7 @@
+package com.example.cinemabooking.user.service.exception;
+
+public class UserNotFoundException extends RuntimeException {
+    public UserNotFoundException(Long id) {
+        super("User with id " + id + " not found.");
+    }
+}
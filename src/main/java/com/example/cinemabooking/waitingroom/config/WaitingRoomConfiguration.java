@@ -0,0 +1,24 @@
+package com.example.cinemabooking.waitingroom.config;
+
+import com.example.cinemabooking.waitingroom.service.WaitingRoomService;
+import com.example.cinemabooking.waitingroom.web.AdmissionInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(WaitingRoomProperties.class)
+@RequiredArgsConstructor
+class WaitingRoomConfiguration implements WebMvcConfigurer {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(waitingRoomService))
+                .addPathPatterns("/api/showtimes/*/reservations", "/api/showtimes/*/holds", "/api/showtimes/*/best-seats");
+    }
+
+}
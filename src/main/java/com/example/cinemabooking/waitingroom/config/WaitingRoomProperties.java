@@ -0,0 +1,24 @@
+package com.example.cinemabooking.waitingroom.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.waiting-room")
+public class WaitingRoomProperties {
+
+    // Shared by every instance that has to accept the same tokens; a random key is used when left empty.
+    private String secret = "";
+
+    private int burst = 50;
+
+    private Duration admissionTtl = Duration.ofMinutes(10);
+
+    // Requests one admission may make, enough for choosing seats, holding them and reserving with a few retries.
+    private int admissionMaxUses = 10;
+
+}
@@ -0,0 +1,14 @@
+package com.example.cinemabooking.waitingroom.dto;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class OpenWaitingRoomRequest {
+
+    @Positive
+    double admissionsPerSecond;
+
+}
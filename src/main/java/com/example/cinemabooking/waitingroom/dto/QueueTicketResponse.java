@@ -0,0 +1,23 @@
+package com.example.cinemabooking.waitingroom.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class QueueTicketResponse {
+
+    Long showTimeId;
+    String ticket;
+    long position;
+    long estimatedWaitSeconds;
+    String admissionToken;
+    LocalDateTime admissionExpiresAt;
+
+    public boolean isAdmitted() {
+        return admissionToken != null;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.example.cinemabooking.waitingroom.dto;
+
+import com.example.cinemabooking.waitingroom.service.WaitingRoom;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class WaitingRoomResponse {
+
+    Long showTimeId;
+    double admissionsPerSecond;
+    long ticketsIssued;
+
+    public static WaitingRoomResponse of(Long showTimeId, WaitingRoom waitingRoom) {
+        return WaitingRoomResponse.builder()
+                .showTimeId(showTimeId)
+                .admissionsPerSecond(waitingRoom.getAdmissionsPerSecond())
+                .ticketsIssued(waitingRoom.getTicketsIssued())
+                .build();
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.example.cinemabooking.waitingroom.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+// Tickets are numbered in arrival order and the admission frontier moves forward at the configured rate, so
+// joining and polling are a couple of atomic reads with no background scheduler. Only tickets that reached the front
+// keep state: their one admission, held while the room is open.
+public class WaitingRoom {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final int burst;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<Schedule> schedule;
+    private final AtomicLong nextTicket = new AtomicLong();
+    private final ConcurrentMap<Long, Admission> admissions = new ConcurrentHashMap<>();
+
+    public WaitingRoom(double admissionsPerSecond, int burst) {
+        this(admissionsPerSecond, burst, System::nanoTime);
+    }
+
+    WaitingRoom(double admissionsPerSecond, int burst, LongSupplier nanoClock) {
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.schedule = new AtomicReference<>(new Schedule(burst, nanoClock.getAsLong(), admissionsPerSecond));
+    }
+
+    public double getAdmissionsPerSecond() {
+        return schedule.get().admissionsPerSecond();
+    }
+
+    public void setAdmissionsPerSecond(double admissionsPerSecond) {
+        long now = nanoClock.getAsLong();
+        schedule.updateAndGet(current -> new Schedule(current.frontierAt(now), now, admissionsPerSecond));
+    }
+
+    public long getTicketsIssued() {
+        return nextTicket.get();
+    }
+
+    // A quiet room does not bank admissions: a new ticket never starts more than one burst behind the frontier.
+    public long join() {
+        long frontier = (long) schedule.get().frontierAt(nanoClock.getAsLong());
+        return nextTicket.updateAndGet(next -> Math.max(next, frontier - burst) + 1) - 1;
+    }
+
+    public boolean isValidTicket(long ticket) {
+        return ticket >= 0 && ticket < nextTicket.get();
+    }
+
+    public long getPosition(long ticket) {
+        long frontier = (long) schedule.get().frontierAt(nanoClock.getAsLong());
+        return Math.max(0, ticket + 1 - frontier);
+    }
+
+    public Duration getEstimatedWait(long ticket) {
+        Schedule current = schedule.get();
+        double remaining = ticket + 1 - Math.floor(current.frontierAt(nanoClock.getAsLong()));
+        return remaining <= 0 ? Duration.ZERO : Duration.ofNanos((long) (remaining / current.admissionsPerSecond() * NANOS_PER_SECOND));
+    }
+
+    // The first admission of a ticket is its only one, so polling again neither renews it nor resets its uses.
+    public Admission admit(long ticket, long expiresAtMillis) {
+        return admissions.computeIfAbsent(ticket, number -> new Admission(expiresAtMillis));
+    }
+
+    public Optional<Admission> getAdmission(long ticket) {
+        return Optional.ofNullable(admissions.get(ticket));
+    }
+
+    public static final class Admission {
+
+        private final long expiresAtMillis;
+        private final AtomicInteger uses = new AtomicInteger();
+
+        private Admission(long expiresAtMillis) {
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+
+        // Counts a request made with this admission; false once it has expired or was used maxUses times.
+        public boolean use(long nowMillis, int maxUses) {
+            return nowMillis < expiresAtMillis && uses.incrementAndGet() <= maxUses;
+        }
+
+    }
+
+    private record Schedule(double frontier, long sinceNanos, double admissionsPerSecond) {
+
+        double frontierAt(long nowNanos) {
+            return frontier + (nowNanos - sinceNanos) * admissionsPerSecond / NANOS_PER_SECOND;
+        }
+
+    }
+
+}
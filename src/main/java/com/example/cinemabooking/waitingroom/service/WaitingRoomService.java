@@ -0,0 +1,156 @@
+package com.example.cinemabooking.waitingroom.service;
+
+import com.example.cinemabooking.showtime.service.ShowTimeChangedEvent;
+import com.example.cinemabooking.showtime.service.ShowTimeService;
+import com.example.cinemabooking.waitingroom.config.WaitingRoomProperties;
+import com.example.cinemabooking.waitingroom.dto.QueueTicketResponse;
+import com.example.cinemabooking.waitingroom.dto.WaitingRoomResponse;
+import com.example.cinemabooking.waitingroom.service.exception.AdmissionRequiredException;
+import com.example.cinemabooking.waitingroom.service.exception.InvalidQueueTicketException;
+import com.example.cinemabooking.waitingroom.service.exception.WaitingRoomNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+@RequiredArgsConstructor
+public class WaitingRoomService {
+
+    private static final String TICKET_PREFIX = "ticket";
+    private static final String ADMISSION_PREFIX = "admission";
+
+    private final ShowTimeService showTimeService;
+    private final WaitingRoomSigner waitingRoomSigner;
+    private final WaitingRoomProperties waitingRoomProperties;
+    private final ConcurrentMap<Long, WaitingRoom> waitingRooms = new ConcurrentHashMap<>();
+
+    public WaitingRoomResponse openWaitingRoom(Long showTimeId, double admissionsPerSecond) {
+        showTimeService.getShowTimeOrThrow(showTimeId);
+        WaitingRoom waitingRoom = waitingRooms.compute(showTimeId, (id, current) -> {
+            if (current == null) {
+                return new WaitingRoom(admissionsPerSecond, waitingRoomProperties.getBurst());
+            }
+            current.setAdmissionsPerSecond(admissionsPerSecond);
+            return current;
+        });
+        return WaitingRoomResponse.of(showTimeId, waitingRoom);
+    }
+
+    public WaitingRoomResponse getWaitingRoom(Long showTimeId) {
+        return WaitingRoomResponse.of(showTimeId, getWaitingRoomOrThrow(showTimeId));
+    }
+
+    public void closeWaitingRoom(Long showTimeId) {
+        if (waitingRooms.remove(showTimeId) == null) {
+            throw new WaitingRoomNotFoundException(showTimeId);
+        }
+    }
+
+    // Tickets and admissions are bound to the user who joined when the request was authenticated; user is null otherwise.
+    public QueueTicketResponse joinQueue(Long showTimeId, String user) {
+        WaitingRoom waitingRoom = getWaitingRoomOrThrow(showTimeId);
+        return toTicketResponse(showTimeId, waitingRoom, waitingRoom.join(), user);
+    }
+
+    public QueueTicketResponse getTicket(Long showTimeId, String ticket, String user) {
+        WaitingRoom waitingRoom = getWaitingRoomOrThrow(showTimeId);
+        long ticketNumber = verifiedFields(ticket, TICKET_PREFIX, showTimeId, 2)
+                .filter(fields -> fields[1].equals(userOf(user)))
+                .flatMap(fields -> parseLong(fields[0]))
+                .filter(waitingRoom::isValidTicket)
+                .orElseThrow(() -> new InvalidQueueTicketException(showTimeId));
+        return toTicketResponse(showTimeId, waitingRoom, ticketNumber, user);
+    }
+
+    // Runs before the reservation endpoints open a transaction: map lookups and one HMAC, no database access. Every
+    // request counts against the admission of its ticket, so a shared token runs out after a few uses.
+    public void checkAdmission(Long showTimeId, String admissionToken, String user) {
+        WaitingRoom waitingRoom = waitingRooms.get(showTimeId);
+        if (waitingRoom == null) {
+            return;
+        }
+        boolean admitted = verifiedFields(admissionToken, ADMISSION_PREFIX, showTimeId, 3)
+                .filter(fields -> fields[2].equals(userOf(user)))
+                .flatMap(fields -> parseLong(fields[0]))
+                .flatMap(waitingRoom::getAdmission)
+                .filter(admission -> admission.use(System.currentTimeMillis(), waitingRoomProperties.getAdmissionMaxUses()))
+                .isPresent();
+        if (!admitted) {
+            throw new AdmissionRequiredException(showTimeId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowTimeChanged(ShowTimeChangedEvent event) {
+        if (event.isDeleted()) {
+            waitingRooms.remove(event.getShowTimeId());
+        }
+    }
+
+    private WaitingRoom getWaitingRoomOrThrow(Long showTimeId) {
+        WaitingRoom waitingRoom = waitingRooms.get(showTimeId);
+        if (waitingRoom == null) {
+            throw new WaitingRoomNotFoundException(showTimeId);
+        }
+        return waitingRoom;
+    }
+
+    // An admitted ticket gets the same token with the same expiry however often it is polled.
+    private QueueTicketResponse toTicketResponse(Long showTimeId, WaitingRoom waitingRoom, long ticketNumber, String user) {
+        long position = waitingRoom.getPosition(ticketNumber);
+        QueueTicketResponse.QueueTicketResponseBuilder response = QueueTicketResponse.builder()
+                .showTimeId(showTimeId)
+                .ticket(sign(TICKET_PREFIX, showTimeId, ticketNumber, userOf(user)))
+                .position(position)
+                .estimatedWaitSeconds(toWholeSeconds(waitingRoom.getEstimatedWait(ticketNumber)));
+        if (position == 0) {
+            long expiresAt = waitingRoom.admit(ticketNumber, System.currentTimeMillis() + waitingRoomProperties.getAdmissionTtl().toMillis())
+                    .getExpiresAtMillis();
+            response.admissionToken(sign(ADMISSION_PREFIX, showTimeId, ticketNumber, expiresAt, userOf(user)))
+                    .admissionExpiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()));
+        }
+        return response.build();
+    }
+
+    private String sign(String prefix, Long showTimeId, Object... fields) {
+        StringBuilder payload = new StringBuilder(prefix).append(':').append(showTimeId);
+        for (Object field : fields) {
+            payload.append(':').append(field);
+        }
+        return waitingRoomSigner.sign(payload.toString());
+    }
+
+    // The user comes last, so a name containing the separator cannot shift the other fields.
+    private Optional<String[]> verifiedFields(String token, String prefix, Long showTimeId, int fieldCount) {
+        String expectedStart = prefix + ":" + showTimeId + ":";
+        return waitingRoomSigner.verify(token)
+                .filter(payload -> payload.startsWith(expectedStart))
+                .map(payload -> payload.substring(expectedStart.length()).split(":", fieldCount))
+                .filter(fields -> fields.length == fieldCount);
+    }
+
+    private static String userOf(String user) {
+        return user == null ? "" : user;
+    }
+
+    private static Optional<Long> parseLong(String value) {
+        try {
+            return Optional.of(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static long toWholeSeconds(Duration duration) {
+        return (duration.toMillis() + 999) / 1000;
+    }
+
+}
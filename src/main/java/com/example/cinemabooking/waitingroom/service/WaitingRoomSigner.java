@@ -0,0 +1,73 @@
+package com.example.cinemabooking.waitingroom.service;
+
+import com.example.cinemabooking.waitingroom.config.WaitingRoomProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+
+@Component
+public class WaitingRoomSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int GENERATED_SECRET_BYTES = 32;
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    public WaitingRoomSigner(WaitingRoomProperties waitingRoomProperties) {
+        this.key = new SecretKeySpec(secretOf(waitingRoomProperties), ALGORITHM);
+    }
+
+    public String sign(String payload) {
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return encode(payloadBytes) + "." + encode(macs.get().doFinal(payloadBytes));
+    }
+
+    public Optional<String> verify(String token) {
+        int separator = token == null ? -1 : token.indexOf('.');
+        if (separator < 0) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payloadBytes = Base64.getUrlDecoder().decode(token.substring(0, separator));
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+            return MessageDigest.isEqual(macs.get().doFinal(payloadBytes), signature)
+                    ? Optional.of(new String(payloadBytes, StandardCharsets.UTF_8))
+                    : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + ALGORITHM, e);
+        }
+    }
+
+    private static byte[] secretOf(WaitingRoomProperties waitingRoomProperties) {
+        String secret = waitingRoomProperties.getSecret();
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] generated = new byte[GENERATED_SECRET_BYTES];
+        new SecureRandom().nextBytes(generated);
+        return generated;
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+}
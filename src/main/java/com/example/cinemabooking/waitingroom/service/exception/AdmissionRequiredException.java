@@ -0,0 +1,7 @@
+package com.example.cinemabooking.waitingroom.service.exception;
+
+public class AdmissionRequiredException extends RuntimeException {
+    public AdmissionRequiredException(Long showTimeId) {
+        super("Showtime with id " + showTimeId + " requires a valid admission token from its waiting room.");
+    }
+}
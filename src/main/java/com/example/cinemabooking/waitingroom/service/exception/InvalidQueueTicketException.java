@@ -0,0 +1,7 @@
+package com.example.cinemabooking.waitingroom.service.exception;
+
+public class InvalidQueueTicketException extends RuntimeException {
+    public InvalidQueueTicketException(Long showTimeId) {
+        super("Invalid queue ticket for showtime with id " + showTimeId + ".");
+    }
+}
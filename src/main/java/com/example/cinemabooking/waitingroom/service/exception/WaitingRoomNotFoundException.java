@@ -0,0 +1,7 @@
+package com.example.cinemabooking.waitingroom.service.exception;
+
+public class WaitingRoomNotFoundException extends RuntimeException {
+    public WaitingRoomNotFoundException(Long showTimeId) {
+        super("Waiting room for showtime with id " + showTimeId + " not found.");
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.cinemabooking.waitingroom.web;
+
+import com.example.cinemabooking.waitingroom.service.WaitingRoomService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.security.Principal;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    public static final String ADMISSION_TOKEN_HEADER = "X-Admission-Token";
+
+    private final WaitingRoomService waitingRoomService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String showTimeId = pathVariables == null ? null : pathVariables.get("showTimeId");
+        if (showTimeId != null && showTimeId.chars().allMatch(Character::isDigit)) {
+            Principal principal = request.getUserPrincipal();
+            waitingRoomService.checkAdmission(Long.valueOf(showTimeId), request.getHeader(ADMISSION_TOKEN_HEADER),
+                    principal == null ? null : principal.getName());
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.example.cinemabooking.waitingroom.web;
+
+import com.example.cinemabooking.waitingroom.dto.OpenWaitingRoomRequest;
+import com.example.cinemabooking.waitingroom.dto.QueueTicketResponse;
+import com.example.cinemabooking.waitingroom.dto.WaitingRoomResponse;
+import com.example.cinemabooking.waitingroom.service.WaitingRoomService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/showtimes/{showTimeId}/waiting-room")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PutMapping
+    WaitingRoomResponse openWaitingRoom(@PathVariable Long showTimeId, @RequestBody @Valid OpenWaitingRoomRequest request) {
+        return waitingRoomService.openWaitingRoom(showTimeId, request.getAdmissionsPerSecond());
+    }
+
+    @GetMapping
+    WaitingRoomResponse getWaitingRoom(@PathVariable Long showTimeId) {
+        return waitingRoomService.getWaitingRoom(showTimeId);
+    }
+
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    void closeWaitingRoom(@PathVariable Long showTimeId) {
+        waitingRoomService.closeWaitingRoom(showTimeId);
+    }
+
+    @PostMapping("/tickets")
+    @ResponseStatus(HttpStatus.CREATED)
+    QueueTicketResponse joinQueue(@PathVariable Long showTimeId, Principal principal) {
+        return waitingRoomService.joinQueue(showTimeId, nameOf(principal));
+    }
+
+    @GetMapping("/tickets/{ticket}")
+    QueueTicketResponse getTicket(@PathVariable Long showTimeId, @PathVariable String ticket, Principal principal) {
+        return waitingRoomService.getTicket(showTimeId, ticket, nameOf(principal));
+    }
+
+    private static String nameOf(Principal principal) {
+        return principal == null ? null : principal.getName();
+    }
+
+}
@@ -1,9 +1,14 @@
 package com.example.cinemabooking;
 
 import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
 import com.example.cinemabooking.movie.entity.AgeRating;
 import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.reservation.Reservation;
+import com.example.cinemabooking.reservation.ReservationStatus;
 import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.user.Role;
+import com.example.cinemabooking.user.User;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -14,8 +19,7 @@ public class TestFixtures {
     public static CinemaHall cinemaHall() {
         CinemaHall cinemaHall = new CinemaHall();
         cinemaHall.setName("Hall A");
-        cinemaHall.setRows(5);
-        cinemaHall.setSeatsPerRow(10);
+        cinemaHall.setSeatLayout(SeatLayout.grid(5, 10));
         return cinemaHall;
     }
 
@@ -23,8 +27,7 @@ public class TestFixtures {
         CinemaHall cinemaHall = new CinemaHall();
         cinemaHall.setId(1L);
         cinemaHall.setName("Hall A");
-        cinemaHall.setRows(5);
-        cinemaHall.setSeatsPerRow(10);
+        cinemaHall.setSeatLayout(SeatLayout.grid(5, 10));
         return cinemaHall;
     }
 
@@ -94,4 +97,27 @@ public class TestFixtures {
         return showTime;
     }
 
+    public static User user() {
+        return user("john");
+    }
+
+    public static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret");
+        user.setEmail(username + "@example.com");
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+        return user;
+    }
+
+    public static Reservation reservation(User user, ShowTime showTime, ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setUser(user);
+        reservation.setShowTime(showTime);
+        reservation.setCreatedAt(LocalDateTime.now());
+        reservation.setStatus(status);
+        return reservation;
+    }
+
 }
@@ -0,0 +1,256 @@
+package com.example.cinemabooking.common.idempotency;
+
+import com.example.cinemabooking.partition.service.PartitionClient;
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyFilter idempotencyFilter;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        idempotencyFilter = new IdempotencyFilter(new IdempotencyStore(properties),
+                new ObjectMapper().registerModule(new JavaTimeModule()), Duration.ofSeconds(5), Optional.empty());
+    }
+
+    @Test
+    @DisplayName("should replay the first response verbatim for a retry with the same key")
+    void shouldReplayStoredResponse() throws Exception {
+        // given
+        MockHttpServletResponse first = perform("key-1", "{\"a\":1}", respondWith(HttpStatus.CREATED, "{\"id\":7}"));
+        // when
+        MockHttpServletResponse retry = perform("key-1", "{\"a\":1}", respondWith(HttpStatus.CREATED, "{\"id\":8}"));
+        // then
+        assertThat(executions).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getContentAsString()).isEqualTo("{\"id\":7}");
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo("{\"id\":7}");
+        assertThat(retry.getContentType()).isEqualTo("application/json");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("should replay every header of the first response")
+    void shouldReplayStoredHeaders() throws Exception {
+        // given
+        FilterChain chain = (request, response) -> {
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(HttpStatus.CREATED.value());
+            httpResponse.setHeader(HttpHeaders.LOCATION, "/api/reservations/7");
+            httpResponse.setHeader("Preference-Applied", "return=minimal");
+            httpResponse.addHeader(HttpHeaders.VARY, "Accept");
+            httpResponse.addHeader(HttpHeaders.VARY, "Prefer");
+        };
+        perform("key-1", "{}", chain);
+        // when
+        MockHttpServletResponse retry = perform("key-1", "{}", chain);
+        // then
+        assertThat(retry.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/reservations/7");
+        assertThat(retry.getHeader("Preference-Applied")).isEqualTo("return=minimal");
+        assertThat(retry.getHeaders(HttpHeaders.VARY)).containsExactly("Accept", "Prefer");
+    }
+
+    @Test
+    @DisplayName("should return 503 when the store is full of requests that are still running")
+    void shouldReturn503WhenStoreIsFull() throws Exception {
+        // given
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxEntries(1);
+        IdempotencyStore idempotencyStore = new IdempotencyStore(properties);
+        idempotencyStore.claim("/api/showtimes running", new byte[0]);
+        idempotencyFilter = new IdempotencyFilter(idempotencyStore, new ObjectMapper().registerModule(new JavaTimeModule()), Duration.ofSeconds(5), Optional.empty());
+        // when
+        MockHttpServletResponse response = perform("key-1", "{}", respondWith(HttpStatus.CREATED, "{}"));
+        // then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("should make a concurrent retry wait for the running request instead of executing twice")
+    void shouldWaitForRequestInProgress() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowChain = (request, response) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respondWith(HttpStatus.CREATED, "{\"id\":1}").doFilter(request, response);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> original = executor.submit(() -> perform("key-2", "{}", slowChain));
+            started.await(5, TimeUnit.SECONDS);
+            Future<MockHttpServletResponse> retry = executor.submit(() -> perform("key-2", "{}", slowChain));
+            // when
+            Thread.sleep(100);
+            release.countDown();
+            // then
+            assertThat(original.get().getContentAsString()).isEqualTo("{\"id\":1}");
+            assertThat(retry.get().getContentAsString()).isEqualTo("{\"id\":1}");
+            assertThat(retry.get().getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+            assertThat(executions).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should run the request again when the first attempt was not successful")
+    void shouldNotStoreFailedResponse() throws Exception {
+        // given
+        perform("key-3", "{}", respondWith(HttpStatus.CONFLICT, "{\"status\":409}"));
+        // when
+        MockHttpServletResponse retry = perform("key-3", "{}", respondWith(HttpStatus.CREATED, "{\"id\":3}"));
+        // then
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("should return 422 when the key is reused for a different request body")
+    void shouldRejectKeyReuseWithDifferentBody() throws Exception {
+        // given
+        perform("key-4", "{\"a\":1}", respondWith(HttpStatus.CREATED, "{\"id\":4}"));
+        // when
+        MockHttpServletResponse reused = perform("key-4", "{\"a\":2}", respondWith(HttpStatus.CREATED, "{\"id\":5}"));
+        // then
+        assertThat(reused.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should return 400 when the key is blank")
+    void shouldRejectBlankKey() throws Exception {
+        // when
+        MockHttpServletResponse response = perform(" ", "{}", respondWith(HttpStatus.CREATED, "{}"));
+        // then
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("should not replay another client's response for the same key")
+    void shouldKeepKeysOfDifferentClientsApart() throws Exception {
+        // given
+        perform("key-5", "{}", "10.0.0.1", respondWith(HttpStatus.CREATED, "{\"id\":5}"));
+        // when
+        MockHttpServletResponse other = perform("key-5", "{}", "10.0.0.2", respondWith(HttpStatus.CREATED, "{\"id\":6}"));
+        // then
+        assertThat(executions).hasValue(2);
+        assertThat(other.getContentAsString()).isEqualTo("{\"id\":6}");
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("should replay a user's response to a retry from another address")
+    void shouldScopeKeysToAuthenticatedUser() throws Exception {
+        // given
+        MockHttpServletRequest first = request("key-6", "{}", "10.0.0.1");
+        first.setUserPrincipal(() -> "alice");
+        idempotencyFilter.doFilter(first, new MockHttpServletResponse(), respondWith(HttpStatus.CREATED, "{\"id\":7}"));
+        MockHttpServletRequest retry = request("key-6", "{}", "10.0.0.2");
+        retry.setUserPrincipal(() -> "alice");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // when
+        idempotencyFilter.doFilter(retry, response, respondWith(HttpStatus.CREATED, "{\"id\":8}"));
+        // then
+        assertThat(executions).hasValue(1);
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":7}");
+    }
+
+    @Test
+    @DisplayName("should scope a request forwarded by a node to the client address it was signed for")
+    void shouldScopeForwardedRequestsToOriginalClient() throws Exception {
+        // given
+        PartitionRequestSigner signer = new PartitionRequestSigner("secret", Duration.ofSeconds(30));
+        idempotencyFilter = new IdempotencyFilter(new IdempotencyStore(new IdempotencyProperties()),
+                new ObjectMapper().registerModule(new JavaTimeModule()), Duration.ofSeconds(5), Optional.of(signer));
+        MockHttpServletRequest first = request("key-7", "{}", "10.0.0.9");
+        first.setAttribute(PartitionRequestSigner.SIGNED_BY_ATTRIBUTE, "node-a");
+        first.addHeader(PartitionClient.FORWARDED_FOR_HEADER, "10.0.0.1");
+        idempotencyFilter.doFilter(first, new MockHttpServletResponse(), respondWith(HttpStatus.CREATED, "{\"id\":9}"));
+        MockHttpServletRequest other = request("key-7", "{}", "10.0.0.9");
+        other.setAttribute(PartitionRequestSigner.SIGNED_BY_ATTRIBUTE, "node-a");
+        other.addHeader(PartitionClient.FORWARDED_FOR_HEADER, "10.0.0.2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // when
+        idempotencyFilter.doFilter(other, response, respondWith(HttpStatus.CREATED, "{\"id\":10}"));
+        // then
+        assertThat(executions).hasValue(2);
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":10}");
+    }
+
+    @Test
+    @DisplayName("should pass through requests without a key")
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        // when
+        perform(null, "{}", respondWith(HttpStatus.CREATED, "{}"));
+        perform(null, "{}", respondWith(HttpStatus.CREATED, "{}"));
+        // then
+        assertThat(executions).hasValue(2);
+    }
+
+    private MockHttpServletResponse perform(String key, String body, FilterChain chain) throws Exception {
+        return perform(key, body, "127.0.0.1", chain);
+    }
+
+    private MockHttpServletResponse perform(String key, String body, String remoteAddr, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request(key, body, remoteAddr), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String key, String body, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/showtimes");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        request.setRemoteAddr(remoteAddr);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private FilterChain respondWith(HttpStatus status, String body) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            request.getInputStream().readAllBytes();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status.value());
+            httpResponse.setContentType("application/json");
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.example.cinemabooking.common.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyStoreTest {
+
+    private static final byte[] FINGERPRINT = {1, 2, 3};
+    private static final StoredResponse CREATED = new StoredResponse(201, "application/json", Map.of(), new byte[0]);
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-01-01T10:00:00Z"));
+
+    @Test
+    @DisplayName("should forget stored responses once their ttl has passed")
+    void shouldExpireEntries() {
+        // given
+        IdempotencyStore store = store(10, Duration.ofMinutes(5));
+        IdempotencyStore.Claim claim = store.claim("key", FINGERPRINT).orElseThrow();
+        store.complete("key", claim.getEntry(), CREATED);
+        // when
+        now.set(now.get().plus(Duration.ofMinutes(6)));
+        IdempotencyStore.Claim retry = store.claim("key", FINGERPRINT).orElseThrow();
+        // then
+        assertThat(claim.isOwner()).isTrue();
+        assertThat(retry.isOwner()).isTrue();
+        assertThat(retry.getEntry()).isNotSameAs(claim.getEntry());
+    }
+
+    @Test
+    @DisplayName("should evict the oldest completed key when the store is full")
+    void shouldBoundNumberOfEntries() {
+        // given
+        IdempotencyStore store = store(2, Duration.ofHours(1));
+        IdempotencyStore.Claim running = store.claim("running", FINGERPRINT).orElseThrow();
+        IdempotencyStore.Claim completed = store.claim("completed", FINGERPRINT).orElseThrow();
+        store.complete("completed", completed.getEntry(), CREATED);
+        // when
+        store.claim("third", FINGERPRINT);
+        // then
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.claim("running", FINGERPRINT)).get().extracting(IdempotencyStore.Claim::getEntry).isSameAs(running.getEntry());
+        assertThat(store.claim("third", FINGERPRINT)).get().extracting(IdempotencyStore.Claim::isOwner).isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("should reject new keys instead of evicting requests that are still running")
+    void shouldRejectNewKeysWhenFullOfRunningRequests() {
+        // given
+        IdempotencyStore store = store(2, Duration.ofHours(1));
+        store.claim("first", FINGERPRINT);
+        store.claim("second", FINGERPRINT);
+        // when
+        Optional<IdempotencyStore.Claim> rejected = store.claim("third", FINGERPRINT);
+        // then
+        assertThat(rejected).isEmpty();
+        assertThat(store.claim("first", FINGERPRINT)).get().extracting(IdempotencyStore.Claim::isOwner).isEqualTo(false);
+        assertThat(store.claim("second", FINGERPRINT)).get().extracting(IdempotencyStore.Claim::isOwner).isEqualTo(false);
+    }
+
+    private IdempotencyStore store(int maxEntries, Duration ttl) {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxEntries(maxEntries);
+        properties.setTtl(ttl);
+        Clock clock = mock(Clock.class);
+        given(clock.instant()).willAnswer(invocation -> now.get());
+        return new IdempotencyStore(properties, clock);
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.example.cinemabooking.common.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedTimingWheelTest {
+
+    private final HashedTimingWheel timingWheel = new HashedTimingWheel(Duration.ofSeconds(1), 8);
+
+    @Test
+    @DisplayName("should run task once its deadline tick is reached")
+    void shouldRunTaskAtDeadline() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+        HashedTimingWheel.Timeout timeout = timingWheel.schedule(runs::incrementAndGet, Duration.ofSeconds(3));
+        // when
+        tick(3);
+        // then
+        assertThat(runs).hasValue(0);
+        tick(1);
+        assertThat(runs).hasValue(1);
+        assertThat(timeout.isExpired()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should run task with delay longer than one wheel rotation after remaining rounds")
+    void shouldRunTaskAfterSeveralRounds() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+        timingWheel.schedule(runs::incrementAndGet, Duration.ofSeconds(20));
+        // when
+        tick(20);
+        // then
+        assertThat(runs).hasValue(0);
+        tick(1);
+        assertThat(runs).hasValue(1);
+        tick(16);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should not run cancelled task")
+    void shouldNotRunCancelledTask() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+        HashedTimingWheel.Timeout timeout = timingWheel.schedule(runs::incrementAndGet, Duration.ofSeconds(2));
+        tick(1);
+        // when
+        boolean cancelled = timeout.cancel();
+        tick(5);
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(timeout.isCancelled()).isTrue();
+        assertThat(runs).hasValue(0);
+        assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should keep running other tasks when one task throws")
+    void shouldSurviveFailingTask() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+        timingWheel.schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, Duration.ofSeconds(1));
+        timingWheel.schedule(runs::incrementAndGet, Duration.ofSeconds(1));
+        // when
+        tick(2);
+        // then
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should expire tasks on its own ticker thread once started")
+    void shouldTickOnOwnThreadWhenStarted() throws InterruptedException {
+        // given
+        HashedTimingWheel startedWheel = new HashedTimingWheel(Duration.ofMillis(10), 16);
+        CountDownLatch expired = new CountDownLatch(1);
+        startedWheel.schedule(expired::countDown, Duration.ofMillis(30));
+        // when
+        startedWheel.start();
+        // then
+        try {
+            assertThat(expired.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            startedWheel.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("should reject non positive tick duration")
+    void shouldRejectNonPositiveTickDuration() {
+        assertThatThrownBy(() -> new HashedTimingWheel(Duration.ZERO, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void tick(int times) {
+        for (int i = 0; i < times; i++) {
+            timingWheel.tick();
+        }
+    }
+
+}
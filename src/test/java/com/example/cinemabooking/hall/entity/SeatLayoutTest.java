@@ -0,0 +1,99 @@
+package com.example.cinemabooking.hall.entity;
+
+import com.example.cinemabooking.hall.service.exception.InvalidSeatLayoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatLayoutTest {
+
+    @Test
+    @DisplayName("should treat every cell of a plain grid as a seat")
+    void shouldTreatEveryCellOfGridAsSeat() {
+        // when
+        SeatLayout layout = SeatLayout.grid(5, 10);
+        // then
+        assertThat(layout.getSeatCount()).isEqualTo(50);
+        assertThat(layout.isSeat(1, 1)).isTrue();
+        assertThat(layout.isSeat(5, 10)).isTrue();
+        assertThat(layout.isSeat(6, 1)).isFalse();
+        assertThat(layout.isSeat(1, 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should pack a 3000 seat hall into 750 bytes")
+    void shouldPackLargeHallCompactly() {
+        // when
+        SeatLayout layout = SeatLayout.grid(50, 60);
+        // then
+        assertThat(layout.toBytes()).hasSize(750);
+        assertThat(layout.getSeatCount()).isEqualTo(3000);
+    }
+
+    @Test
+    @DisplayName("should parse aisles and blocked cells and render them back")
+    void shouldParseAndRenderRowPatterns() {
+        // given
+        List<String> rowPatterns = List.of("SS_SS", "XS_SX");
+        // when
+        SeatLayout layout = SeatLayout.parse(2, 5, rowPatterns);
+        // then
+        assertThat(layout.getCellType(1, 3)).isEqualTo(CellType.AISLE);
+        assertThat(layout.getCellType(2, 1)).isEqualTo(CellType.BLOCKED);
+        assertThat(layout.getCellType(2, 2)).isEqualTo(CellType.SEAT);
+        assertThat(layout.getSeatCount()).isEqualTo(6);
+        assertThat(layout.toRowPatterns()).isEqualTo(rowPatterns);
+    }
+
+    @Test
+    @DisplayName("should restore the same layout from its stored bytes")
+    void shouldRestoreLayoutFromBytes() {
+        // given
+        SeatLayout layout = SeatLayout.parse(3, 3, List.of("S_S", "SXS", "_S_"));
+        // when
+        SeatLayout restored = SeatLayout.of(3, 3, layout.toBytes());
+        // then
+        assertThat(restored).isEqualTo(layout);
+    }
+
+    @Test
+    @DisplayName("should keep cells that still fit and add seats when resized")
+    void shouldResizeKeepingOverlappingCells() {
+        // given
+        SeatLayout layout = SeatLayout.parse(2, 3, List.of("S_S", "XSS"));
+        // when
+        SeatLayout grown = layout.resize(3, 4);
+        SeatLayout shrunk = layout.resize(1, 2);
+        // then
+        assertThat(grown.toRowPatterns()).containsExactly("S_SS", "XSSS", "SSSS");
+        assertThat(shrunk.toRowPatterns()).containsExactly("S_");
+        assertThat(layout.resize(2, 3)).isEqualTo(layout);
+    }
+
+    @Test
+    @DisplayName("should throw InvalidSeatLayoutException when layout does not match hall size")
+    void shouldThrowWhenLayoutDoesNotMatchSize() {
+        // when + then
+        assertThatThrownBy(() -> SeatLayout.parse(2, 3, List.of("SSS")))
+                .isInstanceOf(InvalidSeatLayoutException.class);
+        assertThatThrownBy(() -> SeatLayout.parse(2, 3, List.of("SSS", "SS")))
+                .isInstanceOf(InvalidSeatLayoutException.class);
+        assertThatThrownBy(() -> SeatLayout.of(2, 3, new byte[5]))
+                .isInstanceOf(InvalidSeatLayoutException.class);
+        assertThatThrownBy(() -> SeatLayout.grid(SeatLayout.MAX_ROWS + 1, 1))
+                .isInstanceOf(InvalidSeatLayoutException.class);
+    }
+
+    @Test
+    @DisplayName("should throw InvalidSeatLayoutException when layout contains unknown cell")
+    void shouldThrowWhenLayoutContainsUnknownCell() {
+        // when + then
+        assertThatThrownBy(() -> SeatLayout.parse(1, 3, List.of("S?S")))
+                .isInstanceOf(InvalidSeatLayoutException.class);
+    }
+
+}
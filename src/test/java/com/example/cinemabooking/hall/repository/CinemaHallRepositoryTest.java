@@ -1,13 +1,17 @@
 package com.example.cinemabooking.hall.repository;
 
 import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.dto.CinemaHallResponse;
+import com.example.cinemabooking.hall.dto.CinemaHallSummaryResponse;
 import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -49,4 +53,32 @@ class CinemaHallRepositoryTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    @DisplayName("should store seat layout in a single column and project it with capacity")
+    void shouldProjectSeatsFromStoredLayout() {
+        // given
+        cinemaHall.setSeatLayout(SeatLayout.parse(3, 4, List.of("SSSS", "S__S", "XSSX")));
+        CinemaHall saved = cinemaHallRepository.saveAndFlush(cinemaHall);
+        // when
+        Optional<CinemaHallResponse> result = cinemaHallRepository.findResponseById(saved.getId());
+        // then
+        assertThat(result).isPresent();
+        assertThat(result.get().getLayout()).containsExactly("SSSS", "S__S", "XSSX");
+        assertThat(result.get().getCapacity()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("should list cinema hall summaries with capacity")
+    void shouldListSummariesWithCapacity() {
+        // given
+        cinemaHall.setSeatLayout(SeatLayout.parse(2, 3, List.of("S_S", "SSX")));
+        cinemaHallRepository.saveAndFlush(cinemaHall);
+        // when
+        List<CinemaHallSummaryResponse> result = cinemaHallRepository.findAllSummaries();
+        // then
+        assertThat(result).singleElement()
+                .extracting(CinemaHallSummaryResponse::getName, CinemaHallSummaryResponse::getCapacity)
+                .containsExactly("Hall A", 4);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.example.cinemabooking.hall.service;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.dto.CreateCinemaHallRequest;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.reservation.dto.CreateReservationRequest;
+import com.example.cinemabooking.reservation.dto.SeatRequest;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.reservation.service.ReservationService;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.user.User;
+import com.example.cinemabooking.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// Run with: mvn -Pbenchmark test -Dtest=CinemaHallCreationBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+class CinemaHallCreationBenchmarkTest {
+
+    private static final int[][] HALL_SIZES = {{10, 10}, {20, 25}, {25, 40}, {50, 50}, {50, 100}};
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 50;
+    private static final int RESERVED_SEATS = 500;
+
+    @Autowired
+    private CinemaHallService cinemaHallService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CinemaHallRepository cinemaHallRepository;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int hallCounter;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll();
+        userRepository.deleteAll();
+        showTimeRepository.deleteAll();
+        cinemaHallRepository.deleteAllInBatch();
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should create halls from 100 to 5000 seats with the same number of statements")
+    void shouldCreateHallsInConstantStatements() {
+        // given
+        Map<Integer, Measurement> measurements = new LinkedHashMap<>();
+        // when
+        for (int[] size : HALL_SIZES) {
+            measurements.put(size[0] * size[1], measure(size[0], size[1]));
+        }
+        // then
+        measurements.forEach((seats, measurement) -> System.out.printf("%5d seats: %6.3f ms/op %5.2f statements/op%n",
+                seats, measurement.millisPerOp(), measurement.statementsPerOp()));
+        assertThat(measurements.get(5000).statementsPerOp()).isCloseTo(measurements.get(100).statementsPerOp(), within(0.1));
+    }
+
+    @Test
+    @DisplayName("should insert reserved seats of a large reservation in JDBC batches")
+    void shouldBatchReservedSeatInserts() {
+        // given
+        CinemaHall cinemaHall = TestFixtures.cinemaHall();
+        cinemaHall.setSeatLayout(SeatLayout.grid(20, 25));
+        ShowTime showTime = showTimeRepository.save(TestFixtures.showTimeWithoutId(LocalDateTime.now().plusDays(1),
+                movieRepository.save(TestFixtures.movie()), cinemaHallRepository.save(cinemaHall)));
+        User user = userRepository.save(TestFixtures.user());
+        List<SeatRequest> seats = new ArrayList<>();
+        for (int index = 0; index < RESERVED_SEATS; index++) {
+            seats.add(SeatRequest.builder().rowNumber(index / 25 + 1).seatNumber(index % 25 + 1).build());
+        }
+        CreateReservationRequest request = CreateReservationRequest.builder().userId(user.getId()).seats(seats).build();
+        statistics.clear();
+        // when
+        long startedAt = System.nanoTime();
+        reservationService.createReservation(showTime.getId(), request);
+        long elapsed = System.nanoTime() - startedAt;
+        // then
+        System.out.printf("%d reserved seats: %6.3f ms, %d statements%n",
+                RESERVED_SEATS, elapsed / 1e6, statistics.getPrepareStatementCount());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(RESERVED_SEATS + 1);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(RESERVED_SEATS / 10);
+    }
+
+    private Measurement measure(int rows, int seatsPerRow) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            createHall(rows, seatsPerRow);
+        }
+        statistics.clear();
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            createHall(rows, seatsPerRow);
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        return new Measurement(elapsed / 1e6 / MEASURED_ITERATIONS,
+                (double) statistics.getPrepareStatementCount() / MEASURED_ITERATIONS);
+    }
+
+    private void createHall(int rows, int seatsPerRow) {
+        cinemaHallService.createCinemaHall(CreateCinemaHallRequest.builder()
+                .name("Hall " + hallCounter++)
+                .rows(rows)
+                .seatsPerRow(seatsPerRow)
+                .build());
+    }
+
+    private record Measurement(double millisPerOp, double statementsPerOp) {
+    }
+
+}
@@ -2,12 +2,21 @@ package com.example.cinemabooking.hall.service;
 
 import com.example.cinemabooking.TestFixtures;
 import com.example.cinemabooking.hall.dto.CinemaHallResponse;
+import com.example.cinemabooking.hall.dto.CinemaHallSummaryResponse;
 import com.example.cinemabooking.hall.dto.CreateCinemaHallRequest;
+import com.example.cinemabooking.hall.dto.SeatPageResponse;
+import com.example.cinemabooking.hall.dto.SeatResponse;
 import com.example.cinemabooking.hall.dto.UpdateCinemaHallRequest;
 import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
 import com.example.cinemabooking.hall.repository.CinemaHallRepository;
 import com.example.cinemabooking.hall.service.exception.CinemaHallAlreadyExistsException;
 import com.example.cinemabooking.hall.service.exception.CinemaHallNotFoundException;
+import com.example.cinemabooking.hall.service.exception.ReservedSeatRemovalException;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.repository.ReservedSeatRepository;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.service.SeatPosition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +24,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,6 +40,15 @@ class CinemaHallServiceTest {
     @Mock
     private CinemaHallRepository cinemaHallRepository;
 
+    @Mock
+    private ReservedSeatRepository reservedSeatRepository;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CinemaHallService cinemaHallService;
 
@@ -44,15 +63,16 @@ class CinemaHallServiceTest {
     @DisplayName("should return all cinema halls")
     void shouldReturnAllCinemaHalls() {
         // given
-        given(cinemaHallRepository.findAll()).willReturn(List.of(cinemaHall));
+        given(cinemaHallRepository.findAllSummaries()).willReturn(List.of(new CinemaHallSummaryResponse(1L, "Hall A", 5, 10, 50)));
         // when
-        List<CinemaHallResponse> cinemaHalls = cinemaHallService.getAllCinemaHalls();
+        List<CinemaHallSummaryResponse> cinemaHalls = cinemaHallService.getAllCinemaHalls();
         // then
         assertThat(cinemaHalls).hasSize(1);
         assertThat(cinemaHalls.getFirst().getName()).isEqualTo("Hall A");
         assertThat(cinemaHalls.getFirst().getRows()).isEqualTo(5);
         assertThat(cinemaHalls.getFirst().getSeatsPerRow()).isEqualTo(10);
-        verify(cinemaHallRepository).findAll();
+        assertThat(cinemaHalls.getFirst().getCapacity()).isEqualTo(50);
+        verify(cinemaHallRepository).findAllSummaries();
         verifyNoMoreInteractions(cinemaHallRepository);
     }
 
@@ -60,26 +80,43 @@ class CinemaHallServiceTest {
     @DisplayName("should return cinema hall by id when exists")
     void shouldReturnCinemaHallByIdWhenExists() {
         // given
-        given(cinemaHallRepository.findById(1L)).willReturn(Optional.of(cinemaHall));
+        given(cinemaHallRepository.findResponseById(1L)).willReturn(Optional.of(CinemaHallResponse.of(cinemaHall)));
         // when
         CinemaHallResponse cinemaHallResponse = cinemaHallService.getCinemaHallById(1L);
         // then
         assertThat(cinemaHallResponse)
                 .extracting(CinemaHallResponse::getName, CinemaHallResponse::getRows, CinemaHallResponse::getSeatsPerRow)
                 .containsExactly("Hall A", 5, 10);
-        verify(cinemaHallRepository).findById(1L);
+        verify(cinemaHallRepository).findResponseById(1L);
         verifyNoMoreInteractions(cinemaHallRepository);
     }
 
+    @Test
+    @DisplayName("should page seats of cinema hall by rows skipping aisles")
+    void shouldPageSeatsByRows() {
+        // given
+        cinemaHall.setSeatLayout(SeatLayout.parse(3, 3, List.of("S_S", "SSS", "XSS")));
+        given(cinemaHallRepository.findById(1L)).willReturn(Optional.of(cinemaHall));
+        // when
+        SeatPageResponse firstPage = cinemaHallService.getSeats(1L, 1, 2);
+        SeatPageResponse lastPage = cinemaHallService.getSeats(1L, firstPage.getNextFromRow(), 2);
+        // then
+        assertThat(firstPage.getItems()).containsExactly(new SeatResponse(1, 1), new SeatResponse(1, 3),
+                new SeatResponse(2, 1), new SeatResponse(2, 2), new SeatResponse(2, 3));
+        assertThat(firstPage.getNextFromRow()).isEqualTo(3);
+        assertThat(lastPage.getItems()).containsExactly(new SeatResponse(3, 2), new SeatResponse(3, 3));
+        assertThat(lastPage.getNextFromRow()).isNull();
+    }
+
     @Test
     @DisplayName("should throw exception when cinema hall not found by id")
     void shouldThrowExceptionWhenCinemaHallNotFoundById() {
         // given
-        given(cinemaHallRepository.findById(1L)).willReturn(Optional.empty());
+        given(cinemaHallRepository.findResponseById(1L)).willReturn(Optional.empty());
         // when + then
         assertThatThrownBy(() -> cinemaHallService.getCinemaHallById(1L))
                 .isInstanceOf(CinemaHallNotFoundException.class);
-        verify(cinemaHallRepository).findById(1L);
+        verify(cinemaHallRepository).findResponseById(1L);
         verifyNoMoreInteractions(cinemaHallRepository);
     }
 
@@ -97,7 +134,7 @@ class CinemaHallServiceTest {
         assertThat(cinemaHallResponse)
                 .extracting(CinemaHallResponse::getName, CinemaHallResponse::getRows, CinemaHallResponse::getSeatsPerRow)
                 .containsExactly("Hall A", 5, 10);
-        assertThat(cinemaHallResponse.getSeats()).hasSize(cinemaHall.getRows() * cinemaHall.getSeatsPerRow());
+        assertThat(cinemaHallResponse.getCapacity()).isEqualTo(cinemaHall.getRows() * cinemaHall.getSeatsPerRow());
         verify(cinemaHallRepository).findByName(cinemaHall.getName());
         verify(cinemaHallRepository).save(cinemaHall);
         verifyNoMoreInteractions(cinemaHallRepository);
@@ -134,12 +171,115 @@ class CinemaHallServiceTest {
         assertThat(cinemaHallResponse)
                 .extracting(CinemaHallResponse::getName, CinemaHallResponse::getRows, CinemaHallResponse::getSeatsPerRow)
                 .containsExactly("Hall B", 15, 8);
-        assertThat(cinemaHallResponse.getSeats()).hasSize(updateCinemaHallRequest.getRows() * updateCinemaHallRequest.getSeatsPerRow());
+        assertThat(cinemaHallResponse.getCapacity()).isEqualTo(updateCinemaHallRequest.getRows() * updateCinemaHallRequest.getSeatsPerRow());
         verify(cinemaHallRepository).findById(1L);
         verify(cinemaHallRepository).findByName("Hall B");
+        verify(eventPublisher).publishEvent(CinemaHallChangedEvent.relaidOut(1L, SeatLayout.grid(15, 8)));
         verifyNoMoreInteractions(cinemaHallRepository);
     }
 
+    @Test
+    @DisplayName("should replace seat layout with aisles and blocked cells on update")
+    void shouldReplaceSeatLayoutOnUpdate() {
+        // given
+        UpdateCinemaHallRequest updateCinemaHallRequest = UpdateCinemaHallRequest.builder()
+                .name("Hall A")
+                .rows(2)
+                .seatsPerRow(5)
+                .layout(List.of("SS_SS", "XS_SS"))
+                .build();
+        given(cinemaHallRepository.findById(1L)).willReturn(Optional.of(cinemaHall));
+        given(cinemaHallRepository.findByName("Hall A")).willReturn(Optional.of(cinemaHall));
+        // when
+        CinemaHallResponse cinemaHallResponse = cinemaHallService.updateCinemaHall(1L, updateCinemaHallRequest);
+        // then
+        assertThat(cinemaHallResponse.getLayout()).containsExactly("SS_SS", "XS_SS");
+        assertThat(cinemaHallResponse.getCapacity()).isEqualTo(7);
+        assertThat(cinemaHall.getSeatLayout()).isEqualTo(SeatLayout.parse(2, 5, List.of("SS_SS", "XS_SS")));
+    }
+
+    @Test
+    @DisplayName("should keep seat layout untouched when only name is updated")
+    void shouldNotTouchSeatLayoutOnNameOnlyUpdate() {
+        // given
+        SeatLayout layout = cinemaHall.getSeatLayout();
+        UpdateCinemaHallRequest updateCinemaHallRequest = UpdateCinemaHallRequest.builder()
+                .name("Hall B")
+                .rows(5)
+                .seatsPerRow(10)
+                .build();
+        given(cinemaHallRepository.findById(1L)).willReturn(Optional.of(cinemaHall));
+        given(cinemaHallRepository.findByName("Hall B")).willReturn(Optional.empty());
+        // when
+        cinemaHallService.updateCinemaHall(1L, updateCinemaHallRequest);
+        // then
+        assertThat(cinemaHall.getName()).isEqualTo("Hall B");
+        assertThat(cinemaHall.getSeatLayout()).isEqualTo(layout);
+        verifyNoInteractions(reservedSeatRepository);
+        verify(eventPublisher).publishEvent(CinemaHallChangedEvent.renamed(1L));
+    }
+
+    @Test
+    @DisplayName("should keep aisles that still fit when hall is resized")
+    void shouldKeepAislesWhenResized() {
+        // given
+        cinemaHall.setSeatLayout(SeatLayout.parse(2, 3, List.of("S_S", "X_S")));
+        UpdateCinemaHallRequest updateCinemaHallRequest = UpdateCinemaHallRequest.builder()
+                .name("Hall A")
+                .rows(3)
+                .seatsPerRow(2)
+                .build();
+        given(cinemaHallRepository.findById(1L)).willReturn(Optional.of(cinemaHall));
+        given(cinemaHallRepository.findByName("Hall A")).willReturn(Optional.of(cinemaHall));
+        given(reservedSeatRepository.findSeatPositionsInCinemaHall(eq(1L), eq(ReservationStatus.ACTIVE), any()))
+                .willReturn(List.of(new SeatPosition(1, 1)));
+        // when
+        CinemaHallResponse cinemaHallResponse = cinemaHallService.updateCinemaHall(1L, updateCinemaHallRequest);
+        // then
+        assertThat(cinemaHallResponse.getLayout()).containsExactly("S_", "X_", "SS");
+    }
+
+    @Test
+    @DisplayName("should reject resize that removes a seat reserved for an upcoming showtime")
+    void shouldRejectResizeRemovingReservedSeat() {
+        // given
+        SeatLayout layout = cinemaHall.getSeatLayout();
+        UpdateCinemaHallRequest updateCinemaHallRequest = UpdateCinemaHallRequest.builder()
+                .name("Hall A")
+                .rows(4)
+                .seatsPerRow(10)
+                .build();
+        given(cinemaHallRepository.findById(1L)).willReturn(Optional.of(cinemaHall));
+        given(cinemaHallRepository.findByName("Hall A")).willReturn(Optional.of(cinemaHall));
+        given(reservedSeatRepository.findSeatPositionsInCinemaHall(eq(1L), eq(ReservationStatus.ACTIVE), any()))
+                .willReturn(List.of(new SeatPosition(2, 3), new SeatPosition(5, 7)));
+        // when + then
+        assertThatThrownBy(() -> cinemaHallService.updateCinemaHall(1L, updateCinemaHallRequest))
+                .isInstanceOf(ReservedSeatRemovalException.class)
+                .hasMessageContaining("row 5 with number 7");
+        assertThat(cinemaHall.getSeatLayout()).isEqualTo(layout);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("should reject resize that removes a seat held or queued for an upcoming showtime")
+    void shouldRejectResizeRemovingClaimedSeat() {
+        // given
+        UpdateCinemaHallRequest updateCinemaHallRequest = UpdateCinemaHallRequest.builder()
+                .name("Hall A")
+                .rows(5)
+                .seatsPerRow(8)
+                .build();
+        given(cinemaHallRepository.findById(1L)).willReturn(Optional.of(cinemaHall));
+        given(cinemaHallRepository.findByName("Hall A")).willReturn(Optional.of(cinemaHall));
+        given(seatInventory.getClaimedSeats(1L)).willReturn(List.of(new SeatPosition(3, 9)));
+        // when + then
+        assertThatThrownBy(() -> cinemaHallService.updateCinemaHall(1L, updateCinemaHallRequest))
+                .isInstanceOf(ReservedSeatRemovalException.class)
+                .hasMessageContaining("row 3 with number 9");
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     @DisplayName("should throw exception when updating cinema hall not found")
     void shouldThrowExceptionWhenUpdatingCinemaHallNotFound() {
@@ -163,8 +303,7 @@ class CinemaHallServiceTest {
         CinemaHall cinemaHallWithDuplicateName = new CinemaHall();
         cinemaHallWithDuplicateName.setId(3L);
         cinemaHallWithDuplicateName.setName("Duplicate name");
-        cinemaHallWithDuplicateName.setRows(2);
-        cinemaHallWithDuplicateName.setSeatsPerRow(8);
+        cinemaHallWithDuplicateName.setSeatLayout(SeatLayout.grid(2, 8));
 
         given(cinemaHallRepository.findByName("Duplicate name")).willReturn(Optional.of(cinemaHallWithDuplicateName));
         // when + then
@@ -185,6 +324,7 @@ class CinemaHallServiceTest {
         // then
         verify(cinemaHallRepository).findById(1L);
         verify(cinemaHallRepository).delete(cinemaHall);
+        verify(eventPublisher).publishEvent(CinemaHallChangedEvent.deleted(1L));
         verifyNoMoreInteractions(cinemaHallRepository);
     }
 
@@ -4,6 +4,7 @@ import com.example.cinemabooking.TestFixtures;
 import com.example.cinemabooking.hall.dto.CreateCinemaHallRequest;
 import com.example.cinemabooking.hall.dto.UpdateCinemaHallRequest;
 import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
 import com.example.cinemabooking.hall.repository.CinemaHallRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -67,7 +70,10 @@ class CinemaHallControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value("Hall A"))
                 .andExpect(jsonPath("$[0].rows").value(5))
-                .andExpect(jsonPath("$[0].seatsPerRow").value(10));
+                .andExpect(jsonPath("$[0].seatsPerRow").value(10))
+                .andExpect(jsonPath("$[0].capacity").value(50))
+                .andExpect(jsonPath("$[0].layout").doesNotExist())
+                .andExpect(jsonPath("$[0].seats").doesNotExist());
     }
 
     // --------------------------------------------------
@@ -88,6 +94,35 @@ class CinemaHallControllerIntegrationTest {
                 .andExpect(jsonPath("$.seatsPerRow").value(10));
     }
 
+    // --------------------------------------------------
+    // GET /api/halls/{id}/seats
+    // --------------------------------------------------
+
+    @Test
+    @DisplayName("should return seats of cinema hall page by page")
+    void shouldReturnSeatsPageByPage() throws Exception {
+        // given
+        CinemaHall saved = cinemaHallRepository.save(cinemaHall);
+        // when
+        mockMvc.perform(get("/api/halls/" + saved.getId() + "/seats").param("fromRow", "4").param("rows", "2"))
+                // then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(20))
+                .andExpect(jsonPath("$.items[0].rowNumber").value(4))
+                .andExpect(jsonPath("$.items[0].seatNumber").value(1))
+                .andExpect(jsonPath("$.nextFromRow").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("should return 404 when listing seats of non-existent cinema hall")
+    void shouldReturn404WhenListingSeatsOfNonExistentCinemaHall() throws Exception {
+        // when
+        mockMvc.perform(get("/api/halls/99/seats"))
+                // then
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
     @Test
     @DisplayName("should return 404 when cinema hall not found by id")
     void shouldReturn404WhenCinemaHallNotFound() throws Exception {
@@ -125,6 +160,46 @@ class CinemaHallControllerIntegrationTest {
         assertThat(cinemaHallRepository.findByName("Hall B")).isPresent();
     }
 
+    @Test
+    @DisplayName("should create cinema hall with aisles and blocked cells")
+    void shouldCreateCinemaHallWithCustomLayout() throws Exception {
+        // given
+        CreateCinemaHallRequest request = CreateCinemaHallRequest.builder()
+                .name("Hall B")
+                .rows(2)
+                .seatsPerRow(4)
+                .layout(List.of("S_SS", "XS_S"))
+                .build();
+        String json = objectMapper.writeValueAsString(request);
+        // when
+        mockMvc.perform(post("/api/halls").contentType(MediaType.APPLICATION_JSON).content(json))
+                // then
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.layout[0]").value("S_SS"))
+                .andExpect(jsonPath("$.layout[1]").value("XS_S"))
+                .andExpect(jsonPath("$.capacity").value(5));
+        assertThat(cinemaHallRepository.findByName("Hall B").orElseThrow().getSeatLayout().isSeat(1, 2)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should return 400 when seat layout does not match hall size")
+    void shouldReturn400WhenSeatLayoutDoesNotMatchHallSize() throws Exception {
+        // given
+        CreateCinemaHallRequest request = CreateCinemaHallRequest.builder()
+                .name("Hall B")
+                .rows(2)
+                .seatsPerRow(4)
+                .layout(List.of("SSSS"))
+                .build();
+        String json = objectMapper.writeValueAsString(request);
+        // when
+        mockMvc.perform(post("/api/halls").contentType(MediaType.APPLICATION_JSON).content(json))
+                // then
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        assertThat(cinemaHallRepository.findByName("Hall B")).isEmpty();
+    }
+
     @Test
     @DisplayName("should return 400 when request invalid")
     void shouldReturn400WhenRequestInvalid() throws Exception {
@@ -213,8 +288,7 @@ class CinemaHallControllerIntegrationTest {
         // given
         CinemaHall cinemaHallWitDuplicatedName = new CinemaHall();
         cinemaHallWitDuplicatedName.setName("Hall B");
-        cinemaHallWitDuplicatedName.setRows(5);
-        cinemaHallWitDuplicatedName.setSeatsPerRow(10);
+        cinemaHallWitDuplicatedName.setSeatLayout(SeatLayout.grid(5, 10));
 
 
         cinemaHallRepository.save(cinemaHallWitDuplicatedName);
@@ -7,6 +7,8 @@ import com.example.cinemabooking.movie.entity.Movie;
 import com.example.cinemabooking.movie.repository.MovieRepository;
 import com.example.cinemabooking.movie.service.exception.MovieAlreadyExistsException;
 import com.example.cinemabooking.movie.service.exception.MovieNotFoundException;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.service.ShowTimeChangedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,7 +16,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +33,9 @@ class MovieServiceTest {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -43,13 +50,13 @@ class MovieServiceTest {
     @DisplayName("should return list of movies when getAllMovies() is called")
     void shouldReturnAllMovies() {
         //given
-        given(movieRepository.findAll()).willReturn(List.of(movie));
+        given(movieRepository.findAllResponses()).willReturn(List.of(MovieResponse.of(movie)));
         //when
         List<MovieResponse> result = movieService.getAllMovies();
         //then
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getTitle()).isEqualTo("Inception");
-        verify(movieRepository).findAll();
+        verify(movieRepository).findAllResponses();
         verifyNoMoreInteractions(movieRepository);
     }
 
@@ -57,12 +64,12 @@ class MovieServiceTest {
     @DisplayName("should return empty list when no movies exist")
     void shouldReturnEmptyListWhenNoMoviesExist() {
         //given
-        given(movieRepository.findAll()).willReturn(List.of());
+        given(movieRepository.findAllResponses()).willReturn(List.of());
         //when
         List<MovieResponse> result = movieService.getAllMovies();
         //then
         assertThat(result).isEmpty();
-        verify(movieRepository).findAll();
+        verify(movieRepository).findAllResponses();
         verifyNoMoreInteractions(movieRepository);
     }
 
@@ -70,12 +77,12 @@ class MovieServiceTest {
     @DisplayName("should return movie when found by id")
     void shouldReturnMovieById() {
         //given
-        given(movieRepository.findById(1L)).willReturn(Optional.of(movie));
+        given(movieRepository.findResponseById(1L)).willReturn(Optional.of(MovieResponse.of(movie)));
         //when
         MovieResponse result = movieService.getMovieById(1L);
         //then
         assertThat(result.getTitle()).isEqualTo("Inception");
-        verify(movieRepository).findById(1L);
+        verify(movieRepository).findResponseById(1L);
         verifyNoMoreInteractions(movieRepository);
     }
 
@@ -83,11 +90,11 @@ class MovieServiceTest {
     @DisplayName("should throw MovieNotFoundException when movie does not exist")
     void shouldThrowExceptionWhenMovieNotFound() {
         //given
-        given(movieRepository.findById(1L)).willReturn(Optional.empty());
+        given(movieRepository.findResponseById(1L)).willReturn(Optional.empty());
         //when + then
         assertThatThrownBy(() -> movieService.getMovieById(1L))
                 .isInstanceOf(MovieNotFoundException.class);
-        verify(movieRepository).findById(1L);
+        verify(movieRepository).findResponseById(1L);
         verifyNoMoreInteractions(movieRepository);
     }
 
@@ -133,9 +140,24 @@ class MovieServiceTest {
         // then
         verify(movieRepository).findById(1L);
         verify(movieRepository).delete(movie);
+        verify(eventPublisher).publishEvent(new MovieChangedEvent(1L, true));
         verifyNoMoreInteractions(movieRepository);
     }
 
+    @Test
+    @DisplayName("should announce show times removed along with a deleted movie")
+    void shouldAnnounceCascadedShowTimeDeletes() {
+        // given
+        ShowTime showTime = TestFixtures.showTime(LocalDateTime.now().plusDays(1), movie, TestFixtures.cinemaHallWithId());
+        movie.addShowTime(showTime);
+        given(movieRepository.findById(1L)).willReturn(Optional.of(movie));
+        // when
+        movieService.deleteMovie(1L);
+        // then
+        verify(eventPublisher).publishEvent(ShowTimeChangedEvent.deleted(showTime));
+        verify(eventPublisher).publishEvent(new MovieChangedEvent(1L, true));
+    }
+
     @Test
     @DisplayName("should throw MovieNotFoundException when deleting nonexistent movie")
     void shouldThrowWhenDeletingNonexistentMovie() {
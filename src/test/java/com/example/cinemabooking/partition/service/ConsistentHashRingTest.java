@@ -0,0 +1,60 @@
+package com.example.cinemabooking.partition.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int HALLS = 10_000;
+
+    @Test
+    @DisplayName("should spread halls evenly over the nodes regardless of the order they are listed in")
+    void shouldSpreadHallsEvenly() {
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("node-4", "node-2", "node-3", "node-1"), 128);
+        Map<String, Integer> hallsPerNode = new HashMap<>();
+        // when
+        for (long hall = 1; hall <= HALLS; hall++) {
+            hallsPerNode.merge(ring.ownerOf(hall), 1, Integer::sum);
+            assertThat(reordered.ownerOf(hall)).isEqualTo(ring.ownerOf(hall));
+        }
+        // then
+        assertThat(hallsPerNode).hasSize(4);
+        assertThat(hallsPerNode.values()).allSatisfy(halls -> assertThat(halls).isBetween(HALLS / 4 * 3 / 4, HALLS / 4 * 5 / 4));
+    }
+
+    @Test
+    @DisplayName("should move only about a quarter of the halls, all to the new node, when a fourth node joins")
+    void shouldMoveFewHallsWhenNodeJoins() {
+        // given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+        int moved = 0;
+        // when
+        for (long hall = 1; hall <= HALLS; hall++) {
+            if (!before.ownerOf(hall).equals(after.ownerOf(hall))) {
+                assertThat(after.ownerOf(hall)).isEqualTo("node-4");
+                moved++;
+            }
+        }
+        // then
+        assertThat(moved).isBetween(HALLS / 4 * 3 / 4, HALLS / 4 * 5 / 4);
+    }
+
+    @Test
+    @DisplayName("should reject a ring without nodes")
+    void shouldRejectEmptyRing() {
+        // when + then
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 128))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.example.cinemabooking.partition.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartitionRequestSignerTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Duration MAX_AGE = Duration.ofSeconds(30);
+    private static final String PATH = "/api/partition/holds";
+    private static final byte[] BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final PartitionRequestSigner signer = signer("shared-secret", NOW);
+
+    @Test
+    @DisplayName("should accept a request signed by a node for the same method, path, query and body")
+    void shouldVerifySignedRequest() {
+        // given
+        MockHttpServletRequest request = request("POST", PATH, "page=1", signer.sign("node-a", "POST", PATH, "page=1", BODY));
+        // when / then
+        assertThat(signer.verify(request, BODY)).contains("node-a");
+    }
+
+    @Test
+    @DisplayName("should reject a missing, forged, stale or re-targeted forwarded-by header")
+    void shouldRejectUnverifiedRequests() {
+        // given
+        String signed = signer.sign("node-a", "POST", PATH, null, BODY);
+        String otherSecret = signer("other-secret", NOW).sign("node-a", "POST", PATH, null, BODY);
+        String stale = signer("shared-secret", NOW.minus(MAX_AGE).minusSeconds(1)).sign("node-a", "POST", PATH, null, BODY);
+        // when / then
+        assertThat(signer.verify(request("POST", PATH, null, null), BODY)).isEmpty();
+        assertThat(signer.verify(request("POST", PATH, null, "node-a"), BODY)).isEmpty();
+        assertThat(signer.verify(request("POST", PATH, null, signed.replace("node-a", "node-b")), BODY)).isEmpty();
+        assertThat(signer.verify(request("POST", PATH, null, otherSecret), BODY)).isEmpty();
+        assertThat(signer.verify(request("POST", PATH, null, stale), BODY)).isEmpty();
+        assertThat(signer.verify(request("PUT", "/api/partition/membership", null, signed), BODY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reject a signed header replayed with another query string or body")
+    void shouldRejectAlteredQueryOrBody() {
+        // given
+        String signed = signer.sign("node-a", "POST", PATH, "page=1", BODY);
+        // when / then
+        assertThat(signer.verify(request("POST", PATH, "page=2", signed), BODY)).isEmpty();
+        assertThat(signer.verify(request("POST", PATH, null, signed), BODY)).isEmpty();
+        assertThat(signer.verify(request("POST", PATH, "page=1", signed), "[{}]".getBytes(StandardCharsets.UTF_8))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should refuse to sign without a shared secret")
+    void shouldRequireSecret() {
+        assertThatThrownBy(() -> new PartitionRequestSigner(" ", MAX_AGE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PartitionRequestSigner signer(String secret, Instant now) {
+        return new PartitionRequestSigner(secret, MAX_AGE, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String query, String forwardedBy) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setQueryString(query);
+        if (forwardedBy != null) {
+            request.addHeader(PartitionClient.FORWARDED_BY_HEADER, forwardedBy);
+        }
+        return request;
+    }
+
+}
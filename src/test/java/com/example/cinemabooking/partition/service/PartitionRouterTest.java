@@ -0,0 +1,214 @@
+package com.example.cinemabooking.partition.service;
+
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import com.example.cinemabooking.partition.dto.PartitionMembershipRequest;
+import com.example.cinemabooking.partition.service.exception.LastPartitionNodeException;
+import com.example.cinemabooking.partition.service.exception.PartitionNodeNotFoundException;
+import com.example.cinemabooking.reservation.dto.SeatHoldResponse;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.reservation.service.SeatHold;
+import com.example.cinemabooking.reservation.service.SeatHoldService;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.service.SeatMap;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.showtime.service.ShowTimeChangedEvent;
+import com.example.cinemabooking.showtime.service.ShowTimeSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionRouterTest {
+
+    private static final URI LOCAL_URL = URI.create("http://localhost:8081");
+    private static final URI REMOTE_URL = URI.create("http://localhost:8082");
+    private static final List<SeatPosition> SEATS = List.of(new SeatPosition(1, 1));
+    private static final Duration HOLD_TTL = Duration.ofMinutes(10);
+
+    @Mock
+    private ShowTimeRepository showTimeRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private PartitionClient partitionClient;
+
+    private PartitionRouter partitionRouter;
+    private long localHall;
+    private long remoteHall;
+
+    @BeforeEach
+    void setUp() {
+        partitionRouter = new PartitionRouter("local", 64, Map.of("local", LOCAL_URL, "remote", REMOTE_URL), showTimeRepository,
+                reservationRepository, seatInventory, seatHoldService, partitionClient, HOLD_TTL);
+        PartitionMembership membership = partitionRouter.getMembership();
+        localHall = LongStream.rangeClosed(1, 100).filter(hall -> membership.ownerOf(hall).equals("local")).findFirst().orElseThrow();
+        remoteHall = LongStream.rangeClosed(1, 100).filter(hall -> membership.ownerOf(hall).equals("remote")).findFirst().orElseThrow();
+        lenient().when(seatInventory.atomically(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        lenient().when(seatInventory.exclusively(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    @Test
+    @DisplayName("should find the remote owner of a show time once and serve locally owned and unknown show times here")
+    void shouldFindRemoteOwnerOfShowTime() {
+        // given
+        given(showTimeRepository.findCinemaHallIdById(1L)).willReturn(Optional.of(remoteHall));
+        given(showTimeRepository.findCinemaHallIdById(2L)).willReturn(Optional.of(localHall));
+        given(showTimeRepository.findCinemaHallIdById(3L)).willReturn(Optional.empty());
+        // when
+        Optional<PartitionNode> remoteOwner = partitionRouter.findRemoteOwnerOfShowTime(1L);
+        partitionRouter.findRemoteOwnerOfShowTime(1L);
+        // then
+        assertThat(remoteOwner).contains(new PartitionNode("remote", REMOTE_URL));
+        assertThat(partitionRouter.findRemoteOwnerOfShowTime(2L)).isEmpty();
+        assertThat(partitionRouter.findRemoteOwnerOfShowTime(3L)).isEmpty();
+        verify(showTimeRepository, times(1)).findCinemaHallIdById(1L);
+    }
+
+    @Test
+    @DisplayName("should route a reservation by its show time and follow show times moved to another hall")
+    void shouldRouteReservationAndFollowMovedShowTime() {
+        // given
+        given(reservationRepository.findShowTimeIdById(5L)).willReturn(Optional.of(1L));
+        given(showTimeRepository.findCinemaHallIdById(1L)).willReturn(Optional.of(remoteHall));
+        assertThat(partitionRouter.findRemoteOwnerOfReservation(5L)).isPresent();
+        // when
+        partitionRouter.onShowTimeChanged(new ShowTimeChangedEvent(1L, slot(remoteHall), slot(localHall)));
+        // then
+        assertThat(partitionRouter.findRemoteOwnerOfReservation(5L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should announce a joining node to every member and ignore announcements of older epochs")
+    void shouldAnnounceJoinAndIgnoreOlderEpochs() {
+        // given
+        URI joiningUrl = URI.create("http://localhost:8083");
+        // when
+        PartitionMembership membership = partitionRouter.join("joining", joiningUrl);
+        boolean appliedOlder = partitionRouter.apply(1, Map.of("local", LOCAL_URL));
+        // then
+        assertThat(membership.getEpoch()).isEqualTo(2);
+        assertThat(membership.getNodes()).containsOnlyKeys("local", "remote", "joining");
+        assertThat(appliedOlder).isFalse();
+        assertThat(partitionRouter.getMembership()).isSameAs(membership);
+        PartitionMembershipRequest announcement = PartitionMembershipRequest.builder().epoch(2).nodes(membership.getNodes()).build();
+        verify(partitionClient).announce(REMOTE_URL, announcement);
+        verify(partitionClient).announce(joiningUrl, announcement);
+        verifyNoMoreInteractions(partitionClient);
+    }
+
+    @Test
+    @DisplayName("should hand holds of halls it no longer owns to their new owner and drop those seat maps")
+    void shouldHandOffHoldsWhenLeaving() {
+        // given
+        SeatHold hold = new SeatHold("hold", 10L, SEATS, LocalDateTime.now().plusMinutes(5));
+        given(seatInventory.getLoadedSeatMaps()).willReturn(Map.of(
+                10L, new SeatMap(localHall, SeatLayout.grid(2, 2)),
+                20L, new SeatMap(remoteHall, SeatLayout.grid(2, 2))));
+        given(seatHoldService.removeHolds(10L)).willReturn(List.of(hold));
+        doThrow(new ResourceAccessException("down")).when(partitionClient).announce(eq(REMOTE_URL), any());
+        // when
+        PartitionMembership membership = partitionRouter.leave("local");
+        // then
+        assertThat(membership.getNodes()).containsOnlyKeys("remote");
+        verify(seatInventory).evict(10L);
+        verify(seatInventory).evict(20L);
+        verify(seatHoldService, never()).removeHolds(20L);
+        verify(partitionClient).handOff(REMOTE_URL, List.of(SeatHoldResponse.of(hold)));
+    }
+
+    @Test
+    @DisplayName("should hand holds over without holding the router lock")
+    void shouldHandOffHoldsOutsideLock() {
+        // given
+        SeatHold hold = new SeatHold("hold", 10L, SEATS, LocalDateTime.now().plusMinutes(5));
+        given(seatInventory.getLoadedSeatMaps()).willReturn(Map.of(10L, new SeatMap(localHall, SeatLayout.grid(2, 2))));
+        given(seatHoldService.removeHolds(10L)).willReturn(List.of(hold));
+        List<Boolean> lockHeld = new ArrayList<>();
+        doAnswer(invocation -> lockHeld.add(Thread.holdsLock(partitionRouter))).when(partitionClient).handOff(any(), any());
+        // when
+        boolean applied = partitionRouter.apply(2, Map.of("remote", REMOTE_URL));
+        // then
+        assertThat(applied).isTrue();
+        assertThat(lockHeld).containsExactly(false);
+    }
+
+    @Test
+    @DisplayName("should reject leaving of an unknown or the last node")
+    void shouldRejectInvalidLeave() {
+        // when + then
+        assertThatThrownBy(() -> partitionRouter.leave("missing"))
+                .isInstanceOf(PartitionNodeNotFoundException.class);
+        partitionRouter.leave("remote");
+        assertThatThrownBy(() -> partitionRouter.leave("local"))
+                .isInstanceOf(LastPartitionNodeException.class);
+    }
+
+    @Test
+    @DisplayName("should claim handed over holds again and drop those whose seats were taken meanwhile")
+    void shouldAcceptHandedOverHolds() {
+        // given
+        SeatHold claimable = new SeatHold("claimable", 10L, SEATS, LocalDateTime.now().plusMinutes(5));
+        SeatHold taken = new SeatHold("taken", 20L, SEATS, LocalDateTime.now().plusMinutes(5));
+        SeatHold invalid = new SeatHold("invalid", 30L, SEATS, LocalDateTime.now().plusMinutes(5));
+        given(seatInventory.claim(10L, SEATS)).willReturn(true);
+        given(seatInventory.claim(20L, SEATS)).willReturn(false);
+        given(seatInventory.claim(30L, SEATS)).willThrow(new IllegalStateException("gone"));
+        // when
+        int accepted = partitionRouter.acceptHolds(List.of(claimable, taken, invalid));
+        // then
+        assertThat(accepted).isEqualTo(1);
+        verify(seatHoldService).restoreHold(claimable);
+        verifyNoMoreInteractions(seatHoldService);
+    }
+
+    @Test
+    @DisplayName("should keep a handed over hold no longer than the hold time of this node")
+    void shouldCapExpiryOfHandedOverHold() {
+        // given
+        SeatHold forever = new SeatHold("forever", 10L, SEATS, LocalDateTime.now().plusYears(1));
+        given(seatInventory.claim(10L, SEATS)).willReturn(true);
+        // when
+        partitionRouter.acceptHolds(List.of(forever));
+        // then
+        ArgumentCaptor<SeatHold> restored = ArgumentCaptor.forClass(SeatHold.class);
+        verify(seatHoldService).restoreHold(restored.capture());
+        assertThat(restored.getValue().getId()).isEqualTo("forever");
+        assertThat(restored.getValue().getExpiresAt()).isBeforeOrEqualTo(LocalDateTime.now().plus(HOLD_TTL));
+    }
+
+    private ShowTimeSlot slot(long cinemaHallId) {
+        return new ShowTimeSlot(cinemaHallId, LocalDateTime.now(), LocalDateTime.now().plusHours(2));
+    }
+
+}
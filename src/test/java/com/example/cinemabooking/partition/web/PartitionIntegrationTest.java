@@ -0,0 +1,189 @@
+package com.example.cinemabooking.partition.web;
+
+import com.example.cinemabooking.CinemaBookingApplication;
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.partition.service.PartitionClient;
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import com.example.cinemabooking.partition.service.PartitionRouter;
+import com.example.cinemabooking.reservation.service.SeatHoldService;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.user.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two nodes in this JVM sharing one in-memory database, talking to each other over localhost.
+class PartitionIntegrationTest {
+
+    private static final int HALLS = 8;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    private static URI urlA;
+    private static URI urlB;
+    private static Long remoteShowTimeId;
+    private static Long userId;
+
+    private final RestClient restClient = RestClient.create();
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        int portA = freePort();
+        int portB = freePort();
+        urlA = URI.create("http://localhost:" + portA);
+        urlB = URI.create("http://localhost:" + portB);
+        nodeA = startNode("node-a", portA, "create-drop");
+        nodeB = startNode("node-b", portB, "none");
+        Movie movie = nodeA.getBean(MovieRepository.class).save(TestFixtures.movie());
+        for (int hall = 0; hall < HALLS; hall++) {
+            CinemaHall cinemaHall = TestFixtures.cinemaHall();
+            cinemaHall.setName("Partitioned hall " + hall);
+            nodeA.getBean(CinemaHallRepository.class).save(cinemaHall);
+            nodeA.getBean(ShowTimeRepository.class).save(TestFixtures.showTimeWithoutId(LocalDateTime.now().plusDays(1), movie, cinemaHall));
+        }
+        userId = nodeA.getBean(UserRepository.class).save(TestFixtures.user()).getId();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @BeforeEach
+    void joinNodeB() {
+        send(HttpMethod.PUT, urlA.resolve("/api/partition/nodes/node-b"), "{\"url\":\"" + urlB + "\"}");
+        PartitionRouter routerA = nodeA.getBean(PartitionRouter.class);
+        remoteShowTimeId = nodeA.getBean(ShowTimeRepository.class).findAll().stream()
+                .map(ShowTime::getId)
+                .filter(showTimeId -> routerA.findRemoteOwnerOfShowTime(showTimeId).isPresent())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("should forward reservations for a hall owned by another node and claim its seats only there")
+    void shouldForwardReservationToOwner() {
+        // given
+        String body = "{\"userId\":" + userId + ",\"seats\":[{\"rowNumber\":1,\"seatNumber\":1}]}";
+        URI reservations = urlA.resolve("/api/showtimes/" + remoteShowTimeId + "/reservations");
+        // when
+        ResponseEntity<String> created = send(HttpMethod.POST, reservations, body);
+        ResponseEntity<String> duplicate = send(HttpMethod.POST, reservations, body);
+        // then
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(JsonPath.<Integer>read(created.getBody(), "$.showTimeId")).isEqualTo(remoteShowTimeId.intValue());
+        assertThat(duplicate.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(nodeB.getBean(SeatInventory.class).getLoadedSeatMaps()).containsKey(remoteShowTimeId);
+        assertThat(nodeA.getBean(SeatInventory.class).getLoadedSeatMaps()).doesNotContainKey(remoteShowTimeId);
+        String membershipOfB = send(HttpMethod.GET, urlB.resolve("/api/partition"), null).getBody();
+        assertThat(JsonPath.<Integer>read(membershipOfB, "$.epoch")).isEqualTo((int) nodeA.getBean(PartitionRouter.class).getMembership().getEpoch());
+        assertThat(JsonPath.<String>read(membershipOfB, "$.nodes.node-a")).isEqualTo(urlA.toString());
+    }
+
+    @Test
+    @DisplayName("should hand a hold over to the node that takes over its hall when the owner leaves")
+    void shouldHandHoldOverWhenOwnerLeaves() {
+        // given
+        ResponseEntity<String> hold = send(HttpMethod.POST, urlA.resolve("/api/showtimes/" + remoteShowTimeId + "/holds"),
+                "{\"seats\":[{\"rowNumber\":2,\"seatNumber\":2}]}");
+        String holdId = JsonPath.read(hold.getBody(), "$.id");
+        // when
+        ResponseEntity<String> left = send(HttpMethod.DELETE, urlA.resolve("/api/partition/nodes/node-b"), null);
+        // then
+        assertThat(hold.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(left.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(nodeA.getBean(SeatHoldService.class).getHold(holdId).getSeats()).containsExactly(new SeatPosition(2, 2));
+        assertThat(nodeA.getBean(SeatInventory.class).isAvailable(remoteShowTimeId, new SeatPosition(2, 2))).isFalse();
+        assertThat(nodeB.getBean(SeatInventory.class).getLoadedSeatMaps()).doesNotContainKey(remoteShowTimeId);
+        assertThat(nodeB.getBean(PartitionRouter.class).getMembership().getNodes()).containsOnlyKeys("node-a");
+    }
+
+    @Test
+    @DisplayName("should route a request with a forged forwarded-by header to the owner and refuse unsigned or replayed node calls")
+    void shouldIgnoreForgedForwardedByHeader() {
+        // given
+        URI seatMap = urlA.resolve("/api/showtimes/" + remoteShowTimeId + "/seatmap");
+        long epoch = nodeA.getBean(PartitionRouter.class).getMembership().getEpoch();
+        // when
+        ResponseEntity<String> browsed = send(HttpMethod.GET, seatMap, null, "node-b");
+        ResponseEntity<String> membership = send(HttpMethod.PUT, urlA.resolve("/api/partition/membership"),
+                "{\"epoch\":" + (epoch + 1) + ",\"nodes\":{\"node-a\":\"http://evil.example\"}}", "node-b");
+        ResponseEntity<String> handOff = send(HttpMethod.POST, urlA.resolve("/api/partition/holds"), "[]", null);
+        String signedForEmptyHandOff = nodeB.getBean(PartitionRequestSigner.class)
+                .sign("node-b", "POST", "/api/partition/holds", null, "[]".getBytes(StandardCharsets.UTF_8));
+        ResponseEntity<String> replayed = send(HttpMethod.POST, urlA.resolve("/api/partition/holds"),
+                "[{\"id\":\"forged\",\"showTimeId\":" + remoteShowTimeId + ",\"seats\":[{\"rowNumber\":1,\"seatNumber\":1}]}]",
+                signedForEmptyHandOff);
+        // then
+        assertThat(browsed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(nodeB.getBean(SeatInventory.class).getLoadedSeatMaps()).containsKey(remoteShowTimeId);
+        assertThat(nodeA.getBean(SeatInventory.class).getLoadedSeatMaps()).doesNotContainKey(remoteShowTimeId);
+        assertThat(membership.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(handOff.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(nodeA.getBean(PartitionRouter.class).getMembership().getEpoch()).isEqualTo(epoch);
+    }
+
+    private ResponseEntity<String> send(HttpMethod method, URI uri, String body) {
+        return send(method, uri, body, null);
+    }
+
+    private ResponseEntity<String> send(HttpMethod method, URI uri, String body, String forwardedBy) {
+        RestClient.RequestBodySpec request = restClient.method(method).uri(uri).contentType(MediaType.APPLICATION_JSON);
+        if (forwardedBy != null) {
+            request.header(PartitionClient.FORWARDED_BY_HEADER, forwardedBy);
+        }
+        if (body != null) {
+            request.body(body);
+        }
+        return request.retrieve()
+                .onStatus(status -> true, (clientRequest, clientResponse) -> {
+                })
+                .toEntity(String.class);
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, int port, String ddlAuto) {
+        return new SpringApplicationBuilder(CinemaBookingApplication.class).run(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:partition_db",
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--spring.jpa.show-sql=false",
+                "--booking.partition.enabled=true",
+                "--booking.partition.node-id=" + nodeId,
+                "--booking.partition.url=http://localhost:" + port,
+                "--booking.partition.secret=integration-test-secret");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.example.cinemabooking.ratelimit.service;
+
+import com.example.cinemabooking.ratelimit.config.RateLimitProperties;
+import com.example.cinemabooking.ratelimit.service.exception.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setHold(new RateLimitProperties.Limit(3, 2));
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        rateLimiter = new RateLimiter(properties, nanoTime::get);
+    }
+
+    @Test
+    @DisplayName("should allow one burst and then reject with the time until the next token")
+    void shouldAllowBurstAndThenReject() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(RateLimitTier.HOLD, "client:1");
+        }
+        // when + then
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimitTier.HOLD, "client:1"))
+                .isInstanceOfSatisfying(RateLimitExceededException.class, e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("should refill tokens at the configured rate without banking more than one burst")
+    void shouldRefillAtConfiguredRate() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(RateLimitTier.HOLD, "client:1");
+        }
+        // when
+        advance(Duration.ofMillis(500));
+        // then
+        assertThatCode(() -> rateLimiter.acquire(RateLimitTier.HOLD, "client:1")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimitTier.HOLD, "client:1"))
+                .isInstanceOf(RateLimitExceededException.class);
+        advance(Duration.ofSeconds(30));
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(RateLimitTier.HOLD, "client:1");
+        }
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimitTier.HOLD, "client:1"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("should keep separate buckets per key and per tier")
+    void shouldKeepSeparateBuckets() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(RateLimitTier.HOLD, "client:1");
+        }
+        // when + then
+        assertThatCode(() -> {
+            rateLimiter.acquire(RateLimitTier.HOLD, "client:2");
+            rateLimiter.acquire(RateLimitTier.HOLD, "user:1");
+            rateLimiter.acquire(RateLimitTier.BROWSE, "client:1");
+        }).doesNotThrowAnyException();
+        assertThat(rateLimiter.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("should drop buckets that stayed idle for the idle timeout")
+    void shouldEvictIdleBuckets() {
+        // given
+        rateLimiter.acquire(RateLimitTier.HOLD, "client:1");
+        rateLimiter.acquire(RateLimitTier.CONFIRM, "user:1");
+        advance(Duration.ofSeconds(50));
+        rateLimiter.acquire(RateLimitTier.HOLD, "client:2");
+        // when
+        advance(Duration.ofSeconds(20));
+        rateLimiter.acquire(RateLimitTier.BROWSE, "client:3");
+        // then
+        assertThat(rateLimiter.size()).isEqualTo(2);
+    }
+
+    private void advance(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+    }
+
+}
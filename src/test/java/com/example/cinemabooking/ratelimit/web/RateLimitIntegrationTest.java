@@ -0,0 +1,197 @@
+package com.example.cinemabooking.ratelimit.web;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.partition.service.PartitionClient;
+import com.example.cinemabooking.partition.service.PartitionRequestSigner;
+import com.example.cinemabooking.reservation.dto.CreateReservationRequest;
+import com.example.cinemabooking.reservation.dto.CreateSeatHoldRequest;
+import com.example.cinemabooking.reservation.dto.SeatRequest;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "booking.rate-limit.enabled=true",
+        "booking.rate-limit.hold.capacity=2",
+        "booking.rate-limit.hold.refill-per-second=0.01",
+        "booking.rate-limit.confirm.capacity=1",
+        "booking.rate-limit.confirm.refill-per-second=0.01",
+        "booking.partition.enabled=true",
+        "booking.partition.secret=rate-limit-test-secret"
+})
+@AutoConfigureMockMvc
+@Transactional
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository cinemaHallRepository;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PartitionRequestSigner partitionRequestSigner;
+
+    private Long showTimeId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        ShowTime showTime = TestFixtures.showTimeWithoutId(LocalDateTime.now().plusDays(1),
+                movieRepository.save(TestFixtures.movie()), cinemaHallRepository.save(TestFixtures.cinemaHall()));
+        showTimeId = showTimeRepository.save(showTime).getId();
+        userId = userRepository.save(TestFixtures.user()).getId();
+    }
+
+    @Test
+    @DisplayName("should return 429 with Retry-After once a client used up its hold bucket")
+    void shouldRejectClientOverHoldLimit() throws Exception {
+        // given
+        hold("10.0.0.1", 1).andExpect(status().isCreated());
+        hold("10.0.0.1", 2).andExpect(status().isCreated());
+        // when
+        hold("10.0.0.1", 3)
+                // then
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.status").value(429));
+        hold("10.0.0.2", 3).andExpect(status().isCreated());
+        mockMvc.perform(get("/api/showtimes/" + showTimeId + "/seatmap").with(fromClient("10.0.0.1")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("should limit confirmations per user across client addresses")
+    void shouldRejectUserOverConfirmLimit() throws Exception {
+        // given
+        reserve("10.0.1.1", 4).andExpect(status().isCreated());
+        // when
+        reserve("10.0.1.2", 5)
+                // then
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/showtimes/" + showTimeId + "/seatmap"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("should still limit a client that sends a forwarded-by header of its own")
+    void shouldLimitClientWithForgedForwardedByHeader() throws Exception {
+        // given
+        hold("10.0.2.1", 1, "node-2").andExpect(status().isCreated());
+        hold("10.0.2.1", 2, "node-2 0 forged").andExpect(status().isCreated());
+        // when
+        hold("10.0.2.1", 3, "node-2")
+                // then
+                .andExpect(status().isTooManyRequests());
+        reserve("10.0.2.1", 4, "node-2").andExpect(status().isCreated());
+        reserve("10.0.2.2", 5, "node-2").andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("should not charge requests forwarded by another node a second time")
+    void shouldSkipRequestsSignedByNode() throws Exception {
+        // given
+        hold("10.0.3.1", 1).andExpect(status().isCreated());
+        hold("10.0.3.1", 2).andExpect(status().isCreated());
+        reserve("10.0.3.1", 4).andExpect(status().isCreated());
+        // when / then
+        hold("10.0.3.1", 3, signedBy("node-2")).andExpect(status().isCreated());
+        reserve("10.0.3.1", 5, signedBy("node-2")).andExpect(status().isCreated());
+    }
+
+    private ResultActions hold(String clientAddress, int seatNumber) throws Exception {
+        return hold(clientAddress, seatNumber, request -> request);
+    }
+
+    private ResultActions hold(String clientAddress, int seatNumber, String forwardedBy) throws Exception {
+        return hold(clientAddress, seatNumber, forwardedBy(forwardedBy));
+    }
+
+    private ResultActions hold(String clientAddress, int seatNumber, RequestPostProcessor forwarding) throws Exception {
+        CreateSeatHoldRequest request = CreateSeatHoldRequest.builder()
+                .seats(List.of(SeatRequest.builder().rowNumber(1).seatNumber(seatNumber).build()))
+                .build();
+        return mockMvc.perform(post("/api/showtimes/" + showTimeId + "/holds")
+                .with(fromClient(clientAddress))
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON)
+                .with(forwarding));
+    }
+
+    private ResultActions reserve(String clientAddress, int seatNumber) throws Exception {
+        return reserve(clientAddress, seatNumber, request -> request);
+    }
+
+    private ResultActions reserve(String clientAddress, int seatNumber, String forwardedBy) throws Exception {
+        return reserve(clientAddress, seatNumber, forwardedBy(forwardedBy));
+    }
+
+    private ResultActions reserve(String clientAddress, int seatNumber, RequestPostProcessor forwarding) throws Exception {
+        CreateReservationRequest request = CreateReservationRequest.builder()
+                .userId(userId)
+                .seats(List.of(SeatRequest.builder().rowNumber(2).seatNumber(seatNumber).build()))
+                .build();
+        return mockMvc.perform(post("/api/showtimes/" + showTimeId + "/reservations")
+                .with(fromClient(clientAddress))
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON)
+                .with(forwarding));
+    }
+
+    private static RequestPostProcessor fromClient(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private static RequestPostProcessor forwardedBy(String forwardedBy) {
+        return request -> {
+            request.addHeader(PartitionClient.FORWARDED_BY_HEADER, forwardedBy);
+            return request;
+        };
+    }
+
+    private RequestPostProcessor signedBy(String nodeId) {
+        return request -> {
+            request.addHeader(PartitionClient.FORWARDED_BY_HEADER, partitionRequestSigner.sign(nodeId, request.getMethod(),
+                    request.getRequestURI(), request.getQueryString(), request.getContentAsByteArray()));
+            return request;
+        };
+    }
+
+}
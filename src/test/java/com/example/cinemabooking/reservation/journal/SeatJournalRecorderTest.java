@@ -0,0 +1,92 @@
+package com.example.cinemabooking.reservation.journal;
+
+import com.example.cinemabooking.common.scheduling.HashedTimingWheel;
+import com.example.cinemabooking.reservation.service.ReservationConfirmedEvent;
+import com.example.cinemabooking.reservation.service.SeatChange;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.reservation.service.SeatsChangedEvent;
+import com.example.cinemabooking.reservation.service.SeatsReleasingEvent;
+import com.example.cinemabooking.showtime.service.exception.ShowTimeNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatJournalRecorderTest {
+
+    private static final Duration HOLD_TTL = Duration.ofMinutes(7);
+    private static final List<SeatPosition> SEATS = List.of(new SeatPosition(1, 1), new SeatPosition(1, 2));
+
+    @Mock
+    private SeatJournal seatJournal;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private HashedTimingWheel holdExpiryWheel;
+
+    private SeatJournalReplay seatJournalReplay;
+    private SeatJournalRecorder seatJournalRecorder;
+
+    @BeforeEach
+    void setUp() {
+        seatJournalReplay = new SeatJournalReplay(0L);
+        seatJournalRecorder = new SeatJournalRecorder(seatJournal, seatJournalReplay, seatInventory, holdExpiryWheel, HOLD_TTL);
+    }
+
+    @Test
+    @DisplayName("should journal claims, releases ahead of freeing the seats and confirmations")
+    void shouldJournalSeatChanges() {
+        // when
+        seatJournalRecorder.onSeatsChanged(new SeatsChangedEvent(100L, SeatChange.CLAIMED, SEATS));
+        seatJournalRecorder.onSeatsReleasing(new SeatsReleasingEvent(100L, SEATS));
+        seatJournalRecorder.onSeatsChanged(new SeatsChangedEvent(100L, SeatChange.HOLD_EXPIRED, SEATS));
+        seatJournalRecorder.onSeatsChanged(new SeatsChangedEvent(100L, SeatChange.RELEASED, SEATS));
+        seatJournalRecorder.onReservationConfirmed(new ReservationConfirmedEvent(100L, SEATS));
+        // then
+        verify(seatJournal).append(SeatJournalOperation.CLAIM, 100L, SEATS);
+        verify(seatJournal).append(SeatJournalOperation.RELEASE, 100L, SEATS);
+        verify(seatJournal).append(SeatJournalOperation.CONFIRM, 100L, SEATS);
+        verifyNoMoreInteractions(seatJournal);
+    }
+
+    @Test
+    @DisplayName("should claim unconfirmed seats again on startup and expire them after one hold period")
+    void shouldRestoreUnconfirmedClaims() {
+        // given
+        seatJournalReplay.accept(new SeatJournalEntry(0L, SeatJournalOperation.CLAIM, 100L, 1L, SEATS));
+        given(seatInventory.claim(100L, List.of(new SeatPosition(1, 1)))).willReturn(true);
+        given(seatInventory.claim(100L, List.of(new SeatPosition(1, 2)))).willReturn(false);
+        // when
+        seatJournalRecorder.run(new DefaultApplicationArguments());
+        // then
+        verify(holdExpiryWheel).schedule(any(Runnable.class), eq(HOLD_TTL));
+    }
+
+    @Test
+    @DisplayName("should skip claims of show times that no longer exist")
+    void shouldSkipMissingShowTime() {
+        // given
+        seatJournalReplay.accept(new SeatJournalEntry(0L, SeatJournalOperation.CLAIM, 100L, 1L, SEATS));
+        given(seatInventory.claim(eq(100L), any())).willThrow(new ShowTimeNotFoundException(100L));
+        // when
+        seatJournalRecorder.run(new DefaultApplicationArguments());
+        // then
+        verifyNoInteractions(holdExpiryWheel);
+    }
+
+}
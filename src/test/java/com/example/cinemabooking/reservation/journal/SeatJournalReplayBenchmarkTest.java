@@ -0,0 +1,52 @@
+package com.example.cinemabooking.reservation.journal;
+
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: mvn -Pbenchmark test -Dtest=SeatJournalReplayBenchmarkTest
+@Tag("benchmark")
+class SeatJournalReplayBenchmarkTest {
+
+    private static final int ENTRIES = 10_000_000;
+    private static final int REGION_SIZE = 64 * 1024 * 1024;
+    private static final int SHOW_TIMES = 1_000;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("should replay a journal of 10 million entries in a few seconds")
+    void shouldReplayTenMillionEntriesQuickly() throws IOException {
+        // given
+        Path path = directory.resolve("journal.bin");
+        try (SeatJournal journal = SeatJournal.open(path, REGION_SIZE, Duration.ofMillis(10), 0L, entry -> {
+        })) {
+            for (int index = 0; index < ENTRIES; index++) {
+                SeatJournalOperation operation = index % 3 == 2 ? SeatJournalOperation.RELEASE : SeatJournalOperation.CLAIM;
+                int seat = index / SHOW_TIMES % 3000;
+                journal.append(operation, index % SHOW_TIMES, List.of(new SeatPosition(seat / 60 + 1, seat % 60 + 1)));
+            }
+        }
+        SeatJournalReplay replay = new SeatJournalReplay(0L);
+        // when
+        long startedAt = System.nanoTime();
+        SeatJournal.open(path, REGION_SIZE, Duration.ofMillis(10), 0L, replay).close();
+        long elapsed = System.nanoTime() - startedAt;
+        // then
+        System.out.printf("%d entries (%d MB) replayed in %.2f s, %d show times with unconfirmed claims%n", replay.getReplayedEntries(),
+                path.toFile().length() / (1024 * 1024), elapsed / 1e9, replay.getUnconfirmedClaims().size());
+        assertThat(replay.getReplayedEntries()).isEqualTo(ENTRIES);
+        assertThat(elapsed).isLessThan(10_000_000_000L);
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.example.cinemabooking.reservation.journal;
+
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatJournalReplayTest {
+
+    private static final long RECENT_SINCE = 1_000L;
+    private static final SeatPosition SEAT = new SeatPosition(2, 3);
+
+    @Test
+    @DisplayName("should return only recent claims that were neither released nor confirmed")
+    void shouldReturnUnconfirmedRecentClaims() {
+        // given
+        SeatJournalReplay replay = new SeatJournalReplay(RECENT_SINCE);
+        // when
+        replay.accept(entry(SeatJournalOperation.CLAIM, 1L, 2_000L, SEAT));
+        replay.accept(entry(SeatJournalOperation.CLAIM, 2L, 2_000L, SEAT));
+        replay.accept(entry(SeatJournalOperation.RELEASE, 2L, 2_000L, SEAT));
+        replay.accept(entry(SeatJournalOperation.CLAIM, 3L, 2_000L, SEAT));
+        replay.accept(entry(SeatJournalOperation.CONFIRM, 3L, 2_000L, SEAT));
+        replay.accept(entry(SeatJournalOperation.CLAIM, 4L, 500L, SEAT));
+        // then
+        assertThat(replay.getUnconfirmedClaims()).isEqualTo(Map.of(1L, List.of(SEAT)));
+        assertThat(replay.getReplayedEntries()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("should leave a seat free when it was claimed again on a restart and then released")
+    void shouldKeepLastStateOfReclaimedSeat() {
+        // given
+        SeatJournalReplay replay = new SeatJournalReplay(RECENT_SINCE);
+        // when
+        replay.accept(entry(SeatJournalOperation.CLAIM, 1L, 2_000L, SEAT));
+        replay.accept(entry(SeatJournalOperation.CLAIM, 1L, 3_000L, SEAT));
+        replay.accept(entry(SeatJournalOperation.RELEASE, 1L, 3_000L, SEAT));
+        // then
+        assertThat(replay.getUnconfirmedClaims()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should report the last operation of every changed seat")
+    void shouldReportLastOperationOfChangedSeats() {
+        // given
+        SeatJournalReplay replay = new SeatJournalReplay(RECENT_SINCE);
+        SeatPosition cancelled = new SeatPosition(1, 1);
+        replay.accept(entry(SeatJournalOperation.CLAIM, 1L, 2_000L, SEAT));
+        replay.accept(entry(SeatJournalOperation.CONFIRM, 1L, 2_000L, SEAT));
+        replay.accept(entry(SeatJournalOperation.RELEASE, 1L, 500L, cancelled));
+        Map<SeatPosition, SeatJournalOperation> lastOperations = new HashMap<>();
+        // when
+        replay.forEachChangedSeat(1L, (seat, lastOperation, recent) -> lastOperations.put(seat, lastOperation));
+        // then
+        assertThat(lastOperations).isEqualTo(Map.of(SEAT, SeatJournalOperation.CONFIRM, cancelled, SeatJournalOperation.RELEASE));
+    }
+
+    @Test
+    @DisplayName("should place seats of the largest hall at their own cells")
+    void shouldHandleLargestHall() {
+        // given
+        SeatJournalReplay replay = new SeatJournalReplay(RECENT_SINCE);
+        SeatPosition lastSeat = new SeatPosition(256, 256);
+        // when
+        replay.accept(entry(SeatJournalOperation.CLAIM, 1L, 2_000L, lastSeat));
+        replay.accept(entry(SeatJournalOperation.CLAIM, 1L, 2_000L, new SeatPosition(257, 1)));
+        // then
+        assertThat(replay.getUnconfirmedClaims()).isEqualTo(Map.of(1L, List.of(lastSeat)));
+    }
+
+    @Test
+    @DisplayName("should skip records a show time's snapshot already contains")
+    void shouldSkipRecordsBeforeStartPosition() {
+        // given
+        SeatJournalReplay replay = new SeatJournalReplay(RECENT_SINCE, Map.of(1L, 100L));
+        // when
+        replay.accept(entry(50L, SeatJournalOperation.CLAIM, 1L, 2_000L, SEAT));
+        replay.accept(entry(60L, SeatJournalOperation.CLAIM, 2L, 2_000L, SEAT));
+        replay.accept(entry(100L, SeatJournalOperation.CLAIM, 1L, 2_000L, new SeatPosition(1, 1)));
+        // then
+        assertThat(replay.getUnconfirmedClaims()).isEqualTo(Map.of(1L, List.of(new SeatPosition(1, 1)), 2L, List.of(SEAT)));
+        assertThat(replay.getReplayedEntries()).isEqualTo(2);
+    }
+
+    private SeatJournalEntry entry(SeatJournalOperation operation, long showTimeId, long timestampMillis, SeatPosition seat) {
+        return entry(0L, operation, showTimeId, timestampMillis, seat);
+    }
+
+    private SeatJournalEntry entry(long position, SeatJournalOperation operation, long showTimeId, long timestampMillis,
+                                   SeatPosition seat) {
+        return new SeatJournalEntry(position, operation, showTimeId, timestampMillis, List.of(seat));
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.example.cinemabooking.reservation.journal;
+
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatJournalTest {
+
+    private static final int REGION_SIZE = 128;
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2030-01-01T10:00:00Z"), ZoneOffset.UTC);
+    private static final List<SeatPosition> SEATS = List.of(new SeatPosition(1, 2), new SeatPosition(256, 256));
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("should replay appended entries in order after reopening")
+    void shouldReplayAppendedEntries() throws IOException {
+        // given
+        Path path = directory.resolve("journal.bin");
+        try (SeatJournal journal = open(path, new ArrayList<>())) {
+            journal.append(SeatJournalOperation.CLAIM, 100L, SEATS);
+            journal.append(SeatJournalOperation.CONFIRM, 100L, SEATS);
+            journal.append(SeatJournalOperation.RELEASE, 200L, List.of(new SeatPosition(3, 4)));
+        }
+        List<SeatJournalEntry> replayed = new ArrayList<>();
+        // when
+        open(path, replayed).close();
+        // then
+        assertThat(replayed).usingRecursiveFieldByFieldElementComparatorIgnoringFields("position").containsExactly(
+                new SeatJournalEntry(0L, SeatJournalOperation.CLAIM, 100L, CLOCK.millis(), SEATS),
+                new SeatJournalEntry(0L, SeatJournalOperation.CONFIRM, 100L, CLOCK.millis(), SEATS),
+                new SeatJournalEntry(0L, SeatJournalOperation.RELEASE, 200L, CLOCK.millis(), List.of(new SeatPosition(3, 4))));
+    }
+
+    @Test
+    @DisplayName("should move on to the next region when a record does not fit in the current one")
+    void shouldSpanRecordsAcrossRegions() throws IOException {
+        // given
+        Path path = directory.resolve("journal.bin");
+        try (SeatJournal journal = open(path, new ArrayList<>())) {
+            for (long showTimeId = 1; showTimeId <= 10; showTimeId++) {
+                journal.append(SeatJournalOperation.CLAIM, showTimeId, SEATS);
+            }
+        }
+        List<SeatJournalEntry> replayed = new ArrayList<>();
+        // when
+        open(path, replayed).close();
+        // then
+        assertThat(replayed).extracting(SeatJournalEntry::getShowTimeId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(SeatJournal.regionPath(path, 3 * REGION_SIZE)).hasSize(REGION_SIZE);
+    }
+
+    @Test
+    @DisplayName("should stop at a torn record and write new records in its place")
+    void shouldDiscardTornRecord() throws IOException {
+        // given
+        Path path = directory.resolve("journal.bin");
+        try (SeatJournal journal = open(path, new ArrayList<>())) {
+            journal.append(SeatJournalOperation.CLAIM, 1L, SEATS);
+            journal.append(SeatJournalOperation.CLAIM, 2L, SEATS);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(SeatJournal.regionPath(path, 0).toFile(), "rw")) {
+            file.seek(70);
+            file.write(0x7F);
+        }
+        List<SeatJournalEntry> afterCrash = new ArrayList<>();
+        try (SeatJournal journal = open(path, afterCrash)) {
+            journal.append(SeatJournalOperation.RELEASE, 3L, SEATS);
+        }
+        List<SeatJournalEntry> replayed = new ArrayList<>();
+        // when
+        open(path, replayed).close();
+        // then
+        assertThat(afterCrash).extracting(SeatJournalEntry::getShowTimeId).containsExactly(1L);
+        assertThat(replayed).extracting(SeatJournalEntry::getShowTimeId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("should retire regions before a snapshot position and replay the rest from it")
+    void shouldRetireRegionsBeforePosition() throws IOException {
+        // given
+        Path path = directory.resolve("journal.bin");
+        long snapshotPosition;
+        try (SeatJournal journal = open(path, new ArrayList<>())) {
+            for (long showTimeId = 1; showTimeId <= 6; showTimeId++) {
+                journal.append(SeatJournalOperation.CLAIM, showTimeId, SEATS);
+            }
+            snapshotPosition = journal.position();
+            for (long showTimeId = 7; showTimeId <= 10; showTimeId++) {
+                journal.append(SeatJournalOperation.CLAIM, showTimeId, SEATS);
+            }
+            // when
+            journal.retireBefore(snapshotPosition);
+        }
+        List<SeatJournalEntry> replayed = new ArrayList<>();
+        SeatJournal.open(path, REGION_SIZE, Duration.ofMillis(10), snapshotPosition, replayed::add, CLOCK).close();
+        // then
+        assertThat(SeatJournal.regionPath(path, 0)).doesNotExist();
+        assertThat(SeatJournal.regionPath(path, snapshotPosition - snapshotPosition % REGION_SIZE)).exists();
+        assertThat(replayed).extracting(SeatJournalEntry::getShowTimeId).containsExactly(7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    @DisplayName("should keep appending while a sync runs and sync again only after new records")
+    void shouldSyncOutsideAppends() throws IOException {
+        // given
+        Path path = directory.resolve("journal.bin");
+        try (SeatJournal journal = open(path, new ArrayList<>())) {
+            for (long showTimeId = 1; showTimeId <= 10; showTimeId++) {
+                journal.append(SeatJournalOperation.CLAIM, showTimeId, SEATS);
+                journal.sync();
+            }
+            journal.sync();
+        }
+        List<SeatJournalEntry> replayed = new ArrayList<>();
+        // when
+        open(path, replayed).close();
+        // then
+        assertThat(replayed).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("should reject a record that cannot fit in a single region")
+    void shouldRejectRecordLargerThanRegion() throws IOException {
+        // given
+        List<SeatPosition> seats = Collections.nCopies(REGION_SIZE, new SeatPosition(1, 1));
+        try (SeatJournal journal = open(directory.resolve("journal.bin"), new ArrayList<>())) {
+            // when + then
+            assertThatThrownBy(() -> journal.append(SeatJournalOperation.CLAIM, 1L, seats))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private SeatJournal open(Path path, List<SeatJournalEntry> replayed) throws IOException {
+        return SeatJournal.open(path, REGION_SIZE, Duration.ofMillis(10), 0L, replayed::add, CLOCK);
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.example.cinemabooking.reservation.repository;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.reservation.Reservation;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.ReservedSeat;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+class ReservedSeatRepositoryTest {
+
+    @Autowired
+    private ReservedSeatRepository reservedSeatRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private CinemaHall cinemaHall;
+    private ShowTime showTime;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = entityManager.persist(TestFixtures.movie());
+        cinemaHall = entityManager.persist(TestFixtures.cinemaHall());
+        showTime = entityManager.persist(TestFixtures.showTimeWithoutId(LocalDateTime.now(), movie, cinemaHall));
+        user = entityManager.persist(TestFixtures.user());
+    }
+
+    @Test
+    @DisplayName("should return positions of seats reserved by active reservations of given showtime")
+    void shouldReturnSeatPositionsOfActiveReservations() {
+        // given
+        reserve(ReservationStatus.ACTIVE, new SeatPosition(1, 1), new SeatPosition(1, 3));
+        reserve(ReservationStatus.CANCELLED, new SeatPosition(1, 2));
+        // when
+        List<SeatPosition> result = reservedSeatRepository.findSeatPositions(showTime.getId(), ReservationStatus.ACTIVE);
+        // then
+        assertThat(result).containsExactlyInAnyOrder(new SeatPosition(1, 1), new SeatPosition(1, 3));
+    }
+
+    @Test
+    @DisplayName("should return empty list when showtime has no reservations")
+    void shouldReturnEmptyListWhenNoReservations() {
+        // when
+        List<SeatPosition> result = reservedSeatRepository.findSeatPositions(showTime.getId(), ReservationStatus.ACTIVE);
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should not allow reserving the same seat twice for the same showtime")
+    void shouldNotAllowDoubleBookingOfSeat() {
+        // given
+        reserve(ReservationStatus.ACTIVE, new SeatPosition(1, 1));
+        // when + then
+        assertThatThrownBy(() -> reserve(ReservationStatus.ACTIVE, new SeatPosition(1, 1)))
+                .isInstanceOf(Exception.class);
+    }
+
+    @Test
+    @DisplayName("should keep seats of cancelled reservation and allow booking them again")
+    void shouldAllowRebookingSeatOfCancelledReservation() {
+        // given
+        Reservation cancelled = reserve(ReservationStatus.ACTIVE, new SeatPosition(1, 1));
+        cancelled.cancel();
+        entityManager.flush();
+        // when
+        reserve(ReservationStatus.ACTIVE, new SeatPosition(1, 1));
+        // then
+        assertThat(reservedSeatRepository.findReservationSeats(List.of(cancelled.getId()))).hasSize(1);
+        assertThat(reservedSeatRepository.findSeatPositions(showTime.getId(), ReservationStatus.ACTIVE))
+                .containsExactly(new SeatPosition(1, 1));
+    }
+
+    @Test
+    @DisplayName("should return seats of cinema hall reserved for showtimes that have not ended")
+    void shouldReturnSeatPositionsOfUpcomingShowTimesInCinemaHall() {
+        // given
+        ShowTime pastShowTime = entityManager.persist(TestFixtures.showTimeWithoutId(LocalDateTime.now().minusDays(1),
+                showTime.getMovie(), cinemaHall));
+        reserve(ReservationStatus.ACTIVE, new SeatPosition(2, 2));
+        reserve(pastShowTime, ReservationStatus.ACTIVE, new SeatPosition(4, 4));
+        // when
+        List<SeatPosition> result = reservedSeatRepository.findSeatPositionsInCinemaHall(cinemaHall.getId(),
+                ReservationStatus.ACTIVE, LocalDateTime.now());
+        // then
+        assertThat(result).containsExactly(new SeatPosition(2, 2));
+    }
+
+    private Reservation reserve(ReservationStatus status, SeatPosition... seats) {
+        return reserve(showTime, status, seats);
+    }
+
+    private Reservation reserve(ShowTime showTime, ReservationStatus status, SeatPosition... seats) {
+        Reservation reservation = TestFixtures.reservation(user, showTime, status);
+        for (SeatPosition seat : seats) {
+            reservation.addReservedSeat(ReservedSeat.builder()
+                    .rowNumber(seat.getRowNumber())
+                    .seatNumber(seat.getSeatNumber())
+                    .build());
+        }
+        entityManager.persist(reservation);
+        entityManager.flush();
+        return reservation;
+    }
+
+}
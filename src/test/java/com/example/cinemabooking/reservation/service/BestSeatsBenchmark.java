@@ -0,0 +1,53 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=BestSeatsBenchmark
+// A 50x60 hall holds 3,000 seats; occupied seats are picked at random with a fixed seed.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BestSeatsBenchmark {
+
+    private static final int ROWS = 50;
+    private static final int SEATS_PER_ROW = 60;
+
+    @Param({"0", "50", "90", "99"})
+    private int occupancyPercent;
+
+    @Param({"2", "6"})
+    private int count;
+
+    private SeatMap seatMap;
+
+    @Setup
+    public void setUp() {
+        seatMap = new SeatMap(1L, SeatLayout.grid(ROWS, SEATS_PER_ROW));
+        Random random = new Random(42);
+        List<SeatPosition> occupied = new ArrayList<>();
+        for (int row = 1; row <= ROWS; row++) {
+            for (int seat = 1; seat <= SEATS_PER_ROW; seat++) {
+                if (random.nextInt(100) < occupancyPercent) {
+                    occupied.add(new SeatPosition(row, seat));
+                }
+            }
+        }
+        seatMap.claim(occupied);
+    }
+
+    @Benchmark
+    public Optional<List<SeatPosition>> findBestBlock() {
+        return seatMap.findBestBlock(count);
+    }
+
+}
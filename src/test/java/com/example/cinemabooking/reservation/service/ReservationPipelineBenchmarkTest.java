@@ -0,0 +1,117 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.reservation.dto.CreateReservationRequest;
+import com.example.cinemabooking.reservation.dto.SeatRequest;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: mvn -Pbenchmark test -Dtest=ReservationPipelineBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ReservationPipelineBenchmarkTest {
+
+    private static final int ROWS = 50;
+    private static final int SEATS_PER_ROW = 60;
+    private static final int BUYERS = 64;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Autowired
+    private CinemaHallRepository cinemaHallRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private int hallCounter;
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll();
+        userRepository.deleteAll();
+        showTimeRepository.deleteAll();
+        cinemaHallRepository.deleteAll();
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should commit more reservations per second through the pipeline than one transaction per request")
+    void shouldCommitMoreReservationsPerSecondThroughPipeline() throws Exception {
+        // given
+        Long userId = userRepository.save(TestFixtures.user()).getId();
+        Movie movie = movieRepository.save(TestFixtures.movie());
+        // when
+        double synchronous = measure(movie, userId, (showTimeId, request) ->
+                CompletableFuture.completedFuture(reservationService.createReservation(showTimeId, request)));
+        double pipelined = measure(movie, userId, (showTimeId, request) ->
+                reservationService.submitReservation(showTimeId, request).getResult());
+        // then
+        System.out.printf("synchronous: %8.0f reservations/s%npipelined:   %8.0f reservations/s%n", synchronous, pipelined);
+        assertThat(pipelined).isGreaterThan(synchronous);
+    }
+
+    private double measure(Movie movie, Long userId, BiFunction<Long, CreateReservationRequest, CompletableFuture<?>> reserve) throws Exception {
+        Long showTimeId = createShowTime(movie);
+        long startedAt = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<CompletableFuture<?>>> submissions = new ArrayList<>();
+            for (int row = 1; row <= ROWS; row++) {
+                for (int seatNumber = 1; seatNumber <= SEATS_PER_ROW; seatNumber++) {
+                    CreateReservationRequest request = CreateReservationRequest.builder()
+                            .userId(userId)
+                            .seats(List.of(SeatRequest.builder().rowNumber(row).seatNumber(seatNumber).build()))
+                            .build();
+                    submissions.add(executor.submit(() -> reserve.apply(showTimeId, request)));
+                }
+            }
+            for (Future<CompletableFuture<?>> submission : submissions) {
+                submission.get().get();
+            }
+        }
+        return ROWS * SEATS_PER_ROW / ((System.nanoTime() - startedAt) / 1e9);
+    }
+
+    private Long createShowTime(Movie movie) {
+        CinemaHall cinemaHall = TestFixtures.cinemaHall();
+        cinemaHall.setName("Benchmark hall " + hallCounter++);
+        cinemaHall.setSeatLayout(SeatLayout.grid(ROWS, SEATS_PER_ROW));
+        ShowTime showTime = TestFixtures.showTimeWithoutId(LocalDateTime.now().plusDays(1),
+                movie, cinemaHallRepository.save(cinemaHall));
+        return showTimeRepository.save(showTime).getId();
+    }
+
+}
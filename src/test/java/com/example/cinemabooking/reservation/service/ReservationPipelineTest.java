@@ -0,0 +1,176 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.common.scheduling.HashedTimingWheel;
+import com.example.cinemabooking.reservation.Reservation;
+import com.example.cinemabooking.reservation.config.ReservationPipelineProperties;
+import com.example.cinemabooking.reservation.dto.ReservationResponse;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.reservation.service.exception.ReservationQueueFullException;
+import com.example.cinemabooking.reservation.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.user.User;
+import com.example.cinemabooking.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationPipelineTest {
+
+    private static final List<SeatPosition> SEATS = List.of(new SeatPosition(1, 1));
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ShowTimeRepository showTimeRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReservationPipelineProperties properties;
+    private ReservationPipeline reservationPipeline;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReservationPipelineProperties();
+        properties.setCapacity(8);
+        properties.setBatchSize(8);
+        properties.setTicketTtl(Duration.ofMinutes(10));
+        reservationPipeline = pipeline();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        reservationPipeline.stop();
+    }
+
+    @Test
+    @DisplayName("should save queued reservations together in a single transaction")
+    void shouldSaveQueuedReservationsInOneTransaction() throws Exception {
+        // given
+        givenPersistableReservations();
+        List<ReservationTicket> tickets = List.of(
+                reservationPipeline.submit(100L, 1L, List.of(new SeatPosition(1, 1))),
+                reservationPipeline.submit(100L, 2L, List.of(new SeatPosition(1, 2))),
+                reservationPipeline.submit(100L, 3L, List.of(new SeatPosition(1, 3))));
+        // when
+        reservationPipeline.start();
+        // then
+        for (ReservationTicket ticket : tickets) {
+            ReservationResponse response = ticket.getResult().get(5, TimeUnit.SECONDS);
+            assertThat(response.getUserId()).isEqualTo(ticket.getUserId());
+            assertThat(response.getSeats()).isEqualTo(ticket.getSeats());
+        }
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(reservationRepository, times(1)).flush();
+        verify(eventPublisher, times(3)).publishEvent(any(ReservationConfirmedEvent.class));
+        assertThat(reservationPipeline.getTicket(tickets.getFirst().getId())).contains(tickets.getFirst());
+    }
+
+    @Test
+    @DisplayName("should retry reservations one by one when the batch fails and release seats of the failing one")
+    void shouldIsolateFailingReservation() throws Exception {
+        // given
+        givenPersistableReservations();
+        given(reservationRepository.saveAll(anyList())).willAnswer(invocation -> {
+            List<Reservation> reservations = invocation.getArgument(0);
+            if (reservations.stream().anyMatch(reservation -> reservation.getUser().getId() == 13L)) {
+                throw new DataIntegrityViolationException("duplicate");
+            }
+            return reservations;
+        });
+        ReservationTicket accepted = reservationPipeline.submit(100L, 1L, SEATS);
+        ReservationTicket rejected = reservationPipeline.submit(100L, 13L, List.of(new SeatPosition(2, 2)));
+        // when
+        reservationPipeline.start();
+        // then
+        assertThat(accepted.getResult().get(5, TimeUnit.SECONDS).getUserId()).isEqualTo(1L);
+        assertThatThrownBy(() -> rejected.getResult().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(SeatsUnavailableException.class);
+        verify(seatInventory).release(100L, List.of(new SeatPosition(2, 2)));
+        verify(seatInventory, never()).release(100L, SEATS);
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    @DisplayName("should throw ReservationQueueFullException when queue is at capacity")
+    void shouldRejectWhenQueueFull() {
+        // given
+        properties.setCapacity(1);
+        reservationPipeline = pipeline();
+        ReservationTicket queued = reservationPipeline.submit(100L, 1L, SEATS);
+        // when + then
+        assertThatThrownBy(() -> reservationPipeline.submit(100L, 2L, SEATS))
+                .isInstanceOf(ReservationQueueFullException.class);
+        assertThat(reservationPipeline.getTicket(queued.getId())).contains(queued);
+    }
+
+    @Test
+    @DisplayName("should fail queued reservations and release their seats when stopped before writing them")
+    void shouldReleaseSeatsOfStrandedReservationsOnStop() throws InterruptedException {
+        // given
+        ReservationTicket ticket = reservationPipeline.submit(100L, 1L, SEATS);
+        // when
+        reservationPipeline.stop();
+        // then
+        assertThat(ticket.getResult()).isCompletedExceptionally();
+        verify(seatInventory).release(100L, SEATS);
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    private ReservationPipeline pipeline() {
+        return new ReservationPipeline(properties, transactionTemplate, reservationRepository, showTimeRepository,
+                userRepository, seatInventory, new HashedTimingWheel(Duration.ofMinutes(1), 8), eventPublisher);
+    }
+
+    private void givenPersistableReservations() {
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        given(userRepository.getReferenceById(anyLong())).willAnswer(invocation -> {
+            User user = TestFixtures.user();
+            user.setId(invocation.getArgument(0));
+            return user;
+        });
+        given(showTimeRepository.getReferenceById(anyLong())).willAnswer(invocation -> {
+            ShowTime showTime = new ShowTime();
+            showTime.setId(invocation.getArgument(0));
+            return showTime;
+        });
+    }
+
+}
@@ -0,0 +1,227 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.reservation.Reservation;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.ReservedSeat;
+import com.example.cinemabooking.reservation.dto.CreateReservationRequest;
+import com.example.cinemabooking.reservation.dto.SeatRequest;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.reservation.repository.ReservedSeatRepository;
+import com.example.cinemabooking.reservation.service.exception.ReservationAlreadyCancelledException;
+import com.example.cinemabooking.reservation.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.user.User;
+import com.example.cinemabooking.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+class ReservationServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservedSeatRepository reservedSeatRepository;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Autowired
+    private CinemaHallRepository cinemaHallRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoSpyBean
+    private SeatInventory seatInventory;
+
+    private ShowTime showTime;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        CinemaHall cinemaHall = cinemaHallRepository.save(TestFixtures.cinemaHall());
+        showTime = showTimeRepository.save(TestFixtures.showTimeWithoutId(LocalDateTime.now().plusDays(1),
+                movieRepository.save(TestFixtures.movie()), cinemaHall));
+        users = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            users.add(userRepository.save(TestFixtures.user("buyer" + i)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll();
+        userRepository.deleteAll();
+        showTimeRepository.deleteAll();
+        cinemaHallRepository.deleteAll();
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should never double-book a seat when concurrent inserts rely only on the unique constraint")
+    void shouldPreventDoubleBookingWithUniqueConstraintOnly() throws Exception {
+        // given
+        List<SeatPosition> seats = new ArrayList<>();
+        for (int row = 1; row <= 5; row++) {
+            for (int seatNumber = 1; seatNumber <= 10; seatNumber++) {
+                seats.add(new SeatPosition(row, seatNumber));
+            }
+        }
+        ConcurrentLinkedQueue<SeatPosition> bookedSeats = new ConcurrentLinkedQueue<>();
+        // when
+        runConcurrently(buyer -> () -> {
+            for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                int first = ThreadLocalRandom.current().nextInt(seats.size() - 1);
+                List<SeatPosition> pair = seats.subList(first, first + 2);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertReservation(users.get(buyer), pair));
+                    bookedSeats.addAll(pair);
+                } catch (DataAccessException e) {
+                    // lost the race for at least one of the seats
+                }
+            }
+            return null;
+        });
+        // then
+        List<SeatPosition> persistedSeats = reservedSeatRepository.findAll().stream()
+                .map(SeatPosition::of)
+                .toList();
+        assertThat(persistedSeats).doesNotHaveDuplicates();
+        assertThat(bookedSeats).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(persistedSeats);
+    }
+
+    @Test
+    @DisplayName("should let exactly one buyer reserve a contended seat block through the reservation service")
+    void shouldLetOnlyOneBuyerReserveContendedSeats() throws Exception {
+        // given
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CreateReservationRequest.CreateReservationRequestBuilder request = CreateReservationRequest.builder()
+                .seats(List.of(SeatRequest.builder().rowNumber(3).seatNumber(5).build(), SeatRequest.builder().rowNumber(3).seatNumber(6).build()));
+        // when
+        runConcurrently(buyer -> () -> {
+            start.await();
+            try {
+                reservationService.createReservation(showTime.getId(), request.userId(users.get(buyer).getId()).build());
+                successes.incrementAndGet();
+            } catch (SeatsUnavailableException e) {
+                conflicts.incrementAndGet();
+            }
+            return null;
+        }, start);
+        // then
+        assertThat(successes).hasValue(1);
+        assertThat(conflicts).hasValue(THREADS - 1);
+        assertThat(reservedSeatRepository.findSeatPositions(showTime.getId(), ReservationStatus.ACTIVE))
+                .containsExactlyInAnyOrder(new SeatPosition(3, 5), new SeatPosition(3, 6));
+    }
+
+    @Test
+    @DisplayName("should cancel a reservation and release its seats only once when cancelled concurrently")
+    void shouldCancelReservationOnceUnderConcurrentCancels() throws Exception {
+        // given
+        Long reservationId = reservationService.createReservation(showTime.getId(), CreateReservationRequest.builder()
+                .userId(users.getFirst().getId())
+                .seats(List.of(SeatRequest.builder().rowNumber(4).seatNumber(4).build()))
+                .build()).getId();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger cancels = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        // when
+        runConcurrently(buyer -> () -> {
+            start.await();
+            try {
+                reservationService.cancelReservation(reservationId);
+                cancels.incrementAndGet();
+            } catch (ReservationAlreadyCancelledException e) {
+                conflicts.incrementAndGet();
+            }
+            return null;
+        }, start);
+        // then
+        assertThat(cancels).hasValue(1);
+        assertThat(conflicts).hasValue(THREADS - 1);
+        verify(seatInventory, times(1)).onReservationCancelled(any());
+    }
+
+    private void insertReservation(User user, List<SeatPosition> seats) {
+        Reservation reservation = TestFixtures.reservation(user, showTime, ReservationStatus.ACTIVE);
+        seats.forEach(seat -> reservation.addReservedSeat(ReservedSeat.builder()
+                .rowNumber(seat.getRowNumber())
+                .seatNumber(seat.getSeatNumber())
+                .build()));
+        reservationRepository.saveAndFlush(reservation);
+    }
+
+    private void runConcurrently(BuyerTask task) throws Exception {
+        runConcurrently(task, null);
+    }
+
+    private void runConcurrently(BuyerTask task, CountDownLatch start) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int buyer = 0; buyer < THREADS; buyer++) {
+                futures.add(executor.submit(task.forBuyer(buyer)));
+            }
+            if (start != null) {
+                start.countDown();
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @FunctionalInterface
+    private interface BuyerTask {
+        Callable<Void> forBuyer(int buyer);
+    }
+
+}
@@ -0,0 +1,333 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.reservation.Reservation;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.ReservedSeat;
+import com.example.cinemabooking.reservation.dto.CreateReservationRequest;
+import com.example.cinemabooking.reservation.dto.ReservationHistoryFilter;
+import com.example.cinemabooking.reservation.dto.ReservationPageResponse;
+import com.example.cinemabooking.reservation.dto.ReservationResponse;
+import com.example.cinemabooking.reservation.dto.SeatRequest;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.reservation.repository.ReservedSeatRepository;
+import com.example.cinemabooking.reservation.service.exception.InvalidReservationCursorException;
+import com.example.cinemabooking.reservation.service.exception.InvalidSeatException;
+import com.example.cinemabooking.reservation.service.exception.ReservationAlreadyCancelledException;
+import com.example.cinemabooking.reservation.service.exception.ReservationNotFoundException;
+import com.example.cinemabooking.reservation.service.exception.ReservationQueueFullException;
+import com.example.cinemabooking.reservation.service.exception.ReservationTicketNotFoundException;
+import com.example.cinemabooking.reservation.service.exception.SeatHoldNotFoundException;
+import com.example.cinemabooking.reservation.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.service.ShowTimeService;
+import com.example.cinemabooking.user.User;
+import com.example.cinemabooking.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceTest {
+
+    private static final List<SeatPosition> SEATS = List.of(new SeatPosition(1, 1), new SeatPosition(1, 2));
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservedSeatRepository reservedSeatRepository;
+
+    @Mock
+    private ShowTimeService showTimeService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private ReservationPipeline reservationPipeline;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReservationService reservationService;
+
+    private CinemaHall cinemaHall;
+    private ShowTime showTime;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cinemaHall = TestFixtures.cinemaHall();
+        cinemaHall.setId(1L);
+        showTime = TestFixtures.showTime(LocalDateTime.now().plusDays(1), TestFixtures.movieWithId(), cinemaHall);
+        user = TestFixtures.user();
+        user.setId(7L);
+    }
+
+    // ===========================================================
+    // CREATE
+    // ===========================================================
+
+    @Test
+    @DisplayName("should claim seats and persist reservation")
+    void shouldCreateReservation() {
+        // given
+        given(seatInventory.claim(100L, SEATS)).willReturn(true);
+        givenPersistableReservation();
+        given(reservationRepository.saveAndFlush(any(Reservation.class))).willAnswer(invocation -> invocation.getArgument(0));
+        // when
+        ReservationResponse result = reservationService.createReservation(100L, seatsRequest());
+        // then
+        assertThat(result.getStatus()).isEqualTo(ReservationStatus.ACTIVE);
+        assertThat(result.getUserId()).isEqualTo(7L);
+        assertThat(result.getShowTimeId()).isEqualTo(100L);
+        assertThat(result.getSeats()).containsExactlyElementsOf(SEATS);
+        verify(seatInventory, never()).release(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("should throw SeatsUnavailableException without touching database when seats are taken in memory")
+    void shouldThrowWhenSeatsUnavailableInMemory() {
+        // given
+        given(seatInventory.claim(100L, SEATS)).willReturn(false);
+        // when + then
+        assertThatThrownBy(() -> reservationService.createReservation(100L, seatsRequest()))
+                .isInstanceOf(SeatsUnavailableException.class);
+        verifyNoInteractions(reservationRepository, showTimeService);
+    }
+
+    @Test
+    @DisplayName("should release claimed seats and throw SeatsUnavailableException when insert hits unique constraint")
+    void shouldReleaseSeatsWhenInsertConflicts() {
+        // given
+        given(seatInventory.claim(100L, SEATS)).willReturn(true);
+        givenPersistableReservation();
+        given(reservationRepository.saveAndFlush(any(Reservation.class))).willThrow(new DataIntegrityViolationException("duplicate"));
+        // when + then
+        assertThatThrownBy(() -> reservationService.createReservation(100L, seatsRequest()))
+                .isInstanceOf(SeatsUnavailableException.class);
+        verify(seatInventory).release(100L, SEATS);
+    }
+
+    @Test
+    @DisplayName("should not persist reservation when seat does not exist in hall layout")
+    void shouldNotPersistReservationWhenSeatMissing() {
+        // given
+        given(seatInventory.claim(100L, SEATS)).willThrow(new InvalidSeatException(new SeatPosition(1, 2)));
+        // when + then
+        assertThatThrownBy(() -> reservationService.createReservation(100L, seatsRequest()))
+                .isInstanceOf(InvalidSeatException.class);
+        verify(seatInventory, never()).release(any(), any());
+        verifyNoInteractions(reservationRepository, showTimeService);
+    }
+
+    @Test
+    @DisplayName("should confirm held seats without claiming them again")
+    void shouldCreateReservationFromHold() {
+        // given
+        SeatHold seatHold = new SeatHold("hold-1", 100L, SEATS, LocalDateTime.now().plusMinutes(7));
+        given(seatHoldService.getHold("hold-1")).willReturn(seatHold);
+        given(seatHoldService.consumeHold("hold-1")).willReturn(seatHold);
+        givenPersistableReservation();
+        given(reservationRepository.saveAndFlush(any(Reservation.class))).willAnswer(invocation -> invocation.getArgument(0));
+        CreateReservationRequest request = CreateReservationRequest.builder().userId(7L).holdId("hold-1").build();
+        // when
+        ReservationResponse result = reservationService.createReservation(100L, request);
+        // then
+        assertThat(result.getSeats()).containsExactlyElementsOf(SEATS);
+        verify(seatInventory, never()).claim(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("should throw SeatHoldNotFoundException when hold belongs to another showtime")
+    void shouldThrowWhenHoldBelongsToAnotherShowTime() {
+        // given
+        given(seatHoldService.getHold("hold-1")).willReturn(new SeatHold("hold-1", 200L, SEATS, LocalDateTime.now()));
+        CreateReservationRequest request = CreateReservationRequest.builder().userId(7L).holdId("hold-1").build();
+        // when + then
+        assertThatThrownBy(() -> reservationService.createReservation(100L, request))
+                .isInstanceOf(SeatHoldNotFoundException.class);
+        verify(seatHoldService, never()).consumeHold(any());
+        verifyNoInteractions(reservationRepository);
+    }
+
+    // ===========================================================
+    // SUBMIT
+    // ===========================================================
+
+    @Test
+    @DisplayName("should claim seats and queue reservation without writing it")
+    void shouldSubmitReservation() {
+        // given
+        ReservationTicket ticket = new ReservationTicket("ticket", 100L, 7L, SEATS, LocalDateTime.now());
+        given(userService.getUserOrThrow(7L)).willReturn(user);
+        given(seatInventory.claim(100L, SEATS)).willReturn(true);
+        given(reservationPipeline.submit(100L, 7L, SEATS)).willReturn(ticket);
+        // when
+        ReservationTicket result = reservationService.submitReservation(100L, seatsRequest());
+        // then
+        assertThat(result).isSameAs(ticket);
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    @DisplayName("should release claimed seats when reservation queue is full")
+    void shouldReleaseSeatsWhenQueueFull() {
+        // given
+        given(userService.getUserOrThrow(7L)).willReturn(user);
+        given(seatInventory.claim(100L, SEATS)).willReturn(true);
+        given(reservationPipeline.submit(100L, 7L, SEATS)).willThrow(new ReservationQueueFullException());
+        // when + then
+        assertThatThrownBy(() -> reservationService.submitReservation(100L, seatsRequest()))
+                .isInstanceOf(ReservationQueueFullException.class);
+        verify(seatInventory).release(100L, SEATS);
+    }
+
+    @Test
+    @DisplayName("should throw ReservationTicketNotFoundException when ticket is unknown")
+    void shouldThrowWhenTicketNotFound() {
+        // given
+        given(reservationPipeline.getTicket("missing")).willReturn(Optional.empty());
+        // when + then
+        assertThatThrownBy(() -> reservationService.getReservationTicket("missing"))
+                .isInstanceOf(ReservationTicketNotFoundException.class);
+    }
+
+    // ===========================================================
+    // GET / CANCEL
+    // ===========================================================
+
+    @Test
+    @DisplayName("should throw ReservationNotFoundException when reservation does not exist")
+    void shouldThrowWhenReservationNotFound() {
+        // given
+        given(reservationRepository.findById(5L)).willReturn(Optional.empty());
+        // when + then
+        assertThatThrownBy(() -> reservationService.getReservationById(5L))
+                .isInstanceOf(ReservationNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("should cancel reservation, keep its seats as history and publish event")
+    void shouldCancelReservation() {
+        // given
+        Reservation reservation = reservationWithSeats(ReservationStatus.ACTIVE);
+        given(reservationRepository.findById(5L)).willReturn(Optional.of(reservation));
+        // when
+        ReservationResponse result = reservationService.cancelReservation(5L);
+        // then
+        assertThat(result.getStatus()).isEqualTo(ReservationStatus.CANCELLED);
+        assertThat(reservation.getReservedSeats()).singleElement()
+                .satisfies(seat -> assertThat(seat.getActiveShowTimeId()).isNull());
+        verify(eventPublisher).publishEvent(new ReservationCancelledEvent(5L, 100L, List.of(new SeatPosition(1, 1))));
+    }
+
+    @Test
+    @DisplayName("should throw ReservationAlreadyCancelledException when cancelling twice")
+    void shouldThrowWhenCancellingCancelledReservation() {
+        // given
+        given(reservationRepository.findById(5L)).willReturn(Optional.of(reservationWithSeats(ReservationStatus.CANCELLED)));
+        // when + then
+        assertThatThrownBy(() -> reservationService.cancelReservation(5L))
+                .isInstanceOf(ReservationAlreadyCancelledException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    // ===========================================================
+    // HISTORY
+    // ===========================================================
+
+    @Test
+    @DisplayName("should return a page of summaries with seats loaded in one query and a cursor to the next page")
+    void shouldReturnUserReservationPage() {
+        // given
+        LocalDateTime createdAt = LocalDateTime.of(2030, 1, 1, 12, 0);
+        List<ReservationSummary> summaries = List.of(summary(9L, createdAt), summary(8L, createdAt), summary(7L, createdAt.minusDays(1)));
+        given(userService.getUserOrThrow(7L)).willReturn(user);
+        given(reservationRepository.findSummaries(any(), eq(3))).willReturn(summaries);
+        given(reservedSeatRepository.findReservationSeats(List.of(9L, 8L))).willReturn(List.of(
+                new ReservationSeat(9L, 1, 1), new ReservationSeat(9L, 1, 2), new ReservationSeat(8L, 2, 5)));
+        // when
+        ReservationPageResponse result = reservationService.getUserReservations(7L, ReservationHistoryFilter.builder().build(), null, 2);
+        // then
+        assertThat(result.getItems()).hasSize(2);
+        assertThat(result.getItems().get(0).getSeats()).containsExactly(new SeatPosition(1, 1), new SeatPosition(1, 2));
+        assertThat(result.getItems().get(1).getSeats()).containsExactly(new SeatPosition(2, 5));
+        assertThat(ReservationCursor.decode(result.getNextCursor())).isEqualTo(new ReservationCursor(createdAt, 8L));
+        verify(reservedSeatRepository, times(1)).findReservationSeats(anyCollection());
+    }
+
+    @Test
+    @DisplayName("should return last page without cursor and skip seat query when empty")
+    void shouldReturnEmptyLastPage() {
+        // given
+        given(userService.getUserOrThrow(7L)).willReturn(user);
+        given(reservationRepository.findSummaries(any(), eq(21))).willReturn(List.of());
+        // when
+        ReservationPageResponse result = reservationService.getUserReservations(7L, ReservationHistoryFilter.builder().build(), null, 20);
+        // then
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getNextCursor()).isNull();
+        verifyNoInteractions(reservedSeatRepository);
+    }
+
+    @Test
+    @DisplayName("should throw InvalidReservationCursorException when cursor is malformed")
+    void shouldThrowWhenReservationCursorInvalid() {
+        // given
+        given(userService.getUserOrThrow(7L)).willReturn(user);
+        // when + then
+        assertThatThrownBy(() -> reservationService.getUserReservations(7L, ReservationHistoryFilter.builder().build(), "not-a-cursor", 20))
+                .isInstanceOf(InvalidReservationCursorException.class);
+        verifyNoInteractions(reservationRepository);
+    }
+
+    private ReservationSummary summary(Long id, LocalDateTime createdAt) {
+        return new ReservationSummary(id, 100L, "Movie", "Hall A", createdAt.plusDays(3), ReservationStatus.ACTIVE, createdAt);
+    }
+
+    private void givenPersistableReservation() {
+        given(showTimeService.getShowTimeOrThrow(100L)).willReturn(showTime);
+        given(userService.getUserOrThrow(7L)).willReturn(user);
+    }
+
+    private CreateReservationRequest seatsRequest() {
+        return CreateReservationRequest.builder()
+                .userId(7L)
+                .seats(List.of(SeatRequest.builder().rowNumber(1).seatNumber(1).build(), SeatRequest.builder().rowNumber(1).seatNumber(2).build()))
+                .build();
+    }
+
+    private Reservation reservationWithSeats(ReservationStatus status) {
+        Reservation reservation = TestFixtures.reservation(user, showTime, status);
+        reservation.setId(5L);
+        reservation.addReservedSeat(ReservedSeat.builder().rowNumber(1).seatNumber(1).build());
+        return reservation;
+    }
+
+}
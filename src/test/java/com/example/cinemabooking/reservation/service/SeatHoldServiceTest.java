@@ -0,0 +1,193 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.common.scheduling.HashedTimingWheel;
+import com.example.cinemabooking.reservation.config.SeatHoldProperties;
+import com.example.cinemabooking.reservation.service.exception.ContiguousSeatsUnavailableException;
+import com.example.cinemabooking.reservation.service.exception.InvalidSeatCountException;
+import com.example.cinemabooking.reservation.service.exception.SeatHoldNotFoundException;
+import com.example.cinemabooking.reservation.service.exception.SeatsUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldServiceTest {
+
+    private static final List<SeatPosition> SEATS = List.of(new SeatPosition(1, 1), new SeatPosition(1, 2));
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    private HashedTimingWheel timingWheel;
+    private SeatHoldService seatHoldService;
+
+    @BeforeEach
+    void setUp() {
+        SeatHoldProperties seatHoldProperties = new SeatHoldProperties();
+        seatHoldProperties.setTtl(Duration.ofMinutes(7));
+        timingWheel = new HashedTimingWheel(Duration.ofMinutes(1), 8);
+        seatHoldService = new SeatHoldService(seatInventory, timingWheel, seatHoldProperties);
+        lenient().when(seatInventory.atomically(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    @Test
+    @DisplayName("should claim seats and create hold expiring after configured ttl")
+    void shouldCreateHold() {
+        // given
+        given(seatInventory.claim(100L, SEATS)).willReturn(true);
+        // when
+        SeatHold seatHold = seatHoldService.createHold(100L, SEATS);
+        // then
+        assertThat(seatHold.getShowTimeId()).isEqualTo(100L);
+        assertThat(seatHold.getSeats()).isEqualTo(SEATS);
+        assertThat(seatHold.getExpiresAt()).isAfter(LocalDateTime.now().plusMinutes(6));
+        assertThat(seatHoldService.getHold(seatHold.getId())).isEqualTo(seatHold);
+    }
+
+    @Test
+    @DisplayName("should throw SeatsUnavailableException when seats cannot be claimed")
+    void shouldThrowWhenSeatsUnavailable() {
+        // given
+        given(seatInventory.claim(100L, SEATS)).willReturn(false);
+        // when + then
+        assertThatThrownBy(() -> seatHoldService.createHold(100L, SEATS))
+                .isInstanceOf(SeatsUnavailableException.class);
+        verify(seatInventory).atomically(eq(100L), any());
+        verify(seatInventory).claim(100L, SEATS);
+        verifyNoMoreInteractions(seatInventory);
+    }
+
+    @Test
+    @DisplayName("should hold the next best block when another buyer claimed the first one")
+    void shouldRetryBestSeatsWhenClaimLost() {
+        // given
+        List<SeatPosition> nextBest = List.of(new SeatPosition(2, 1), new SeatPosition(2, 2));
+        given(seatInventory.findBestSeats(100L, 2)).willReturn(Optional.of(SEATS), Optional.of(nextBest));
+        given(seatInventory.claim(100L, SEATS)).willReturn(false);
+        given(seatInventory.claim(100L, nextBest)).willReturn(true);
+        // when
+        SeatHold seatHold = seatHoldService.holdBestSeats(100L, 2);
+        // then
+        assertThat(seatHold.getSeats()).isEqualTo(nextBest);
+        assertThat(seatHoldService.getHold(seatHold.getId())).isEqualTo(seatHold);
+    }
+
+    @Test
+    @DisplayName("should throw ContiguousSeatsUnavailableException when no block can be held")
+    void shouldThrowWhenNoBestSeatsCanBeHeld() {
+        // given
+        given(seatInventory.findBestSeats(100L, 2)).willReturn(Optional.of(SEATS));
+        given(seatInventory.claim(100L, SEATS)).willReturn(false);
+        // when + then
+        assertThatThrownBy(() -> seatHoldService.holdBestSeats(100L, 2))
+                .isInstanceOf(ContiguousSeatsUnavailableException.class);
+        verify(seatInventory, times(3)).claim(100L, SEATS);
+        given(seatInventory.findBestSeats(100L, 3)).willReturn(Optional.empty());
+        assertThatThrownBy(() -> seatHoldService.findBestSeats(100L, 3))
+                .isInstanceOf(ContiguousSeatsUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("should throw InvalidSeatCountException when fewer than one seat is requested")
+    void shouldThrowWhenSeatCountNotPositive() {
+        // when + then
+        assertThatThrownBy(() -> seatHoldService.findBestSeats(100L, 0))
+                .isInstanceOf(InvalidSeatCountException.class);
+        assertThatThrownBy(() -> seatHoldService.holdBestSeats(100L, -1))
+                .isInstanceOf(InvalidSeatCountException.class);
+        verifyNoInteractions(seatInventory);
+    }
+
+    @Test
+    @DisplayName("should release seats when hold expires")
+    void shouldReleaseSeatsWhenHoldExpires() {
+        // given
+        given(seatInventory.claim(100L, SEATS)).willReturn(true);
+        SeatHold seatHold = seatHoldService.createHold(100L, SEATS);
+        // when
+        tick(8);
+        // then
+        verify(seatInventory).expire(100L, SEATS);
+        assertThatThrownBy(() -> seatHoldService.getHold(seatHold.getId()))
+                .isInstanceOf(SeatHoldNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("should release seats immediately and not again on expiry when hold is released")
+    void shouldReleaseHold() {
+        // given
+        given(seatInventory.claim(100L, SEATS)).willReturn(true);
+        SeatHold seatHold = seatHoldService.createHold(100L, SEATS);
+        // when
+        seatHoldService.releaseHold(seatHold.getId());
+        tick(8);
+        // then
+        verify(seatInventory, times(1)).release(100L, SEATS);
+        verify(seatInventory, never()).expire(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("should keep seats claimed when hold is consumed")
+    void shouldConsumeHoldWithoutReleasingSeats() {
+        // given
+        given(seatInventory.claim(100L, SEATS)).willReturn(true);
+        SeatHold seatHold = seatHoldService.createHold(100L, SEATS);
+        // when
+        SeatHold consumed = seatHoldService.consumeHold(seatHold.getId());
+        tick(8);
+        // then
+        assertThat(consumed).isEqualTo(seatHold);
+        verify(seatInventory, never()).release(anyLong(), anyList());
+        verify(seatInventory, never()).expire(anyLong(), anyList());
+        assertThatThrownBy(() -> seatHoldService.consumeHold(seatHold.getId()))
+                .isInstanceOf(SeatHoldNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("should throw SeatHoldNotFoundException when releasing unknown hold")
+    void shouldThrowWhenReleasingUnknownHold() {
+        assertThatThrownBy(() -> seatHoldService.releaseHold("missing"))
+                .isInstanceOf(SeatHoldNotFoundException.class);
+        verifyNoInteractions(seatInventory);
+    }
+
+    @Test
+    @DisplayName("should restore a snapshot hold until its original expiry and expire a hold that already lapsed")
+    void shouldRestoreHold() {
+        // given
+        SeatHold active = new SeatHold("active", 100L, SEATS, LocalDateTime.now().plusMinutes(3));
+        SeatHold lapsed = new SeatHold("lapsed", 200L, SEATS, LocalDateTime.now().minusSeconds(1));
+        // when
+        seatHoldService.restoreHold(active);
+        seatHoldService.restoreHold(lapsed);
+        // then
+        assertThat(seatHoldService.getActiveHolds(100L)).containsExactly(active);
+        assertThat(seatHoldService.getActiveHolds(200L)).isEmpty();
+        verify(seatInventory).expire(200L, SEATS);
+        tick(4);
+        verify(seatInventory).expire(100L, SEATS);
+        assertThat(seatHoldService.getActiveHolds(100L)).isEmpty();
+    }
+
+    private void tick(int times) {
+        for (int i = 0; i < times; i++) {
+            timingWheel.tick();
+        }
+    }
+
+}
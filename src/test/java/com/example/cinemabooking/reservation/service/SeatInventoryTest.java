@@ -0,0 +1,466 @@
+package com.example.cinemabooking.reservation.service;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import com.example.cinemabooking.hall.service.CinemaHallChangedEvent;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.repository.ReservedSeatRepository;
+import com.example.cinemabooking.reservation.service.exception.InvalidSeatException;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.showtime.service.ShowTimeChangedEvent;
+import com.example.cinemabooking.showtime.service.exception.ShowTimeNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatInventoryTest {
+
+    @Mock
+    private ShowTimeRepository showTimeRepository;
+
+    @Mock
+    private ReservedSeatRepository reservedSeatRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SeatInventory seatInventory;
+
+    private CinemaHall cinemaHall;
+    private ShowTime showTime;
+
+    @BeforeEach
+    void setUp() {
+        cinemaHall = TestFixtures.cinemaHallWithId();
+        showTime = TestFixtures.showTime(LocalDateTime.now(), TestFixtures.movieWithId(), cinemaHall);
+    }
+
+    // ===========================================================
+    // LOADING
+    // ===========================================================
+
+    @Test
+    @DisplayName("should load seat map once and mark reserved seats as unavailable")
+    void shouldLoadSeatMapOnce() {
+        // given
+        givenShowTimeWithReservedSeats(new SeatPosition(1, 1));
+        // when
+        boolean reservedSeatAvailable = seatInventory.isAvailable(100L, new SeatPosition(1, 1));
+        boolean freeSeatAvailable = seatInventory.isAvailable(100L, new SeatPosition(1, 2));
+        int availableSeatCount = seatInventory.getAvailableSeatCount(100L);
+        // then
+        assertThat(reservedSeatAvailable).isFalse();
+        assertThat(freeSeatAvailable).isTrue();
+        assertThat(availableSeatCount).isEqualTo(49);
+        verify(showTimeRepository, times(1)).findById(100L);
+        verify(reservedSeatRepository, times(1)).findSeatPositions(100L, ReservationStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("should throw ShowTimeNotFoundException when showtime does not exist")
+    void shouldThrowWhenShowTimeNotFound() {
+        // given
+        given(showTimeRepository.findById(100L)).willReturn(Optional.empty());
+        // when + then
+        assertThatThrownBy(() -> seatInventory.isAvailable(100L, new SeatPosition(1, 1)))
+                .isInstanceOf(ShowTimeNotFoundException.class);
+        verifyNoInteractions(reservedSeatRepository);
+    }
+
+    @Test
+    @DisplayName("should never offer aisle or blocked cells of hall layout")
+    void shouldNotOfferAisleOrBlockedCells() {
+        // given
+        cinemaHall.setSeatLayout(SeatLayout.parse(2, 4, List.of("S_SS", "XSSS")));
+        givenShowTimeWithReservedSeats();
+        // when
+        int availableSeatCount = seatInventory.getAvailableSeatCount(100L);
+        List<SeatPosition> availableSeats = seatInventory.getAvailableSeats(100L);
+        // then
+        assertThat(availableSeatCount).isEqualTo(6);
+        assertThat(availableSeats).hasSize(6).doesNotContain(new SeatPosition(1, 2), new SeatPosition(2, 1));
+        assertThatThrownBy(() -> seatInventory.claim(100L, List.of(new SeatPosition(1, 2))))
+                .isInstanceOf(InvalidSeatException.class);
+    }
+
+    @Test
+    @DisplayName("should encode every cell of seat map as a 2-bit state after a small header")
+    void shouldEncodeSeatMap() {
+        // given
+        cinemaHall.setSeatLayout(SeatLayout.parse(2, 3, List.of("S_S", "XSS")));
+        givenShowTimeWithReservedSeats(new SeatPosition(1, 3));
+        // when
+        byte[] encoded = seatInventory.encodeSeatMap(100L);
+        // then
+        assertThat(encoded).containsExactly(SeatMap.ENCODING_VERSION, 0, 2, 0, 3,
+                (byte) (SeatState.AVAILABLE.ordinal() | SeatState.AISLE.ordinal() << 2 | SeatState.TAKEN.ordinal() << 4 | SeatState.BLOCKED.ordinal() << 6),
+                (byte) (SeatState.AVAILABLE.ordinal() | SeatState.AVAILABLE.ordinal() << 2));
+    }
+
+    // ===========================================================
+    // BEST SEATS
+    // ===========================================================
+
+    @Test
+    @DisplayName("should pick the centred block of the middle row in an empty hall")
+    void shouldFindCentredBlockInEmptyHall() {
+        // given
+        givenShowTimeWithReservedSeats();
+        // when
+        Optional<List<SeatPosition>> seats = seatInventory.findBestSeats(100L, 4);
+        // then
+        assertThat(seats).contains(List.of(new SeatPosition(3, 4), new SeatPosition(3, 5),
+                new SeatPosition(3, 6), new SeatPosition(3, 7)));
+    }
+
+    @Test
+    @DisplayName("should prefer a centred block one row away over an off-centre block in the middle row")
+    void shouldPreferCentredBlockInNeighbouringRow() {
+        // given
+        givenShowTimeWithReservedSeats(new SeatPosition(3, 5));
+        // when
+        Optional<List<SeatPosition>> seats = seatInventory.findBestSeats(100L, 4);
+        // then
+        assertThat(seats).contains(List.of(new SeatPosition(2, 4), new SeatPosition(2, 5),
+                new SeatPosition(2, 6), new SeatPosition(2, 7)));
+    }
+
+    @Test
+    @DisplayName("should never place a block across an aisle")
+    void shouldNotSpanAisle() {
+        // given
+        cinemaHall.setSeatLayout(SeatLayout.parse(1, 7, List.of("SSS_SSS")));
+        givenShowTimeWithReservedSeats();
+        // when
+        Optional<List<SeatPosition>> tooWide = seatInventory.findBestSeats(100L, 4);
+        Optional<List<SeatPosition>> fitting = seatInventory.findBestSeats(100L, 3);
+        // then
+        assertThat(tooWide).isEmpty();
+        assertThat(fitting).contains(List.of(new SeatPosition(1, 5), new SeatPosition(1, 6), new SeatPosition(1, 7)));
+    }
+
+    @Test
+    @DisplayName("should find a block spanning several 64-seat words of a wide row")
+    void shouldFindBlockAcrossWords() {
+        // given
+        cinemaHall.setSeatLayout(SeatLayout.grid(2, 200));
+        List<SeatPosition> reserved = new ArrayList<>();
+        for (int seat = 1; seat <= 200; seat++) {
+            reserved.add(new SeatPosition(1, seat));
+            if (seat <= 60 || seat > 139) {
+                reserved.add(new SeatPosition(2, seat));
+            }
+        }
+        givenShowTimeWithReservedSeats(reserved.toArray(SeatPosition[]::new));
+        // when
+        List<SeatPosition> seats = seatInventory.findBestSeats(100L, 70).orElseThrow();
+        Optional<List<SeatPosition>> tooMany = seatInventory.findBestSeats(100L, 80);
+        // then
+        assertThat(seats).hasSize(70)
+                .startsWith(new SeatPosition(2, 66))
+                .endsWith(new SeatPosition(2, 135));
+        assertThat(tooMany).isEmpty();
+    }
+
+    // ===========================================================
+    // CLAIM / RELEASE
+    // ===========================================================
+
+    @Test
+    @DisplayName("should claim available seats and reject claiming them again")
+    void shouldClaimSeatsOnlyOnce() {
+        // given
+        givenShowTimeWithReservedSeats();
+        List<SeatPosition> seats = List.of(new SeatPosition(2, 3), new SeatPosition(2, 4));
+        // when
+        boolean firstClaim = seatInventory.claim(100L, seats);
+        boolean secondClaim = seatInventory.claim(100L, List.of(new SeatPosition(2, 4)));
+        // then
+        assertThat(firstClaim).isTrue();
+        assertThat(secondClaim).isFalse();
+        assertThat(seatInventory.getAvailableSeats(100L)).hasSize(48).doesNotContainAnyElementsOf(seats);
+    }
+
+    @Test
+    @DisplayName("should not claim any seat when one of requested seats is taken")
+    void shouldClaimAllOrNothing() {
+        // given
+        givenShowTimeWithReservedSeats(new SeatPosition(5, 10));
+        // when
+        boolean claimed = seatInventory.claim(100L, List.of(new SeatPosition(1, 1), new SeatPosition(5, 10)));
+        // then
+        assertThat(claimed).isFalse();
+        assertThat(seatInventory.isAvailable(100L, new SeatPosition(1, 1))).isTrue();
+        assertThat(seatInventory.getAvailableSeatCount(100L)).isEqualTo(49);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("should publish claimed, released and expired seats")
+    void shouldPublishSeatChanges() {
+        // given
+        givenShowTimeWithReservedSeats();
+        List<SeatPosition> seats = List.of(new SeatPosition(2, 3));
+        // when
+        seatInventory.claim(100L, seats);
+        seatInventory.expire(100L, seats);
+        seatInventory.claim(100L, seats);
+        seatInventory.release(100L, seats);
+        // then
+        InOrder inOrder = inOrder(eventPublisher);
+        inOrder.verify(eventPublisher).publishEvent(new SeatsChangedEvent(100L, SeatChange.CLAIMED, seats));
+        inOrder.verify(eventPublisher).publishEvent(new SeatsReleasingEvent(100L, seats));
+        inOrder.verify(eventPublisher).publishEvent(new SeatsChangedEvent(100L, SeatChange.HOLD_EXPIRED, seats));
+        inOrder.verify(eventPublisher).publishEvent(new SeatsChangedEvent(100L, SeatChange.CLAIMED, seats));
+        inOrder.verify(eventPublisher).publishEvent(new SeatsReleasingEvent(100L, seats));
+        inOrder.verify(eventPublisher).publishEvent(new SeatsChangedEvent(100L, SeatChange.RELEASED, seats));
+        assertThat(seatInventory.getSeatState(100L, new SeatPosition(2, 3))).isEqualTo(SeatState.AVAILABLE);
+    }
+
+    @Test
+    @DisplayName("should make released seats available again")
+    void shouldReleaseSeats() {
+        // given
+        givenShowTimeWithReservedSeats(new SeatPosition(3, 3));
+        // when
+        seatInventory.release(100L, List.of(new SeatPosition(3, 3)));
+        // then
+        assertThat(seatInventory.isAvailable(100L, new SeatPosition(3, 3))).isTrue();
+        assertThat(seatInventory.getAvailableSeatCount(100L)).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("should throw InvalidSeatException when seat is outside of cinema hall grid")
+    void shouldThrowWhenSeatOutsideGrid() {
+        // given
+        givenShowTimeWithReservedSeats();
+        // when + then
+        assertThatThrownBy(() -> seatInventory.claim(100L, List.of(new SeatPosition(6, 1))))
+                .isInstanceOf(InvalidSeatException.class);
+        assertThatThrownBy(() -> seatInventory.isAvailable(100L, new SeatPosition(1, 11)))
+                .isInstanceOf(InvalidSeatException.class);
+    }
+
+    @Test
+    @DisplayName("should let exactly one of many concurrent buyers claim each seat")
+    void shouldClaimEachSeatExactlyOnceUnderContention() throws Exception {
+        // given
+        givenShowTimeWithReservedSeats();
+        int buyers = 8;
+        AtomicIntegerArray claimsPerSeat = new AtomicIntegerArray(50);
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        List<Future<?>> futures = new ArrayList<>();
+        // when
+        for (int buyer = 0; buyer < buyers; buyer++) {
+            futures.add(executor.submit(() -> {
+                List<Integer> indexes = new ArrayList<>();
+                for (int index = 0; index < 50; index++) {
+                    indexes.add(index);
+                }
+                Collections.shuffle(indexes);
+                for (int index : indexes) {
+                    SeatPosition seat = new SeatPosition(index / 10 + 1, index % 10 + 1);
+                    if (seatInventory.claim(100L, List.of(seat))) {
+                        claimsPerSeat.incrementAndGet(index);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        // then
+        for (int index = 0; index < 50; index++) {
+            assertThat(claimsPerSeat.get(index)).isEqualTo(1);
+        }
+        assertThat(seatInventory.getAvailableSeatCount(100L)).isZero();
+    }
+
+    @Test
+    @DisplayName("should never read a seat map in the middle of a seat change")
+    void shouldReadSeatMapBetweenChanges() throws Exception {
+        // given
+        givenShowTimeWithReservedSeats();
+        SeatMap seatMap = loadSeatMap(100L);
+        CountDownLatch halfDone = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Thread change = Thread.ofPlatform().start(() -> seatInventory.atomically(100L, () -> {
+            seatInventory.claim(100L, List.of(new SeatPosition(1, 1)));
+            halfDone.countDown();
+            awaitUninterruptibly(finish);
+            return seatInventory.claim(100L, List.of(new SeatPosition(1, 2)));
+        }));
+        halfDone.await();
+        // when
+        CompletableFuture<long[]> read = CompletableFuture.supplyAsync(() -> seatMap.readConsistently(seatMap::copyTakenWords));
+        finish.countDown();
+        // then
+        assertThat(read.get(5, TimeUnit.SECONDS)[0] & 0b11).isEqualTo(0b11);
+        change.join();
+    }
+
+    // ===========================================================
+    // EVENTS
+    // ===========================================================
+
+    @Test
+    @DisplayName("should reload seat map after showtime was deleted")
+    void shouldEvictSeatMapWhenShowTimeDeleted() {
+        // given
+        givenShowTimeWithReservedSeats();
+        seatInventory.claim(100L, List.of(new SeatPosition(1, 1)));
+        // when
+        seatInventory.onShowTimeChanged(ShowTimeChangedEvent.deleted(showTime));
+        // then
+        assertThat(seatInventory.isAvailable(100L, new SeatPosition(1, 1))).isTrue();
+        verify(showTimeRepository, times(2)).findById(100L);
+    }
+
+    @Test
+    @DisplayName("should keep seat map when showtime was updated within the same cinema hall")
+    void shouldKeepSeatMapWhenShowTimeUpdatedInSameHall() {
+        // given
+        givenShowTimeWithReservedSeats();
+        seatInventory.claim(100L, List.of(new SeatPosition(1, 1)));
+        // when
+        seatInventory.onShowTimeChanged(ShowTimeChangedEvent.created(showTime));
+        // then
+        assertThat(seatInventory.isAvailable(100L, new SeatPosition(1, 1))).isFalse();
+        verify(showTimeRepository, times(1)).findById(100L);
+    }
+
+    @Test
+    @DisplayName("should keep claims when the layout of its cinema hall changed")
+    void shouldKeepClaimsWhenCinemaHallRelaidOut() {
+        // given
+        givenShowTimeWithReservedSeats();
+        seatInventory.claim(100L, List.of(new SeatPosition(1, 1), new SeatPosition(5, 10)));
+        // when
+        seatInventory.onCinemaHallChanged(CinemaHallChangedEvent.relaidOut(cinemaHall.getId(), SeatLayout.grid(6, 12)));
+        // then
+        assertThat(seatInventory.isAvailable(100L, new SeatPosition(1, 1))).isFalse();
+        assertThat(seatInventory.isAvailable(100L, new SeatPosition(5, 10))).isFalse();
+        assertThat(seatInventory.isAvailable(100L, new SeatPosition(6, 12))).isTrue();
+        assertThat(seatInventory.getClaimedSeats(cinemaHall.getId())).containsExactly(new SeatPosition(1, 1), new SeatPosition(5, 10));
+        verify(showTimeRepository, times(1)).findById(100L);
+    }
+
+    @Test
+    @DisplayName("should keep seat map when its cinema hall was only renamed")
+    void shouldKeepSeatMapWhenCinemaHallRenamed() {
+        // given
+        givenShowTimeWithReservedSeats();
+        seatInventory.claim(100L, List.of(new SeatPosition(1, 1)));
+        // when
+        seatInventory.onCinemaHallChanged(CinemaHallChangedEvent.renamed(cinemaHall.getId()));
+        // then
+        assertThat(seatInventory.isAvailable(100L, new SeatPosition(1, 1))).isFalse();
+        verify(showTimeRepository, times(1)).findById(100L);
+    }
+
+    @Test
+    @DisplayName("should drop seat maps of a deleted cinema hall")
+    void shouldEvictSeatMapWhenCinemaHallDeleted() {
+        // given
+        givenShowTimeWithReservedSeats();
+        seatInventory.claim(100L, List.of(new SeatPosition(1, 1)));
+        // when
+        seatInventory.onCinemaHallChanged(CinemaHallChangedEvent.deleted(cinemaHall.getId()));
+        // then
+        assertThat(seatInventory.getLoadedSeatMaps()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should release seats of cancelled reservation")
+    void shouldReleaseSeatsOfCancelledReservation() {
+        // given
+        givenShowTimeWithReservedSeats(new SeatPosition(2, 2));
+        seatInventory.getAvailableSeatCount(100L);
+        // when
+        seatInventory.onReservationCancelled(new ReservationCancelledEvent(5L, 100L, List.of(new SeatPosition(2, 2))));
+        // then
+        assertThat(seatInventory.isAvailable(100L, new SeatPosition(2, 2))).isTrue();
+        verify(eventPublisher).publishEvent(new SeatsChangedEvent(100L, SeatChange.RELEASED, List.of(new SeatPosition(2, 2))));
+    }
+
+    @Test
+    @DisplayName("should only announce the release of a cancelled reservation whose seat map is not loaded")
+    void shouldIgnoreCancelledReservationOfNotLoadedShowTime() {
+        // when
+        seatInventory.onReservationCancelled(new ReservationCancelledEvent(5L, 100L, List.of(new SeatPosition(2, 2))));
+        // then
+        verifyNoInteractions(showTimeRepository, reservedSeatRepository);
+        verify(eventPublisher).publishEvent(new SeatsReleasingEvent(100L, List.of(new SeatPosition(2, 2))));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    // ===========================================================
+    // SNAPSHOT
+    // ===========================================================
+
+    @Test
+    @DisplayName("should install a seat map restored from the taken words of another without loading it")
+    void shouldInstallRestoredSeatMap() {
+        // given
+        cinemaHall.setSeatLayout(SeatLayout.parse(2, 3, List.of("S_S", "XSS")));
+        givenShowTimeWithReservedSeats(new SeatPosition(1, 3));
+        SeatMap loaded = loadSeatMap(100L);
+        // when
+        SeatMap restored = SeatMap.restore(cinemaHall.getId(), loaded.getLayout(), loaded.copyTakenWords());
+        seatInventory.install(200L, restored);
+        // then
+        assertThat(seatInventory.getLoadedSeatMaps()).containsKeys(100L, 200L);
+        assertThat(seatInventory.encodeSeatMap(200L)).isEqualTo(seatInventory.encodeSeatMap(100L));
+        verify(showTimeRepository, never()).findById(200L);
+        assertThatThrownBy(() -> SeatMap.restore(cinemaHall.getId(), loaded.getLayout(), new long[2]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private SeatMap loadSeatMap(Long showTimeId) {
+        seatInventory.getAvailableSeatCount(showTimeId);
+        return seatInventory.getLoadedSeatMaps().get(showTimeId);
+    }
+
+    private void givenShowTimeWithReservedSeats(SeatPosition... reservedSeats) {
+        given(showTimeRepository.findById(100L)).willReturn(Optional.of(showTime));
+        given(reservedSeatRepository.findSeatPositions(100L, ReservationStatus.ACTIVE)).willReturn(List.of(reservedSeats));
+    }
+
+}
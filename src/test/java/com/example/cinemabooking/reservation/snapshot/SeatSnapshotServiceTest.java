@@ -0,0 +1,193 @@
+package com.example.cinemabooking.reservation.snapshot;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.ReservedSeat;
+import com.example.cinemabooking.reservation.journal.SeatJournal;
+import com.example.cinemabooking.reservation.journal.SeatJournalEntry;
+import com.example.cinemabooking.reservation.journal.SeatJournalOperation;
+import com.example.cinemabooking.reservation.journal.SeatJournalReplay;
+import com.example.cinemabooking.reservation.repository.ReservedSeatRepository;
+import com.example.cinemabooking.reservation.service.SeatHold;
+import com.example.cinemabooking.reservation.service.SeatHoldService;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.service.SeatMap;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatSnapshotServiceTest {
+
+    private static final SeatPosition CANCELLED = new SeatPosition(1, 1);
+    private static final SeatPosition HELD = new SeatPosition(1, 2);
+    private static final SeatPosition HOLD_RELEASED = new SeatPosition(1, 3);
+    private static final SeatPosition RESERVED = new SeatPosition(2, 2);
+    private static final SeatPosition UNCONFIRMED = new SeatPosition(3, 3);
+
+    @Mock
+    private SeatSnapshotStore seatSnapshotStore;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private ShowTimeRepository showTimeRepository;
+
+    @Mock
+    private ReservedSeatRepository reservedSeatRepository;
+
+    @Mock
+    private SeatJournal seatJournal;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SeatInventory seatInventory;
+    private CinemaHall cinemaHall;
+    private ShowTime showTime;
+
+    @BeforeEach
+    void setUp() {
+        seatInventory = new SeatInventory(showTimeRepository, reservedSeatRepository, eventPublisher);
+        cinemaHall = TestFixtures.cinemaHallWithId();
+        showTime = TestFixtures.showTime(LocalDateTime.now(), TestFixtures.movieWithId(), cinemaHall);
+    }
+
+    @Test
+    @DisplayName("should write each loaded seat map with its active holds and the journal position it was read at and retire the journal before it")
+    void shouldTakeSnapshot() throws IOException {
+        // given
+        given(showTimeRepository.findById(100L)).willReturn(Optional.of(showTime));
+        given(reservedSeatRepository.findSeatPositions(100L, ReservationStatus.ACTIVE)).willReturn(List.of(CANCELLED));
+        seatInventory.claim(100L, List.of(HELD));
+        SeatHold hold = new SeatHold("hold", 100L, List.of(HELD), LocalDateTime.now().plusMinutes(5));
+        given(seatHoldService.getActiveHolds(100L)).willReturn(List.of(hold));
+        given(seatJournal.position()).willReturn(4096L, 4200L);
+        // when
+        service(seatJournal, null).takeSnapshot();
+        // then
+        ArgumentCaptor<SeatSnapshot> snapshot = ArgumentCaptor.forClass(SeatSnapshot.class);
+        verify(seatSnapshotStore).write(snapshot.capture());
+        assertThat(snapshot.getValue().getJournalPosition()).isEqualTo(4096L);
+        assertThat(snapshot.getValue().getHolds()).containsExactly(hold);
+        SeatSnapshot.ShowTimeSeats seats = snapshot.getValue().getShowTimes().getFirst();
+        assertThat(seats.getShowTimeId()).isEqualTo(100L);
+        assertThat(seats.getCinemaHallId()).isEqualTo(1L);
+        assertThat(seats.getJournalPosition()).isEqualTo(4200L);
+        assertThat(restore(seats).isAvailable(CANCELLED)).isFalse();
+        assertThat(restore(seats).isAvailable(HELD)).isFalse();
+        assertThat(restore(seats).getAvailableCount()).isEqualTo(48);
+        verify(seatJournal).retireBefore(4096L);
+    }
+
+    @Test
+    @DisplayName("should apply journal entries written after the snapshot and drop holds whose seats changed since")
+    void shouldRestoreSnapshotAndJournalDelta() {
+        // given
+        SeatJournalReplay replay = new SeatJournalReplay(0L);
+        replay.accept(entry(SeatJournalOperation.RELEASE, CANCELLED));
+        replay.accept(entry(SeatJournalOperation.RELEASE, HOLD_RELEASED));
+        replay.accept(entry(SeatJournalOperation.CLAIM, RESERVED));
+        replay.accept(entry(SeatJournalOperation.CONFIRM, RESERVED));
+        replay.accept(entry(SeatJournalOperation.CLAIM, UNCONFIRMED));
+        SeatHold held = new SeatHold("held", 100L, List.of(HELD), LocalDateTime.now().plusMinutes(5));
+        SeatHold released = new SeatHold("released", 100L, List.of(HOLD_RELEASED), LocalDateTime.now().plusMinutes(5));
+        givenSnapshot(2048L, List.of(held, released), CANCELLED, HELD, HOLD_RELEASED);
+        // when
+        service(seatJournal, replay).run(new DefaultApplicationArguments());
+        // then
+        assertThat(seatInventory.isAvailable(100L, CANCELLED)).isTrue();
+        assertThat(seatInventory.isAvailable(100L, HELD)).isFalse();
+        assertThat(seatInventory.isAvailable(100L, HOLD_RELEASED)).isTrue();
+        assertThat(seatInventory.isAvailable(100L, RESERVED)).isFalse();
+        assertThat(seatInventory.isAvailable(100L, UNCONFIRMED)).isTrue();
+        verify(seatHoldService).restoreHold(held);
+        verify(seatHoldService, never()).restoreHold(released);
+        verify(showTimeRepository, never()).findById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("should rebuild taken seats from active reservations and claim held seats again when there is no journal")
+    void shouldRestoreHoldsOnActiveReservationsWithoutJournal() {
+        // given
+        SeatHold held = new SeatHold("held", 100L, List.of(HELD), LocalDateTime.now().plusMinutes(5));
+        SeatHold reserved = new SeatHold("reserved", 100L, List.of(RESERVED), LocalDateTime.now().plusMinutes(5));
+        givenSnapshot(SeatSnapshot.NO_JOURNAL, List.of(held, reserved), CANCELLED, HELD);
+        given(reservedSeatRepository.findReservedSeats(Set.of(100L), ReservationStatus.ACTIVE))
+                .willReturn(List.of(ReservedSeat.builder().showTime(showTime).rowNumber(2).seatNumber(2).build()));
+        // when
+        service(null, null).run(new DefaultApplicationArguments());
+        // then
+        assertThat(seatInventory.isAvailable(100L, CANCELLED)).isTrue();
+        assertThat(seatInventory.isAvailable(100L, HELD)).isFalse();
+        assertThat(seatInventory.isAvailable(100L, RESERVED)).isFalse();
+        assertThat(seatInventory.getAvailableSeatCount(100L)).isEqualTo(48);
+        verify(seatHoldService).restoreHold(held);
+        verify(seatHoldService, never()).restoreHold(reserved);
+    }
+
+    @Test
+    @DisplayName("should skip show times whose hall layout changed since the snapshot")
+    void shouldSkipShowTimeWithChangedLayout() {
+        // given
+        givenSnapshot(SeatSnapshot.NO_JOURNAL, List.of(new SeatHold("held", 100L, List.of(HELD), LocalDateTime.now().plusMinutes(5))), HELD);
+        cinemaHall.setSeatLayout(SeatLayout.grid(6, 10));
+        // when
+        service(null, null).run(new DefaultApplicationArguments());
+        // then
+        assertThat(seatInventory.getLoadedSeatMaps()).isEmpty();
+        verify(seatHoldService, never()).restoreHold(any());
+    }
+
+    private SeatSnapshotService service(SeatJournal journal, SeatJournalReplay replay) {
+        return new SeatSnapshotService(seatSnapshotStore, seatInventory, seatHoldService, showTimeRepository,
+                reservedSeatRepository, journal, replay, Duration.ofMinutes(1));
+    }
+
+    private void givenSnapshot(long journalPosition, List<SeatHold> holds, SeatPosition... taken) {
+        SeatMap seatMap = new SeatMap(1L, cinemaHall.getSeatLayout());
+        seatMap.claim(List.of(taken));
+        SeatSnapshot snapshot = new SeatSnapshot(System.currentTimeMillis(), journalPosition,
+                List.of(new SeatSnapshot.ShowTimeSeats(100L, 1L, 5, 10, cinemaHall.getSeatLayout().toBytes(),
+                        seatMap.copyTakenWords(), journalPosition)),
+                holds);
+        given(seatSnapshotStore.getLatest()).willReturn(Optional.of(snapshot));
+        given(showTimeRepository.findWithCinemaHallByIdIn(List.of(100L))).willReturn(List.of(showTime));
+    }
+
+    private SeatMap restore(SeatSnapshot.ShowTimeSeats seats) {
+        return SeatMap.restore(seats.getCinemaHallId(), SeatLayout.of(seats.getRows(), seats.getSeatsPerRow(), seats.getLayout()),
+                seats.getTakenWords());
+    }
+
+    private SeatJournalEntry entry(SeatJournalOperation operation, SeatPosition seat) {
+        return new SeatJournalEntry(0L, operation, 100L, System.currentTimeMillis(), List.of(seat));
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.example.cinemabooking.reservation.snapshot;
+
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import com.example.cinemabooking.reservation.service.SeatHold;
+import com.example.cinemabooking.reservation.service.SeatMap;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatSnapshotStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("should read back the seat maps, holds and journal position of the last written snapshot")
+    void shouldRoundTripSnapshot() throws IOException {
+        // given
+        Path path = directory.resolve("seat-snapshot.bin");
+        SeatSnapshotStore store = new SeatSnapshotStore(path);
+        SeatSnapshot first = snapshot(10L);
+        SeatSnapshot second = snapshot(20L);
+        // when
+        store.write(first);
+        store.write(second);
+        // then
+        assertThat(store.getLatest()).isEmpty();
+        assertThat(new SeatSnapshotStore(path).getLatest()).contains(second);
+        assertThat(Files.list(directory)).containsExactly(path);
+    }
+
+    @Test
+    @DisplayName("should ignore a missing, truncated or corrupted snapshot")
+    void shouldIgnoreBadSnapshot() throws IOException {
+        // given
+        Path path = directory.resolve("seat-snapshot.bin");
+        new SeatSnapshotStore(path).write(snapshot(10L));
+        byte[] bytes = Files.readAllBytes(path);
+        // when + then
+        assertThat(new SeatSnapshotStore(directory.resolve("missing.bin")).getLatest()).isEmpty();
+        Files.write(path, new byte[]{1, 2});
+        assertThat(new SeatSnapshotStore(path).getLatest()).isEmpty();
+        bytes[20] ^= 1;
+        Files.write(path, bytes);
+        assertThat(new SeatSnapshotStore(path).getLatest()).isEmpty();
+    }
+
+    private SeatSnapshot snapshot(long journalPosition) {
+        SeatLayout layout = SeatLayout.parse(2, 3, List.of("S_S", "XSS"));
+        SeatMap seatMap = new SeatMap(1L, layout);
+        seatMap.claim(List.of(new SeatPosition(1, 1), new SeatPosition(2, 3)));
+        SeatHold hold = new SeatHold("hold", 100L, List.of(new SeatPosition(2, 3)),
+                LocalDateTime.now().plusMinutes(5).truncatedTo(ChronoUnit.MILLIS));
+        return new SeatSnapshot(System.currentTimeMillis(), journalPosition,
+                List.of(new SeatSnapshot.ShowTimeSeats(100L, 1L, 2, 3, layout.toBytes(), seatMap.copyTakenWords(), journalPosition)),
+                List.of(hold));
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.reservation.dto.CreateReservationRequest;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.reservation.repository.ReservedSeatRepository;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.user.User;
+import com.example.cinemabooking.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: mvn -Pbenchmark test -Dtest=FlashSaleLoadBenchmarkTest
+// Every client browses the seat map, holds the best seats for a party of 1-4 and confirms them, all released at the
+// same instant against one show time. A smaller sale on its own show time warms the JIT and connection pool first and
+// is not reported. Sizes can be changed with -Dflashsale.clients, -Dflashsale.rows and -Dflashsale.seats-per-row.
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.accept-count=4096",
+        "booking.rate-limit.enabled=false"
+})
+class FlashSaleLoadBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("flashsale.clients", 2000);
+    private static final int ROWS = Integer.getInteger("flashsale.rows", 40);
+    private static final int SEATS_PER_ROW = Integer.getInteger("flashsale.seats-per-row", 50);
+    private static final int WARMUP_CLIENTS = 200;
+    private static final int USERS = 200;
+    private static final int RELEASE_EVERY = 10;
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservedSeatRepository reservedSeatRepository;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Autowired
+    private CinemaHallRepository cinemaHallRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+    private final AtomicInteger bookedSeats = new AtomicInteger();
+
+    private HttpClient httpClient;
+    private Long warmupShowTimeId;
+    private Long saleShowTimeId;
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+        }
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Movie movie = movieRepository.save(TestFixtures.movie());
+        warmupShowTimeId = createShowTime(movie, "Warm-up hall", LocalDateTime.now().plusDays(1));
+        saleShowTimeId = createShowTime(movie, "Flash sale hall", LocalDateTime.now().plusDays(2));
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(TestFixtures.user("flash-sale-" + i));
+        }
+        userIds = userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        reservationRepository.deleteAll();
+        userRepository.deleteAll();
+        showTimeRepository.deleteAll();
+        cinemaHallRepository.deleteAll();
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should sell out a show time to thousands of concurrent clients without errors or double bookings")
+    void shouldSellOutUnderFlashSaleLoad() throws Exception {
+        // given
+        runSale(warmupShowTimeId, WARMUP_CLIENTS);
+        latencies.values().forEach(Histogram::reset);
+        outcomes.values().forEach(LongAdder::reset);
+        bookedSeats.set(0);
+        long warmupSeats = reservedSeatRepository.count();
+        // when
+        long elapsed = runSale(saleShowTimeId, CLIENTS);
+        // then
+        report(elapsed);
+        assertThat(outcomes.get(Outcome.ERROR).sum()).isZero();
+        assertThat(outcomes.get(Outcome.BOOKED).sum() + outcomes.get(Outcome.RELEASED).sum() + outcomes.get(Outcome.SOLD_OUT).sum())
+                .isEqualTo(CLIENTS);
+        assertThat(reservedSeatRepository.count() - warmupSeats).isEqualTo(bookedSeats.get());
+        assertThat(bookedSeats.get()).isLessThanOrEqualTo(ROWS * SEATS_PER_ROW);
+    }
+
+    // All clients are parked on a latch first, so the sale opens for everyone at the same instant.
+    private long runSale(Long showTimeId, int clientCount) throws Exception {
+        CountDownLatch saleOpens = new CountDownLatch(1);
+        List<Future<?>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clientCount; client++) {
+                int clientIndex = client;
+                clients.add(executor.submit(() -> {
+                    saleOpens.await();
+                    runClient(showTimeId, clientIndex);
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            saleOpens.countDown();
+            for (Future<?> client : clients) {
+                client.get();
+            }
+            return System.nanoTime() - startedAt;
+        }
+    }
+
+    private void runClient(Long showTimeId, int clientIndex) throws Exception {
+        int partySize = 1 + clientIndex % 4;
+        Long userId = userIds.get(clientIndex % USERS);
+        if (send(Operation.BROWSE, get("/api/showtimes/" + showTimeId + "/seatmap")).statusCode() != 200) {
+            outcomes.get(Outcome.ERROR).increment();
+            return;
+        }
+        HttpResponse<String> hold = send(Operation.HOLD, post("/api/showtimes/" + showTimeId + "/best-seats?hold=true&count=" + partySize, ""));
+        if (hold.statusCode() == 409) {
+            outcomes.get(Outcome.SOLD_OUT).increment();
+            return;
+        }
+        if (hold.statusCode() != 200) {
+            outcomes.get(Outcome.ERROR).increment();
+            return;
+        }
+        String holdId = objectMapper.readTree(hold.body()).path("hold").path("id").asText();
+        if (clientIndex % RELEASE_EVERY == 0) {
+            boolean released = send(Operation.RELEASE, HttpRequest.newBuilder(uri("/api/holds/" + holdId)).DELETE().build()).statusCode() == 204;
+            outcomes.get(released ? Outcome.RELEASED : Outcome.ERROR).increment();
+            return;
+        }
+        String request = objectMapper.writeValueAsString(CreateReservationRequest.builder().userId(userId).holdId(holdId).build());
+        HttpResponse<String> reservation = send(Operation.CONFIRM, post("/api/showtimes/" + showTimeId + "/reservations", request));
+        if (reservation.statusCode() != 201) {
+            outcomes.get(Outcome.ERROR).increment();
+            return;
+        }
+        JsonNode seats = objectMapper.readTree(reservation.body()).path("seats");
+        bookedSeats.addAndGet(seats.size());
+        outcomes.get(Outcome.BOOKED).increment();
+    }
+
+    private Long createShowTime(Movie movie, String hallName, LocalDateTime startTime) {
+        CinemaHall cinemaHall = TestFixtures.cinemaHall();
+        cinemaHall.setName(hallName);
+        cinemaHall.setSeatLayout(SeatLayout.grid(ROWS, SEATS_PER_ROW));
+        ShowTime showTime = TestFixtures.showTimeWithoutId(startTime, movie, cinemaHallRepository.save(cinemaHall));
+        return showTimeRepository.save(showTime).getId();
+    }
+
+    private HttpResponse<String> send(Operation operation, HttpRequest request) throws Exception {
+        long startedAt = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        latencies.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt), MAX_LATENCY_MICROS));
+        return response;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%d clients, %d seats, %.3f s%n", CLIENTS, ROWS * SEATS_PER_ROW, seconds);
+        System.out.printf("%-8s %8s %10s %9s %9s %9s %9s%n", "op", "count", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        latencies.forEach((operation, histogram) -> System.out.printf("%-8s %8d %10.0f %9.2f %9.2f %9.2f %9.2f%n",
+                operation, histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(99) / 1e3,
+                histogram.getValueAtPercentile(99.9) / 1e3, histogram.getMaxValue() / 1e3));
+        System.out.printf("booked %d (%d seats), released %d, sold out %d, errors %d%n",
+                outcomes.get(Outcome.BOOKED).sum(), bookedSeats.get(), outcomes.get(Outcome.RELEASED).sum(),
+                outcomes.get(Outcome.SOLD_OUT).sum(), outcomes.get(Outcome.ERROR).sum());
+    }
+
+    private enum Operation {
+        BROWSE,
+        HOLD,
+        RELEASE,
+        CONFIRM
+    }
+
+    private enum Outcome {
+        BOOKED,
+        RELEASED,
+        SOLD_OUT,
+        ERROR
+    }
+
+}
@@ -0,0 +1,238 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.reservation.dto.CreateReservationRequest;
+import com.example.cinemabooking.reservation.dto.CreateSeatHoldRequest;
+import com.example.cinemabooking.reservation.dto.SeatRequest;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ReservationControllerIntegrationTest {
+
+    private static final SeatRequest SEAT = SeatRequest.builder().rowNumber(2).seatNumber(3).build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository cinemaHallRepository;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long showTimeId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        ShowTime showTime = TestFixtures.showTimeWithoutId(LocalDateTime.now().plusDays(1),
+                movieRepository.save(TestFixtures.movie()), cinemaHallRepository.save(TestFixtures.cinemaHall()));
+        showTimeId = showTimeRepository.save(showTime).getId();
+        userId = userRepository.save(TestFixtures.user()).getId();
+    }
+
+    // --------------------------------------------------
+    // POST /api/showtimes/{showTimeId}/reservations
+    // --------------------------------------------------
+
+    @Test
+    @DisplayName("should create reservation for available seats")
+    void shouldCreateReservation() throws Exception {
+        // when
+        reserve(CreateReservationRequest.builder().userId(userId).seats(List.of(SEAT)).build())
+                // then
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("ACTIVE"))
+                .andExpect(jsonPath("$.userId").value(userId))
+                .andExpect(jsonPath("$.showTimeId").value(showTimeId))
+                .andExpect(jsonPath("$.seats[0].rowNumber").value(2))
+                .andExpect(jsonPath("$.seats[0].seatNumber").value(3));
+    }
+
+    @Test
+    @DisplayName("should return 409 when seat is already reserved")
+    void shouldReturn409WhenSeatAlreadyReserved() throws Exception {
+        // given
+        reserve(CreateReservationRequest.builder().userId(userId).seats(List.of(SEAT)).build())
+                .andExpect(status().isCreated());
+        // when
+        reserve(CreateReservationRequest.builder().userId(userId).seats(List.of(SEAT)).build())
+                // then
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("should confirm held seats")
+    void shouldConfirmHold() throws Exception {
+        // given
+        String hold = mockMvc.perform(post("/api/showtimes/" + showTimeId + "/holds")
+                        .content(objectMapper.writeValueAsString(CreateSeatHoldRequest.builder().seats(List.of(SEAT)).build()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        String holdId = JsonPath.read(hold, "$.id");
+        // when
+        reserve(CreateReservationRequest.builder().userId(userId).holdId(holdId).build())
+                // then
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.seats[0].rowNumber").value(2));
+        mockMvc.perform(get("/api/holds/" + holdId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("should return 400 when neither hold nor seats are provided")
+    void shouldReturn400WhenNoSeatSelection() throws Exception {
+        reserve(CreateReservationRequest.builder().userId(userId).build())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("should return 404 when user does not exist and free the seats again")
+    void shouldReturn404WhenUserNotFound() throws Exception {
+        // given
+        reserve(CreateReservationRequest.builder().userId(999L).seats(List.of(SEAT)).build())
+                .andExpect(status().isNotFound());
+        // when
+        reserve(CreateReservationRequest.builder().userId(userId).seats(List.of(SEAT)).build())
+                // then
+                .andExpect(status().isCreated());
+    }
+
+    // --------------------------------------------------
+    // GET /api/reservations/{id} + POST /api/reservations/{id}/cancel
+    // --------------------------------------------------
+
+    @Test
+    @DisplayName("should return and cancel reservation")
+    void shouldReturnAndCancelReservation() throws Exception {
+        // given
+        String reservation = reserve(CreateReservationRequest.builder().userId(userId).seats(List.of(SEAT)).build())
+                .andReturn().getResponse().getContentAsString();
+        Integer reservationId = JsonPath.read(reservation, "$.id");
+        // when + then
+        mockMvc.perform(get("/api/reservations/" + reservationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seats[0].seatNumber").value(3));
+        mockMvc.perform(post("/api/reservations/" + reservationId + "/cancel"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"))
+                .andExpect(jsonPath("$.seats[0].seatNumber").value(3));
+        mockMvc.perform(post("/api/reservations/" + reservationId + "/cancel"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("should return 404 when reservation does not exist")
+    void shouldReturn404WhenReservationNotFound() throws Exception {
+        mockMvc.perform(get("/api/reservations/999"))
+                .andExpect(status().isNotFound());
+    }
+
+    // --------------------------------------------------
+    // GET /api/users/{userId}/reservations
+    // --------------------------------------------------
+
+    @Test
+    @DisplayName("should page through user reservations newest first with seats")
+    void shouldPageUserReservations() throws Exception {
+        // given
+        Integer first = reserveSeat(1);
+        Integer second = reserveSeat(2);
+        Integer third = reserveSeat(3);
+        // when
+        String page = mockMvc.perform(get("/api/users/" + userId + "/reservations").param("size", "2"))
+                // then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(third))
+                .andExpect(jsonPath("$.items[0].seats[0].seatNumber").value(3))
+                .andExpect(jsonPath("$.items[0].movieTitle").exists())
+                .andExpect(jsonPath("$.items[1].id").value(second))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/users/" + userId + "/reservations").param("size", "2").param("cursor", JsonPath.<String>read(page, "$.nextCursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(first))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("should filter user reservations by status")
+    void shouldFilterUserReservationsByStatus() throws Exception {
+        // given
+        Integer cancelled = reserveSeat(1);
+        Integer active = reserveSeat(2);
+        mockMvc.perform(post("/api/reservations/" + cancelled + "/cancel"))
+                .andExpect(status().isOk());
+        // when
+        mockMvc.perform(get("/api/users/" + userId + "/reservations").param("status", "CANCELLED"))
+                // then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(cancelled))
+                .andExpect(jsonPath("$.items[0].seats[0].seatNumber").value(1));
+        mockMvc.perform(get("/api/users/" + userId + "/reservations").param("status", "ACTIVE"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(active));
+    }
+
+    @Test
+    @DisplayName("should return 400 for malformed cursor and 404 for unknown user")
+    void shouldRejectInvalidReservationHistoryRequests() throws Exception {
+        mockMvc.perform(get("/api/users/" + userId + "/reservations").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users/999/reservations"))
+                .andExpect(status().isNotFound());
+    }
+
+    private Integer reserveSeat(int seatNumber) throws Exception {
+        String reservation = reserve(CreateReservationRequest.builder()
+                        .userId(userId)
+                        .seats(List.of(SeatRequest.builder().rowNumber(1).seatNumber(seatNumber).build()))
+                        .build())
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(reservation, "$.id");
+    }
+
+    private ResultActions reserve(CreateReservationRequest request) throws Exception {
+        return mockMvc.perform(post("/api/showtimes/" + showTimeId + "/reservations")
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+}
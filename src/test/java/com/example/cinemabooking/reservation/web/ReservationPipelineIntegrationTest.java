@@ -0,0 +1,174 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.reservation.ReservationStatus;
+import com.example.cinemabooking.reservation.dto.CreateReservationRequest;
+import com.example.cinemabooking.reservation.dto.SeatRequest;
+import com.example.cinemabooking.reservation.repository.ReservationRepository;
+import com.example.cinemabooking.reservation.repository.ReservedSeatRepository;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: the pipeline writes on its own thread and must see committed fixtures.
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReservationPipelineIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository cinemaHallRepository;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservedSeatRepository reservedSeatRepository;
+
+    private Long showTimeId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        ShowTime showTime = TestFixtures.showTimeWithoutId(LocalDateTime.now().plusDays(1),
+                movieRepository.save(TestFixtures.movie()), cinemaHallRepository.save(TestFixtures.cinemaHall()));
+        showTimeId = showTimeRepository.save(showTime).getId();
+        userId = userRepository.save(TestFixtures.user()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll();
+        userRepository.deleteAll();
+        showTimeRepository.deleteAll();
+        cinemaHallRepository.deleteAll();
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should accept reservation with 202 and confirm it through the ticket status url")
+    void shouldAcceptAndConfirmReservationAsynchronously() throws Exception {
+        // given
+        CreateReservationRequest request = CreateReservationRequest.builder()
+                .userId(userId)
+                .seats(List.of(SeatRequest.builder().rowNumber(2).seatNumber(3).build()))
+                .build();
+        // when
+        String location = mockMvc.perform(post("/api/showtimes/" + showTimeId + "/reservations")
+                        .header("Prefer", "respond-async")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.showTimeId").value(showTimeId))
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        String ticket = awaitConfirmation(location);
+        assertThat(JsonPath.<Integer>read(ticket, "$.reservation.userId")).isEqualTo(userId.intValue());
+        assertThat(reservedSeatRepository.findSeatPositions(showTimeId, ReservationStatus.ACTIVE))
+                .containsExactly(new SeatPosition(2, 3));
+    }
+
+    @Test
+    @DisplayName("should accept reservation asynchronously when respond-async is one of several preferences")
+    void shouldAcceptReservationAsynchronouslyAmongOtherPreferences() throws Exception {
+        // given
+        CreateReservationRequest request = CreateReservationRequest.builder()
+                .userId(userId)
+                .seats(List.of(SeatRequest.builder().rowNumber(3).seatNumber(4).build()))
+                .build();
+        // when
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/reservations")
+                        .header("Prefer", "wait=5, Respond-Async")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"));
+    }
+
+    @Test
+    @DisplayName("should reject second async reservation for taken seats before queueing it")
+    void shouldRejectTakenSeatsBeforeQueueing() throws Exception {
+        // given
+        String body = objectMapper.writeValueAsString(CreateReservationRequest.builder()
+                .userId(userId)
+                .seats(List.of(SeatRequest.builder().rowNumber(1).seatNumber(1).build()))
+                .build());
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/reservations")
+                        .header("Prefer", "respond-async")
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted());
+        // when
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/reservations")
+                        .header("Prefer", "respond-async")
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("should return 404 when reservation ticket does not exist")
+    void shouldReturn404WhenTicketNotFound() throws Exception {
+        // when
+        mockMvc.perform(get("/api/reservations/tickets/missing"))
+                // then
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+    private String awaitConfirmation(String location) throws Exception {
+        String ticket = null;
+        for (int attempt = 0; attempt < 100; attempt++) {
+            ticket = mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            if (!"PENDING".equals(JsonPath.read(ticket, "$.status"))) {
+                break;
+            }
+            Thread.sleep(20);
+        }
+        assertThat(JsonPath.<String>read(ticket, "$.status")).isEqualTo("CONFIRMED");
+        return ticket;
+    }
+
+}
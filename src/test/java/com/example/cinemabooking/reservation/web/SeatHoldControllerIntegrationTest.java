@@ -0,0 +1,203 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.reservation.dto.CreateSeatHoldRequest;
+import com.example.cinemabooking.reservation.dto.SeatRequest;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class SeatHoldControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository cinemaHallRepository;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    private Long showTimeId;
+
+    @BeforeEach
+    void setUp() {
+        ShowTime showTime = TestFixtures.showTimeWithoutId(LocalDateTime.now().plusDays(1),
+                movieRepository.save(TestFixtures.movie()), cinemaHallRepository.save(TestFixtures.cinemaHall()));
+        showTimeId = showTimeRepository.save(showTime).getId();
+    }
+
+    // --------------------------------------------------
+    // POST /api/showtimes/{showTimeId}/holds
+    // --------------------------------------------------
+
+    @Test
+    @DisplayName("should create hold when seats are available")
+    void shouldCreateHold() throws Exception {
+        // given
+        String json = holdRequestJson(SeatRequest.builder().rowNumber(2).seatNumber(5).build());
+        // when
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/holds").content(json).contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").isNotEmpty())
+                .andExpect(jsonPath("$.showTimeId").value(showTimeId))
+                .andExpect(jsonPath("$.seats[0].rowNumber").value(2))
+                .andExpect(jsonPath("$.seats[0].seatNumber").value(5))
+                .andExpect(jsonPath("$.expiresAt").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("should return 409 when seat is already held")
+    void shouldReturn409WhenSeatAlreadyHeld() throws Exception {
+        // given
+        String json = holdRequestJson(SeatRequest.builder().rowNumber(3).seatNumber(3).build());
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/holds").content(json).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+        // when
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/holds").content(json).contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("should return 400 when seat is outside of the hall")
+    void shouldReturn400WhenSeatOutsideHall() throws Exception {
+        // given
+        String json = holdRequestJson(SeatRequest.builder().rowNumber(6).seatNumber(1).build());
+        // when
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/holds").content(json).contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("should return 400 when no seats requested")
+    void shouldReturn400WhenNoSeatsRequested() throws Exception {
+        // given
+        String json = holdRequestJson();
+        // when
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/holds").content(json).contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("should return 404 when showtime does not exist")
+    void shouldReturn404WhenShowTimeNotFound() throws Exception {
+        // given
+        String json = holdRequestJson(SeatRequest.builder().rowNumber(1).seatNumber(1).build());
+        // when
+        mockMvc.perform(post("/api/showtimes/999/holds").content(json).contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isNotFound());
+    }
+
+    // --------------------------------------------------
+    // POST /api/showtimes/{showTimeId}/best-seats
+    // --------------------------------------------------
+
+    @Test
+    @DisplayName("should suggest centred seats without holding them")
+    void shouldSuggestBestSeats() throws Exception {
+        // when
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/best-seats").param("count", "2"))
+                // then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seats.length()").value(2))
+                .andExpect(jsonPath("$.seats[0].rowNumber").value(3))
+                .andExpect(jsonPath("$.seats[0].seatNumber").value(5))
+                .andExpect(jsonPath("$.seats[1].seatNumber").value(6))
+                .andExpect(jsonPath("$.hold").doesNotExist());
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/best-seats").param("count", "2"))
+                .andExpect(jsonPath("$.seats[0].rowNumber").value(3));
+    }
+
+    @Test
+    @DisplayName("should hold best seats so the next request gets a different block")
+    void shouldHoldBestSeats() throws Exception {
+        // given
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/best-seats").param("count", "2").param("hold", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hold.id").isNotEmpty())
+                .andExpect(jsonPath("$.hold.seats[0].rowNumber").value(3));
+        // when
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/best-seats").param("count", "2"))
+                // then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seats[0].rowNumber").value(2))
+                .andExpect(jsonPath("$.seats[0].seatNumber").value(5));
+    }
+
+    @Test
+    @DisplayName("should return 409 when no row has enough seats together and 400 for non-positive count")
+    void shouldRejectImpossibleBestSeatsRequests() throws Exception {
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/best-seats").param("count", "11"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/best-seats").param("count", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --------------------------------------------------
+    // GET + DELETE /api/holds/{holdId}
+    // --------------------------------------------------
+
+    @Test
+    @DisplayName("should return and release existing hold")
+    void shouldReturnAndReleaseHold() throws Exception {
+        // given
+        String json = holdRequestJson(SeatRequest.builder().rowNumber(4).seatNumber(4).build());
+        String response = mockMvc.perform(post("/api/showtimes/" + showTimeId + "/holds").content(json).contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        String holdId = JsonPath.read(response, "$.id");
+        // when + then
+        mockMvc.perform(get("/api/holds/" + holdId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seats[0].rowNumber").value(4));
+        mockMvc.perform(delete("/api/holds/" + holdId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/holds/" + holdId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/holds").content(json).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("should return 404 when releasing unknown hold")
+    void shouldReturn404WhenReleasingUnknownHold() throws Exception {
+        mockMvc.perform(delete("/api/holds/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String holdRequestJson(SeatRequest... seats) throws Exception {
+        return objectMapper.writeValueAsString(CreateSeatHoldRequest.builder().seats(List.of(seats)).build());
+    }
+
+}
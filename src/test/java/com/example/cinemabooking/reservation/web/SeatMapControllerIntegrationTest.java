@@ -0,0 +1,160 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.SeatLayout;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.reservation.service.SeatHold;
+import com.example.cinemabooking.reservation.service.SeatHoldService;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.reservation.service.SeatState;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class SeatMapControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository cinemaHallRepository;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    private Long showTimeId;
+
+    @BeforeEach
+    void setUp() {
+        CinemaHall cinemaHall = TestFixtures.cinemaHall();
+        cinemaHall.setSeatLayout(SeatLayout.grid(20, 20));
+        ShowTime showTime = TestFixtures.showTimeWithoutId(LocalDateTime.now().plusDays(1),
+                movieRepository.save(TestFixtures.movie()), cinemaHallRepository.save(cinemaHall));
+        showTimeId = showTimeRepository.save(showTime).getId();
+    }
+
+    // --------------------------------------------------
+    // GET /api/showtimes/{showTimeId}/seatmap
+    // --------------------------------------------------
+
+    @Test
+    @DisplayName("should return seat map as base64 in JSON by default")
+    void shouldReturnSeatMapAsJson() throws Exception {
+        // given
+        seatHoldService.createHold(showTimeId, List.of(new SeatPosition(1, 2)));
+        // when
+        String body = mockMvc.perform(get("/api/showtimes/" + showTimeId + "/seatmap"))
+                // then
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.showTimeId").value(showTimeId))
+                .andExpect(jsonPath("$.rows").value(20))
+                .andExpect(jsonPath("$.seatsPerRow").value(20))
+                .andExpect(jsonPath("$.encoded").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        byte[] encoded = Base64.getDecoder().decode(JsonPath.<String>read(body, "$.data"));
+        assertThat(stateOf(encoded, 0)).isEqualTo(SeatState.AVAILABLE);
+        assertThat(stateOf(encoded, 1)).isEqualTo(SeatState.TAKEN);
+    }
+
+    @Test
+    @DisplayName("should return 400 seat map in under 200 raw bytes when octet-stream is accepted")
+    void shouldReturnSeatMapAsOctetStream() throws Exception {
+        // when
+        byte[] body = mockMvc.perform(get("/api/showtimes/" + showTimeId + "/seatmap").accept(MediaType.APPLICATION_OCTET_STREAM))
+                // then
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(body).hasSize(105).startsWith(1, 0, 20, 0, 20);
+        assertThat(body.length).isLessThan(200);
+    }
+
+    @Test
+    @DisplayName("should return 404 when showtime does not exist")
+    void shouldReturn404WhenShowTimeNotFound() throws Exception {
+        // when
+        mockMvc.perform(get("/api/showtimes/999/seatmap"))
+                // then
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+    // --------------------------------------------------
+    // GET /api/showtimes/{showTimeId}/seatmap/stream
+    // --------------------------------------------------
+
+    @Test
+    @DisplayName("should stream a snapshot and then only the seats that changed")
+    void shouldStreamSnapshotAndDeltas() throws Exception {
+        // given
+        MvcResult result = mockMvc.perform(get("/api/showtimes/" + showTimeId + "/seatmap/stream"))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andReturn();
+        // when
+        SeatHold seatHold = seatHoldService.createHold(showTimeId, List.of(new SeatPosition(3, 4)));
+        seatHoldService.releaseHold(seatHold.getId());
+        // then
+        String body = awaitContent(result, "\"change\":\"RELEASED\"");
+        assertThat(body).startsWith("event:snapshot");
+        assertThat(body.indexOf("event:snapshot")).isEqualTo(body.lastIndexOf("event:snapshot"));
+        assertThat(body).contains("\"change\":\"CLAIMED\",\"seats\":[{\"rowNumber\":3,\"seatNumber\":4,\"state\":\"TAKEN\"}]");
+        assertThat(body).contains("\"change\":\"RELEASED\",\"seats\":[{\"rowNumber\":3,\"seatNumber\":4,\"state\":\"AVAILABLE\"}]");
+    }
+
+    @Test
+    @DisplayName("should return 404 when streaming seat map of missing showtime")
+    void shouldReturn404WhenStreamingMissingShowTime() throws Exception {
+        // when
+        mockMvc.perform(get("/api/showtimes/999/seatmap/stream"))
+                // then
+                .andExpect(status().isNotFound());
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String body = result.getResponse().getContentAsString();
+            if (body.contains(expected)) {
+                return body;
+            }
+            Thread.sleep(20);
+        }
+        return result.getResponse().getContentAsString();
+    }
+
+    private SeatState stateOf(byte[] encoded, int cellIndex) {
+        int packed = encoded[5 + cellIndex / 4] >> (cellIndex % 4) * 2;
+        return SeatState.values()[packed & 0b11];
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.reservation.config.SeatMapStreamProperties;
+import com.example.cinemabooking.reservation.service.SeatChange;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.reservation.service.SeatState;
+import com.example.cinemabooking.reservation.service.SeatsChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SeatMapStreamPublisherTest {
+
+    private static final SeatPosition SEAT = new SeatPosition(1, 1);
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    private SeatMapStreamPublisher seatMapStreamPublisher;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(seatInventory.encodeSeatMap(100L)).thenReturn(new byte[]{1, 0, 1, 0, 1, 0});
+        seatMapStreamPublisher = new SeatMapStreamPublisher(seatInventory, new SeatMapStreamProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        seatMapStreamPublisher.shutdown();
+    }
+
+    @Test
+    @DisplayName("should read seat states for deltas on one dispatcher instead of the thread that changed the seats")
+    void shouldDispatchChangesOffChangingThread() {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> readers = new CopyOnWriteArrayList<>();
+        given(seatInventory.getSeatState(100L, SEAT)).willAnswer(invocation -> {
+            readers.add(Thread.currentThread());
+            release.await(5, TimeUnit.SECONDS);
+            return SeatState.TAKEN;
+        });
+        seatMapStreamPublisher.subscribe(100L);
+        // when
+        seatMapStreamPublisher.onSeatsChanged(new SeatsChangedEvent(100L, SeatChange.CLAIMED, List.of(SEAT)));
+        seatMapStreamPublisher.onSeatsChanged(new SeatsChangedEvent(100L, SeatChange.RELEASED, List.of(SEAT)));
+        release.countDown();
+        // then
+        verify(seatInventory, timeout(5000).times(2)).getSeatState(100L, SEAT);
+        assertThat(readers).hasSize(2).doesNotContain(Thread.currentThread());
+        assertThat(readers).containsOnly(readers.getFirst());
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.example.cinemabooking.reservation.web;
+
+import com.example.cinemabooking.reservation.dto.SeatDeltaResponse;
+import com.example.cinemabooking.reservation.service.SeatChange;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.reservation.service.SeatState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class SeatMapSubscriberTest {
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    private final RecordingEmitter emitter = new RecordingEmitter();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void setUp() {
+        given(seatInventory.encodeSeatMap(100L)).willReturn(new byte[]{1, 0, 1, 0, 1, 0});
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("should send snapshot first and then deltas in order")
+    void shouldSendSnapshotThenDeltas() throws InterruptedException {
+        // given
+        SeatMapSubscriber subscriber = new SeatMapSubscriber(100L, emitter, seatInventory, 8);
+        subscriber.resync();
+        subscriber.offer(delta(SeatChange.CLAIMED, SeatState.TAKEN));
+        subscriber.offer(delta(SeatChange.HOLD_EXPIRED, SeatState.AVAILABLE));
+        // when
+        sender.submit(subscriber);
+        // then
+        assertThat(emitter.awaitEvents(3)).hasSize(3);
+        assertThat(emitter.events.get(0)).startsWith("event:snapshot").contains("showTimeId=100");
+        assertThat(emitter.events.get(1)).startsWith("event:delta").contains("change=CLAIMED");
+        assertThat(emitter.events.get(2)).startsWith("event:delta").contains("change=HOLD_EXPIRED");
+    }
+
+    @Test
+    @DisplayName("should drop queued deltas and send one snapshot when subscriber falls behind")
+    void shouldResyncWhenBufferOverflows() throws InterruptedException {
+        // given
+        SeatMapSubscriber subscriber = new SeatMapSubscriber(100L, emitter, seatInventory, 2);
+        subscriber.resync();
+        subscriber.offer(delta(SeatChange.CLAIMED, SeatState.TAKEN));
+        subscriber.offer(delta(SeatChange.RELEASED, SeatState.AVAILABLE));
+        subscriber.offer(delta(SeatChange.HOLD_EXPIRED, SeatState.AVAILABLE));
+        // when
+        sender.submit(subscriber);
+        // then
+        assertThat(emitter.awaitEvents(2)).hasSize(2);
+        assertThat(emitter.events.get(0)).startsWith("event:snapshot");
+        assertThat(emitter.events.get(1)).startsWith("event:delta").contains("change=HOLD_EXPIRED");
+    }
+
+    private SeatDeltaResponse delta(SeatChange change, SeatState state) {
+        return SeatDeltaResponse.of(change, List.of(SeatDeltaResponse.Cell.of(new SeatPosition(1, 1), state)));
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(data -> String.valueOf(data.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        List<String> awaitEvents(int count) throws InterruptedException {
+            for (int attempt = 0; attempt < 100 && events.size() < count; attempt++) {
+                Thread.sleep(20);
+            }
+            Thread.sleep(50);
+            return events;
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.example.cinemabooking.showtime.repository;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.showtime.dto.ShowTimeResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: mvn -Pbenchmark test -Dtest=ShowTimeProjectionBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ShowTimeProjectionBenchmarkTest {
+
+    private static final int SHOW_TIME_COUNT = 100_000;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 5;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository cinemaHallRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private LocalDateTime firstStart;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = movieRepository.save(TestFixtures.movie());
+        CinemaHall cinemaHall = cinemaHallRepository.save(TestFixtures.cinemaHall());
+        firstStart = LocalDateTime.of(2030, 1, 1, 10, 0);
+        List<Object[]> rows = new ArrayList<>(SHOW_TIME_COUNT);
+        for (int i = 0; i < SHOW_TIME_COUNT; i++) {
+            LocalDateTime start = firstStart.plusHours(3L * i);
+            rows.add(new Object[]{movie.getId(), cinemaHall.getId(), Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(2)), BigDecimal.TEN});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO show_times (id, movie_id, hall_id, start_time, end_time, price) VALUES (NEXT VALUE FOR show_times_seq, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        showTimeRepository.deleteAllInBatch();
+        cinemaHallRepository.deleteAll();
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should list 100k showtimes with less allocation through DTO projection than through entities")
+    void shouldCompareEntityAndProjectionListing() {
+        // when
+        Measurement entities = measure(() -> showTimeRepository.findAll().stream().map(ShowTimeResponse::of).toList());
+        Measurement projection = measure(() -> showTimeRepository.findResponsesByStartTimeBetween(firstStart, firstStart.plusYears(100)));
+        // then
+        System.out.printf("entities:   %8.1f ms/op %8.1f MB/op%n", entities.millisPerOp(), entities.megabytesPerOp());
+        System.out.printf("projection: %8.1f ms/op %8.1f MB/op%n", projection.millisPerOp(), projection.megabytesPerOp());
+        assertThat(projection.megabytesPerOp()).isLessThan(entities.megabytesPerOp());
+    }
+
+    private Measurement measure(Supplier<List<ShowTimeResponse>> listing) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertThat(list(listing)).hasSize(SHOW_TIME_COUNT);
+        }
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            list(listing);
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measurement(elapsed / 1e6 / MEASURED_ITERATIONS, allocated / 1e6 / MEASURED_ITERATIONS);
+    }
+
+    // Each run gets a fresh read-only persistence context, as a request would.
+    private List<ShowTimeResponse> list(Supplier<List<ShowTimeResponse>> listing) {
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> listing.get());
+    }
+
+    private record Measurement(double millisPerOp, double megabytesPerOp) {
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.example.cinemabooking.showtime.repository;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.service.ScheduledShowTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class ShowTimeRepositoryTest {
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private CinemaHall cinemaHall;
+    private ShowTime showTime;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().withNano(0);
+        Movie movie = entityManager.persist(TestFixtures.movie());
+        cinemaHall = entityManager.persist(TestFixtures.cinemaHall());
+        showTime = entityManager.persist(TestFixtures.showTimeWithoutId(now, movie, cinemaHall));
+    }
+
+    // ===========================================================
+    // EXISTS OVERLAPPING
+    // ===========================================================
+
+    @Test
+    @DisplayName("should report overlap when interval intersects existing showtime")
+    void shouldReportOverlap() {
+        // when + then
+        assertThat(showTimeRepository.existsOverlapping(cinemaHall.getId(), now.plusHours(2), now.plusHours(4), null)).isTrue();
+        assertThat(showTimeRepository.existsOverlapping(cinemaHall.getId(), now.minusHours(1), now.plusMinutes(1), null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should not report overlap for adjacent intervals, other halls or the excluded showtime")
+    void shouldNotReportOverlap() {
+        // given
+        CinemaHall otherCinemaHall = TestFixtures.cinemaHall();
+        otherCinemaHall.setName("Hall B");
+        entityManager.persist(otherCinemaHall);
+        // when + then
+        assertThat(showTimeRepository.existsOverlapping(cinemaHall.getId(), now.plusHours(3), now.plusHours(5), null)).isFalse();
+        assertThat(showTimeRepository.existsOverlapping(cinemaHall.getId(), now.minusHours(2), now, null)).isFalse();
+        assertThat(showTimeRepository.existsOverlapping(otherCinemaHall.getId(), now, now.plusHours(3), null)).isFalse();
+        assertThat(showTimeRepository.existsOverlapping(cinemaHall.getId(), now, now.plusHours(3), showTime.getId())).isFalse();
+    }
+
+    // ===========================================================
+    // SCHEDULE
+    // ===========================================================
+
+    @Test
+    @DisplayName("should return schedule of showtimes ending after given time")
+    void shouldReturnUpcomingSchedule() {
+        // when
+        List<ScheduledShowTime> upcoming = showTimeRepository.findScheduleByCinemaHallId(cinemaHall.getId(), now.plusHours(1));
+        List<ScheduledShowTime> finished = showTimeRepository.findScheduleByCinemaHallId(cinemaHall.getId(), now.plusHours(3));
+        // then
+        assertThat(upcoming).containsExactly(new ScheduledShowTime(showTime.getId(), now, now.plusHours(3)));
+        assertThat(finished).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should return schedule of showtimes intersecting given window")
+    void shouldReturnScheduleWithinWindow() {
+        // when
+        List<ScheduledShowTime> inside = showTimeRepository.findScheduleByCinemaHallIdBetween(cinemaHall.getId(), now.plusHours(2), now.plusHours(5));
+        List<ScheduledShowTime> after = showTimeRepository.findScheduleByCinemaHallIdBetween(cinemaHall.getId(), now.plusHours(3), now.plusHours(5));
+        // then
+        assertThat(inside).extracting(ScheduledShowTime::getId).containsExactly(showTime.getId());
+        assertThat(after).isEmpty();
+    }
+
+}
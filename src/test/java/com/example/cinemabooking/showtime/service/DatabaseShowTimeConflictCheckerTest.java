@@ -0,0 +1,38 @@
+package com.example.cinemabooking.showtime.service;
+
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseShowTimeConflictCheckerTest {
+
+    @Mock
+    private ShowTimeRepository showTimeRepository;
+
+    @InjectMocks
+    private DatabaseShowTimeConflictChecker conflictChecker;
+
+    @Test
+    @DisplayName("should delegate overlap check to database query")
+    void shouldDelegateToRepository() {
+        // given
+        LocalDateTime startTime = LocalDateTime.now();
+        LocalDateTime endTime = startTime.plusHours(2);
+        given(showTimeRepository.existsOverlapping(1L, startTime, endTime, 7L)).willReturn(true);
+        // when
+        boolean result = conflictChecker.isOccupiedDuring(1L, startTime, endTime, 7L);
+        // then
+        assertThat(result).isTrue();
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.example.cinemabooking.showtime.service;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ShowTimeConflictBenchmark
+// The scan baseline works on an already hydrated collection, so it understates the cost of the old path.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShowTimeConflictBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int showTimeCount;
+
+    private LocalDateTime firstStart;
+    private List<ShowTime> showTimes;
+    private HallSchedule hallSchedule;
+
+    @Setup
+    public void setUp() {
+        firstStart = LocalDateTime.of(2020, 1, 1, 10, 0);
+        CinemaHall cinemaHall = TestFixtures.cinemaHallWithId();
+        Movie movie = TestFixtures.movieWithId();
+        showTimes = new ArrayList<>(showTimeCount);
+        List<ScheduledShowTime> scheduledShowTimes = new ArrayList<>(showTimeCount);
+        for (int i = 0; i < showTimeCount; i++) {
+            ShowTime showTime = TestFixtures.showTimeWithoutId(firstStart.plusHours(4L * i), movie, cinemaHall);
+            showTime.setId((long) i);
+            showTimes.add(showTime);
+            scheduledShowTimes.add(new ScheduledShowTime(showTime.getId(), showTime.getStartTime(), showTime.getEndTime()));
+        }
+        hallSchedule = new HallSchedule(scheduledShowTimes);
+    }
+
+    @Benchmark
+    public boolean collectionScan() {
+        LocalDateTime startTime = randomStart();
+        LocalDateTime endTime = startTime.plusHours(2);
+        return showTimes.stream().anyMatch(showTime -> showTime.getStartTime().isBefore(endTime) && showTime.getEndTime().isAfter(startTime));
+    }
+
+    @Benchmark
+    public boolean scheduleIndex() {
+        LocalDateTime startTime = randomStart();
+        return hallSchedule.overlaps(startTime, startTime.plusHours(2), null);
+    }
+
+    private LocalDateTime randomStart() {
+        return firstStart.plusMinutes(ThreadLocalRandom.current().nextLong(4L * 60 * showTimeCount));
+    }
+
+}
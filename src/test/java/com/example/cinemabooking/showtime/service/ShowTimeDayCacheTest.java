@@ -0,0 +1,131 @@
+package com.example.cinemabooking.showtime.service;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.service.CinemaHallChangedEvent;
+import com.example.cinemabooking.showtime.config.ShowTimeDayCacheProperties;
+import com.example.cinemabooking.showtime.dto.ShowTimeResponse;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShowTimeDayCacheTest {
+
+    private ShowTimeDayCache dayCache;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        ShowTimeDayCacheProperties properties = new ShowTimeDayCacheProperties();
+        properties.setMaxSize(2);
+        dayCache = new ShowTimeDayCache(properties);
+        meterRegistry = new SimpleMeterRegistry();
+        dayCache.bindTo(meterRegistry);
+        loads = new AtomicInteger();
+        today = LocalDate.now();
+    }
+
+    // ===========================================================
+    // LOOKUP
+    // ===========================================================
+
+    @Test
+    @DisplayName("should load a date once and serve later calls from cache")
+    void shouldCacheLoadedDate() {
+        // when
+        dayCache.get(today, countingLoader());
+        List<ShowTimeResponse> result = dayCache.get(today, countingLoader());
+        // then
+        assertThat(result).isEmpty();
+        assertThat(loads).hasValue(1);
+        assertThat(counter("hit")).isEqualTo(1);
+        assertThat(counter("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should evict least recently used date when full")
+    void shouldEvictLeastRecentlyUsedDate() {
+        // given
+        dayCache.get(today, countingLoader());
+        dayCache.get(today.plusDays(1), countingLoader());
+        dayCache.get(today, countingLoader());
+        // when
+        dayCache.get(today.plusDays(2), countingLoader());
+        dayCache.get(today, countingLoader());
+        dayCache.get(today.plusDays(1), countingLoader());
+        // then
+        assertThat(loads).hasValue(4);
+        assertThat(meterRegistry.get("showtime.day.cache.evictions").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("showtime.day.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should not cache a load that raced with an invalidation")
+    void shouldNotCacheStaleLoad() {
+        // when
+        dayCache.get(today, () -> {
+            dayCache.invalidate(today);
+            return List.of();
+        });
+        dayCache.get(today, countingLoader());
+        // then
+        assertThat(loads).hasValue(1);
+    }
+
+    // ===========================================================
+    // INVALIDATION
+    // ===========================================================
+
+    @Test
+    @DisplayName("should invalidate previous and current dates of a changed showtime only")
+    void shouldInvalidateAffectedDates() {
+        // given
+        LocalDateTime start = today.atTime(18, 0);
+        ShowTime showTime = TestFixtures.showTime(start, TestFixtures.movieWithId(), TestFixtures.cinemaHallWithId());
+        ShowTimeSlot previousSlot = ShowTimeSlot.of(showTime);
+        showTime.setStartTime(start.plusDays(1));
+        dayCache.get(today, countingLoader());
+        dayCache.get(today.plusDays(1), countingLoader());
+        // when
+        dayCache.onShowTimeChanged(ShowTimeChangedEvent.updated(previousSlot, showTime));
+        dayCache.get(today, countingLoader());
+        dayCache.get(today.plusDays(1), countingLoader());
+        // then
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("should clear all dates when a cinema hall changes")
+    void shouldClearOnCinemaHallChange() {
+        // given
+        dayCache.get(today, countingLoader());
+        // when
+        dayCache.onCinemaHallChanged(CinemaHallChangedEvent.renamed(1L));
+        dayCache.get(today, countingLoader());
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    private Supplier<List<ShowTimeResponse>> countingLoader() {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of();
+        };
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("showtime.day.cache.requests").tag("result", result).functionCounter().count();
+    }
+
+}
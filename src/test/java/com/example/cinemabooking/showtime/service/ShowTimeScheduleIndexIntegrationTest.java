@@ -0,0 +1,91 @@
+package com.example.cinemabooking.showtime.service;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.movie.service.MovieService;
+import com.example.cinemabooking.reservation.service.SeatInventory;
+import com.example.cinemabooking.reservation.service.SeatPosition;
+import com.example.cinemabooking.showtime.dto.CreateShowTimeRequest;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: change events are only delivered once the service transaction commits.
+@SpringBootTest
+class ShowTimeScheduleIndexIntegrationTest {
+
+    @Autowired
+    private ShowTimeService showTimeService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Autowired
+    private CinemaHallRepository cinemaHallRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    private CinemaHall cinemaHall;
+    private LocalDateTime startTime;
+
+    @BeforeEach
+    void setUp() {
+        cinemaHall = cinemaHallRepository.save(TestFixtures.cinemaHall());
+        startTime = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        showTimeRepository.deleteAll();
+        cinemaHallRepository.deleteAll();
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should free the slots and seat maps of show times removed with their movie")
+    void shouldFreeSlotOfDeletedMovie() {
+        // given
+        Movie movie = movieRepository.save(TestFixtures.movie());
+        Long showTimeId = showTimeService.createShowTime(showTimeRequest(movie)).getId();
+        seatInventory.isAvailable(showTimeId, new SeatPosition(1, 1));
+        // when
+        movieService.deleteMovie(movie.getId());
+        // then
+        assertThat(seatInventory.getLoadedSeatMaps()).doesNotContainKey(showTimeId);
+        Movie otherMovie = TestFixtures.movie();
+        otherMovie.setTitle("Interstellar");
+        otherMovie = movieRepository.save(otherMovie);
+        assertThat(showTimeService.createShowTime(showTimeRequest(otherMovie)).getId()).isNotNull();
+    }
+
+    private CreateShowTimeRequest showTimeRequest(Movie movie) {
+        return CreateShowTimeRequest.builder()
+                .movieId(movie.getId())
+                .cinemaHallId(cinemaHall.getId())
+                .startTime(startTime)
+                .endTime(startTime.plusHours(3))
+                .price(BigDecimal.TEN)
+                .build();
+    }
+
+}
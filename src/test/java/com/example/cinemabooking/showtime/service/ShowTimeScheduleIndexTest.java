@@ -0,0 +1,131 @@
+package com.example.cinemabooking.showtime.service;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.service.CinemaHallChangedEvent;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShowTimeScheduleIndexTest {
+
+    @Mock
+    private ShowTimeRepository showTimeRepository;
+
+    @InjectMocks
+    private ShowTimeScheduleIndex scheduleIndex;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    // ===========================================================
+    // OVERLAP QUERIES
+    // ===========================================================
+
+    @Test
+    @DisplayName("should load hall schedule once and detect overlapping intervals")
+    void shouldDetectOverlaps() {
+        // given
+        given(showTimeRepository.findScheduleByCinemaHallId(eq(1L), any(LocalDateTime.class))).willReturn(List.of(
+                new ScheduledShowTime(1L, now, now.plusHours(2)),
+                new ScheduledShowTime(2L, now.plusHours(3), now.plusHours(5))
+        ));
+        // when + then
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now.plusHours(1), now.plusHours(4), null)).isTrue();
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now.minusHours(1), now.plusMinutes(1), null)).isTrue();
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now.plusHours(4), now.plusHours(6), null)).isTrue();
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now.plusHours(2), now.plusHours(3), null)).isFalse();
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now.minusHours(2), now, null)).isFalse();
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now.plusHours(5), now.plusHours(7), null)).isFalse();
+        verify(showTimeRepository, times(1)).findScheduleByCinemaHallId(eq(1L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("should ignore the excluded showtime but still see the one before it")
+    void shouldSkipExcludedShowTime() {
+        // given
+        given(showTimeRepository.findScheduleByCinemaHallId(eq(1L), any(LocalDateTime.class))).willReturn(List.of(
+                new ScheduledShowTime(1L, now, now.plusHours(2)),
+                new ScheduledShowTime(2L, now.plusHours(3), now.plusHours(5))
+        ));
+        // when + then
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now.plusHours(2), now.plusHours(6), 2L)).isFalse();
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now.plusHours(1), now.plusHours(6), 2L)).isTrue();
+    }
+
+    // ===========================================================
+    // EVENTS
+    // ===========================================================
+
+    @Test
+    @DisplayName("should keep loaded schedule in sync on create, update and delete")
+    void shouldApplyShowTimeChanges() {
+        // given
+        CinemaHall cinemaHall = TestFixtures.cinemaHallWithId();
+        ShowTime showTime = TestFixtures.showTime(now, TestFixtures.movieWithId(), cinemaHall);
+        given(showTimeRepository.findScheduleByCinemaHallId(eq(1L), any(LocalDateTime.class))).willReturn(Collections.emptyList());
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now, now.plusHours(1), null)).isFalse();
+        // when + then
+        scheduleIndex.onShowTimeChanged(ShowTimeChangedEvent.created(showTime));
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now, now.plusHours(1), null)).isTrue();
+
+        ShowTimeSlot previousSlot = ShowTimeSlot.of(showTime);
+        showTime.setStartTime(now.plusHours(5));
+        showTime.setEndTime(now.plusHours(7));
+        scheduleIndex.onShowTimeChanged(ShowTimeChangedEvent.updated(previousSlot, showTime));
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now, now.plusHours(1), null)).isFalse();
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now.plusHours(6), now.plusHours(8), null)).isTrue();
+
+        scheduleIndex.onShowTimeChanged(ShowTimeChangedEvent.deleted(showTime));
+        assertThat(scheduleIndex.isOccupiedDuring(1L, now.plusHours(6), now.plusHours(8), null)).isFalse();
+        assertThat(scheduleIndex.getSchedule(1L).size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should not load schedule for events of halls that were never queried")
+    void shouldIgnoreEventsForUnloadedHalls() {
+        // given
+        ShowTime showTime = TestFixtures.showTime(now, TestFixtures.movieWithId(), TestFixtures.cinemaHallWithId());
+        // when
+        scheduleIndex.onShowTimeChanged(ShowTimeChangedEvent.created(showTime));
+        // then
+        verifyNoInteractions(showTimeRepository);
+    }
+
+    @Test
+    @DisplayName("should reload the schedule of a hall only after the hall is deleted")
+    void shouldDropScheduleOfDeletedHall() {
+        // given
+        given(showTimeRepository.findScheduleByCinemaHallId(eq(1L), any(LocalDateTime.class))).willReturn(Collections.emptyList());
+        scheduleIndex.isOccupiedDuring(1L, now, now.plusHours(1), null);
+        // when
+        scheduleIndex.onCinemaHallChanged(CinemaHallChangedEvent.renamed(1L));
+        scheduleIndex.isOccupiedDuring(1L, now, now.plusHours(1), null);
+        scheduleIndex.onCinemaHallChanged(CinemaHallChangedEvent.deleted(1L));
+        scheduleIndex.isOccupiedDuring(1L, now, now.plusHours(1), null);
+        // then
+        verify(showTimeRepository, times(2)).findScheduleByCinemaHallId(eq(1L), any(LocalDateTime.class));
+    }
+
+}
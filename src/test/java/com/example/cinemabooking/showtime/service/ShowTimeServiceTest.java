@@ -6,10 +6,14 @@ import com.example.cinemabooking.hall.service.CinemaHallService;
 import com.example.cinemabooking.movie.entity.Movie;
 import com.example.cinemabooking.movie.service.MovieService;
 import com.example.cinemabooking.showtime.dto.CreateShowTimeRequest;
+import com.example.cinemabooking.showtime.dto.CreateShowTimesRequest;
+import com.example.cinemabooking.showtime.dto.ShowTimeFilter;
+import com.example.cinemabooking.showtime.dto.ShowTimePageResponse;
 import com.example.cinemabooking.showtime.dto.ShowTimeResponse;
 import com.example.cinemabooking.showtime.dto.UpdateShowTimeRequest;
 import com.example.cinemabooking.showtime.entity.ShowTime;
 import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.showtime.service.exception.InvalidShowTimeCursorException;
 import com.example.cinemabooking.showtime.service.exception.ShowTimeConflictException;
 import com.example.cinemabooking.showtime.service.exception.ShowTimeInvalidTimeRangeException;
 import com.example.cinemabooking.showtime.service.exception.ShowTimeNotFoundException;
@@ -20,17 +24,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -46,6 +56,15 @@ class ShowTimeServiceTest {
     @Mock
     private CinemaHallService cinemaHallService;
 
+    @Mock
+    private ShowTimeConflictChecker conflictChecker;
+
+    @Mock
+    private ShowTimeDayCache dayCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ShowTimeService showTimeService;
 
@@ -63,34 +82,54 @@ class ShowTimeServiceTest {
     }
 
     // ===========================================================
-    // GET ALL
+    // GET PAGE
     // ===========================================================
 
     @Test
-    @DisplayName("should return list of showtimes when getAllShowTimes() is called")
-    void shouldReturnAllShowTimes() {
+    @DisplayName("should return page without cursor when fewer showtimes than page size exist")
+    void shouldReturnLastPage() {
         // given
-        given(showTimeRepository.findAll()).willReturn(List.of(showTime));
+        given(showTimeRepository.findResponses(any(), eq(21))).willReturn(List.of(ShowTimeResponse.of(showTime)));
         // when
-        List<ShowTimeResponse> result = showTimeService.getAllShowTimes();
+        ShowTimePageResponse result = showTimeService.getShowTimes(ShowTimeFilter.builder().build(), null, 20);
         // then
-        assertThat(result).hasSize(1);
-        assertThat(result.getFirst().getMovieTitle()).isEqualTo("Inception");
-        verify(showTimeRepository).findAll();
-        verifyNoMoreInteractions(showTimeRepository);
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().getFirst().getMovieTitle()).isEqualTo("Inception");
+        assertThat(result.getNextCursor()).isNull();
     }
 
     @Test
-    @DisplayName("should return empty list when no showtimes exist")
-    void shouldReturnEmptyListWhenNoShowTimesExist() {
+    @DisplayName("should return empty page when no showtimes exist")
+    void shouldReturnEmptyPageWhenNoShowTimesExist() {
         // given
-        given(showTimeRepository.findAll()).willReturn(Collections.emptyList());
+        given(showTimeRepository.findResponses(any(), eq(21))).willReturn(Collections.emptyList());
         // when
-        List<ShowTimeResponse> result = showTimeService.getAllShowTimes();
+        ShowTimePageResponse result = showTimeService.getShowTimes(ShowTimeFilter.builder().build(), null, 20);
         // then
-        assertThat(result).isEmpty();
-        verify(showTimeRepository).findAll();
-        verifyNoMoreInteractions(showTimeRepository);
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("should trim extra row and return cursor of the last returned showtime")
+    void shouldReturnCursorWhenMoreShowTimesExist() {
+        // given
+        ShowTime nextShowTime = TestFixtures.conflictingShowTime(now, movie, cinemaHall);
+        given(showTimeRepository.findResponses(any(), eq(2))).willReturn(List.of(ShowTimeResponse.of(showTime), ShowTimeResponse.of(nextShowTime)));
+        // when
+        ShowTimePageResponse result = showTimeService.getShowTimes(ShowTimeFilter.builder().build(), null, 1);
+        // then
+        assertThat(result.getItems()).extracting(ShowTimeResponse::getId).containsExactly(100L);
+        assertThat(ShowTimeCursor.decode(result.getNextCursor())).isEqualTo(new ShowTimeCursor(now, 100L));
+    }
+
+    @Test
+    @DisplayName("should throw InvalidShowTimeCursorException for malformed cursor")
+    void shouldThrowForMalformedCursor() {
+        // when + then
+        assertThatThrownBy(() -> showTimeService.getShowTimes(ShowTimeFilter.builder().build(), "not-a-cursor", 20))
+                .isInstanceOf(InvalidShowTimeCursorException.class);
+        verifyNoInteractions(showTimeRepository);
     }
 
     // ===========================================================
@@ -101,12 +140,12 @@ class ShowTimeServiceTest {
     @DisplayName("should return showtime when found by id")
     void shouldReturnShowTimeById() {
         // given
-        given(showTimeRepository.findById(100L)).willReturn(Optional.of(showTime));
+        given(showTimeRepository.findResponseById(100L)).willReturn(Optional.of(ShowTimeResponse.of(showTime)));
         // when
         ShowTimeResponse result = showTimeService.getShowTimeById(100L);
         // then
         assertThat(result.getMovieTitle()).isEqualTo("Inception");
-        verify(showTimeRepository).findById(100L);
+        verify(showTimeRepository).findResponseById(100L);
         verifyNoMoreInteractions(showTimeRepository);
     }
 
@@ -114,11 +153,11 @@ class ShowTimeServiceTest {
     @DisplayName("should throw ShowTimeNotFoundException when showtime does not exist")
     void shouldThrowExceptionWhenShowTimeNotFound() {
         // given
-        given(showTimeRepository.findById(199L)).willReturn(Optional.empty());
+        given(showTimeRepository.findResponseById(199L)).willReturn(Optional.empty());
         // when + then
         assertThatThrownBy(() -> showTimeService.getShowTimeById(199L))
                 .isInstanceOf(ShowTimeNotFoundException.class);
-        verify(showTimeRepository).findById(199L);
+        verify(showTimeRepository).findResponseById(199L);
         verifyNoMoreInteractions(showTimeRepository);
     }
 
@@ -130,13 +169,13 @@ class ShowTimeServiceTest {
     @DisplayName("should return showtimes for given movie id")
     void shouldReturnShowTimesByMovie() {
         // given
-        given(showTimeRepository.findByMovieId(1L)).willReturn(List.of(showTime));
+        given(showTimeRepository.findResponsesByMovieId(1L)).willReturn(List.of(ShowTimeResponse.of(showTime)));
         //when
         List<ShowTimeResponse> result = showTimeService.getShowTimesByMovie(1L);
         // then
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getMovieTitle()).isEqualTo("Inception");
-        verify(showTimeRepository).findByMovieId(1L);
+        verify(showTimeRepository).findResponsesByMovieId(1L);
         verifyNoMoreInteractions(showTimeRepository);
     }
 
@@ -148,13 +187,13 @@ class ShowTimeServiceTest {
     @DisplayName("should return showtimes for given hall id")
     void shouldReturnShowTimesByHall() {
         // given
-        given(showTimeRepository.findByCinemaHallId(1L)).willReturn(List.of(showTime));
+        given(showTimeRepository.findResponsesByCinemaHallId(1L)).willReturn(List.of(ShowTimeResponse.of(showTime)));
         //when
         List<ShowTimeResponse> result = showTimeService.getShowTimesByCinemaHall(1L);
         // then
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getMovieTitle()).isEqualTo("Inception");
-        verify(showTimeRepository).findByCinemaHallId(1L);
+        verify(showTimeRepository).findResponsesByCinemaHallId(1L);
         verifyNoMoreInteractions(showTimeRepository);
     }
 
@@ -166,13 +205,14 @@ class ShowTimeServiceTest {
     @DisplayName("should return showtimes for given date")
     void shouldReturnShowTimesByDate() {
         // given
-        given(showTimeRepository.findByStartTimeBetween(any(LocalDateTime.class), any(LocalDateTime.class))).willReturn(List.of(showTime));
+        given(dayCache.get(eq(LocalDate.now()), any())).willAnswer(invocation -> invocation.<Supplier<List<ShowTimeResponse>>>getArgument(1).get());
+        given(showTimeRepository.findResponsesByStartTimeBetween(any(LocalDateTime.class), any(LocalDateTime.class))).willReturn(List.of(ShowTimeResponse.of(showTime)));
         // when
         List<ShowTimeResponse> result = showTimeService.getShowTimesByDate(LocalDate.now());
         // then
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getMovieTitle()).isEqualTo("Inception");
-        verify(showTimeRepository).findByStartTimeBetween(any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(showTimeRepository).findResponsesByStartTimeBetween(any(LocalDateTime.class), any(LocalDateTime.class));
         verifyNoMoreInteractions(showTimeRepository);
     }
 
@@ -199,6 +239,7 @@ class ShowTimeServiceTest {
         // then
         assertThat(result.getMovieTitle()).isEqualTo("Inception");
         verify(showTimeRepository).save(any(ShowTime.class));
+        verify(eventPublisher).publishEvent(ShowTimeChangedEvent.created(showTime));
         verifyNoMoreInteractions(showTimeRepository);
     }
 
@@ -232,8 +273,7 @@ class ShowTimeServiceTest {
                 .endTime(now.plusHours(3))
                 .price(BigDecimal.TEN)
                 .build();
-        ShowTime conflictingShowTime = TestFixtures.conflictingShowTime(now, movie, cinemaHall);
-        cinemaHall.addShowTime(conflictingShowTime);
+        given(conflictChecker.isOccupiedDuring(eq(1L), any(), any(), any())).willReturn(true);
         given(movieService.getMovieOrThrow(1L)).willReturn(movie);
         given(cinemaHallService.getCinemaHallOrThrow(1L)).willReturn(cinemaHall);
         // when + then
@@ -242,6 +282,92 @@ class ShowTimeServiceTest {
         verifyNoInteractions(showTimeRepository);
     }
 
+    // ===========================================================
+    // BULK CREATE
+    // ===========================================================
+
+    @Test
+    @DisplayName("should save all showtimes of a bulk import after one schedule query per hall")
+    void shouldCreateShowTimesInBulk() {
+        // given
+        CreateShowTimesRequest createShowTimesRequest = bulkRequest(
+                showTimeRequest(now.plusHours(4), now.plusHours(6)),
+                showTimeRequest(now.plusHours(1), now.plusHours(3))
+        );
+        given(movieService.getMoviesOrThrow(Set.of(1L))).willReturn(Map.of(1L, movie));
+        given(cinemaHallService.getCinemaHallsOrThrow(Set.of(1L))).willReturn(Map.of(1L, cinemaHall));
+        given(showTimeRepository.findScheduleByCinemaHallIdBetween(1L, now.plusHours(1), now.plusHours(6)))
+                .willReturn(List.of(new ScheduledShowTime(7L, now.plusHours(3), now.plusHours(4))));
+        given(showTimeRepository.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+        // when
+        List<ShowTimeResponse> result = showTimeService.createShowTimes(createShowTimesRequest);
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getStartTime()).isEqualTo(now.plusHours(4));
+        verify(eventPublisher, times(2)).publishEvent(any(ShowTimeChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("should reject bulk import whose showtimes overlap each other")
+    void shouldRejectBulkImportOverlappingItself() {
+        // given
+        CreateShowTimesRequest createShowTimesRequest = bulkRequest(
+                showTimeRequest(now.plusHours(1), now.plusHours(5)),
+                showTimeRequest(now.plusHours(6), now.plusHours(8)),
+                showTimeRequest(now.plusHours(2), now.plusHours(3))
+        );
+        given(movieService.getMoviesOrThrow(Set.of(1L))).willReturn(Map.of(1L, movie));
+        given(cinemaHallService.getCinemaHallsOrThrow(Set.of(1L))).willReturn(Map.of(1L, cinemaHall));
+        given(showTimeRepository.findScheduleByCinemaHallIdBetween(1L, now.plusHours(1), now.plusHours(8))).willReturn(List.of());
+        // when + then
+        assertThatThrownBy(() -> showTimeService.createShowTimes(createShowTimesRequest))
+                .isInstanceOf(ShowTimeConflictException.class);
+        verify(showTimeRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("should reject bulk import overlapping an existing showtime")
+    void shouldRejectBulkImportOverlappingExistingShowTime() {
+        // given
+        CreateShowTimesRequest createShowTimesRequest = bulkRequest(
+                showTimeRequest(now.plusHours(1), now.plusHours(3)),
+                showTimeRequest(now.plusHours(5), now.plusHours(7))
+        );
+        given(movieService.getMoviesOrThrow(Set.of(1L))).willReturn(Map.of(1L, movie));
+        given(cinemaHallService.getCinemaHallsOrThrow(Set.of(1L))).willReturn(Map.of(1L, cinemaHall));
+        given(showTimeRepository.findScheduleByCinemaHallIdBetween(1L, now.plusHours(1), now.plusHours(7)))
+                .willReturn(List.of(new ScheduledShowTime(7L, now.plusHours(6), now.plusHours(9))));
+        // when + then
+        assertThatThrownBy(() -> showTimeService.createShowTimes(createShowTimesRequest))
+                .isInstanceOf(ShowTimeConflictException.class);
+        verify(showTimeRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("should reject bulk import with invalid time range before loading anything")
+    void shouldRejectBulkImportWithInvalidRange() {
+        // given
+        CreateShowTimesRequest createShowTimesRequest = bulkRequest(showTimeRequest(now.plusHours(3), now.plusHours(1)));
+        // when + then
+        assertThatThrownBy(() -> showTimeService.createShowTimes(createShowTimesRequest))
+                .isInstanceOf(ShowTimeInvalidTimeRangeException.class);
+        verifyNoInteractions(movieService, cinemaHallService, showTimeRepository);
+    }
+
+    private CreateShowTimesRequest bulkRequest(CreateShowTimeRequest... showTimeRequests) {
+        return CreateShowTimesRequest.builder().showTimes(List.of(showTimeRequests)).build();
+    }
+
+    private CreateShowTimeRequest showTimeRequest(LocalDateTime startTime, LocalDateTime endTime) {
+        return CreateShowTimeRequest.builder()
+                .movieId(1L)
+                .cinemaHallId(1L)
+                .startTime(startTime)
+                .endTime(endTime)
+                .price(BigDecimal.TEN)
+                .build();
+    }
+
     // ===========================================================
     // UPDATE
     // ===========================================================
@@ -266,6 +392,7 @@ class ShowTimeServiceTest {
         assertThat(result.getMovieTitle()).isEqualTo("Inception");
         assertThat(result.getPrice()).isEqualTo(BigDecimal.TWO);
         verify(showTimeRepository).findById(100L);
+        verify(eventPublisher).publishEvent(any(ShowTimeChangedEvent.class));
         verifyNoMoreInteractions(showTimeRepository);
     }
 
@@ -313,8 +440,7 @@ class ShowTimeServiceTest {
                 .endTime(now.plusHours(4))
                 .price(BigDecimal.TWO)
                 .build();
-        ShowTime conflictingShowTime = TestFixtures.conflictingShowTime(now, movie, cinemaHall);
-        cinemaHall.addShowTime(conflictingShowTime);
+        given(conflictChecker.isOccupiedDuring(eq(1L), any(), any(), any())).willReturn(true);
         given(showTimeRepository.findById(100L)).willReturn(Optional.of(showTime));
         given(movieService.getMovieOrThrow(1L)).willReturn(movie);
         given(cinemaHallService.getCinemaHallOrThrow(1L)).willReturn(cinemaHall);
@@ -339,6 +465,7 @@ class ShowTimeServiceTest {
         // then
         verify(showTimeRepository).findById(100L);
         verify(showTimeRepository).delete(showTime);
+        verify(eventPublisher).publishEvent(ShowTimeChangedEvent.deleted(showTime));
         verifyNoMoreInteractions(showTimeRepository);
     }
 
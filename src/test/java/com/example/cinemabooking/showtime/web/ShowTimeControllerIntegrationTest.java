@@ -1,13 +1,16 @@
 package com.example.cinemabooking.showtime.web;
 
 import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.common.idempotency.IdempotencyFilter;
 import com.example.cinemabooking.hall.entity.CinemaHall;
 import com.example.cinemabooking.hall.repository.CinemaHallRepository;
 import com.example.cinemabooking.movie.entity.Movie;
 import com.example.cinemabooking.movie.repository.MovieRepository;
 import com.example.cinemabooking.showtime.dto.CreateShowTimeRequest;
+import com.example.cinemabooking.showtime.dto.CreateShowTimesRequest;
 import com.example.cinemabooking.showtime.entity.ShowTime;
 import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.example.cinemabooking.showtime.service.ShowTimeDayCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,7 +25,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -47,6 +54,9 @@ class ShowTimeControllerIntegrationTest {
     @Autowired
     private CinemaHallRepository cinemaHallRepository;
 
+    @Autowired
+    private ShowTimeDayCache dayCache;
+
     private Movie movie;
     private CinemaHall cinemaHall;
     private ShowTime showTime;
@@ -54,7 +64,9 @@ class ShowTimeControllerIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        now = LocalDateTime.now();
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        // Rolled back test data never publishes invalidation events.
+        dayCache.invalidateAll();
         movie = TestFixtures.movie();
         cinemaHall = TestFixtures.cinemaHall();
         showTime = TestFixtures.showTimeWithoutId(now, movie, cinemaHall);
@@ -73,7 +85,8 @@ class ShowTimeControllerIntegrationTest {
         mockMvc.perform(get("/api/showtimes"))
                 //then
                 .andExpect(status().isOk())
-                .andExpect(content().json("[]"));
+                .andExpect(jsonPath("$.items").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
     }
 
     @Test
@@ -87,9 +100,69 @@ class ShowTimeControllerIntegrationTest {
         mockMvc.perform(get("/api/showtimes"))
                 //then
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].movieTitle").value("Inception"))
-                .andExpect(jsonPath("$[0].cinemaHallName").value("Hall A"))
-                .andExpect(jsonPath("$[0].price").value(10));
+                .andExpect(jsonPath("$.items[0].movieTitle").value("Inception"))
+                .andExpect(jsonPath("$.items[0].cinemaHallName").value("Hall A"))
+                .andExpect(jsonPath("$.items[0].price").value(10));
+    }
+
+    @Test
+    @DisplayName("should page through showtimes with the returned cursor")
+    void shouldPageThroughShowTimesWithCursor() throws Exception {
+        //given
+        movieRepository.save(movie);
+        cinemaHallRepository.save(cinemaHall);
+        showTimeRepository.save(showTime);
+        showTimeRepository.save(TestFixtures.showTimeWithoutId(now.plusHours(4), movie, cinemaHall));
+        showTimeRepository.save(TestFixtures.showTimeWithoutId(now.plusHours(8), movie, cinemaHall));
+        //when
+        String firstPage = mockMvc.perform(get("/api/showtimes").param("size", "2"))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+        mockMvc.perform(get("/api/showtimes").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].startTime").value(now.plusHours(8).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("should combine hall, date range and price filters")
+    void shouldFilterShowTimes() throws Exception {
+        //given
+        movieRepository.save(movie);
+        cinemaHallRepository.save(cinemaHall);
+        CinemaHall otherCinemaHall = TestFixtures.cinemaHall();
+        otherCinemaHall.setName("Hall B");
+        cinemaHallRepository.save(otherCinemaHall);
+        showTimeRepository.save(showTime);
+        ShowTime expensiveShowTime = TestFixtures.showTimeWithoutId(now.plusHours(4), movie, cinemaHall);
+        expensiveShowTime.setPrice(BigDecimal.valueOf(30));
+        showTimeRepository.save(expensiveShowTime);
+        showTimeRepository.save(TestFixtures.showTimeWithoutId(now.plusHours(4), movie, otherCinemaHall));
+        showTimeRepository.save(TestFixtures.showTimeWithoutId(now.plusDays(2), movie, cinemaHall));
+        //when
+        mockMvc.perform(get("/api/showtimes")
+                        .param("cinemaHallId", cinemaHall.getId().toString())
+                        .param("from", now.plusHours(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                        .param("to", now.plusDays(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                        .param("minPrice", "20"))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].price").value(30));
+    }
+
+    @Test
+    @DisplayName("should return 400 for malformed cursor")
+    void shouldReturn400ForMalformedCursor() throws Exception {
+        //when
+        mockMvc.perform(get("/api/showtimes").param("cursor", "%%%"))
+                //then
+                .andExpect(status().isBadRequest());
     }
 
 
@@ -214,6 +287,36 @@ class ShowTimeControllerIntegrationTest {
                 .andExpect(jsonPath("$.price").value(10));
     }
 
+    @Test
+    @DisplayName("should create showtime once and replay the response when retried with the same Idempotency-Key")
+    void shouldReplayCreateShowTimeWithSameIdempotencyKey() throws Exception {
+        //given
+        long movieId = movieRepository.save(movie).getId();
+        long cinemaHallId = cinemaHallRepository.save(cinemaHall).getId();
+        CreateShowTimeRequest createShowTimeRequest = CreateShowTimeRequest.builder()
+                .movieId(movieId)
+                .cinemaHallId(cinemaHallId)
+                .startTime(now.plusHours(1))
+                .endTime(now.plusHours(3))
+                .price(BigDecimal.TEN)
+                .build();
+        String json = objectMapper.writeValueAsString(createShowTimeRequest);
+        String idempotencyKey = UUID.randomUUID().toString();
+        String created = mockMvc.perform(post("/api/showtimes").content(json).contentType(MediaType.APPLICATION_JSON)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long showTimeCount = showTimeRepository.count();
+        //when
+        mockMvc.perform(post("/api/showtimes").content(json).contentType(MediaType.APPLICATION_JSON)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey))
+                //then
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(content().json(created, true));
+        assertThat(showTimeRepository.count()).isEqualTo(showTimeCount);
+    }
+
     @Test
     @DisplayName("should return 400 when request invalid")
     void shouldReturn400WhenInvalidCreateRequest() throws Exception {
@@ -282,6 +385,89 @@ class ShowTimeControllerIntegrationTest {
     }
 
 
+    // --------------------------------------------------------------------
+    // POST /api/showtimes/bulk
+    // --------------------------------------------------------------------
+
+    @Test
+    @DisplayName("should create all showtimes of a bulk import")
+    void shouldCreateShowTimesInBulk() throws Exception {
+        //given
+        long movieId = movieRepository.save(movie).getId();
+        long cinemaHallId = cinemaHallRepository.save(cinemaHall).getId();
+        CreateShowTimesRequest createShowTimesRequest = CreateShowTimesRequest.builder()
+                .showTimes(List.of(
+                        showTimeRequest(movieId, cinemaHallId, now.plusHours(4), now.plusHours(6)),
+                        showTimeRequest(movieId, cinemaHallId, now.plusHours(1), now.plusHours(3))
+                ))
+                .build();
+        String json = objectMapper.writeValueAsString(createShowTimesRequest);
+        //when
+        mockMvc.perform(post("/api/showtimes/bulk").content(json).contentType(MediaType.APPLICATION_JSON))
+                //then
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].movieTitle").value("Inception"))
+                .andExpect(jsonPath("$[1].cinemaHallName").value("Hall A"));
+    }
+
+    @Test
+    @DisplayName("should return 409 and create nothing when bulk import overlaps itself")
+    void shouldReturn409ForOverlappingBulkImport() throws Exception {
+        //given
+        long movieId = movieRepository.save(movie).getId();
+        long cinemaHallId = cinemaHallRepository.save(cinemaHall).getId();
+        CreateShowTimesRequest createShowTimesRequest = CreateShowTimesRequest.builder()
+                .showTimes(List.of(
+                        showTimeRequest(movieId, cinemaHallId, now.plusHours(1), now.plusHours(3)),
+                        showTimeRequest(movieId, cinemaHallId, now.plusHours(2), now.plusHours(4))
+                ))
+                .build();
+        String json = objectMapper.writeValueAsString(createShowTimesRequest);
+        //when
+        mockMvc.perform(post("/api/showtimes/bulk").content(json).contentType(MediaType.APPLICATION_JSON))
+                //then
+                .andExpect(status().isConflict());
+        assertThat(showTimeRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("should return 404 when bulk import references unknown cinema hall")
+    void shouldReturn404ForBulkImportWithUnknownHall() throws Exception {
+        //given
+        long movieId = movieRepository.save(movie).getId();
+        CreateShowTimesRequest createShowTimesRequest = CreateShowTimesRequest.builder()
+                .showTimes(List.of(showTimeRequest(movieId, 999L, now.plusHours(1), now.plusHours(3))))
+                .build();
+        String json = objectMapper.writeValueAsString(createShowTimesRequest);
+        //when
+        mockMvc.perform(post("/api/showtimes/bulk").content(json).contentType(MediaType.APPLICATION_JSON))
+                //then
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("should return 400 when bulk import is empty")
+    void shouldReturn400ForEmptyBulkImport() throws Exception {
+        //given
+        String json = objectMapper.writeValueAsString(CreateShowTimesRequest.builder().showTimes(List.of()).build());
+        //when
+        mockMvc.perform(post("/api/showtimes/bulk").content(json).contentType(MediaType.APPLICATION_JSON))
+                //then
+                .andExpect(status().isBadRequest());
+    }
+
+    private CreateShowTimeRequest showTimeRequest(long movieId, long cinemaHallId, LocalDateTime startTime, LocalDateTime endTime) {
+        return CreateShowTimeRequest.builder()
+                .movieId(movieId)
+                .cinemaHallId(cinemaHallId)
+                .startTime(startTime)
+                .endTime(endTime)
+                .price(BigDecimal.TEN)
+                .build();
+    }
+
+
     // --------------------------------------------------------------------
     // PUT /api/showtimes/{id}
     // --------------------------------------------------------------------
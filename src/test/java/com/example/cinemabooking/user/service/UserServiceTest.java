@@ -0,0 +1,51 @@
+package com.example.cinemabooking.user.service;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.user.User;
+import com.example.cinemabooking.user.repository.UserRepository;
+import com.example.cinemabooking.user.service.exception.UserNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserService userService;
+
+    @Test
+    @DisplayName("should return user when found by id")
+    void shouldReturnUserById() {
+        // given
+        User user = TestFixtures.user();
+        given(userRepository.findById(1L)).willReturn(Optional.of(user));
+        // when
+        User result = userService.getUserOrThrow(1L);
+        // then
+        assertThat(result).isSameAs(user);
+    }
+
+    @Test
+    @DisplayName("should throw UserNotFoundException when user does not exist")
+    void shouldThrowWhenUserNotFound() {
+        // given
+        given(userRepository.findById(1L)).willReturn(Optional.empty());
+        // when + then
+        assertThatThrownBy(() -> userService.getUserOrThrow(1L))
+                .isInstanceOf(UserNotFoundException.class);
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.example.cinemabooking.waitingroom.service;
+
+import com.example.cinemabooking.showtime.service.ShowTimeService;
+import com.example.cinemabooking.showtime.service.exception.ShowTimeNotFoundException;
+import com.example.cinemabooking.waitingroom.config.WaitingRoomProperties;
+import com.example.cinemabooking.waitingroom.dto.QueueTicketResponse;
+import com.example.cinemabooking.waitingroom.service.exception.AdmissionRequiredException;
+import com.example.cinemabooking.waitingroom.service.exception.InvalidQueueTicketException;
+import com.example.cinemabooking.waitingroom.service.exception.WaitingRoomNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class WaitingRoomServiceTest {
+
+    @Mock
+    private ShowTimeService showTimeService;
+
+    private WaitingRoomProperties waitingRoomProperties;
+    private WaitingRoomService waitingRoomService;
+
+    @BeforeEach
+    void setUp() {
+        waitingRoomProperties = new WaitingRoomProperties();
+        waitingRoomProperties.setSecret("test-secret");
+        waitingRoomProperties.setBurst(1);
+        waitingRoomService = new WaitingRoomService(showTimeService, new WaitingRoomSigner(waitingRoomProperties), waitingRoomProperties);
+    }
+
+    // ===========================================================
+    // OPEN / CLOSE
+    // ===========================================================
+
+    @Test
+    @DisplayName("should throw ShowTimeNotFoundException when opening room of missing showtime")
+    void shouldThrowWhenShowTimeNotFound() {
+        // given
+        given(showTimeService.getShowTimeOrThrow(100L)).willThrow(new ShowTimeNotFoundException(100L));
+        // when + then
+        assertThatThrownBy(() -> waitingRoomService.openWaitingRoom(100L, 5))
+                .isInstanceOf(ShowTimeNotFoundException.class);
+        assertThatCode(() -> waitingRoomService.checkAdmission(100L, null, null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("should update admission rate when room is opened again")
+    void shouldUpdateRateOfOpenRoom() {
+        // given
+        waitingRoomService.openWaitingRoom(100L, 5);
+        waitingRoomService.joinQueue(100L, null);
+        // when
+        waitingRoomService.openWaitingRoom(100L, 20);
+        // then
+        assertThat(waitingRoomService.getWaitingRoom(100L).getAdmissionsPerSecond()).isEqualTo(20);
+        assertThat(waitingRoomService.getWaitingRoom(100L).getTicketsIssued()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should stop requiring admission once room is closed")
+    void shouldStopGatingWhenClosed() {
+        // given
+        waitingRoomService.openWaitingRoom(100L, 5);
+        // when
+        waitingRoomService.closeWaitingRoom(100L);
+        // then
+        assertThatCode(() -> waitingRoomService.checkAdmission(100L, null, null)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> waitingRoomService.joinQueue(100L, null))
+                .isInstanceOf(WaitingRoomNotFoundException.class);
+        assertThatThrownBy(() -> waitingRoomService.closeWaitingRoom(100L))
+                .isInstanceOf(WaitingRoomNotFoundException.class);
+    }
+
+    // ===========================================================
+    // TICKETS / ADMISSION
+    // ===========================================================
+
+    @Test
+    @DisplayName("should admit first ticket and accept its token only for the same showtime")
+    void shouldAdmitFirstTicket() {
+        // given
+        waitingRoomService.openWaitingRoom(100L, 5);
+        waitingRoomService.openWaitingRoom(200L, 5);
+        // when
+        QueueTicketResponse ticket = waitingRoomService.joinQueue(100L, null);
+        // then
+        assertThat(ticket.isAdmitted()).isTrue();
+        assertThat(ticket.getPosition()).isZero();
+        assertThatCode(() -> waitingRoomService.checkAdmission(100L, ticket.getAdmissionToken(), null)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> waitingRoomService.checkAdmission(200L, ticket.getAdmissionToken(), null))
+                .isInstanceOf(AdmissionRequiredException.class);
+    }
+
+    @Test
+    @DisplayName("should report position and wait of queued ticket without admission token")
+    void shouldQueueTicketBehindBurst() {
+        // given
+        waitingRoomService.openWaitingRoom(100L, 0.5);
+        waitingRoomService.joinQueue(100L, null);
+        // when
+        QueueTicketResponse ticket = waitingRoomService.joinQueue(100L, null);
+        QueueTicketResponse polled = waitingRoomService.getTicket(100L, ticket.getTicket(), null);
+        // then
+        assertThat(polled.isAdmitted()).isFalse();
+        assertThat(polled.getPosition()).isEqualTo(1);
+        assertThat(polled.getEstimatedWaitSeconds()).isBetween(1L, 2L);
+        assertThat(polled.getTicket()).isEqualTo(ticket.getTicket());
+    }
+
+    @Test
+    @DisplayName("should reject missing, tampered, foreign and expired admission tokens")
+    void shouldRejectInvalidTokens() {
+        // given
+        waitingRoomProperties.setBurst(2);
+        waitingRoomService.openWaitingRoom(100L, 5);
+        QueueTicketResponse ticket = waitingRoomService.joinQueue(100L, null);
+        WaitingRoomProperties otherProperties = new WaitingRoomProperties();
+        otherProperties.setSecret("other-secret");
+        String foreignToken = new WaitingRoomSigner(otherProperties).sign("admission:100:0:" + Long.MAX_VALUE + ":");
+        waitingRoomProperties.setAdmissionTtl(Duration.ofMillis(-1));
+        String expiredToken = waitingRoomService.joinQueue(100L, null).getAdmissionToken();
+        assertThat(expiredToken).isNotNull();
+        // when + then
+        for (String token : new String[]{null, "garbage", ticket.getAdmissionToken() + "x", ticket.getTicket(), foreignToken, expiredToken}) {
+            assertThatThrownBy(() -> waitingRoomService.checkAdmission(100L, token, null))
+                    .isInstanceOf(AdmissionRequiredException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("should hand out the same admission token and expiry however often the ticket is polled")
+    void shouldMintAdmissionOncePerTicket() {
+        // given
+        waitingRoomService.openWaitingRoom(100L, 5);
+        QueueTicketResponse ticket = waitingRoomService.joinQueue(100L, null);
+        waitingRoomProperties.setAdmissionTtl(Duration.ofHours(1));
+        // when
+        QueueTicketResponse polled = waitingRoomService.getTicket(100L, ticket.getTicket(), null);
+        // then
+        assertThat(polled.getAdmissionToken()).isEqualTo(ticket.getAdmissionToken());
+        assertThat(polled.getAdmissionExpiresAt()).isEqualTo(ticket.getAdmissionExpiresAt());
+    }
+
+    @Test
+    @DisplayName("should reject an admission token once it was used the allowed number of times")
+    void shouldLimitUsesOfAdmission() {
+        // given
+        waitingRoomProperties.setAdmissionMaxUses(2);
+        waitingRoomService.openWaitingRoom(100L, 5);
+        String token = waitingRoomService.joinQueue(100L, null).getAdmissionToken();
+        waitingRoomService.checkAdmission(100L, token, null);
+        waitingRoomService.checkAdmission(100L, token, null);
+        // when + then
+        assertThatThrownBy(() -> waitingRoomService.checkAdmission(100L, token, null))
+                .isInstanceOf(AdmissionRequiredException.class);
+    }
+
+    @Test
+    @DisplayName("should accept a ticket and its admission token only from the user who joined")
+    void shouldBindTicketToUser() {
+        // given
+        waitingRoomService.openWaitingRoom(100L, 5);
+        QueueTicketResponse ticket = waitingRoomService.joinQueue(100L, "alice");
+        // when + then
+        assertThatCode(() -> waitingRoomService.checkAdmission(100L, ticket.getAdmissionToken(), "alice")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> waitingRoomService.checkAdmission(100L, ticket.getAdmissionToken(), "bob"))
+                .isInstanceOf(AdmissionRequiredException.class);
+        assertThatThrownBy(() -> waitingRoomService.checkAdmission(100L, ticket.getAdmissionToken(), null))
+                .isInstanceOf(AdmissionRequiredException.class);
+        assertThatThrownBy(() -> waitingRoomService.getTicket(100L, ticket.getTicket(), "bob"))
+                .isInstanceOf(InvalidQueueTicketException.class);
+    }
+
+    @Test
+    @DisplayName("should throw InvalidQueueTicketException when ticket was not issued by this room")
+    void shouldRejectInvalidTicket() {
+        // given
+        waitingRoomService.openWaitingRoom(100L, 5);
+        waitingRoomService.openWaitingRoom(200L, 5);
+        QueueTicketResponse otherRoomTicket = waitingRoomService.joinQueue(200L, null);
+        // when + then
+        assertThatThrownBy(() -> waitingRoomService.getTicket(100L, otherRoomTicket.getTicket(), null))
+                .isInstanceOf(InvalidQueueTicketException.class);
+        assertThatThrownBy(() -> waitingRoomService.getTicket(100L, "not-a-ticket", null))
+                .isInstanceOf(InvalidQueueTicketException.class);
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.example.cinemabooking.waitingroom.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaitingRoomTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    @DisplayName("should admit one burst immediately and queue everyone after it")
+    void shouldAdmitBurstAndQueueTheRest() {
+        // given
+        WaitingRoom waitingRoom = new WaitingRoom(2, 3, nanoTime::get);
+        // when
+        long[] tickets = {waitingRoom.join(), waitingRoom.join(), waitingRoom.join(), waitingRoom.join(), waitingRoom.join()};
+        // then
+        assertThat(tickets).containsExactly(0, 1, 2, 3, 4);
+        assertThat(waitingRoom.getPosition(2)).isZero();
+        assertThat(waitingRoom.getPosition(3)).isEqualTo(1);
+        assertThat(waitingRoom.getPosition(4)).isEqualTo(2);
+        assertThat(waitingRoom.getEstimatedWait(4)).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("should move the queue forward at the admission rate")
+    void shouldAdmitAtConfiguredRate() {
+        // given
+        WaitingRoom waitingRoom = new WaitingRoom(2, 1, nanoTime::get);
+        for (int i = 0; i < 5; i++) {
+            waitingRoom.join();
+        }
+        // when
+        advance(Duration.ofMillis(1500));
+        // then
+        assertThat(waitingRoom.getPosition(3)).isZero();
+        assertThat(waitingRoom.getPosition(4)).isEqualTo(1);
+        assertThat(waitingRoom.getEstimatedWait(4)).isEqualTo(Duration.ofMillis(500));
+    }
+
+    @Test
+    @DisplayName("should not bank admissions while the room is quiet")
+    void shouldNotBankAdmissionsWhileIdle() {
+        // given
+        WaitingRoom waitingRoom = new WaitingRoom(10, 2, nanoTime::get);
+        advance(Duration.ofMinutes(1));
+        // when
+        long first = waitingRoom.join();
+        long second = waitingRoom.join();
+        long third = waitingRoom.join();
+        // then
+        assertThat(waitingRoom.getPosition(first)).isZero();
+        assertThat(waitingRoom.getPosition(second)).isZero();
+        assertThat(waitingRoom.getPosition(third)).isEqualTo(1);
+        assertThat(waitingRoom.isValidTicket(third)).isTrue();
+        assertThat(waitingRoom.isValidTicket(third + 1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should keep admitted tickets when the rate is changed")
+    void shouldKeepFrontierWhenRateChanges() {
+        // given
+        WaitingRoom waitingRoom = new WaitingRoom(1, 1, nanoTime::get);
+        for (int i = 0; i < 10; i++) {
+            waitingRoom.join();
+        }
+        advance(Duration.ofSeconds(2));
+        // when
+        waitingRoom.setAdmissionsPerSecond(4);
+        advance(Duration.ofSeconds(1));
+        // then
+        assertThat(waitingRoom.getAdmissionsPerSecond()).isEqualTo(4);
+        assertThat(waitingRoom.getPosition(6)).isZero();
+        assertThat(waitingRoom.getPosition(7)).isEqualTo(1);
+    }
+
+    private void advance(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+    }
+
+}
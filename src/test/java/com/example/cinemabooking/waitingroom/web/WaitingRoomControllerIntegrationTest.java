@@ -0,0 +1,153 @@
+package com.example.cinemabooking.waitingroom.web;
+
+import com.example.cinemabooking.TestFixtures;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.showtime.entity.ShowTime;
+import com.example.cinemabooking.showtime.repository.ShowTimeRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class WaitingRoomControllerIntegrationTest {
+
+    private static final String HOLD_JSON = "{\"seats\":[{\"rowNumber\":1,\"seatNumber\":1}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository cinemaHallRepository;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    private Long showTimeId;
+
+    @BeforeEach
+    void setUp() {
+        ShowTime showTime = TestFixtures.showTimeWithoutId(LocalDateTime.now().plusDays(1),
+                movieRepository.save(TestFixtures.movie()), cinemaHallRepository.save(TestFixtures.cinemaHall()));
+        showTimeId = showTimeRepository.save(showTime).getId();
+    }
+
+    // --------------------------------------------------
+    // PUT /api/showtimes/{showTimeId}/waiting-room
+    // --------------------------------------------------
+
+    @Test
+    @DisplayName("should open waiting room for existing showtime")
+    void shouldOpenWaitingRoom() throws Exception {
+        // when
+        openWaitingRoom("{\"admissionsPerSecond\":25}")
+                // then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.showTimeId").value(showTimeId))
+                .andExpect(jsonPath("$.admissionsPerSecond").value(25.0))
+                .andExpect(jsonPath("$.ticketsIssued").value(0));
+    }
+
+    @Test
+    @DisplayName("should return 400 when admission rate is not positive")
+    void shouldReturn400WhenRateNotPositive() throws Exception {
+        // when
+        openWaitingRoom("{\"admissionsPerSecond\":0}")
+                // then
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("should return 404 when opening waiting room of missing showtime")
+    void shouldReturn404WhenShowTimeNotFound() throws Exception {
+        // when
+        mockMvc.perform(put("/api/showtimes/999/waiting-room").content("{\"admissionsPerSecond\":5}").contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isNotFound());
+    }
+
+    // --------------------------------------------------
+    // Admission
+    // --------------------------------------------------
+
+    @Test
+    @DisplayName("should reject hold without admission token while waiting room is open")
+    void shouldRejectHoldWithoutToken() throws Exception {
+        // given
+        openWaitingRoom("{\"admissionsPerSecond\":5}");
+        // when
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/holds").content(HOLD_JSON).contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.status").value(403));
+    }
+
+    @Test
+    @DisplayName("should accept hold with admission token from polled ticket")
+    void shouldAcceptHoldWithAdmissionToken() throws Exception {
+        // given
+        openWaitingRoom("{\"admissionsPerSecond\":5}");
+        String joined = mockMvc.perform(post("/api/showtimes/" + showTimeId + "/waiting-room/tickets"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.position").value(0))
+                .andReturn().getResponse().getContentAsString();
+        String polled = mockMvc.perform(get("/api/showtimes/" + showTimeId + "/waiting-room/tickets/" + JsonPath.read(joined, "$.ticket")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.admitted").value(true))
+                .andReturn().getResponse().getContentAsString();
+        // when
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/holds").content(HOLD_JSON).contentType(MediaType.APPLICATION_JSON)
+                        .header(AdmissionInterceptor.ADMISSION_TOKEN_HEADER, JsonPath.<String>read(polled, "$.admissionToken")))
+                // then
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("should not require admission token when showtime has no waiting room")
+    void shouldNotGateShowTimeWithoutWaitingRoom() throws Exception {
+        // when
+        mockMvc.perform(post("/api/showtimes/" + showTimeId + "/holds").content(HOLD_JSON).contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isCreated());
+    }
+
+    // --------------------------------------------------
+    // DELETE /api/showtimes/{showTimeId}/waiting-room
+    // --------------------------------------------------
+
+    @Test
+    @DisplayName("should close waiting room and return 404 for it afterwards")
+    void shouldCloseWaitingRoom() throws Exception {
+        // given
+        openWaitingRoom("{\"admissionsPerSecond\":5}");
+        // when
+        mockMvc.perform(delete("/api/showtimes/" + showTimeId + "/waiting-room"))
+                // then
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/showtimes/" + showTimeId + "/waiting-room"))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions openWaitingRoom(String json) throws Exception {
+        return mockMvc.perform(put("/api/showtimes/" + showTimeId + "/waiting-room").content(json).contentType(MediaType.APPLICATION_JSON));
+    }
+
+}